@@ -71,6 +71,15 @@ public interface BooleanNdArray extends NdArray<Boolean> {
   @Override
   BooleanNdArray slice(Index... indices);
 
+  @Override
+  BooleanNdArray permute(int... axes);
+
+  @Override
+  BooleanNdArray reshape(Shape shape);
+
+  @Override
+  BooleanNdArray broadcastTo(Shape shape);
+
   @Override
   BooleanNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface BooleanNdArray extends NdArray<Boolean> {
   @Override
   NdArraySequence<BooleanNdArray> scalars();
 
+  @Override
+  BooleanNdArrayCursor cursor();
+
+  /**
+   * Visits the boolean value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    BooleanNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachBoolean((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachBoolean(IndexedBooleanConsumer consumer);
+
+  /**
+   * Visitor of the boolean values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedBooleanConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, boolean value);
+  }
+
   @Override
   BooleanNdArray copyTo(NdArray<Boolean> dst);
 
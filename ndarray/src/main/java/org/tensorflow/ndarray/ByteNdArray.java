@@ -71,6 +71,15 @@ public interface ByteNdArray extends NdArray<Byte> {
   @Override
   ByteNdArray slice(Index... indices);
 
+  @Override
+  ByteNdArray permute(int... axes);
+
+  @Override
+  ByteNdArray reshape(Shape shape);
+
+  @Override
+  ByteNdArray broadcastTo(Shape shape);
+
   @Override
   ByteNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface ByteNdArray extends NdArray<Byte> {
   @Override
   NdArraySequence<ByteNdArray> scalars();
 
+  @Override
+  ByteNdArrayCursor cursor();
+
+  /**
+   * Visits the byte value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    ByteNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachByte((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachByte(IndexedByteConsumer consumer);
+
+  /**
+   * Visitor of the byte values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedByteConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, byte value);
+  }
+
   @Override
   ByteNdArray copyTo(NdArray<Byte> dst);
 
@@ -71,6 +71,15 @@ public interface DoubleNdArray extends NdArray<Double> {
   @Override
   DoubleNdArray slice(Index... indices);
 
+  @Override
+  DoubleNdArray permute(int... axes);
+
+  @Override
+  DoubleNdArray reshape(Shape shape);
+
+  @Override
+  DoubleNdArray broadcastTo(Shape shape);
+
   @Override
   DoubleNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface DoubleNdArray extends NdArray<Double> {
   @Override
   NdArraySequence<DoubleNdArray> scalars();
 
+  @Override
+  DoubleNdArrayCursor cursor();
+
+  /**
+   * Visits the double value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    DoubleNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachDouble((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachDouble(IndexedDoubleConsumer consumer);
+
+  /**
+   * Visitor of the double values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedDoubleConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, double value);
+  }
+
   @Override
   DoubleNdArray copyTo(NdArray<Double> dst);
 
@@ -0,0 +1,48 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray;
+
+/**
+ * A {@link NdArrayCursor} of doubles, reading and writing values without boxing them.
+ */
+public interface DoubleNdArrayCursor extends NdArrayCursor<Double> {
+
+  /**
+   * Returns the double value of the current scalar.
+   *
+   * @return value of the current scalar
+   */
+  double getDouble();
+
+  /**
+   * Assigns the double value of the current scalar.
+   *
+   * @param value value to assign
+   * @throws UnsupportedOperationException if the array is read-only
+   */
+  void setDouble(double value);
+
+  @Override
+  default Double getObject() {
+    return getDouble();
+  }
+
+  @Override
+  default void setObject(Double value) {
+    setDouble(value);
+  }
+}
@@ -71,6 +71,15 @@ public interface FloatNdArray extends NdArray<Float> {
   @Override
   FloatNdArray slice(Index... coordinates);
 
+  @Override
+  FloatNdArray permute(int... axes);
+
+  @Override
+  FloatNdArray reshape(Shape shape);
+
+  @Override
+  FloatNdArray broadcastTo(Shape shape);
+
   @Override
   FloatNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface FloatNdArray extends NdArray<Float> {
   @Override
   NdArraySequence<FloatNdArray> scalars();
 
+  @Override
+  FloatNdArrayCursor cursor();
+
+  /**
+   * Visits the float value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    FloatNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachFloat((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachFloat(IndexedFloatConsumer consumer);
+
+  /**
+   * Visitor of the float values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedFloatConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, float value);
+  }
+
   @Override
   FloatNdArray copyTo(NdArray<Float> dst);
 
@@ -71,6 +71,15 @@ public interface IntNdArray extends NdArray<Integer> {
   @Override
   IntNdArray slice(Index... indices);
 
+  @Override
+  IntNdArray permute(int... axes);
+
+  @Override
+  IntNdArray reshape(Shape shape);
+
+  @Override
+  IntNdArray broadcastTo(Shape shape);
+
   @Override
   IntNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface IntNdArray extends NdArray<Integer> {
   @Override
   NdArraySequence<IntNdArray> scalars();
 
+  @Override
+  IntNdArrayCursor cursor();
+
+  /**
+   * Visits the int value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    IntNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachInt((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachInt(IndexedIntConsumer consumer);
+
+  /**
+   * Visitor of the int values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedIntConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, int value);
+  }
+
   @Override
   IntNdArray copyTo(NdArray<Integer> dst);
 
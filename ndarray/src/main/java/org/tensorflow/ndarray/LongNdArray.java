@@ -71,6 +71,15 @@ public interface LongNdArray extends NdArray<Long> {
   @Override
   LongNdArray slice(Index... indices);
 
+  @Override
+  LongNdArray permute(int... axes);
+
+  @Override
+  LongNdArray reshape(Shape shape);
+
+  @Override
+  LongNdArray broadcastTo(Shape shape);
+
   @Override
   LongNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface LongNdArray extends NdArray<Long> {
   @Override
   NdArraySequence<LongNdArray> scalars();
 
+  @Override
+  LongNdArrayCursor cursor();
+
+  /**
+   * Visits the long value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    LongNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachLong((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachLong(IndexedLongConsumer consumer);
+
+  /**
+   * Visitor of the long values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedLongConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, long value);
+  }
+
   @Override
   LongNdArray copyTo(NdArray<Long> dst);
 
@@ -98,6 +98,16 @@ public interface NdArray<T> extends Shaped {
    */
   NdArraySequence<? extends NdArray<T>> scalars();
 
+  /**
+   * Returns a cursor traversing all scalars of this array in row-major order.
+   *
+   * <p>Iterating with a cursor is an equivalent but more efficient way to visit the values of this
+   * array than {@link #scalars()}, since no new array instance is created for each scalar.
+   *
+   * @return a new cursor, positioned before the first scalar of this array
+   */
+  NdArrayCursor<T> cursor();
+
   /**
    * Creates a multi-dimensional view (or slice) of this array by mapping one or more dimensions
    * to the given index selectors.
@@ -137,6 +147,83 @@ public interface NdArray<T> extends Shaped {
    */
   NdArray<T> slice(Index... indices);
 
+  /**
+   * Creates a view of this array with its dimensions permuted.
+   *
+   * <p>Dimension {@code i} of the returned array is dimension {@code axes[i]} of this array.
+   * Negative axes are counted from the last dimension.
+   *
+   * <p>Any changes applied to the returned view affect the data of this array as well, as there
+   * is no copy involved. Copying the view to another array (e.g. with {@link #copyTo(NdArray)})
+   * rearranges the values in the new layout.
+   *
+   * <p>Example of usage:
+   * <pre>{@code
+   *    FloatNdArray images = NdArrays.ofFloats(shape(32, 224, 224, 3));  // NHWC
+   *
+   *    FloatNdArray transposed = images.permute(0, 3, 1, 2);
+   *    assertEquals(shape(32, 3, 224, 224), transposed.shape());  // NCHW
+   *    assertEquals(images.getFloat(0, 10, 20, 2), transposed.getFloat(0, 2, 10, 20));
+   * }</pre>
+   *
+   * @param axes the dimension of this array to map to each dimension of the view
+   * @return a view of this array with permuted dimensions
+   * @throws IllegalArgumentException if {@code axes} is not a permutation of the dimensions of
+   * this array
+   */
+  NdArray<T> permute(int... axes);
+
+  /**
+   * Creates a view of this array with a different shape.
+   *
+   * <p>The values of the array are traversed in the same order as before (i.e. row-major), only
+   * their grouping into dimensions changes. One dimension of the new shape may be unknown, in which
+   * case its size is inferred from the size of the array.
+   *
+   * <p>Any changes applied to the returned view affect the data of this array as well, as there
+   * is no copy involved. Reshaping a contiguous array is always possible, but some views (e.g. a
+   * permuted array) cannot be reshaped without copying their values first.
+   *
+   * <p>Example of usage:
+   * <pre>{@code
+   *    FloatNdArray matrix = NdArrays.ofFloats(shape(4, 6));
+   *
+   *    FloatNdArray matrix3d = matrix.reshape(shape(2, 2, -1));
+   *    assertEquals(shape(2, 2, 6), matrix3d.shape());
+   *    assertEquals(matrix.getFloat(3, 5), matrix3d.getFloat(1, 1, 5));
+   * }</pre>
+   *
+   * @param shape the shape of the view
+   * @return a view of this array with the given shape
+   * @throws IllegalArgumentException if the shape does not have the same size as this array, or
+   * if the values of this array cannot be viewed in this shape without being copied
+   */
+  NdArray<T> reshape(Shape shape);
+
+  /**
+   * Creates a view of this array broadcast to a larger shape.
+   *
+   * <p>Broadcasting follows the NumPy rules: dimensions are aligned from the last one and each
+   * dimension of this array must either match the size of the same dimension in the new shape or
+   * have a size of 1, in which case its value is repeated. Missing leading dimensions are added.
+   *
+   * <p>No values are copied. As many elements of the view map to the same value, writing to the
+   * returned array is discouraged.
+   *
+   * <p>Example of usage:
+   * <pre>{@code
+   *    FloatNdArray bias = NdArrays.vectorOf(1.0f, 2.0f, 3.0f);
+   *
+   *    FloatNdArray matrix = bias.broadcastTo(shape(4, 3));
+   *    assertEquals(2.0f, matrix.getFloat(3, 1));
+   * }</pre>
+   *
+   * @param shape the shape of the view
+   * @return a view of this array with the given shape
+   * @throws IllegalArgumentException if this array cannot be broadcast to the given shape
+   */
+  NdArray<T> broadcastTo(Shape shape);
+
   /**
    * Returns the N-dimensional element of this array at the given coordinates.
    *
@@ -0,0 +1,84 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray;
+
+/**
+ * A mutable cursor traversing all scalars of an N-dimensional array in row-major order.
+ *
+ * <p>Unlike {@link NdArray#scalars()}, a cursor does not create a new array instance for each
+ * scalar it visits, and the same coordinates array is updated in place at each step. Therefore
+ * iterating with a cursor does not allocate any memory on the heap. For example:
+ * <pre>{@code
+ *    NdArrayCursor<String> cursor = matrix.cursor();
+ *    while (cursor.next()) {
+ *      if (cursor.coordinates()[1] == 0) {
+ *        cursor.setObject("first");
+ *      }
+ *    }
+ * }</pre>
+ *
+ * <p>The cursor is initially positioned before the first scalar, so {@link #next()} must be
+ * invoked before accessing any value.
+ *
+ * @param <T> the type of values of the array
+ */
+public interface NdArrayCursor<T> {
+
+  /**
+   * Moves the cursor to the next scalar of the array.
+   *
+   * @return true if the cursor moved to a new scalar, false if all scalars have been visited
+   */
+  boolean next();
+
+  /**
+   * Moves the cursor back before the first scalar of the array, so it can be reused.
+   */
+  void reset();
+
+  /**
+   * Returns the index of the current scalar if the values of the array were stored contiguously
+   * in row-major order.
+   *
+   * @return flat index of the current scalar
+   */
+  long index();
+
+  /**
+   * Returns the coordinates of the current scalar.
+   *
+   * <p>The returned array is updated by the cursor when it moves and must not be modified.
+   *
+   * @return coordinates of the current scalar
+   */
+  long[] coordinates();
+
+  /**
+   * Returns the value of the current scalar.
+   *
+   * @return value of the current scalar
+   */
+  T getObject();
+
+  /**
+   * Assigns the value of the current scalar.
+   *
+   * @param value value to assign
+   * @throws UnsupportedOperationException if the array is read-only
+   */
+  void setObject(T value);
+}
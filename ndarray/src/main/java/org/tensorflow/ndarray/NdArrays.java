@@ -33,9 +33,14 @@ import org.tensorflow.ndarray.impl.dense.DoubleDenseNdArray;
 import org.tensorflow.ndarray.impl.dense.FloatDenseNdArray;
 import org.tensorflow.ndarray.impl.dense.LongDenseNdArray;
 import org.tensorflow.ndarray.impl.dense.ShortDenseNdArray;
+import org.tensorflow.ndarray.impl.sparse.DoubleSparseNdArray;
+import org.tensorflow.ndarray.impl.sparse.FloatSparseNdArray;
+import org.tensorflow.ndarray.impl.sparse.IntSparseNdArray;
+import org.tensorflow.ndarray.impl.sparse.LongSparseNdArray;
+import org.tensorflow.ndarray.index.Indices;
 
 /**
- * Utility class for instantiating {@link NdArray} objects.
+ * Utility class for instantiating {@link NdArray} objects and copying elements between them.
  */
 public final class NdArrays {
 
@@ -491,5 +496,233 @@ public final class NdArrays {
   public static <T> NdArray<T> wrap(Shape shape, DataBuffer<T> buffer) {
     return DenseNdArray.wrap(buffer, shape);
   }
+
+  // SPARSE ARRAYS
+
+  /**
+   * Creates a sparse array of floats from the coordinates of its non-zero values (COO layout).
+   *
+   * <p>Coordinates must be unique and sorted in row-major order. The indices are copied and
+   * returned by {@link SparseNdArray#getIndices()} as a read-only view of that copy, while the
+   * values passed in parameter are returned as is by {@link SparseNdArray#getValues()}, without
+   * being copied.
+   *
+   * @param indices matrix of shape {@code [N, shape.numDimensions()]} containing the coordinates of
+   *                each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the array
+   * @return new sparse array
+   * @throws IllegalArgumentException if the indices or values are not of the expected shape, or if
+   *                                  the coordinates are not unique and sorted
+   * @throws IndexOutOfBoundsException if some coordinates are outside the limits of the shape
+   */
+  public static FloatSparseNdArray sparseOf(LongNdArray indices, FloatNdArray values, Shape shape) {
+    return FloatSparseNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse matrix of floats from the columns of its non-zero values, grouped by row (CSR
+   * layout).
+   *
+   * <p>The values of row {@code i} are found at indices {@code [rowOffsets[i], rowOffsets[i + 1])}
+   * of {@code values} and {@code columns}. Columns of a same row must be unique and sorted.
+   *
+   * @param rowOffsets vector of {@code shape.size(0) + 1} offsets, starting with 0 and ending with
+   *                   {@code N}
+   * @param columns vector of the column of each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the matrix
+   * @return new sparse matrix
+   * @throws IllegalArgumentException if the offsets, columns or values are not of the expected
+   *                                  shape, or if the columns are not unique and sorted
+   * @throws IndexOutOfBoundsException if some columns are outside the limits of the shape
+   */
+  public static FloatSparseNdArray sparseCsrOf(LongNdArray rowOffsets, LongNdArray columns, FloatNdArray values, Shape shape) {
+    return FloatSparseNdArray.createCsr(rowOffsets, columns, values, shape);
+  }
+
+  /**
+   * Creates a sparse array of doubles from the coordinates of its non-zero values (COO layout).
+   *
+   * <p>Coordinates must be unique and sorted in row-major order. The indices are copied and
+   * returned by {@link SparseNdArray#getIndices()} as a read-only view of that copy, while the
+   * values passed in parameter are returned as is by {@link SparseNdArray#getValues()}, without
+   * being copied.
+   *
+   * @param indices matrix of shape {@code [N, shape.numDimensions()]} containing the coordinates of
+   *                each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the array
+   * @return new sparse array
+   * @throws IllegalArgumentException if the indices or values are not of the expected shape, or if
+   *                                  the coordinates are not unique and sorted
+   * @throws IndexOutOfBoundsException if some coordinates are outside the limits of the shape
+   */
+  public static DoubleSparseNdArray sparseOf(LongNdArray indices, DoubleNdArray values, Shape shape) {
+    return DoubleSparseNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse matrix of doubles from the columns of its non-zero values, grouped by row (CSR
+   * layout).
+   *
+   * <p>The values of row {@code i} are found at indices {@code [rowOffsets[i], rowOffsets[i + 1])}
+   * of {@code values} and {@code columns}. Columns of a same row must be unique and sorted.
+   *
+   * @param rowOffsets vector of {@code shape.size(0) + 1} offsets, starting with 0 and ending with
+   *                   {@code N}
+   * @param columns vector of the column of each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the matrix
+   * @return new sparse matrix
+   * @throws IllegalArgumentException if the offsets, columns or values are not of the expected
+   *                                  shape, or if the columns are not unique and sorted
+   * @throws IndexOutOfBoundsException if some columns are outside the limits of the shape
+   */
+  public static DoubleSparseNdArray sparseCsrOf(LongNdArray rowOffsets, LongNdArray columns, DoubleNdArray values, Shape shape) {
+    return DoubleSparseNdArray.createCsr(rowOffsets, columns, values, shape);
+  }
+
+  /**
+   * Creates a sparse array of ints from the coordinates of its non-zero values (COO layout).
+   *
+   * <p>Coordinates must be unique and sorted in row-major order. The indices are copied and
+   * returned by {@link SparseNdArray#getIndices()} as a read-only view of that copy, while the
+   * values passed in parameter are returned as is by {@link SparseNdArray#getValues()}, without
+   * being copied.
+   *
+   * @param indices matrix of shape {@code [N, shape.numDimensions()]} containing the coordinates of
+   *                each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the array
+   * @return new sparse array
+   * @throws IllegalArgumentException if the indices or values are not of the expected shape, or if
+   *                                  the coordinates are not unique and sorted
+   * @throws IndexOutOfBoundsException if some coordinates are outside the limits of the shape
+   */
+  public static IntSparseNdArray sparseOf(LongNdArray indices, IntNdArray values, Shape shape) {
+    return IntSparseNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse matrix of ints from the columns of its non-zero values, grouped by row (CSR
+   * layout).
+   *
+   * <p>The values of row {@code i} are found at indices {@code [rowOffsets[i], rowOffsets[i + 1])}
+   * of {@code values} and {@code columns}. Columns of a same row must be unique and sorted.
+   *
+   * @param rowOffsets vector of {@code shape.size(0) + 1} offsets, starting with 0 and ending with
+   *                   {@code N}
+   * @param columns vector of the column of each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the matrix
+   * @return new sparse matrix
+   * @throws IllegalArgumentException if the offsets, columns or values are not of the expected
+   *                                  shape, or if the columns are not unique and sorted
+   * @throws IndexOutOfBoundsException if some columns are outside the limits of the shape
+   */
+  public static IntSparseNdArray sparseCsrOf(LongNdArray rowOffsets, LongNdArray columns, IntNdArray values, Shape shape) {
+    return IntSparseNdArray.createCsr(rowOffsets, columns, values, shape);
+  }
+
+  /**
+   * Creates a sparse array of longs from the coordinates of its non-zero values (COO layout).
+   *
+   * <p>Coordinates must be unique and sorted in row-major order. The indices are copied and
+   * returned by {@link SparseNdArray#getIndices()} as a read-only view of that copy, while the
+   * values passed in parameter are returned as is by {@link SparseNdArray#getValues()}, without
+   * being copied.
+   *
+   * @param indices matrix of shape {@code [N, shape.numDimensions()]} containing the coordinates of
+   *                each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the array
+   * @return new sparse array
+   * @throws IllegalArgumentException if the indices or values are not of the expected shape, or if
+   *                                  the coordinates are not unique and sorted
+   * @throws IndexOutOfBoundsException if some coordinates are outside the limits of the shape
+   */
+  public static LongSparseNdArray sparseOf(LongNdArray indices, LongNdArray values, Shape shape) {
+    return LongSparseNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse matrix of longs from the columns of its non-zero values, grouped by row (CSR
+   * layout).
+   *
+   * <p>The values of row {@code i} are found at indices {@code [rowOffsets[i], rowOffsets[i + 1])}
+   * of {@code values} and {@code columns}. Columns of a same row must be unique and sorted.
+   *
+   * @param rowOffsets vector of {@code shape.size(0) + 1} offsets, starting with 0 and ending with
+   *                   {@code N}
+   * @param columns vector of the column of each non-zero value
+   * @param values vector of the {@code N} non-zero values
+   * @param shape dense shape of the matrix
+   * @return new sparse matrix
+   * @throws IllegalArgumentException if the offsets, columns or values are not of the expected
+   *                                  shape, or if the columns are not unique and sorted
+   * @throws IndexOutOfBoundsException if some columns are outside the limits of the shape
+   */
+  public static LongSparseNdArray sparseCsrOf(LongNdArray rowOffsets, LongNdArray columns, LongNdArray values, Shape shape) {
+    return LongSparseNdArray.createCsr(rowOffsets, columns, values, shape);
+  }
+
+  // GATHER AND SCATTER
+
+  /**
+   * Copies the elements found at the given coordinates in the first dimension of an array to
+   * consecutive elements of another array.
+   *
+   * <p>This is equivalent to {@code src.slice(Indices.seq(indices)).copyTo(dst)}. Elements that are
+   * also consecutive in {@code src} are copied as a single block. For example, to look up
+   * embeddings of a batch of tokens:
+   * <pre>{@code
+   *    FloatNdArray embeddings = NdArrays.ofFloats(Shape.of(100000, 256));
+   *    FloatNdArray batch = NdArrays.gather(embeddings, new long[] {12, 13, 14, 5000}, NdArrays.ofFloats(Shape.of(4, 256)));
+   * }</pre>
+   *
+   * @param src array to gather the elements from
+   * @param indices coordinates of the elements to gather in the first dimension of {@code src}
+   * @param dst array receiving the elements, where {@code dst.shape().size(0) == indices.length}
+   * @param <T> the data type
+   * @param <U> the type of the destination array
+   * @return the destination array
+   * @throws IllegalRankException if {@code src} is a scalar
+   * @throws IndexOutOfBoundsException if one of the coordinates is out of bounds
+   * @throws IllegalArgumentException if {@code dst} is not of the expected shape
+   */
+  public static <T, U extends NdArray<T>> U gather(NdArray<T> src, long[] indices, U dst) {
+    if (src.rank() == 0) {
+      throw new IllegalRankException("Cannot gather elements of a scalar");
+    }
+    src.slice(Indices.seq(indices)).copyTo(dst);
+    return dst;
+  }
+
+  /**
+   * Copies consecutive elements of an array at the given coordinates in the first dimension of
+   * another array.
+   *
+   * <p>This is equivalent to {@code src.copyTo(dst.slice(Indices.seq(indices)))}. Elements that
+   * are also consecutive in {@code dst} are copied as a single block. If the same coordinate is
+   * present more than once, the last element copied at that coordinate is kept.
+   *
+   * @param src array containing the elements to scatter, where {@code src.shape().size(0) == indices.length}
+   * @param indices coordinates of the elements in the first dimension of {@code dst}
+   * @param dst array receiving the elements
+   * @param <T> the data type
+   * @param <U> the type of the destination array
+   * @return the destination array
+   * @throws IllegalRankException if {@code dst} is a scalar
+   * @throws IndexOutOfBoundsException if one of the coordinates is out of bounds
+   * @throws IllegalArgumentException if {@code src} is not of the expected shape
+   */
+  public static <T, U extends NdArray<T>> U scatter(NdArray<T> src, long[] indices, U dst) {
+    if (dst.rank() == 0) {
+      throw new IllegalRankException("Cannot scatter elements into a scalar");
+    }
+    src.copyTo(dst.slice(Indices.seq(indices)));
+    return dst;
+  }
 }
 
@@ -0,0 +1,1219 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray;
+
+import org.tensorflow.ndarray.impl.math.BinaryOp;
+import org.tensorflow.ndarray.impl.math.DoubleKernels;
+import org.tensorflow.ndarray.impl.math.FloatKernels;
+import org.tensorflow.ndarray.impl.math.IntKernels;
+import org.tensorflow.ndarray.impl.math.LongKernels;
+import org.tensorflow.ndarray.impl.math.ReduceOp;
+import org.tensorflow.ndarray.impl.math.UnaryOp;
+
+/**
+ * Utility class for computing element-wise operations and reductions on primitive {@link NdArray}s.
+ *
+ * <p>All operations write their result to a destination array provided by the caller. Values can
+ * be updated in place only by passing the identical view as input and destination; an input that
+ * only partially overlaps the destination (e.g. {@code NdMath.add(x, x.get(0), x)}) is copied to a
+ * temporary array first. No memory is allocated per element processed: dense arrays backed by a
+ * Java array are read and written directly, while other arrays (e.g. sliced views or arrays mapped
+ * to native memory) are staged once in a temporary array. Large arrays are processed in parallel by
+ * the common {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * <p>Element-wise operations between two arrays support broadcasting, following NumPy rules:
+ * shapes are aligned on their last dimension and dimensions of size 1 are repeated to match the
+ * size of the other array. For example:
+ * <pre>{@code
+ *    FloatNdArray logits = NdArrays.ofFloats(Shape.of(64, 10));
+ *    FloatNdArray bias = NdArrays.ofFloats(Shape.of(10));
+ *
+ *    NdMath.add(logits, bias, logits);  // adds bias to each row of logits, in place
+ *    NdMath.softmax(logits, -1, logits);
+ *
+ *    LongNdArray predictions = NdArrays.ofLongs(Shape.of(64));
+ *    NdMath.argMax(logits, 1, predictions);
+ * }</pre>
+ *
+ * <p>Reductions along an axis accept a destination array whose shape is the one of the input array
+ * with the reduced axis either removed or kept with a size of 1. Negative axis are counted from
+ * the last dimension.
+ */
+public final class NdMath {
+
+  // FLOAT ARRAYS
+
+  /**
+   * Adds {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray add(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.ADD, a, b, dst);
+  }
+
+  /**
+   * Subtracts {@code b} from {@code a}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray sub(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.SUB, a, b, dst);
+  }
+
+  /**
+   * Multiplies {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray mul(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.MUL, a, b, dst);
+  }
+
+  /**
+   * Divides {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray div(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.DIV, a, b, dst);
+  }
+
+  /**
+   * Computes the maximum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray maximum(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.MAX, a, b, dst);
+  }
+
+  /**
+   * Computes the minimum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static FloatNdArray minimum(FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    return FloatKernels.binary(BinaryOp.MIN, a, b, dst);
+  }
+
+  /**
+   * Negates each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static FloatNdArray neg(FloatNdArray src, FloatNdArray dst) {
+    return FloatKernels.unary(UnaryOp.NEG, src, dst);
+  }
+
+  /**
+   * Computes the absolute value of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static FloatNdArray abs(FloatNdArray src, FloatNdArray dst) {
+    return FloatKernels.unary(UnaryOp.ABS, src, dst);
+  }
+
+  /**
+   * Computes the exponential of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static FloatNdArray exp(FloatNdArray src, FloatNdArray dst) {
+    return FloatKernels.unary(UnaryOp.EXP, src, dst);
+  }
+
+  /**
+   * Computes the natural logarithm of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static FloatNdArray log(FloatNdArray src, FloatNdArray dst) {
+    return FloatKernels.unary(UnaryOp.LOG, src, dst);
+  }
+
+  /**
+   * Computes the square root of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static FloatNdArray sqrt(FloatNdArray src, FloatNdArray dst) {
+    return FloatKernels.unary(UnaryOp.SQRT, src, dst);
+  }
+
+  /**
+   * Computes the sum of all values of an array.
+   *
+   * @param src input array
+   * @return the sum, or 0 if the array is empty
+   */
+  public static float sum(FloatNdArray src) {
+    return FloatKernels.reduce(ReduceOp.SUM, src);
+  }
+
+  /**
+   * Computes the sum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static FloatNdArray sum(FloatNdArray src, int axis, FloatNdArray dst) {
+    return FloatKernels.reduce(ReduceOp.SUM, src, axis, dst);
+  }
+
+  /**
+   * Returns the maximum of all values of an array.
+   *
+   * @param src input array
+   * @return the max
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static float max(FloatNdArray src) {
+    return FloatKernels.reduce(ReduceOp.MAX, src);
+  }
+
+  /**
+   * Returns the maximum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static FloatNdArray max(FloatNdArray src, int axis, FloatNdArray dst) {
+    return FloatKernels.reduce(ReduceOp.MAX, src, axis, dst);
+  }
+
+  /**
+   * Returns the minimum of all values of an array.
+   *
+   * @param src input array
+   * @return the min
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static float min(FloatNdArray src) {
+    return FloatKernels.reduce(ReduceOp.MIN, src);
+  }
+
+  /**
+   * Returns the minimum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static FloatNdArray min(FloatNdArray src, int axis, FloatNdArray dst) {
+    return FloatKernels.reduce(ReduceOp.MIN, src, axis, dst);
+  }
+
+  /**
+   * Computes the mean of all values of an array.
+   *
+   * @param src input array
+   * @return the mean
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static float mean(FloatNdArray src) {
+    return FloatKernels.reduce(ReduceOp.MEAN, src);
+  }
+
+  /**
+   * Computes the mean of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static FloatNdArray mean(FloatNdArray src, int axis, FloatNdArray dst) {
+    return FloatKernels.reduce(ReduceOp.MEAN, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the maximum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the maximum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMax(FloatNdArray src) {
+    return FloatKernels.argReduce(true, src);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMax(FloatNdArray src, int axis, LongNdArray dst) {
+    return FloatKernels.argReduce(true, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the minimum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the minimum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMin(FloatNdArray src) {
+    return FloatKernels.argReduce(false, src);
+  }
+
+  /**
+   * Computes the indices of the minimum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMin(FloatNdArray src, int axis, LongNdArray dst) {
+    return FloatKernels.argReduce(false, src, axis, dst);
+  }
+
+  /**
+   * Computes the softmax of an array along the given axis.
+   *
+   * <p>Values are normalized so that they sum up to 1 along {@code axis}, after subtracting their
+   * maximum for numerical stability.
+   *
+   * @param src input array, e.g. logits
+   * @param axis axis to normalize
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if shapes of {@code src} and
+   *                                  {@code dst} are different
+   */
+  public static FloatNdArray softmax(FloatNdArray src, int axis, FloatNdArray dst) {
+    return FloatKernels.softmax(src, axis, dst);
+  }
+
+  // DOUBLE ARRAYS
+
+  /**
+   * Adds {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray add(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.ADD, a, b, dst);
+  }
+
+  /**
+   * Subtracts {@code b} from {@code a}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray sub(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.SUB, a, b, dst);
+  }
+
+  /**
+   * Multiplies {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray mul(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.MUL, a, b, dst);
+  }
+
+  /**
+   * Divides {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray div(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.DIV, a, b, dst);
+  }
+
+  /**
+   * Computes the maximum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray maximum(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.MAX, a, b, dst);
+  }
+
+  /**
+   * Computes the minimum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static DoubleNdArray minimum(DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    return DoubleKernels.binary(BinaryOp.MIN, a, b, dst);
+  }
+
+  /**
+   * Negates each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static DoubleNdArray neg(DoubleNdArray src, DoubleNdArray dst) {
+    return DoubleKernels.unary(UnaryOp.NEG, src, dst);
+  }
+
+  /**
+   * Computes the absolute value of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static DoubleNdArray abs(DoubleNdArray src, DoubleNdArray dst) {
+    return DoubleKernels.unary(UnaryOp.ABS, src, dst);
+  }
+
+  /**
+   * Computes the exponential of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static DoubleNdArray exp(DoubleNdArray src, DoubleNdArray dst) {
+    return DoubleKernels.unary(UnaryOp.EXP, src, dst);
+  }
+
+  /**
+   * Computes the natural logarithm of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static DoubleNdArray log(DoubleNdArray src, DoubleNdArray dst) {
+    return DoubleKernels.unary(UnaryOp.LOG, src, dst);
+  }
+
+  /**
+   * Computes the square root of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static DoubleNdArray sqrt(DoubleNdArray src, DoubleNdArray dst) {
+    return DoubleKernels.unary(UnaryOp.SQRT, src, dst);
+  }
+
+  /**
+   * Computes the sum of all values of an array.
+   *
+   * @param src input array
+   * @return the sum, or 0 if the array is empty
+   */
+  public static double sum(DoubleNdArray src) {
+    return DoubleKernels.reduce(ReduceOp.SUM, src);
+  }
+
+  /**
+   * Computes the sum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static DoubleNdArray sum(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    return DoubleKernels.reduce(ReduceOp.SUM, src, axis, dst);
+  }
+
+  /**
+   * Returns the maximum of all values of an array.
+   *
+   * @param src input array
+   * @return the max
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static double max(DoubleNdArray src) {
+    return DoubleKernels.reduce(ReduceOp.MAX, src);
+  }
+
+  /**
+   * Returns the maximum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static DoubleNdArray max(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    return DoubleKernels.reduce(ReduceOp.MAX, src, axis, dst);
+  }
+
+  /**
+   * Returns the minimum of all values of an array.
+   *
+   * @param src input array
+   * @return the min
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static double min(DoubleNdArray src) {
+    return DoubleKernels.reduce(ReduceOp.MIN, src);
+  }
+
+  /**
+   * Returns the minimum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static DoubleNdArray min(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    return DoubleKernels.reduce(ReduceOp.MIN, src, axis, dst);
+  }
+
+  /**
+   * Computes the mean of all values of an array.
+   *
+   * @param src input array
+   * @return the mean
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static double mean(DoubleNdArray src) {
+    return DoubleKernels.reduce(ReduceOp.MEAN, src);
+  }
+
+  /**
+   * Computes the mean of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static DoubleNdArray mean(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    return DoubleKernels.reduce(ReduceOp.MEAN, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the maximum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the maximum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMax(DoubleNdArray src) {
+    return DoubleKernels.argReduce(true, src);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMax(DoubleNdArray src, int axis, LongNdArray dst) {
+    return DoubleKernels.argReduce(true, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the minimum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the minimum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMin(DoubleNdArray src) {
+    return DoubleKernels.argReduce(false, src);
+  }
+
+  /**
+   * Computes the indices of the minimum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMin(DoubleNdArray src, int axis, LongNdArray dst) {
+    return DoubleKernels.argReduce(false, src, axis, dst);
+  }
+
+  /**
+   * Computes the softmax of an array along the given axis.
+   *
+   * <p>Values are normalized so that they sum up to 1 along {@code axis}, after subtracting their
+   * maximum for numerical stability.
+   *
+   * @param src input array, e.g. logits
+   * @param axis axis to normalize
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if shapes of {@code src} and
+   *                                  {@code dst} are different
+   */
+  public static DoubleNdArray softmax(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    return DoubleKernels.softmax(src, axis, dst);
+  }
+
+  // INT ARRAYS
+
+  /**
+   * Adds {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static IntNdArray add(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.ADD, a, b, dst);
+  }
+
+  /**
+   * Subtracts {@code b} from {@code a}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static IntNdArray sub(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.SUB, a, b, dst);
+  }
+
+  /**
+   * Multiplies {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static IntNdArray mul(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.MUL, a, b, dst);
+  }
+
+  /**
+   * Divides {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   * @throws ArithmeticException if a value of {@code b} is 0
+   */
+  public static IntNdArray div(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.DIV, a, b, dst);
+  }
+
+  /**
+   * Computes the maximum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static IntNdArray maximum(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.MAX, a, b, dst);
+  }
+
+  /**
+   * Computes the minimum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static IntNdArray minimum(IntNdArray a, IntNdArray b, IntNdArray dst) {
+    return IntKernels.binary(BinaryOp.MIN, a, b, dst);
+  }
+
+  /**
+   * Negates each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static IntNdArray neg(IntNdArray src, IntNdArray dst) {
+    return IntKernels.unary(UnaryOp.NEG, src, dst);
+  }
+
+  /**
+   * Computes the absolute value of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static IntNdArray abs(IntNdArray src, IntNdArray dst) {
+    return IntKernels.unary(UnaryOp.ABS, src, dst);
+  }
+
+  /**
+   * Computes the sum of all values of an array.
+   *
+   * @param src input array
+   * @return the sum, or 0 if the array is empty
+   */
+  public static int sum(IntNdArray src) {
+    return IntKernels.reduce(ReduceOp.SUM, src);
+  }
+
+  /**
+   * Computes the sum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static IntNdArray sum(IntNdArray src, int axis, IntNdArray dst) {
+    return IntKernels.reduce(ReduceOp.SUM, src, axis, dst);
+  }
+
+  /**
+   * Returns the maximum of all values of an array.
+   *
+   * @param src input array
+   * @return the max
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static int max(IntNdArray src) {
+    return IntKernels.reduce(ReduceOp.MAX, src);
+  }
+
+  /**
+   * Returns the maximum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static IntNdArray max(IntNdArray src, int axis, IntNdArray dst) {
+    return IntKernels.reduce(ReduceOp.MAX, src, axis, dst);
+  }
+
+  /**
+   * Returns the minimum of all values of an array.
+   *
+   * @param src input array
+   * @return the min
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static int min(IntNdArray src) {
+    return IntKernels.reduce(ReduceOp.MIN, src);
+  }
+
+  /**
+   * Returns the minimum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static IntNdArray min(IntNdArray src, int axis, IntNdArray dst) {
+    return IntKernels.reduce(ReduceOp.MIN, src, axis, dst);
+  }
+
+  /**
+   * Computes the mean of all values of an array.
+   *
+   * <p>As for other integer divisions, the result is rounded toward zero.
+   *
+   * @param src input array
+   * @return the mean
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static int mean(IntNdArray src) {
+    return IntKernels.reduce(ReduceOp.MEAN, src);
+  }
+
+  /**
+   * Computes the mean of values of an array along the given axis.
+   *
+   * <p>As for other integer divisions, the result is rounded toward zero.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static IntNdArray mean(IntNdArray src, int axis, IntNdArray dst) {
+    return IntKernels.reduce(ReduceOp.MEAN, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the maximum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the maximum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMax(IntNdArray src) {
+    return IntKernels.argReduce(true, src);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMax(IntNdArray src, int axis, LongNdArray dst) {
+    return IntKernels.argReduce(true, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the minimum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the minimum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMin(IntNdArray src) {
+    return IntKernels.argReduce(false, src);
+  }
+
+  /**
+   * Computes the indices of the minimum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMin(IntNdArray src, int axis, LongNdArray dst) {
+    return IntKernels.argReduce(false, src, axis, dst);
+  }
+
+  // LONG ARRAYS
+
+  /**
+   * Adds {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static LongNdArray add(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.ADD, a, b, dst);
+  }
+
+  /**
+   * Subtracts {@code b} from {@code a}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static LongNdArray sub(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.SUB, a, b, dst);
+  }
+
+  /**
+   * Multiplies {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static LongNdArray mul(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.MUL, a, b, dst);
+  }
+
+  /**
+   * Divides {@code a} by {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   * @throws ArithmeticException if a value of {@code b} is 0
+   */
+  public static LongNdArray div(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.DIV, a, b, dst);
+  }
+
+  /**
+   * Computes the maximum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static LongNdArray maximum(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.MAX, a, b, dst);
+  }
+
+  /**
+   * Computes the minimum of {@code a} and {@code b}, element-wise, with broadcasting.
+   *
+   * @param a first operand
+   * @param b second operand
+   * @param dst array receiving the result, must have the broadcast shape of {@code a} and {@code b}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes cannot be broadcast or do not match {@code dst}
+   */
+  public static LongNdArray minimum(LongNdArray a, LongNdArray b, LongNdArray dst) {
+    return LongKernels.binary(BinaryOp.MIN, a, b, dst);
+  }
+
+  /**
+   * Negates each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static LongNdArray neg(LongNdArray src, LongNdArray dst) {
+    return LongKernels.unary(UnaryOp.NEG, src, dst);
+  }
+
+  /**
+   * Computes the absolute value of each value of an array.
+   *
+   * @param src input array
+   * @param dst array receiving the result, must have the same shape as {@code src}
+   * @return {@code dst}
+   * @throws IllegalArgumentException if shapes of {@code src} and {@code dst} are different
+   */
+  public static LongNdArray abs(LongNdArray src, LongNdArray dst) {
+    return LongKernels.unary(UnaryOp.ABS, src, dst);
+  }
+
+  /**
+   * Computes the sum of all values of an array.
+   *
+   * @param src input array
+   * @return the sum, or 0 if the array is empty
+   */
+  public static long sum(LongNdArray src) {
+    return LongKernels.reduce(ReduceOp.SUM, src);
+  }
+
+  /**
+   * Computes the sum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray sum(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.reduce(ReduceOp.SUM, src, axis, dst);
+  }
+
+  /**
+   * Returns the maximum of all values of an array.
+   *
+   * @param src input array
+   * @return the max
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long max(LongNdArray src) {
+    return LongKernels.reduce(ReduceOp.MAX, src);
+  }
+
+  /**
+   * Returns the maximum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray max(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.reduce(ReduceOp.MAX, src, axis, dst);
+  }
+
+  /**
+   * Returns the minimum of all values of an array.
+   *
+   * @param src input array
+   * @return the min
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long min(LongNdArray src) {
+    return LongKernels.reduce(ReduceOp.MIN, src);
+  }
+
+  /**
+   * Returns the minimum of values of an array along the given axis.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray min(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.reduce(ReduceOp.MIN, src, axis, dst);
+  }
+
+  /**
+   * Computes the mean of all values of an array.
+   *
+   * <p>As for other integer divisions, the result is rounded toward zero.
+   *
+   * @param src input array
+   * @return the mean
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long mean(LongNdArray src) {
+    return LongKernels.reduce(ReduceOp.MEAN, src);
+  }
+
+  /**
+   * Computes the mean of values of an array along the given axis.
+   *
+   * <p>As for other integer divisions, the result is rounded toward zero.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the result, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray mean(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.reduce(ReduceOp.MEAN, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the maximum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the maximum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMax(LongNdArray src) {
+    return LongKernels.argReduce(true, src);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the maximum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMax(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.argReduce(true, src, axis, dst);
+  }
+
+  /**
+   * Returns the index of the minimum value of an array, as if it was flattened to a vector.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @return index of the minimum value
+   * @throws IllegalArgumentException if {@code src} is empty
+   */
+  public static long argMin(LongNdArray src) {
+    return LongKernels.argReduce(false, src);
+  }
+
+  /**
+   * Computes the indices of the minimum values of an array along the given axis.
+   *
+   * <p>If multiple values are equal to the minimum, the smallest index is returned.
+   *
+   * @param src input array
+   * @param axis axis to reduce
+   * @param dst array receiving the indices, must have the shape of {@code src} without the reduced axis
+   * @return {@code dst}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the shape of {@code dst} is
+   *                                  invalid
+   */
+  public static LongNdArray argMin(LongNdArray src, int axis, LongNdArray dst) {
+    return LongKernels.argReduce(false, src, axis, dst);
+  }
+
+  private NdMath() {}
+}
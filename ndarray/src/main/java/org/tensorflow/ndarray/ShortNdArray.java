@@ -71,6 +71,15 @@ public interface ShortNdArray extends NdArray<Short> {
   @Override
   ShortNdArray slice(Index... coordinates);
 
+  @Override
+  ShortNdArray permute(int... axes);
+
+  @Override
+  ShortNdArray reshape(Shape shape);
+
+  @Override
+  ShortNdArray broadcastTo(Shape shape);
+
   @Override
   ShortNdArray get(long... coordinates);
 
@@ -93,6 +102,42 @@ public interface ShortNdArray extends NdArray<Short> {
   @Override
   NdArraySequence<ShortNdArray> scalars();
 
+  @Override
+  ShortNdArrayCursor cursor();
+
+  /**
+   * Visits the short value of all scalars of this array in row-major order.
+   *
+   * <p>Values are passed with their flat index, i.e. their index if the values of this array were
+   * stored contiguously, without creating any new object for each scalar. For example:
+   * <pre>{@code
+   *    ShortNdArray matrix = ...;  // matrix of shape (2, 3)
+   *    matrix.forEachShort((index, value) -> {
+   *      long row = index / 3;
+   *      long column = index % 3;
+   *      ...
+   *    });
+   * }</pre>
+   *
+   * @param consumer visitor of each value
+   */
+  void forEachShort(IndexedShortConsumer consumer);
+
+  /**
+   * Visitor of the short values of an array.
+   */
+  @FunctionalInterface
+  interface IndexedShortConsumer {
+
+    /**
+     * Visits a value.
+     *
+     * @param index flat index of the value
+     * @param value the value
+     */
+    void accept(long index, short value);
+  }
+
   @Override
   ShortNdArray copyTo(NdArray<Short> dst);
 
@@ -0,0 +1,103 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray;
+
+/**
+ * An N-dimensional array where only non-zero values are stored.
+ *
+ * <p>A sparse array is described by the coordinates of its non-zero values, the values themselves
+ * and its dense shape, which is the same representation as the {@code SparseTensor} inputs of
+ * TensorFlow sparse operations. For example:
+ * <pre>{@code
+ *    // [[0, 0, 1], [0, 2, 0]]
+ *    SparseNdArray<Float, FloatNdArray> matrix = NdArrays.sparseOf(
+ *        StdArrays.ndCopyOf(new long[][] {{0, 2}, {1, 1}}),
+ *        NdArrays.vectorOf(1.0f, 2.0f),
+ *        Shape.of(2, 3)
+ *    );
+ *    assertEquals(2.0f, matrix.getObject(1, 1));
+ *    assertEquals(0.0f, matrix.getObject(0, 0));
+ * }</pre>
+ *
+ * <p>Sparse arrays can be read like any other {@link NdArray}, including by iterating their
+ * elements, but are read-only and cannot be sliced with indices. Copying a sparse array to a dense
+ * one (e.g. with {@link #copyTo(NdArray)}) densifies its values.
+ *
+ * @param <T> the type of values in this array
+ * @param <U> the type of dense array holding the non-zero values
+ */
+public interface SparseNdArray<T, U extends NdArray<T>> extends NdArray<T> {
+
+  /**
+   * Visitor of the non-zero values of a sparse array.
+   */
+  @FunctionalInterface
+  interface NonZeroConsumer {
+
+    /**
+     * Visits a non-zero value.
+     *
+     * @param coordinates coordinates of the value in the sparse array, the same instance is reused
+     *                    between each call
+     * @param valueIndex index of the value in {@link #getValues()}
+     */
+    void accept(long[] coordinates, long valueIndex);
+  }
+
+  /**
+   * Returns the coordinates of the non-zero values of this array, in row-major order.
+   *
+   * <p>The returned matrix has a shape of {@code [numNonZeros(), rank()]}, where each row
+   * contains the coordinates of the value at the same index in {@link #getValues()}. It can be
+   * used as the {@code indices} input of a {@code SparseTensor}.
+   *
+   * @return coordinates of the non-zero values
+   */
+  LongNdArray getIndices();
+
+  /**
+   * Returns the non-zero values of this array, in row-major order.
+   *
+   * <p>The returned vector has a shape of {@code [numNonZeros()]} and can be used as the
+   * {@code values} input of a {@code SparseTensor}.
+   *
+   * @return non-zero values
+   */
+  U getValues();
+
+  /**
+   * Returns the dense shape of this array as a vector, which can be used as the {@code dense_shape}
+   * input of a {@code SparseTensor}.
+   *
+   * @return dense shape of this array
+   */
+  LongNdArray getDenseShape();
+
+  /**
+   * Returns the number of non-zero values in this array.
+   *
+   * @return number of non-zero values
+   */
+  long numNonZeros();
+
+  /**
+   * Visits all non-zero values of this array, in row-major order.
+   *
+   * @param consumer visitor of each non-zero value
+   */
+  void forEachNonZero(NonZeroConsumer consumer);
+}
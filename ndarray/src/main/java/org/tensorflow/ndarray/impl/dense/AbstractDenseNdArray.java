@@ -17,7 +17,9 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.NdArrayCursor;
 import org.tensorflow.ndarray.NdArraySequence;
+import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.impl.AbstractNdArray;
 import org.tensorflow.ndarray.impl.dimension.RelativeDimensionalSpace;
 import org.tensorflow.ndarray.impl.sequence.FastElementSequence;
@@ -51,6 +53,11 @@ public abstract class AbstractDenseNdArray<T, U extends NdArray<T>> extends Abst
     }
   }
 
+  @Override
+  public NdArrayCursor<T> cursor() {
+    return new DenseCursor<>(buffer(), dimensions());
+  }
+
   @Override
   public U slice(long position, DimensionalSpace sliceDimensions) {
     DataBuffer<T> sliceBuffer = buffer().slice(position, sliceDimensions.physicalSize());
@@ -66,6 +73,29 @@ public abstract class AbstractDenseNdArray<T, U extends NdArray<T>> extends Abst
     return slice(sliceDimensions.position(), sliceDimensions);
   }
 
+  @Override
+  public U permute(int... axes) {
+    return slice(0, dimensions().permute(axes));
+  }
+
+  @Override
+  public U reshape(Shape shape) {
+    Validator.shapeArgs(shape);
+    DimensionalSpace reshapedDimensions = dimensions().reshape(shape);
+    if (reshapedDimensions == null) {
+      throw new IllegalArgumentException("Cannot reshape array of shape " + shape() + " to "
+          + shape + " without copying its values");
+    }
+    return slice(0, reshapedDimensions);
+  }
+
+  @Override
+  public U broadcastTo(Shape shape) {
+    Validator.shapeArgs(shape);
+    RelativeDimensionalSpace broadcastDimensions = dimensions().broadcastTo(shape);
+    return slice(broadcastDimensions.position(), broadcastDimensions);
+  }
+
   @Override
   public U get(long... coords) {
     return slice(positionOf(coords, false), dimensions().from(coords.length));
@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.BooleanNdArray;
+import org.tensorflow.ndarray.BooleanNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.BooleanDataBuffer;
@@ -42,6 +43,25 @@ public class BooleanDenseNdArray extends AbstractDenseNdArray<Boolean, BooleanNd
     return this;
   }
 
+  @Override
+  public BooleanNdArrayCursor cursor() {
+    return new BooleanCursor();
+  }
+
+  @Override
+  public void forEachBoolean(IndexedBooleanConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getBoolean(i));
+      }
+    } else {
+      BooleanNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getBoolean());
+      }
+    }
+  }
+
   @Override
   public BooleanNdArray copyTo(NdArray<Boolean> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class BooleanDenseNdArray extends AbstractDenseNdArray<Boolean, BooleanNd
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class BooleanCursor extends DenseCursor<Boolean> implements BooleanNdArrayCursor {
+
+    @Override
+    public boolean getBoolean() {
+      return buffer.getBoolean(position());
+    }
+
+    @Override
+    public void setBoolean(boolean value) {
+      buffer.setBoolean(value, position());
+    }
+
+    @Override
+    public Boolean getObject() {
+      return getBoolean();
+    }
+
+    @Override
+    public void setObject(Boolean value) {
+      setBoolean(value);
+    }
+
+    private BooleanCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
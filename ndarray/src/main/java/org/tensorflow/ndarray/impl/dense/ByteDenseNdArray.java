@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.ByteNdArray;
+import org.tensorflow.ndarray.ByteNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.ByteDataBuffer;
@@ -42,6 +43,25 @@ public class ByteDenseNdArray extends AbstractDenseNdArray<Byte, ByteNdArray>
     return this;
   }
 
+  @Override
+  public ByteNdArrayCursor cursor() {
+    return new ByteCursor();
+  }
+
+  @Override
+  public void forEachByte(IndexedByteConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getByte(i));
+      }
+    } else {
+      ByteNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getByte());
+      }
+    }
+  }
+
   @Override
   public ByteNdArray copyTo(NdArray<Byte> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class ByteDenseNdArray extends AbstractDenseNdArray<Byte, ByteNdArray>
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class ByteCursor extends DenseCursor<Byte> implements ByteNdArrayCursor {
+
+    @Override
+    public byte getByte() {
+      return buffer.getByte(position());
+    }
+
+    @Override
+    public void setByte(byte value) {
+      buffer.setByte(value, position());
+    }
+
+    @Override
+    public Byte getObject() {
+      return getByte();
+    }
+
+    @Override
+    public void setObject(Byte value) {
+      setByte(value);
+    }
+
+    private ByteCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
 
 package org.tensorflow.ndarray.impl.dense;
 
+import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.BooleanDataBuffer;
 import org.tensorflow.ndarray.buffer.ByteDataBuffer;
 import org.tensorflow.ndarray.buffer.DataBuffer;
@@ -70,6 +71,14 @@ final class DataTransfer {
   static <T, B extends DataBuffer<T>> void execute(B srcBuffer, DimensionalSpace srcDimensions, B dstBuffer, DimensionalSpace dstDimensions, OfValue<B> valueTransfer) {
     if (srcDimensions.isSegmented() || dstDimensions.isSegmented()) {
       int segmentationIdx = Math.max(srcDimensions.segmentationIdx(), dstDimensions.segmentationIdx());
+      if (srcDimensions.get(segmentationIdx).elementSize() == 1) {
+        long[] srcStrides = srcDimensions.strides();
+        long[] dstStrides = dstDimensions.strides();
+        if (srcStrides != null && dstStrides != null) {
+          copyByTile(srcBuffer, srcStrides, dstBuffer, dstStrides, srcDimensions.shape().asArray(), valueTransfer);
+          return;
+        }
+      }
       copyByElement(
           srcBuffer,
           PositionIterator.create(srcDimensions, segmentationIdx),
@@ -86,6 +95,12 @@ final class DataTransfer {
   static <T, B extends DataBuffer<T>> void execute(B srcBuffer, B dstBuffer, DimensionalSpace dstDimensions, OfValue<B> valueTransfer) {
     if (dstDimensions.isSegmented()) {
       long elementSize = dstDimensions.get(dstDimensions.segmentationIdx()).elementSize();
+      long[] dstStrides = elementSize == 1 ? dstDimensions.strides() : null;
+      if (dstStrides != null) {
+        Shape shape = dstDimensions.shape();
+        copyByTile(srcBuffer, DimensionalSpace.create(shape).strides(), dstBuffer, dstStrides, shape.asArray(), valueTransfer);
+        return;
+      }
       copyByElement(
           srcBuffer,
           PositionIterator.sequence(elementSize, srcBuffer.size()),
@@ -102,6 +117,12 @@ final class DataTransfer {
   static <T, B extends DataBuffer<T>> void execute(B srcBuffer, DimensionalSpace srcDimensions, B dstBuffer, OfValue<B> valueTransfer) {
     if (srcDimensions.isSegmented()) {
       long elementSize = srcDimensions.get(srcDimensions.segmentationIdx()).elementSize();
+      long[] srcStrides = elementSize == 1 ? srcDimensions.strides() : null;
+      if (srcStrides != null) {
+        Shape shape = srcDimensions.shape();
+        copyByTile(srcBuffer, srcStrides, dstBuffer, DimensionalSpace.create(shape).strides(), shape.asArray(), valueTransfer);
+        return;
+      }
       copyByElement(
           srcBuffer,
           PositionIterator.create(srcDimensions, srcDimensions.segmentationIdx()),
@@ -123,14 +144,138 @@ final class DataTransfer {
       long elementSize,
       OfValue<B> valueTransfer
   ) {
-    if (elementSize == 1) {
-      while (srcIterator.hasNext()) {
-        valueTransfer.copy(srcBuffer, srcIterator.nextLong(), dstBuffer, dstIterator.nextLong());
+    if (!srcIterator.hasNext()) {
+      return;
+    }
+    // Elements that follow each other in both buffers are merged into a single block copy
+    long srcRunPosition = srcIterator.nextLong();
+    long dstRunPosition = dstIterator.nextLong();
+    long runSize = elementSize;
+    while (srcIterator.hasNext()) {
+      long srcPosition = srcIterator.nextLong();
+      long dstPosition = dstIterator.nextLong();
+      if (srcPosition == srcRunPosition + runSize && dstPosition == dstRunPosition + runSize) {
+        runSize += elementSize;
+      } else {
+        copyRun(srcBuffer, srcRunPosition, dstBuffer, dstRunPosition, runSize, valueTransfer);
+        srcRunPosition = srcPosition;
+        dstRunPosition = dstPosition;
+        runSize = elementSize;
       }
+    }
+    copyRun(srcBuffer, srcRunPosition, dstBuffer, dstRunPosition, runSize, valueTransfer);
+  }
+
+  private static <T, B extends DataBuffer<T>> void copyRun(
+      B srcBuffer,
+      long srcPosition,
+      B dstBuffer,
+      long dstPosition,
+      long runSize,
+      OfValue<B> valueTransfer
+  ) {
+    if (runSize == 1) {
+      valueTransfer.copy(srcBuffer, srcPosition, dstBuffer, dstPosition);
     } else {
-      while (srcIterator.hasNext()) {
-        srcBuffer.offset(srcIterator.nextLong()).copyTo(dstBuffer.offset(dstIterator.nextLong()), elementSize);
+      srcBuffer.slice(srcPosition, runSize).copyTo(dstBuffer.slice(dstPosition, runSize), runSize);
+    }
+  }
+
+  /**
+   * Copies values between two layouts of the same shape, where positions are computed from the
+   * strides of each dimension.
+   *
+   * <p>When the dimensions with the smallest strides differ between the source and the destination
+   * (e.g. after a permutation), values are copied by square tiles covering both dimensions, so
+   * that a tile of each layout fits in cache and no value loaded from memory is wasted.
+   */
+  private static <T, B extends DataBuffer<T>> void copyByTile(
+      B srcBuffer,
+      long[] srcStrides,
+      B dstBuffer,
+      long[] dstStrides,
+      long[] shape,
+      OfValue<B> valueTransfer
+  ) {
+    // Drop dimensions of size 1 and merge dimensions that are continuous in both layouts
+    int rank = 0;
+    long[] sizes = new long[shape.length];
+    long[] srcSteps = new long[shape.length];
+    long[] dstSteps = new long[shape.length];
+    for (int i = shape.length - 1; i >= 0; --i) {
+      if (shape[i] == 0) {
+        return;
+      }
+      if (shape[i] == 1) {
+        continue;
+      }
+      if (rank > 0
+          && srcStrides[i] == srcSteps[rank - 1] * sizes[rank - 1]
+          && dstStrides[i] == dstSteps[rank - 1] * sizes[rank - 1]) {
+        sizes[rank - 1] *= shape[i];
+      } else {
+        sizes[rank] = shape[i];
+        srcSteps[rank] = srcStrides[i];
+        dstSteps[rank++] = dstStrides[i];
+      }
+    }
+    if (rank == 0) {
+      valueTransfer.copy(srcBuffer, 0, dstBuffer, 0);
+      return;
+    }
+    // Dimensions are now ordered from the innermost, find which one is the fastest to traverse in
+    // the source
+    int srcInner = 0;
+    for (int i = 1; i < rank; ++i) {
+      if (srcSteps[i] < srcSteps[srcInner]) {
+        srcInner = i;
+      }
+    }
+    long dstSize = sizes[0];
+    long dstStep = dstSteps[0];
+    long srcStep = srcSteps[0];
+    long tileSize = srcInner == 0 ? dstSize : TILE_SIZE;
+    long srcTileSize = srcInner == 0 ? 1 : sizes[srcInner];
+    long srcTileStep = srcSteps[srcInner];
+    long dstTileStep = dstSteps[srcInner];
+
+    // Iterate all other dimensions as a single sequence of coordinates
+    long[] coords = new long[rank];
+    long srcPosition = 0;
+    long dstPosition = 0;
+    while (true) {
+      for (long j = 0; j < srcTileSize; j += TILE_SIZE) {
+        long jEnd = Math.min(j + TILE_SIZE, srcTileSize);
+        for (long i = 0; i < dstSize; i += tileSize) {
+          long iEnd = Math.min(i + tileSize, dstSize);
+          for (long jj = j; jj < jEnd; ++jj) {
+            long srcIdx = srcPosition + jj * srcTileStep + i * srcStep;
+            long dstIdx = dstPosition + jj * dstTileStep + i * dstStep;
+            for (long ii = i; ii < iEnd; ++ii, srcIdx += srcStep, dstIdx += dstStep) {
+              valueTransfer.copy(srcBuffer, srcIdx, dstBuffer, dstIdx);
+            }
+          }
+        }
+      }
+      int d = 1;
+      for (; d < rank; ++d) {
+        if (d == srcInner) {
+          continue;
+        }
+        if (++coords[d] < sizes[d]) {
+          srcPosition += srcSteps[d];
+          dstPosition += dstSteps[d];
+          break;
+        }
+        srcPosition -= (sizes[d] - 1) * srcSteps[d];
+        dstPosition -= (sizes[d] - 1) * dstSteps[d];
+        coords[d] = 0;
+      }
+      if (d == rank) {
+        return;
       }
     }
   }
+
+  private static final long TILE_SIZE = 32;
 }
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.ndarray.impl.dense;
+
+import org.tensorflow.ndarray.buffer.DoubleDataBuffer;
+import org.tensorflow.ndarray.buffer.FloatDataBuffer;
+import org.tensorflow.ndarray.buffer.IntDataBuffer;
+import org.tensorflow.ndarray.buffer.LongDataBuffer;
+
+/**
+ * Internal access to the buffers backing dense arrays, so that math kernels can read and write
+ * their values directly without exposing the buffers to users of the arrays.
+ */
+public final class DenseBuffers {
+
+  public static DoubleDataBuffer of(DoubleDenseNdArray array) {
+    return array.buffer();
+  }
+
+  public static FloatDataBuffer of(FloatDenseNdArray array) {
+    return array.buffer();
+  }
+
+  public static IntDataBuffer of(IntDenseNdArray array) {
+    return array.buffer();
+  }
+
+  public static LongDataBuffer of(LongDenseNdArray array) {
+    return array.buffer();
+  }
+
+  private DenseBuffers() {}
+}
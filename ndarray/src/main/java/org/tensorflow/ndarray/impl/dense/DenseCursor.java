@@ -0,0 +1,109 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.dense;
+
+import org.tensorflow.ndarray.NdArrayCursor;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.impl.dimension.Dimension;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+/**
+ * A cursor over the scalars of a dense array, computing the position of each scalar in the buffer
+ * incrementally from the previous one.
+ */
+class DenseCursor<T> implements NdArrayCursor<T> {
+
+  @Override
+  public boolean next() {
+    if (index + 1 >= size) {
+      return false;
+    }
+    if (++index == 0) {
+      position = initialPosition;
+      return true;
+    }
+    for (int i = coords.length - 1; i >= 0; --i) {
+      long coord = coords[i];
+      if (coord + 1 < sizes[i]) {
+        position += strides != null ? strides[i] : moveBy(i, coord, coord + 1);
+        coords[i] = coord + 1;
+        break;
+      }
+      position -= strides != null ? coord * strides[i] : moveBy(i, 0, coord);
+      coords[i] = 0;
+    }
+    return true;
+  }
+
+  @Override
+  public void reset() {
+    index = -1;
+    for (int i = 0; i < coords.length; ++i) {
+      coords[i] = 0;
+    }
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  @Override
+  public long[] coordinates() {
+    return coords;
+  }
+
+  @Override
+  public T getObject() {
+    return buffer.getObject(position);
+  }
+
+  @Override
+  public void setObject(T value) {
+    buffer.setObject(value, position);
+  }
+
+  DenseCursor(DataBuffer<T> buffer, DimensionalSpace dimensions) {
+    this.buffer = buffer;
+    this.dimensions = dimensions;
+    this.coords = new long[dimensions.numDimensions()];
+    this.sizes = dimensions.shape().asArray();
+    this.strides = dimensions.strides();
+    this.size = dimensions.shape().size();
+    this.initialPosition = size > 0 ? dimensions.positionOf(coords) : 0;
+  }
+
+  /** Position of the current scalar in the buffer */
+  final long position() {
+    return position;
+  }
+
+  private final DataBuffer<T> buffer;
+  private final DimensionalSpace dimensions;
+  private final long[] coords;
+  private final long[] sizes;
+  private final long[] strides;  // null if some dimensions are not strided, e.g. indexed
+  private final long size;
+  private final long initialPosition;
+  private long index = -1;
+  private long position;
+
+  private long moveBy(int dimensionIdx, long fromCoord, long toCoord) {
+    Dimension dimension = dimensions.get(dimensionIdx);
+    return dimension.positionOf(toCoord) - dimension.positionOf(fromCoord);
+  }
+}
@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.DoubleNdArray;
+import org.tensorflow.ndarray.DoubleNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffer;
@@ -42,6 +43,25 @@ public class DoubleDenseNdArray extends AbstractDenseNdArray<Double, DoubleNdArr
     return this;
   }
 
+  @Override
+  public DoubleNdArrayCursor cursor() {
+    return new DoubleCursor();
+  }
+
+  @Override
+  public void forEachDouble(IndexedDoubleConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getDouble(i));
+      }
+    } else {
+      DoubleNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getDouble());
+      }
+    }
+  }
+
   @Override
   public DoubleNdArray copyTo(NdArray<Double> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class DoubleDenseNdArray extends AbstractDenseNdArray<Double, DoubleNdArr
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class DoubleCursor extends DenseCursor<Double> implements DoubleNdArrayCursor {
+
+    @Override
+    public double getDouble() {
+      return buffer.getDouble(position());
+    }
+
+    @Override
+    public void setDouble(double value) {
+      buffer.setDouble(value, position());
+    }
+
+    @Override
+    public Double getObject() {
+      return getDouble();
+    }
+
+    @Override
+    public void setObject(Double value) {
+      setDouble(value);
+    }
+
+    private DoubleCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
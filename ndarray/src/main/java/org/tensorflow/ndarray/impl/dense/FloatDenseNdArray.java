@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.FloatNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffer;
@@ -42,6 +43,25 @@ public class FloatDenseNdArray extends AbstractDenseNdArray<Float, FloatNdArray>
     return this;
   }
 
+  @Override
+  public FloatNdArrayCursor cursor() {
+    return new FloatCursor();
+  }
+
+  @Override
+  public void forEachFloat(IndexedFloatConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getFloat(i));
+      }
+    } else {
+      FloatNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getFloat());
+      }
+    }
+  }
+
   @Override
   public FloatNdArray copyTo(NdArray<Float> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class FloatDenseNdArray extends AbstractDenseNdArray<Float, FloatNdArray>
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class FloatCursor extends DenseCursor<Float> implements FloatNdArrayCursor {
+
+    @Override
+    public float getFloat() {
+      return buffer.getFloat(position());
+    }
+
+    @Override
+    public void setFloat(float value) {
+      buffer.setFloat(value, position());
+    }
+
+    @Override
+    public Float getObject() {
+      return getFloat();
+    }
+
+    @Override
+    public void setObject(Float value) {
+      setFloat(value);
+    }
+
+    private FloatCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
@@ -20,6 +20,7 @@ import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffer;
 import org.tensorflow.ndarray.buffer.IntDataBuffer;
 import org.tensorflow.ndarray.IntNdArray;
+import org.tensorflow.ndarray.IntNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
 
@@ -42,6 +43,25 @@ public class IntDenseNdArray extends AbstractDenseNdArray<Integer, IntNdArray>
     return this;
   }
 
+  @Override
+  public IntNdArrayCursor cursor() {
+    return new IntCursor();
+  }
+
+  @Override
+  public void forEachInt(IndexedIntConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getInt(i));
+      }
+    } else {
+      IntNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getInt());
+      }
+    }
+  }
+
   @Override
   public IntNdArray copyTo(NdArray<Integer> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class IntDenseNdArray extends AbstractDenseNdArray<Integer, IntNdArray>
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class IntCursor extends DenseCursor<Integer> implements IntNdArrayCursor {
+
+    @Override
+    public int getInt() {
+      return buffer.getInt(position());
+    }
+
+    @Override
+    public void setInt(int value) {
+      buffer.setInt(value, position());
+    }
+
+    @Override
+    public Integer getObject() {
+      return getInt();
+    }
+
+    @Override
+    public void setObject(Integer value) {
+      setInt(value);
+    }
+
+    private IntCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.LongNdArrayCursor;
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffer;
@@ -42,6 +43,25 @@ public class LongDenseNdArray extends AbstractDenseNdArray<Long, LongNdArray>
     return this;
   }
 
+  @Override
+  public LongNdArrayCursor cursor() {
+    return new LongCursor();
+  }
+
+  @Override
+  public void forEachLong(IndexedLongConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getLong(i));
+      }
+    } else {
+      LongNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getLong());
+      }
+    }
+  }
+
   @Override
   public LongNdArray copyTo(NdArray<Long> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class LongDenseNdArray extends AbstractDenseNdArray<Long, LongNdArray>
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class LongCursor extends DenseCursor<Long> implements LongNdArrayCursor {
+
+    @Override
+    public long getLong() {
+      return buffer.getLong(position());
+    }
+
+    @Override
+    public void setLong(long value) {
+      buffer.setLong(value, position());
+    }
+
+    @Override
+    public Long getObject() {
+      return getLong();
+    }
+
+    @Override
+    public void setObject(Long value) {
+      setLong(value);
+    }
+
+    private LongCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package org.tensorflow.ndarray.impl.dense;
 
 import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.ShortNdArray;
+import org.tensorflow.ndarray.ShortNdArrayCursor;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffer;
 import org.tensorflow.ndarray.buffer.ShortDataBuffer;
@@ -42,6 +43,25 @@ public class ShortDenseNdArray extends AbstractDenseNdArray<Short, ShortNdArray>
     return this;
   }
 
+  @Override
+  public ShortNdArrayCursor cursor() {
+    return new ShortCursor();
+  }
+
+  @Override
+  public void forEachShort(IndexedShortConsumer consumer) {
+    if (!dimensions().isSegmented()) {
+      for (long i = 0, size = size(); i < size; ++i) {
+        consumer.accept(i, buffer.getShort(i));
+      }
+    } else {
+      ShortNdArrayCursor cursor = cursor();
+      while (cursor.next()) {
+        consumer.accept(cursor.index(), cursor.getShort());
+      }
+    }
+  }
+
   @Override
   public ShortNdArray copyTo(NdArray<Short> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -88,4 +108,31 @@ public class ShortDenseNdArray extends AbstractDenseNdArray<Short, ShortNdArray>
     super(dimensions);
     this.buffer = buffer;
   }
+
+  private final class ShortCursor extends DenseCursor<Short> implements ShortNdArrayCursor {
+
+    @Override
+    public short getShort() {
+      return buffer.getShort(position());
+    }
+
+    @Override
+    public void setShort(short value) {
+      buffer.setShort(value, position());
+    }
+
+    @Override
+    public Short getObject() {
+      return getShort();
+    }
+
+    @Override
+    public void setObject(Short value) {
+      setShort(value);
+    }
+
+    private ShortCursor() {
+      super(buffer, dimensions());
+    }
+  }
 }
\ No newline at end of file
@@ -33,6 +33,12 @@ final class Validator extends org.tensorflow.ndarray.impl.Validator {
     }
   }
 
+  static void shapeArgs(Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+  }
+
   static void denseShape(DataBuffer<?> buffer, Shape shape) {
     if (shape == null) {
       throw new IllegalArgumentException("Shape cannot be null");
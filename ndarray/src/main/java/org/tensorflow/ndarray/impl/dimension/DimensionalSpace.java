@@ -144,12 +144,141 @@ public class DimensionalSpace {
       throw new IndexOutOfBoundsException();
     }
     Dimension[] newDimensions = Arrays.copyOfRange(dimensions, dimensionStart, dimensions.length);
-    if (segmentationIdx > dimensionStart) {
+    if (segmentationIdx >= dimensionStart) {
       return new DimensionalSpace(newDimensions, segmentationIdx - dimensionStart);
     }
     return new DimensionalSpace(newDimensions);
   }
 
+  /**
+   * Returns a space viewing the same values with its dimensions reordered, where dimension {@code
+   * i} of the new space is dimension {@code axes[i]} of this one.
+   */
+  public DimensionalSpace permute(int[] axes) {
+    if (axes == null || axes.length != dimensions.length) {
+      throw new IllegalArgumentException("Permutation must list all " + dimensions.length
+          + " dimensions of the array");
+    }
+    boolean[] seen = new boolean[dimensions.length];
+    long[] sizes = new long[dimensions.length];
+    long[] strides = new long[dimensions.length];
+    Dimension[] sources = new Dimension[dimensions.length];
+    for (int i = 0; i < axes.length; ++i) {
+      int axis = axes[i] < 0 ? axes[i] + dimensions.length : axes[i];
+      if (axis < 0 || axis >= dimensions.length || seen[axis]) {
+        throw new IllegalArgumentException("Invalid permutation " + Arrays.toString(axes)
+            + " for an array of rank " + dimensions.length);
+      }
+      seen[axis] = true;
+      Dimension dimension = dimensions[axis];
+      sizes[i] = dimension.numElements();
+      strides[i] = strideOf(dimension);
+      if (strides[i] < 0) {
+        sources[i] = dimension;
+      }
+    }
+    return createView(sizes, strides, sources);
+  }
+
+  /**
+   * Returns a space viewing the same values with a different shape, or null if the values cannot
+   * be mapped to this shape without being copied.
+   *
+   * <p>The new shape must have the same number of values as this space. One of its dimensions may
+   * have an unknown size, in which case it is inferred from the others.
+   */
+  public DimensionalSpace reshape(Shape newShape) {
+    long[] newSizes = newShape.asArray();
+    long size = shape().size();
+    int unknownIdx = -1;
+    long knownSize = 1;
+    for (int i = 0; i < newSizes.length; ++i) {
+      if (newSizes[i] == Shape.UNKNOWN_SIZE) {
+        if (unknownIdx >= 0) {
+          throw new IllegalArgumentException("Only one dimension of " + newShape
+              + " can have an unknown size");
+        }
+        unknownIdx = i;
+      } else {
+        knownSize *= newSizes[i];
+      }
+    }
+    if (unknownIdx >= 0 && knownSize > 0 && size % knownSize == 0) {
+      newSizes[unknownIdx] = size / knownSize;
+      knownSize = size;
+    }
+    if (knownSize != size || unknownIdx >= 0 && newSizes[unknownIdx] < 0) {
+      throw new IllegalArgumentException("Cannot reshape array of shape " + shape() + " to "
+          + newShape);
+    }
+    if (!isSegmented() || size == 0) {
+      return create(Shape.of(newSizes));
+    }
+    long[] newStrides = reshapedStrides(newSizes);
+    if (newStrides == null) {
+      return null;
+    }
+    return createView(newSizes, newStrides, new Dimension[newSizes.length]);
+  }
+
+  /**
+   * Returns a space viewing the same values broadcast to a larger shape, following the NumPy
+   * broadcasting rules.
+   *
+   * <p>All elements of a broadcast dimension map to the same values, i.e. its stride is 0. The
+   * returned space is relative to the position of the first value it maps.
+   */
+  public RelativeDimensionalSpace broadcastTo(Shape newShape) {
+    int newRank = newShape.numDimensions();
+    if (newShape.isUnknown() || newRank < dimensions.length) {
+      throw new IllegalArgumentException("Cannot broadcast array of shape " + shape() + " to "
+          + newShape);
+    }
+    long[] sizes = newShape.asArray();
+    long[] strides = new long[newRank];
+    Dimension[] sources = new Dimension[newRank];
+    long position = 0;
+    for (int i = 0; i < newRank; ++i) {
+      int dimIdx = i - (newRank - dimensions.length);
+      if (sizes[i] < 0) {
+        throw new IllegalArgumentException("Cannot broadcast array of shape " + shape() + " to "
+            + newShape);
+      }
+      if (dimIdx < 0) {
+        strides[i] = 0;
+      } else if (dimensions[dimIdx].numElements() == 1 && sizes[i] != 1) {
+        strides[i] = 0;
+        position += dimensions[dimIdx].positionOf(0);  // single element might not be at position 0
+      } else if (dimensions[dimIdx].numElements() == sizes[i]) {
+        strides[i] = strideOf(dimensions[dimIdx]);
+        if (strides[i] < 0) {
+          sources[i] = dimensions[dimIdx];
+        }
+      } else {
+        throw new IllegalArgumentException("Cannot broadcast array of shape " + shape() + " to "
+            + newShape);
+      }
+    }
+    DimensionalSpace view = createView(sizes, strides, sources);
+    return new RelativeDimensionalSpace(view.dimensions, view.segmentationIdx, position);
+  }
+
+  /**
+   * Returns the number of values separating two consecutive elements in each dimension of this
+   * space, or null if at least one dimension does not have a fixed stride (e.g. indexed
+   * dimensions).
+   */
+  public long[] strides() {
+    long[] strides = new long[dimensions.length];
+    for (int i = 0; i < dimensions.length; ++i) {
+      strides[i] = strideOf(dimensions[i]);
+      if (strides[i] < 0) {
+        return null;
+      }
+    }
+    return strides;
+  }
+
   public Shape shape() {
     if (shape == null) {
       shape = toShape(dimensions);
@@ -213,6 +342,108 @@ public class DimensionalSpace {
   private final int segmentationIdx;
   private Shape shape;
 
+  private static long strideOf(Dimension dimension) {
+    if (dimension instanceof Axis) {
+      return dimension.elementSize();
+    }
+    if (dimension instanceof StridedDimension) {
+      return ((StridedDimension)dimension).stride();
+    }
+    return -1;
+  }
+
+  private static long maxPositionOf(Dimension dimension) {
+    long maxPosition = 0;
+    for (long i = 0; i < dimension.numElements(); ++i) {
+      maxPosition = Math.max(maxPosition, dimension.positionOf(i));
+    }
+    return maxPosition;
+  }
+
+  /**
+   * Creates a space from the size and the stride of each of its dimensions, or from its original
+   * dimension when it has no fixed stride.
+   */
+  private static DimensionalSpace createView(long[] sizes, long[] strides, Dimension[] sources) {
+    // Find the trailing dimensions where all elements are continuous, these are not segmented
+    int continuousIdx = sizes.length;
+    for (long elementSize = 1; continuousIdx > 0; --continuousIdx) {
+      int i = continuousIdx - 1;
+      if (sources[i] != null || (sizes[i] != 1 && strides[i] != elementSize)) {
+        break;
+      }
+      elementSize *= sizes[i];
+    }
+    if (continuousIdx == 0) {
+      return create(Shape.of(sizes));
+    }
+    Dimension[] dimensions = new Dimension[sizes.length];
+    long elementSize = 1;
+    long maxPosition = 0;
+    boolean empty = false;
+    for (int i = sizes.length - 1; i >= 0; --i) {
+      empty |= sizes[i] == 0;
+      if (!empty) {
+        maxPosition += sources[i] != null ? maxPositionOf(sources[i]) : (sizes[i] - 1) * strides[i];
+      }
+      long physicalSize = empty ? 0 : maxPosition + 1;
+      if (i >= continuousIdx) {
+        dimensions[i] = new Axis(sizes[i], elementSize);
+      } else if (sources[i] != null) {
+        dimensions[i] = new RelocatedDimension(sources[i], elementSize, physicalSize);
+      } else {
+        dimensions[i] = new StridedDimension(sizes[i], strides[i], elementSize, physicalSize);
+      }
+      elementSize *= sizes[i];
+    }
+    return new DimensionalSpace(dimensions, continuousIdx - 1);
+  }
+
+  /**
+   * Computes the strides of a new shape viewing the values of this space, merging or splitting
+   * groups of dimensions only where their values are continuous (same logic as NumPy).
+   */
+  private long[] reshapedStrides(long[] newSizes) {
+    long[] oldStrides = strides();
+    if (oldStrides == null) {
+      return null;
+    }
+    // Ignore dimensions of size 1, which can be at any stride
+    int oldRank = 0;
+    long[] oldSizes = new long[dimensions.length];
+    for (int i = 0; i < dimensions.length; ++i) {
+      if (dimensions[i].numElements() != 1) {
+        oldSizes[oldRank] = dimensions[i].numElements();
+        oldStrides[oldRank++] = oldStrides[i];
+      }
+    }
+    long[] newStrides = new long[newSizes.length];
+    int oi = 0, oj = 1, ni = 0, nj = 1;
+    while (ni < newSizes.length && oi < oldRank) {
+      long np = newSizes[ni];
+      long op = oldSizes[oi];
+      while (np != op) {
+        if (np < op) {
+          np *= newSizes[nj++];
+        } else {
+          op *= oldSizes[oj++];
+        }
+      }
+      for (int ok = oi; ok < oj - 1; ++ok) {
+        if (oldStrides[ok] != oldSizes[ok + 1] * oldStrides[ok + 1]) {
+          return null;
+        }
+      }
+      newStrides[nj - 1] = oldStrides[oj - 1];
+      for (int nk = nj - 1; nk > ni; --nk) {
+        newStrides[nk - 1] = newStrides[nk] * newSizes[nk];
+      }
+      ni = nj++;
+      oi = oj++;
+    }
+    return newStrides;
+  }
+
   private static Shape toShape(Dimension[] dimensions) {
     long[] shapeDimSizes = new long[dimensions.length];
     int i = 0;
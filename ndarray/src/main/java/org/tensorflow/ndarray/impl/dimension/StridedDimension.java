@@ -0,0 +1,73 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.dimension;
+
+/**
+ * A dimension whose elements are separated by a fixed number of values, which may not match the
+ * size of an element (e.g. after a permutation) or be 0 (e.g. after broadcasting).
+ */
+final class StridedDimension extends AbstractDimension {
+
+  @Override
+  public long numElements() {
+    return numElements;
+  }
+
+  @Override
+  public long positionOf(long coord) {
+    if (coord >= numElements) {
+      throw new IndexOutOfBoundsException();
+    }
+    return stride * coord;
+  }
+
+  @Override
+  public boolean isSegmented() {
+    return true;
+  }
+
+  @Override
+  public long elementSize() {
+    return elementSize;
+  }
+
+  @Override
+  public long physicalSize() {
+    return physicalSize;
+  }
+
+  long stride() {
+    return stride;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(numElements);
+  }
+
+  StridedDimension(long numElements, long stride, long elementSize, long physicalSize) {
+    this.numElements = numElements;
+    this.stride = stride;
+    this.elementSize = elementSize;
+    this.physicalSize = physicalSize;
+  }
+
+  private final long numElements;
+  private final long stride;
+  private final long elementSize;
+  private final long physicalSize;
+}
@@ -0,0 +1,156 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import org.tensorflow.ndarray.Shape;
+
+/**
+ * Maps positions of a dense output array to the positions of dense operands broadcast to its shape.
+ *
+ * <p>Broadcasting follows the NumPy rules: shapes are aligned on their last dimension and a
+ * dimension of size 1 is repeated to match the size of the other. Broadcast dimensions are given a
+ * stride of 0 and consecutive dimensions that are contiguous in all operands are coalesced, so that
+ * kernels can process each operand by rows that are either contiguous (stride 1) or a single
+ * repeated value (stride 0).
+ */
+final class BroadcastPlan {
+
+  /**
+   * Returns the shape resulting from broadcasting two shapes together.
+   *
+   * @throws IllegalArgumentException if shapes are not broadcast-compatible
+   */
+  static Shape broadcast(Shape a, Shape b) {
+    int rank = Math.max(a.numDimensions(), b.numDimensions());
+    long[] dimSizes = new long[rank];
+    for (int i = 0; i < rank; ++i) {
+      int ai = i - (rank - a.numDimensions());
+      int bi = i - (rank - b.numDimensions());
+      long as = ai >= 0 ? a.size(ai) : 1;
+      long bs = bi >= 0 ? b.size(bi) : 1;
+      if (as != bs && as != 1 && bs != 1) {
+        throw new IllegalArgumentException("Shapes " + a + " and " + b + " cannot be broadcast together");
+      }
+      dimSizes[i] = as == 1 ? bs : as;
+    }
+    return Shape.of(dimSizes);
+  }
+
+  static BroadcastPlan create(Shape shape, Shape... operandShapes) {
+    int rank = shape.numDimensions();
+    long[][] strides = new long[operandShapes.length][rank];
+    for (int k = 0; k < operandShapes.length; ++k) {
+      Shape operandShape = operandShapes[k];
+      int operandRank = operandShape.numDimensions();
+      if (operandRank > rank) {
+        throw new IllegalArgumentException("Shape " + operandShape + " cannot be broadcast to " + shape);
+      }
+      long stride = 1;
+      for (int i = rank - 1; i >= 0; --i) {
+        int oi = i - (rank - operandRank);
+        long size = oi >= 0 ? operandShape.size(oi) : 1;
+        if (size == shape.size(i)) {
+          strides[k][i] = size > 1 ? stride : 0;
+          stride *= size;
+        } else if (size == 1) {
+          strides[k][i] = 0;
+        } else {
+          throw new IllegalArgumentException("Shape " + operandShape + " cannot be broadcast to " + shape);
+        }
+      }
+    }
+    // Coalesce dimensions from the innermost, skipping those of size 1 as they never move
+    long[] dimSizes = new long[Math.max(rank, 1)];
+    long[][] dimStrides = new long[operandShapes.length][Math.max(rank, 1)];
+    int numDims = 0;
+    for (int i = rank - 1; i >= 0; --i) {
+      long size = shape.size(i);
+      if (size == 1) {
+        continue;
+      }
+      if (numDims > 0 && isContiguous(strides, i, dimStrides, numDims - 1, dimSizes[numDims - 1])) {
+        dimSizes[numDims - 1] *= size;
+        continue;
+      }
+      dimSizes[numDims] = size;
+      for (int k = 0; k < strides.length; ++k) {
+        dimStrides[k][numDims] = strides[k][i];
+      }
+      ++numDims;
+    }
+    if (numDims == 0) {
+      dimSizes[numDims++] = 1;  // scalar or all dimensions of size 1
+    }
+    return new BroadcastPlan(shape.size(), dimSizes, dimStrides, numDims);
+  }
+
+  /**
+   * Returns the total number of elements in the output.
+   */
+  long size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of output elements that can be processed in a row, i.e. with a constant
+   * stride in all operands.
+   */
+  long rowSize() {
+    return dimSizes[0];
+  }
+
+  /**
+   * Returns the stride of the given operand in a row, either 1 (contiguous) or 0 (broadcast).
+   */
+  int rowStride(int operand) {
+    return (int)dimStrides[operand][0];
+  }
+
+  /**
+   * Returns the position of the operand value mapped to the given position in the output.
+   */
+  long positionOf(int operand, long position) {
+    long[] strides = dimStrides[operand];
+    long operandPosition = 0;
+    for (int i = 0; i < numDims && position > 0; ++i) {
+      operandPosition += (position % dimSizes[i]) * strides[i];
+      position /= dimSizes[i];
+    }
+    return operandPosition;
+  }
+
+  private final long size;
+  private final long[] dimSizes;  // coalesced, from the innermost dimension
+  private final long[][] dimStrides;
+  private final int numDims;
+
+  private BroadcastPlan(long size, long[] dimSizes, long[][] dimStrides, int numDims) {
+    this.size = size;
+    this.dimSizes = dimSizes;
+    this.dimStrides = dimStrides;
+    this.numDims = numDims;
+  }
+
+  private static boolean isContiguous(long[][] strides, int dimIdx, long[][] dimStrides, int lastDimIdx, long lastDimSize) {
+    for (int k = 0; k < strides.length; ++k) {
+      if (strides[k][dimIdx] != dimStrides[k][lastDimIdx] * lastDimSize) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
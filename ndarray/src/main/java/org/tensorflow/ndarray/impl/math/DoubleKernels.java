@@ -0,0 +1,503 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.util.Arrays;
+import org.tensorflow.ndarray.DoubleNdArray;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.Shape;
+
+/**
+ * Math kernels on double arrays.
+ *
+ * <p>All kernels write their result in an array provided by the caller and do not allocate memory
+ * per element processed. Values are processed by rows of contiguous elements in simple counted
+ * loops over Java arrays, which the JIT compiler unrolls and vectorizes. Kernels are executed in
+ * parallel by the common fork/join pool when the amount of work is large enough.
+ */
+public final class DoubleKernels {
+
+  public static DoubleNdArray binary(BinaryOp op, DoubleNdArray a, DoubleNdArray b, DoubleNdArray dst) {
+    BroadcastPlan plan = Validator.binaryArgs(a, b, dst);
+    DoubleStorage cs = DoubleStorage.output(dst);
+    DoubleStorage as = DoubleStorage.input(a, cs);
+    DoubleStorage bs = DoubleStorage.input(b, cs);
+    long rowSize = plan.rowSize();
+    int aStride = plan.rowStride(0);
+    int bStride = plan.rowStride(1);
+    Parallel.forRange(plan.size(), 1, (from, to) -> {
+      for (long position = from; position < to; ) {
+        int length = (int)Math.min(rowSize - position % rowSize, to - position);
+        binaryRow(op,
+            as.values, as.offset + (int)plan.positionOf(0, position), aStride,
+            bs.values, bs.offset + (int)plan.positionOf(1, position), bStride,
+            cs.values, cs.offset + (int)position,
+            length
+        );
+        position += length;
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static DoubleNdArray unary(UnaryOp op, DoubleNdArray src, DoubleNdArray dst) {
+    Validator.unaryArgs(src, dst);
+    DoubleStorage cs = DoubleStorage.output(dst);
+    DoubleStorage as = DoubleStorage.input(src, cs);
+    Parallel.forRange(src.size(), 1, (from, to) ->
+        unaryRow(op, as.values, as.offset + (int)from, cs.values, cs.offset + (int)from, (int)(to - from))
+    );
+    cs.commit();
+    return dst;
+  }
+
+  public static double reduce(ReduceOp op, DoubleNdArray src) {
+    if (op != ReduceOp.SUM) {
+      Validator.notEmpty(src);
+    }
+    DoubleStorage as = DoubleStorage.input(src);
+    double result = Parallel.reduceRange(src.size(), 1,
+        (from, to) -> reduceRange(op, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> combine(op, x, y)
+    );
+    return op == ReduceOp.MEAN ? result / src.size() : result;
+  }
+
+  public static DoubleNdArray reduce(ReduceOp op, DoubleNdArray src, int axis, DoubleNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (op != ReduceOp.SUM && axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    DoubleStorage cs = DoubleStorage.output(dst);
+    DoubleStorage as = DoubleStorage.input(src, cs);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          double result = reduceRange(op, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+          cs.values[cs.offset + (int)position] = op == ReduceOp.MEAN ? result / axisSize : result;
+        }
+      } else {
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          reduceAxisRow(op, as.values, srcOffset, (int)axisSize, (int)innerSize, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static long argReduce(boolean max, DoubleNdArray src) {
+    Validator.notEmpty(src);
+    DoubleStorage as = DoubleStorage.input(src);
+    return Parallel.reduceRange(src.size(), 1,
+        (from, to) -> from + argRange(max, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> isBetter(max, as.values[as.offset + (int)(long)y], as.values[as.offset + (int)(long)x]) ? y : x
+    );
+  }
+
+  public static LongNdArray argReduce(boolean max, DoubleNdArray src, int axis, LongNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    DoubleStorage as = DoubleStorage.input(src);
+    LongStorage cs = LongStorage.output(dst);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          cs.values[cs.offset + (int)position] = argRange(max, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+        }
+      } else {
+        double[] best = new double[(int)Math.min(innerSize, to - from)];
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          argAxisRow(max, as.values, srcOffset, (int)axisSize, (int)innerSize, best, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static DoubleNdArray softmax(DoubleNdArray src, int axis, DoubleNdArray dst) {
+    int softmaxAxis = Validator.axis(src, axis);
+    Validator.unaryArgs(src, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(softmaxAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - softmaxAxis - 1).size();
+    if (axisSize == 0) {
+      return dst;
+    }
+    DoubleStorage cs = DoubleStorage.output(dst);
+    DoubleStorage as = DoubleStorage.input(src, cs);
+    Parallel.forRange(src.size() / axisSize, axisSize * 3, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          int offset = (int)(position * axisSize);
+          softmaxRange(as.values, as.offset + offset, cs.values, cs.offset + offset, (int)axisSize);
+        }
+      } else {
+        int scratchSize = (int)Math.min(innerSize, to - from);
+        double[] maxValues = new double[scratchSize];
+        double[] sums = new double[scratchSize];
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int offset = (int)((position - innerIdx) * axisSize + innerIdx);
+          softmaxAxisRow(as.values, as.offset + offset, (int)axisSize, (int)innerSize, maxValues, sums, cs.values, cs.offset + offset, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  private static double apply(BinaryOp op, double x, double y) {
+    switch (op) {
+      case ADD:
+        return x + y;
+      case SUB:
+        return x - y;
+      case MUL:
+        return x * y;
+      case DIV:
+        return x / y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on doubles");
+    }
+  }
+
+  private static void binaryRow(BinaryOp op, double[] a, int ai, int aStride, double[] b, int bi, int bStride, double[] c, int ci, int length) {
+    if (aStride == 0 && bStride == 0) {
+      Arrays.fill(c, ci, ci + length, apply(op, a[ai], b[bi]));
+    } else if (bStride == 0) {
+      rowScalar(op, a, ai, b[bi], c, ci, length);
+    } else if (aStride == 0) {
+      scalarRow(op, a[ai], b, bi, c, ci, length);
+    } else {
+      rowRow(op, a, ai, b, bi, c, ci, length);
+    }
+  }
+
+  private static void rowRow(BinaryOp op, double[] a, int ai, double[] b, int bi, double[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + b[bi + i];
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - b[bi + i];
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / b[bi + i];
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], b[bi + i]);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], b[bi + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on doubles");
+    }
+  }
+
+  private static void rowScalar(BinaryOp op, double[] a, int ai, double y, double[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + y;
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - y;
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * y;
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / y;
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], y);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], y);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on doubles");
+    }
+  }
+
+  private static void scalarRow(BinaryOp op, double x, double[] b, int bi, double[] c, int ci, int length) {
+    switch (op) {
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x - b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x / b[bi + i];
+        }
+        break;
+      default:
+        rowScalar(op, b, bi, x, c, ci, length);  // commutative operations
+    }
+  }
+
+  private static void unaryRow(UnaryOp op, double[] a, int ai, double[] c, int ci, int length) {
+    switch (op) {
+      case NEG:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = -a[ai + i];
+        }
+        break;
+      case ABS:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.abs(a[ai + i]);
+        }
+        break;
+      case EXP:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.exp(a[ai + i]);
+        }
+        break;
+      case LOG:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.log(a[ai + i]);
+        }
+        break;
+      case SQRT:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.sqrt(a[ai + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on doubles");
+    }
+  }
+
+  private static double combine(ReduceOp op, double x, double y) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return x + y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on doubles");
+    }
+  }
+
+  private static double reduceRange(ReduceOp op, double[] a, int ai, int length) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return sumRange(a, ai, length);
+      case MAX: {
+        double result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.max(result, a[ai + i]);
+        }
+        return result;
+      }
+      case MIN: {
+        double result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.min(result, a[ai + i]);
+        }
+        return result;
+      }
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on doubles");
+    }
+  }
+
+  private static double sumRange(double[] a, int ai, int length) {
+    // Independent accumulators break the dependency chain between consecutive additions
+    double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+    int i = 0;
+    for (; i <= length - 4; i += 4) {
+      s0 += a[ai + i];
+      s1 += a[ai + i + 1];
+      s2 += a[ai + i + 2];
+      s3 += a[ai + i + 3];
+    }
+    for (; i < length; ++i) {
+      s0 += a[ai + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  private static void reduceAxisRow(ReduceOp op, double[] a, int ai, int axisSize, int stride, double[] c, int ci, int length) {
+    if (axisSize == 0) {
+      Arrays.fill(c, ci, ci + length, 0.0);
+      return;
+    }
+    System.arraycopy(a, ai, c, ci, length);
+    switch (op) {
+      case SUM:
+      case MEAN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] += a[row + i];
+          }
+        }
+        if (op == ReduceOp.MEAN) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] /= axisSize;
+          }
+        }
+        break;
+      case MAX:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.max(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      case MIN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.min(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on doubles");
+    }
+  }
+
+  private static boolean isBetter(boolean max, double value, double best) {
+    return max ? value > best : value < best;
+  }
+
+  private static long argRange(boolean max, double[] a, int ai, int length) {
+    int bestIdx = 0;
+    double best = a[ai];
+    for (int i = 1; i < length; ++i) {
+      double value = a[ai + i];
+      if (isBetter(max, value, best)) {
+        best = value;
+        bestIdx = i;
+      }
+    }
+    return bestIdx;
+  }
+
+  private static void argAxisRow(boolean max, double[] a, int ai, int axisSize, int stride, double[] best, long[] c, int ci, int length) {
+    System.arraycopy(a, ai, best, 0, length);
+    Arrays.fill(c, ci, ci + length, 0L);
+    for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+      for (int i = 0; i < length; ++i) {
+        double value = a[row + i];
+        if (isBetter(max, value, best[i])) {
+          best[i] = value;
+          c[ci + i] = k;
+        }
+      }
+    }
+  }
+
+  private static void softmaxRange(double[] a, int ai, double[] c, int ci, int length) {
+    double max = a[ai];
+    for (int i = 1; i < length; ++i) {
+      max = Math.max(max, a[ai + i]);
+    }
+    double sum = 0.0;
+    for (int i = 0; i < length; ++i) {
+      double value = Math.exp(a[ai + i] - max);
+      c[ci + i] = value;
+      sum += value;
+    }
+    for (int i = 0; i < length; ++i) {
+      c[ci + i] /= sum;
+    }
+  }
+
+  private static void softmaxAxisRow(double[] a, int ai, int axisSize, int stride, double[] maxValues, double[] sums, double[] c, int ci, int length) {
+    System.arraycopy(a, ai, maxValues, 0, length);
+    for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+      for (int i = 0; i < length; ++i) {
+        maxValues[i] = Math.max(maxValues[i], a[row + i]);
+      }
+    }
+    Arrays.fill(sums, 0, length, 0.0);
+    for (int k = 0, row = ai, dstRow = ci; k < axisSize; ++k, row += stride, dstRow += stride) {
+      for (int i = 0; i < length; ++i) {
+        double value = Math.exp(a[row + i] - maxValues[i]);
+        c[dstRow + i] = value;
+        sums[i] += value;
+      }
+    }
+    for (int k = 0, dstRow = ci; k < axisSize; ++k, dstRow += stride) {
+      for (int i = 0; i < length; ++i) {
+        c[dstRow + i] /= sums[i];
+      }
+    }
+  }
+
+  private DoubleKernels() {}
+}
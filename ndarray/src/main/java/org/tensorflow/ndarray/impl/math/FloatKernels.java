@@ -0,0 +1,503 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.util.Arrays;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.Shape;
+
+/**
+ * Math kernels on float arrays.
+ *
+ * <p>All kernels write their result in an array provided by the caller and do not allocate memory
+ * per element processed. Values are processed by rows of contiguous elements in simple counted
+ * loops over Java arrays, which the JIT compiler unrolls and vectorizes. Kernels are executed in
+ * parallel by the common fork/join pool when the amount of work is large enough.
+ */
+public final class FloatKernels {
+
+  public static FloatNdArray binary(BinaryOp op, FloatNdArray a, FloatNdArray b, FloatNdArray dst) {
+    BroadcastPlan plan = Validator.binaryArgs(a, b, dst);
+    FloatStorage cs = FloatStorage.output(dst);
+    FloatStorage as = FloatStorage.input(a, cs);
+    FloatStorage bs = FloatStorage.input(b, cs);
+    long rowSize = plan.rowSize();
+    int aStride = plan.rowStride(0);
+    int bStride = plan.rowStride(1);
+    Parallel.forRange(plan.size(), 1, (from, to) -> {
+      for (long position = from; position < to; ) {
+        int length = (int)Math.min(rowSize - position % rowSize, to - position);
+        binaryRow(op,
+            as.values, as.offset + (int)plan.positionOf(0, position), aStride,
+            bs.values, bs.offset + (int)plan.positionOf(1, position), bStride,
+            cs.values, cs.offset + (int)position,
+            length
+        );
+        position += length;
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static FloatNdArray unary(UnaryOp op, FloatNdArray src, FloatNdArray dst) {
+    Validator.unaryArgs(src, dst);
+    FloatStorage cs = FloatStorage.output(dst);
+    FloatStorage as = FloatStorage.input(src, cs);
+    Parallel.forRange(src.size(), 1, (from, to) ->
+        unaryRow(op, as.values, as.offset + (int)from, cs.values, cs.offset + (int)from, (int)(to - from))
+    );
+    cs.commit();
+    return dst;
+  }
+
+  public static float reduce(ReduceOp op, FloatNdArray src) {
+    if (op != ReduceOp.SUM) {
+      Validator.notEmpty(src);
+    }
+    FloatStorage as = FloatStorage.input(src);
+    float result = Parallel.reduceRange(src.size(), 1,
+        (from, to) -> reduceRange(op, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> combine(op, x, y)
+    );
+    return op == ReduceOp.MEAN ? result / src.size() : result;
+  }
+
+  public static FloatNdArray reduce(ReduceOp op, FloatNdArray src, int axis, FloatNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (op != ReduceOp.SUM && axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    FloatStorage cs = FloatStorage.output(dst);
+    FloatStorage as = FloatStorage.input(src, cs);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          float result = reduceRange(op, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+          cs.values[cs.offset + (int)position] = op == ReduceOp.MEAN ? result / axisSize : result;
+        }
+      } else {
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          reduceAxisRow(op, as.values, srcOffset, (int)axisSize, (int)innerSize, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static long argReduce(boolean max, FloatNdArray src) {
+    Validator.notEmpty(src);
+    FloatStorage as = FloatStorage.input(src);
+    return Parallel.reduceRange(src.size(), 1,
+        (from, to) -> from + argRange(max, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> isBetter(max, as.values[as.offset + (int)(long)y], as.values[as.offset + (int)(long)x]) ? y : x
+    );
+  }
+
+  public static LongNdArray argReduce(boolean max, FloatNdArray src, int axis, LongNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    FloatStorage as = FloatStorage.input(src);
+    LongStorage cs = LongStorage.output(dst);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          cs.values[cs.offset + (int)position] = argRange(max, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+        }
+      } else {
+        float[] best = new float[(int)Math.min(innerSize, to - from)];
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          argAxisRow(max, as.values, srcOffset, (int)axisSize, (int)innerSize, best, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static FloatNdArray softmax(FloatNdArray src, int axis, FloatNdArray dst) {
+    int softmaxAxis = Validator.axis(src, axis);
+    Validator.unaryArgs(src, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(softmaxAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - softmaxAxis - 1).size();
+    if (axisSize == 0) {
+      return dst;
+    }
+    FloatStorage cs = FloatStorage.output(dst);
+    FloatStorage as = FloatStorage.input(src, cs);
+    Parallel.forRange(src.size() / axisSize, axisSize * 3, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          int offset = (int)(position * axisSize);
+          softmaxRange(as.values, as.offset + offset, cs.values, cs.offset + offset, (int)axisSize);
+        }
+      } else {
+        int scratchSize = (int)Math.min(innerSize, to - from);
+        float[] maxValues = new float[scratchSize];
+        float[] sums = new float[scratchSize];
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int offset = (int)((position - innerIdx) * axisSize + innerIdx);
+          softmaxAxisRow(as.values, as.offset + offset, (int)axisSize, (int)innerSize, maxValues, sums, cs.values, cs.offset + offset, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  private static float apply(BinaryOp op, float x, float y) {
+    switch (op) {
+      case ADD:
+        return x + y;
+      case SUB:
+        return x - y;
+      case MUL:
+        return x * y;
+      case DIV:
+        return x / y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on floats");
+    }
+  }
+
+  private static void binaryRow(BinaryOp op, float[] a, int ai, int aStride, float[] b, int bi, int bStride, float[] c, int ci, int length) {
+    if (aStride == 0 && bStride == 0) {
+      Arrays.fill(c, ci, ci + length, apply(op, a[ai], b[bi]));
+    } else if (bStride == 0) {
+      rowScalar(op, a, ai, b[bi], c, ci, length);
+    } else if (aStride == 0) {
+      scalarRow(op, a[ai], b, bi, c, ci, length);
+    } else {
+      rowRow(op, a, ai, b, bi, c, ci, length);
+    }
+  }
+
+  private static void rowRow(BinaryOp op, float[] a, int ai, float[] b, int bi, float[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + b[bi + i];
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - b[bi + i];
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / b[bi + i];
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], b[bi + i]);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], b[bi + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on floats");
+    }
+  }
+
+  private static void rowScalar(BinaryOp op, float[] a, int ai, float y, float[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + y;
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - y;
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * y;
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / y;
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], y);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], y);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on floats");
+    }
+  }
+
+  private static void scalarRow(BinaryOp op, float x, float[] b, int bi, float[] c, int ci, int length) {
+    switch (op) {
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x - b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x / b[bi + i];
+        }
+        break;
+      default:
+        rowScalar(op, b, bi, x, c, ci, length);  // commutative operations
+    }
+  }
+
+  private static void unaryRow(UnaryOp op, float[] a, int ai, float[] c, int ci, int length) {
+    switch (op) {
+      case NEG:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = -a[ai + i];
+        }
+        break;
+      case ABS:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.abs(a[ai + i]);
+        }
+        break;
+      case EXP:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = (float)Math.exp(a[ai + i]);
+        }
+        break;
+      case LOG:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = (float)Math.log(a[ai + i]);
+        }
+        break;
+      case SQRT:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = (float)Math.sqrt(a[ai + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on floats");
+    }
+  }
+
+  private static float combine(ReduceOp op, float x, float y) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return x + y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on floats");
+    }
+  }
+
+  private static float reduceRange(ReduceOp op, float[] a, int ai, int length) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return sumRange(a, ai, length);
+      case MAX: {
+        float result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.max(result, a[ai + i]);
+        }
+        return result;
+      }
+      case MIN: {
+        float result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.min(result, a[ai + i]);
+        }
+        return result;
+      }
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on floats");
+    }
+  }
+
+  private static float sumRange(float[] a, int ai, int length) {
+    // Independent accumulators break the dependency chain between consecutive additions
+    float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+    int i = 0;
+    for (; i <= length - 4; i += 4) {
+      s0 += a[ai + i];
+      s1 += a[ai + i + 1];
+      s2 += a[ai + i + 2];
+      s3 += a[ai + i + 3];
+    }
+    for (; i < length; ++i) {
+      s0 += a[ai + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  private static void reduceAxisRow(ReduceOp op, float[] a, int ai, int axisSize, int stride, float[] c, int ci, int length) {
+    if (axisSize == 0) {
+      Arrays.fill(c, ci, ci + length, 0.0f);
+      return;
+    }
+    System.arraycopy(a, ai, c, ci, length);
+    switch (op) {
+      case SUM:
+      case MEAN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] += a[row + i];
+          }
+        }
+        if (op == ReduceOp.MEAN) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] /= axisSize;
+          }
+        }
+        break;
+      case MAX:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.max(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      case MIN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.min(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on floats");
+    }
+  }
+
+  private static boolean isBetter(boolean max, float value, float best) {
+    return max ? value > best : value < best;
+  }
+
+  private static long argRange(boolean max, float[] a, int ai, int length) {
+    int bestIdx = 0;
+    float best = a[ai];
+    for (int i = 1; i < length; ++i) {
+      float value = a[ai + i];
+      if (isBetter(max, value, best)) {
+        best = value;
+        bestIdx = i;
+      }
+    }
+    return bestIdx;
+  }
+
+  private static void argAxisRow(boolean max, float[] a, int ai, int axisSize, int stride, float[] best, long[] c, int ci, int length) {
+    System.arraycopy(a, ai, best, 0, length);
+    Arrays.fill(c, ci, ci + length, 0L);
+    for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+      for (int i = 0; i < length; ++i) {
+        float value = a[row + i];
+        if (isBetter(max, value, best[i])) {
+          best[i] = value;
+          c[ci + i] = k;
+        }
+      }
+    }
+  }
+
+  private static void softmaxRange(float[] a, int ai, float[] c, int ci, int length) {
+    float max = a[ai];
+    for (int i = 1; i < length; ++i) {
+      max = Math.max(max, a[ai + i]);
+    }
+    float sum = 0.0f;
+    for (int i = 0; i < length; ++i) {
+      float value = (float)Math.exp(a[ai + i] - max);
+      c[ci + i] = value;
+      sum += value;
+    }
+    for (int i = 0; i < length; ++i) {
+      c[ci + i] /= sum;
+    }
+  }
+
+  private static void softmaxAxisRow(float[] a, int ai, int axisSize, int stride, float[] maxValues, float[] sums, float[] c, int ci, int length) {
+    System.arraycopy(a, ai, maxValues, 0, length);
+    for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+      for (int i = 0; i < length; ++i) {
+        maxValues[i] = Math.max(maxValues[i], a[row + i]);
+      }
+    }
+    Arrays.fill(sums, 0, length, 0.0f);
+    for (int k = 0, row = ai, dstRow = ci; k < axisSize; ++k, row += stride, dstRow += stride) {
+      for (int i = 0; i < length; ++i) {
+        float value = (float)Math.exp(a[row + i] - maxValues[i]);
+        c[dstRow + i] = value;
+        sums[i] += value;
+      }
+    }
+    for (int k = 0, dstRow = ci; k < axisSize; ++k, dstRow += stride) {
+      for (int i = 0; i < length; ++i) {
+        c[dstRow + i] /= sums[i];
+      }
+    }
+  }
+
+  private FloatKernels() {}
+}
@@ -0,0 +1,110 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.DataStorageVisitor;
+import org.tensorflow.ndarray.impl.dense.DenseBuffers;
+import org.tensorflow.ndarray.impl.dense.FloatDenseNdArray;
+
+/**
+ * Exposes the values of a float array as a Java array that kernels can process directly.
+ *
+ * <p>Dense and contiguous arrays backed by a Java array are accessed without any copy. Other
+ * arrays (e.g. views of an array or arrays mapped to native memory) are staged in a temporary
+ * array, which is read from the original array once for inputs and written back to it once for
+ * outputs, by calling {@link #commit()}. Inputs that share the Java array of an output are staged
+ * as well if they do not cover exactly the same values, since the output would overwrite values of
+ * the input before they are read.
+ */
+final class FloatStorage {
+
+  static FloatStorage input(FloatNdArray array) {
+    return input(array, null);
+  }
+
+  static FloatStorage input(FloatNdArray array, FloatStorage output) {
+    FloatStorage storage = direct(array);
+    if (storage == null || (output != null && storage.overlapsPartially(output))) {
+      float[] values = new float[Validator.stagingSize(array)];
+      array.read(DataBuffers.of(values, false, false));
+      storage = new FloatStorage(values, 0, values.length, null);
+    }
+    return storage;
+  }
+
+  static FloatStorage output(FloatNdArray array) {
+    FloatStorage storage = direct(array);
+    if (storage == null) {
+      int size = Validator.stagingSize(array);
+      storage = new FloatStorage(new float[size], 0, size, array);
+    } else if (DenseBuffers.of((FloatDenseNdArray)array).isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    return storage;
+  }
+
+  void commit() {
+    if (target != null) {
+      target.write(DataBuffers.of(values, true, false));
+    }
+  }
+
+  final float[] values;
+  final int offset;
+
+  private final int size;
+  private final FloatNdArray target;
+
+  private FloatStorage(float[] values, int offset, int size, FloatNdArray target) {
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.target = target;
+  }
+
+  private boolean overlapsPartially(FloatStorage other) {
+    return values == other.values
+        && offset < other.offset + other.size
+        && other.offset < offset + size
+        && (offset != other.offset || size != other.size);
+  }
+
+  private static FloatStorage direct(FloatNdArray array) {
+    if (!(array instanceof FloatDenseNdArray) || ((FloatDenseNdArray)array).dimensions().isSegmented()) {
+      return null;
+    }
+    return DenseBuffers.of((FloatDenseNdArray)array).accept(new DataStorageVisitor<FloatStorage>() {
+
+      @Override
+      public FloatStorage visit(FloatBuffer buffer) {
+        if (buffer.hasArray()) {
+          return new FloatStorage(buffer.array(), buffer.arrayOffset() + buffer.position(), (int)array.size(), null);
+        }
+        return fallback();
+      }
+
+      @Override
+      public FloatStorage fallback() {
+        return null;
+      }
+    });
+  }
+}
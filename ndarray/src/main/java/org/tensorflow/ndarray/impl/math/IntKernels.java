@@ -0,0 +1,416 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.util.Arrays;
+import org.tensorflow.ndarray.IntNdArray;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.Shape;
+
+/**
+ * Math kernels on int arrays.
+ *
+ * <p>All kernels write their result in an array provided by the caller and do not allocate memory
+ * per element processed. Values are processed by rows of contiguous elements in simple counted
+ * loops over Java arrays, which the JIT compiler unrolls and vectorizes. Kernels are executed in
+ * parallel by the common fork/join pool when the amount of work is large enough.
+ */
+public final class IntKernels {
+
+  public static IntNdArray binary(BinaryOp op, IntNdArray a, IntNdArray b, IntNdArray dst) {
+    BroadcastPlan plan = Validator.binaryArgs(a, b, dst);
+    IntStorage cs = IntStorage.output(dst);
+    IntStorage as = IntStorage.input(a, cs);
+    IntStorage bs = IntStorage.input(b, cs);
+    long rowSize = plan.rowSize();
+    int aStride = plan.rowStride(0);
+    int bStride = plan.rowStride(1);
+    Parallel.forRange(plan.size(), 1, (from, to) -> {
+      for (long position = from; position < to; ) {
+        int length = (int)Math.min(rowSize - position % rowSize, to - position);
+        binaryRow(op,
+            as.values, as.offset + (int)plan.positionOf(0, position), aStride,
+            bs.values, bs.offset + (int)plan.positionOf(1, position), bStride,
+            cs.values, cs.offset + (int)position,
+            length
+        );
+        position += length;
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static IntNdArray unary(UnaryOp op, IntNdArray src, IntNdArray dst) {
+    Validator.unaryArgs(src, dst);
+    IntStorage cs = IntStorage.output(dst);
+    IntStorage as = IntStorage.input(src, cs);
+    Parallel.forRange(src.size(), 1, (from, to) ->
+        unaryRow(op, as.values, as.offset + (int)from, cs.values, cs.offset + (int)from, (int)(to - from))
+    );
+    cs.commit();
+    return dst;
+  }
+
+  public static int reduce(ReduceOp op, IntNdArray src) {
+    if (op != ReduceOp.SUM) {
+      Validator.notEmpty(src);
+    }
+    IntStorage as = IntStorage.input(src);
+    int result = Parallel.reduceRange(src.size(), 1,
+        (from, to) -> reduceRange(op, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> combine(op, x, y)
+    );
+    return op == ReduceOp.MEAN ? (int)(result / src.size()) : result;
+  }
+
+  public static IntNdArray reduce(ReduceOp op, IntNdArray src, int axis, IntNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (op != ReduceOp.SUM && axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    IntStorage cs = IntStorage.output(dst);
+    IntStorage as = IntStorage.input(src, cs);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          int result = reduceRange(op, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+          cs.values[cs.offset + (int)position] = op == ReduceOp.MEAN ? (int)(result / axisSize) : result;
+        }
+      } else {
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          reduceAxisRow(op, as.values, srcOffset, (int)axisSize, (int)innerSize, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  public static long argReduce(boolean max, IntNdArray src) {
+    Validator.notEmpty(src);
+    IntStorage as = IntStorage.input(src);
+    return Parallel.reduceRange(src.size(), 1,
+        (from, to) -> from + argRange(max, as.values, as.offset + (int)from, (int)(to - from)),
+        (x, y) -> isBetter(max, as.values[as.offset + (int)(long)y], as.values[as.offset + (int)(long)x]) ? y : x
+    );
+  }
+
+  public static LongNdArray argReduce(boolean max, IntNdArray src, int axis, LongNdArray dst) {
+    int reducedAxis = Validator.axis(src, axis);
+    Validator.reducedArgs(src, reducedAxis, dst);
+    Shape shape = src.shape();
+    long axisSize = shape.size(reducedAxis);
+    long innerSize = shape.takeLast(shape.numDimensions() - reducedAxis - 1).size();
+    if (axisSize == 0) {
+      Validator.notEmpty(src);
+    }
+    IntStorage as = IntStorage.input(src);
+    LongStorage cs = LongStorage.output(dst);
+    Parallel.forRange(dst.size(), axisSize, (from, to) -> {
+      if (innerSize == 1) {
+        for (long position = from; position < to; ++position) {
+          cs.values[cs.offset + (int)position] = argRange(max, as.values, as.offset + (int)(position * axisSize), (int)axisSize);
+        }
+      } else {
+        int[] best = new int[(int)Math.min(innerSize, to - from)];
+        for (long position = from; position < to; ) {
+          long innerIdx = position % innerSize;
+          int length = (int)Math.min(innerSize - innerIdx, to - position);
+          int srcOffset = as.offset + (int)((position - innerIdx) * axisSize + innerIdx);
+          argAxisRow(max, as.values, srcOffset, (int)axisSize, (int)innerSize, best, cs.values, cs.offset + (int)position, length);
+          position += length;
+        }
+      }
+    });
+    cs.commit();
+    return dst;
+  }
+
+  private static int apply(BinaryOp op, int x, int y) {
+    switch (op) {
+      case ADD:
+        return x + y;
+      case SUB:
+        return x - y;
+      case MUL:
+        return x * y;
+      case DIV:
+        return x / y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on ints");
+    }
+  }
+
+  private static void binaryRow(BinaryOp op, int[] a, int ai, int aStride, int[] b, int bi, int bStride, int[] c, int ci, int length) {
+    if (aStride == 0 && bStride == 0) {
+      Arrays.fill(c, ci, ci + length, apply(op, a[ai], b[bi]));
+    } else if (bStride == 0) {
+      rowScalar(op, a, ai, b[bi], c, ci, length);
+    } else if (aStride == 0) {
+      scalarRow(op, a[ai], b, bi, c, ci, length);
+    } else {
+      rowRow(op, a, ai, b, bi, c, ci, length);
+    }
+  }
+
+  private static void rowRow(BinaryOp op, int[] a, int ai, int[] b, int bi, int[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + b[bi + i];
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - b[bi + i];
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / b[bi + i];
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], b[bi + i]);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], b[bi + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on ints");
+    }
+  }
+
+  private static void rowScalar(BinaryOp op, int[] a, int ai, int y, int[] c, int ci, int length) {
+    switch (op) {
+      case ADD:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] + y;
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] - y;
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] * y;
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = a[ai + i] / y;
+        }
+        break;
+      case MAX:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.max(a[ai + i], y);
+        }
+        break;
+      case MIN:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.min(a[ai + i], y);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on ints");
+    }
+  }
+
+  private static void scalarRow(BinaryOp op, int x, int[] b, int bi, int[] c, int ci, int length) {
+    switch (op) {
+      case SUB:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x - b[bi + i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = x / b[bi + i];
+        }
+        break;
+      default:
+        rowScalar(op, b, bi, x, c, ci, length);  // commutative operations
+    }
+  }
+
+  private static void unaryRow(UnaryOp op, int[] a, int ai, int[] c, int ci, int length) {
+    switch (op) {
+      case NEG:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = -a[ai + i];
+        }
+        break;
+      case ABS:
+        for (int i = 0; i < length; ++i) {
+          c[ci + i] = Math.abs(a[ai + i]);
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Operation " + op + " is not supported on ints");
+    }
+  }
+
+  private static int combine(ReduceOp op, int x, int y) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return x + y;
+      case MAX:
+        return Math.max(x, y);
+      case MIN:
+        return Math.min(x, y);
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on ints");
+    }
+  }
+
+  private static int reduceRange(ReduceOp op, int[] a, int ai, int length) {
+    switch (op) {
+      case SUM:
+      case MEAN:
+        return sumRange(a, ai, length);
+      case MAX: {
+        int result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.max(result, a[ai + i]);
+        }
+        return result;
+      }
+      case MIN: {
+        int result = a[ai];
+        for (int i = 1; i < length; ++i) {
+          result = Math.min(result, a[ai + i]);
+        }
+        return result;
+      }
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on ints");
+    }
+  }
+
+  private static int sumRange(int[] a, int ai, int length) {
+    // Independent accumulators break the dependency chain between consecutive additions
+    int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    int i = 0;
+    for (; i <= length - 4; i += 4) {
+      s0 += a[ai + i];
+      s1 += a[ai + i + 1];
+      s2 += a[ai + i + 2];
+      s3 += a[ai + i + 3];
+    }
+    for (; i < length; ++i) {
+      s0 += a[ai + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  private static void reduceAxisRow(ReduceOp op, int[] a, int ai, int axisSize, int stride, int[] c, int ci, int length) {
+    if (axisSize == 0) {
+      Arrays.fill(c, ci, ci + length, 0);
+      return;
+    }
+    System.arraycopy(a, ai, c, ci, length);
+    switch (op) {
+      case SUM:
+      case MEAN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] += a[row + i];
+          }
+        }
+        if (op == ReduceOp.MEAN) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] /= axisSize;
+          }
+        }
+        break;
+      case MAX:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.max(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      case MIN:
+        for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+          for (int i = 0; i < length; ++i) {
+            c[ci + i] = Math.min(c[ci + i], a[row + i]);
+          }
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Reduction " + op + " is not supported on ints");
+    }
+  }
+
+  private static boolean isBetter(boolean max, int value, int best) {
+    return max ? value > best : value < best;
+  }
+
+  private static long argRange(boolean max, int[] a, int ai, int length) {
+    int bestIdx = 0;
+    int best = a[ai];
+    for (int i = 1; i < length; ++i) {
+      int value = a[ai + i];
+      if (isBetter(max, value, best)) {
+        best = value;
+        bestIdx = i;
+      }
+    }
+    return bestIdx;
+  }
+
+  private static void argAxisRow(boolean max, int[] a, int ai, int axisSize, int stride, int[] best, long[] c, int ci, int length) {
+    System.arraycopy(a, ai, best, 0, length);
+    Arrays.fill(c, ci, ci + length, 0L);
+    for (int k = 1, row = ai + stride; k < axisSize; ++k, row += stride) {
+      for (int i = 0; i < length; ++i) {
+        int value = a[row + i];
+        if (isBetter(max, value, best[i])) {
+          best[i] = value;
+          c[ci + i] = k;
+        }
+      }
+    }
+  }
+
+  private IntKernels() {}
+}
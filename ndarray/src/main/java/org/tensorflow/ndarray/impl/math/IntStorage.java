@@ -0,0 +1,110 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.tensorflow.ndarray.IntNdArray;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.DataStorageVisitor;
+import org.tensorflow.ndarray.impl.dense.DenseBuffers;
+import org.tensorflow.ndarray.impl.dense.IntDenseNdArray;
+
+/**
+ * Exposes the values of an int array as a Java array that kernels can process directly.
+ *
+ * <p>Dense and contiguous arrays backed by a Java array are accessed without any copy. Other
+ * arrays (e.g. views of an array or arrays mapped to native memory) are staged in a temporary
+ * array, which is read from the original array once for inputs and written back to it once for
+ * outputs, by calling {@link #commit()}. Inputs that share the Java array of an output are staged
+ * as well if they do not cover exactly the same values, since the output would overwrite values of
+ * the input before they are read.
+ */
+final class IntStorage {
+
+  static IntStorage input(IntNdArray array) {
+    return input(array, null);
+  }
+
+  static IntStorage input(IntNdArray array, IntStorage output) {
+    IntStorage storage = direct(array);
+    if (storage == null || (output != null && storage.overlapsPartially(output))) {
+      int[] values = new int[Validator.stagingSize(array)];
+      array.read(DataBuffers.of(values, false, false));
+      storage = new IntStorage(values, 0, values.length, null);
+    }
+    return storage;
+  }
+
+  static IntStorage output(IntNdArray array) {
+    IntStorage storage = direct(array);
+    if (storage == null) {
+      int size = Validator.stagingSize(array);
+      storage = new IntStorage(new int[size], 0, size, array);
+    } else if (DenseBuffers.of((IntDenseNdArray)array).isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    return storage;
+  }
+
+  void commit() {
+    if (target != null) {
+      target.write(DataBuffers.of(values, true, false));
+    }
+  }
+
+  final int[] values;
+  final int offset;
+
+  private final int size;
+  private final IntNdArray target;
+
+  private IntStorage(int[] values, int offset, int size, IntNdArray target) {
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+    this.target = target;
+  }
+
+  private boolean overlapsPartially(IntStorage other) {
+    return values == other.values
+        && offset < other.offset + other.size
+        && other.offset < offset + size
+        && (offset != other.offset || size != other.size);
+  }
+
+  private static IntStorage direct(IntNdArray array) {
+    if (!(array instanceof IntDenseNdArray) || ((IntDenseNdArray)array).dimensions().isSegmented()) {
+      return null;
+    }
+    return DenseBuffers.of((IntDenseNdArray)array).accept(new DataStorageVisitor<IntStorage>() {
+
+      @Override
+      public IntStorage visit(IntBuffer buffer) {
+        if (buffer.hasArray()) {
+          return new IntStorage(buffer.array(), buffer.arrayOffset() + buffer.position(), (int)array.size(), null);
+        }
+        return fallback();
+      }
+
+      @Override
+      public IntStorage fallback() {
+        return null;
+      }
+    });
+  }
+}
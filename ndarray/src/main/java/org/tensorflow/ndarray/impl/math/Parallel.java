@@ -0,0 +1,134 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Splits kernel executions in ranges processed in parallel by the common fork/join pool.
+ *
+ * <p>Work is only parallelized if its total cost (number of units multiplied by the cost of each
+ * unit, roughly the number of values being read) is above {@link #THRESHOLD}, as smaller tasks
+ * run faster on the calling thread.
+ */
+final class Parallel {
+
+  /**
+   * Minimum cost of a task before it is split.
+   */
+  static final long THRESHOLD = 1L << 15;
+
+  @FunctionalInterface
+  interface RangeAction {
+    void apply(long from, long to);
+  }
+
+  @FunctionalInterface
+  interface RangeFunction<R> {
+    R apply(long from, long to);
+  }
+
+  static void forRange(long size, long unitCost, RangeAction action) {
+    long grain = grainSize(size, unitCost);
+    if (grain >= size) {
+      action.apply(0, size);
+    } else {
+      ForkJoinPool.commonPool().invoke(new RangeTask(action, 0, size, grain));
+    }
+  }
+
+  static <R> R reduceRange(long size, long unitCost, RangeFunction<R> function, BinaryOperator<R> combiner) {
+    long grain = grainSize(size, unitCost);
+    if (grain >= size) {
+      return function.apply(0, size);
+    }
+    return ForkJoinPool.commonPool().invoke(new ReduceTask<>(function, combiner, 0, size, grain));
+  }
+
+  private static long grainSize(long size, long unitCost) {
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    if (parallelism <= 1 || size * unitCost < THRESHOLD) {
+      return size;
+    }
+    // Split enough to balance the load between workers, without going under the threshold
+    long grain = (size + parallelism * 4 - 1) / (parallelism * 4);
+    return Math.max(grain, (THRESHOLD + unitCost - 1) / unitCost);
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void compute() {
+      if (to - from <= grain) {
+        action.apply(from, to);
+      } else {
+        long mid = from + (to - from) / 2;
+        invokeAll(new RangeTask(action, from, mid, grain), new RangeTask(action, mid, to, grain));
+      }
+    }
+
+    RangeTask(RangeAction action, long from, long to, long grain) {
+      this.action = action;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    private final RangeAction action;
+    private final long from;
+    private final long to;
+    private final long grain;
+  }
+
+  private static final class ReduceTask<R> extends RecursiveTask<R> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected R compute() {
+      if (to - from <= grain) {
+        return function.apply(from, to);
+      }
+      long mid = from + (to - from) / 2;
+      ReduceTask<R> left = new ReduceTask<>(function, combiner, from, mid, grain);
+      left.fork();
+      R right = new ReduceTask<>(function, combiner, mid, to, grain).compute();
+      return combiner.apply(left.join(), right);  // left first, to preserve the order of the values
+    }
+
+    ReduceTask(RangeFunction<R> function, BinaryOperator<R> combiner, long from, long to, long grain) {
+      this.function = function;
+      this.combiner = combiner;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    private final RangeFunction<R> function;
+    private final BinaryOperator<R> combiner;
+    private final long from;
+    private final long to;
+    private final long grain;
+  }
+
+  private Parallel() {}
+}
@@ -0,0 +1,74 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.math;
+
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+
+final class Validator extends org.tensorflow.ndarray.impl.Validator {
+
+  static BroadcastPlan binaryArgs(NdArray<?> a, NdArray<?> b, NdArray<?> dst) {
+    Shape shape = BroadcastPlan.broadcast(a.shape(), b.shape());
+    if (!shape.equals(dst.shape())) {
+      throw new IllegalArgumentException("Output shape " + dst.shape() +
+          " does not match broadcast shape " + shape);
+    }
+    return BroadcastPlan.create(shape, a.shape(), b.shape());
+  }
+
+  static void unaryArgs(NdArray<?> src, NdArray<?> dst) {
+    if (!src.shape().equals(dst.shape())) {
+      throw new IllegalArgumentException("Output shape " + dst.shape() +
+          " does not match input shape " + src.shape());
+    }
+  }
+
+  static void notEmpty(NdArray<?> src) {
+    if (src.size() == 0) {
+      throw new IllegalArgumentException("Cannot reduce an empty array");
+    }
+  }
+
+  static int axis(NdArray<?> src, int axis) {
+    int rank = src.rank();
+    if (axis < -rank || axis >= rank) {
+      throw new IllegalArgumentException("Axis " + axis + " is out of range for array of shape " + src.shape());
+    }
+    return axis < 0 ? axis + rank : axis;
+  }
+
+  static void reducedArgs(NdArray<?> src, int axis, NdArray<?> dst) {
+    Shape shape = src.shape();
+    Shape outerShape = shape.take(axis);
+    Shape innerShape = shape.takeLast(shape.numDimensions() - axis - 1);
+    Shape reducedShape = outerShape.append(innerShape);
+    if (!dst.shape().equals(reducedShape) && !dst.shape().equals(outerShape.append(1).append(innerShape))) {
+      throw new IllegalArgumentException("Output shape " + dst.shape() +
+          " does not match reduced shape " + reducedShape);
+    }
+  }
+
+  static int stagingSize(NdArray<?> array) {
+    if (array.size() > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Array of shape " + array.shape() +
+          " is too large to be staged in heap memory");
+    }
+    return (int)array.size();
+  }
+
+  private Validator() {}
+}
@@ -0,0 +1,233 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.NdArrayCursor;
+import org.tensorflow.ndarray.NdArraySequence;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.SparseNdArray;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.impl.AbstractNdArray;
+import org.tensorflow.ndarray.impl.dimension.Dimension;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+import org.tensorflow.ndarray.impl.sequence.SingleElementSequence;
+import org.tensorflow.ndarray.impl.sequence.SlicingElementSequence;
+import org.tensorflow.ndarray.index.Index;
+import org.tensorflow.ndarray.index.Indices;
+
+/**
+ * Base class of sparse arrays.
+ *
+ * <p>An instance either maps a whole sparse array or one of its elements (e.g. a row of a sparse
+ * matrix), in which case it views the range of non-zero values sharing the coordinates of that
+ * element.
+ */
+@SuppressWarnings("unchecked")
+public abstract class AbstractSparseNdArray<T, U extends NdArray<T>> extends AbstractNdArray<T, U>
+    implements SparseNdArray<T, U> {
+
+  @Override
+  public LongNdArray getIndices() {
+    return layout.indices(from, to, prefix.length);
+  }
+
+  @Override
+  public U getValues() {
+    if (from == 0 && to == values.size()) {
+      return values;
+    }
+    return (U)values.slice(Indices.range(from, to));
+  }
+
+  @Override
+  public LongNdArray getDenseShape() {
+    return NdArrays.vectorOf(shape().asArray());
+  }
+
+  @Override
+  public long numNonZeros() {
+    return to - from;
+  }
+
+  @Override
+  public void forEachNonZero(NonZeroConsumer consumer) {
+    layout.forEach(from, to, prefix.length, (coords, valueIdx) -> consumer.accept(coords, valueIdx - from));
+  }
+
+  @Override
+  public NdArraySequence<U> elements(int dimensionIdx) {
+    if (dimensionIdx >= shape().numDimensions()) {
+      throw new IllegalArgumentException("Cannot iterate elements in dimension '" + dimensionIdx +
+          "' of array with shape " + shape());
+    }
+    if (rank() == 0 && dimensionIdx < 0) {
+      return new SingleElementSequence<>(this);
+    }
+    return new SlicingElementSequence<>(this, dimensionIdx);
+  }
+
+  @Override
+  public NdArrayCursor<T> cursor() {
+    return new SparseCursor<>(this);
+  }
+
+  @Override
+  public U slice(long position, DimensionalSpace elementDimensions) {
+    // Retrieve the coordinates of the element from its position in the dense space
+    long elementPosition = this.position + position;
+    long[] elementPrefix = new long[layout.rank() - elementDimensions.numDimensions()];
+    for (int i = 0; i < elementPrefix.length; ++i) {
+      Dimension dimension = layout.dimensions().get(i);
+      elementPrefix[i] = (elementPosition / dimension.elementSize()) % dimension.numElements();
+    }
+    long elementFrom = layout.lowerBound(elementPrefix, elementPrefix.length, from, to);
+    long elementTo = layout.upperBound(elementPrefix, elementPrefix.length, elementFrom, to);
+    return instantiate(layout, values, elementFrom, elementTo, elementPrefix, elementPosition, elementDimensions);
+  }
+
+  @Override
+  public U slice(Index... indices) {
+    throw Validator.unsupported("Slicing");
+  }
+
+  @Override
+  public U permute(int... axes) {
+    throw Validator.unsupported("Permuting dimensions");
+  }
+
+  @Override
+  public U reshape(Shape shape) {
+    throw Validator.unsupported("Reshaping");
+  }
+
+  @Override
+  public U broadcastTo(Shape shape) {
+    throw Validator.unsupported("Broadcasting");
+  }
+
+  @Override
+  public U get(long... coords) {
+    Validator.coordinates(coords, false, rank());
+    return slice(dimensions().positionOf(coords), dimensions().from(coords.length));
+  }
+
+  @Override
+  public T getObject(long... coords) {
+    long valueIdx = valueIndexOf(coords);
+    return valueIdx < 0 ? zero() : values.getObject(valueIdx);
+  }
+
+  @Override
+  public U set(NdArray<T> src, long... coordinates) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public U setObject(T value, long... coords) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public U copyTo(NdArray<T> dst) {
+    Validator.copyToNdArrayArgs(this, dst);
+    dst.write(zeros(dst.size()));
+    forEachValue((coords, valueIdx) -> dst.setObject(values.getObject(valueIdx), coords));
+    return (U)this;
+  }
+
+  @Override
+  public U read(DataBuffer<T> dst) {
+    Validator.readToBufferArgs(this, dst);
+    zeros(size()).copyTo(dst, size());
+    forEachValue((coords, valueIdx) -> dst.setObject(values.getObject(valueIdx), dimensions().positionOf(coords)));
+    return (U)this;
+  }
+
+  @Override
+  public U write(DataBuffer<T> src) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "(shape=" + shape() + ", numNonZeros=" + numNonZeros() + ")";
+  }
+
+  protected AbstractSparseNdArray(SparseLayout layout, U values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    super(dimensions);
+    this.layout = layout;
+    this.values = values;
+    this.from = from;
+    this.to = to;
+    this.prefix = prefix;
+    this.position = position;
+  }
+
+  /** Returns the value of the elements that are not explicitly stored in this array. */
+  protected abstract T zero();
+
+  /** Allocates a buffer of the given size initialized with zeros. */
+  protected abstract DataBuffer<T> zeros(long size);
+
+  abstract U instantiate(SparseLayout layout, U values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions);
+
+  /**
+   * Visits the non-zero values of this array, passing their index in the values of the whole
+   * sparse array.
+   */
+  void forEachValue(NonZeroConsumer consumer) {
+    layout.forEach(from, to, prefix.length, consumer);
+  }
+
+  /**
+   * Returns the flat index in this array of the non-zero value found at the given index.
+   */
+  long flatIndexOf(long valueIdx) {
+    long flatIndex = 0;
+    for (int i = 0; i < rank(); ++i) {
+      flatIndex += layout.coordinate(valueIdx, prefix.length + i) * dimensions().get(i).elementSize();
+    }
+    return flatIndex;
+  }
+
+  /**
+   * Returns the index of the value at the given coordinates in this array, or -1 if this value is
+   * zero.
+   */
+  long valueIndexOf(long[] coords) {
+    Validator.coordinates(coords, true, rank());
+    long[] layoutCoords = new long[layout.rank()];
+    System.arraycopy(prefix, 0, layoutCoords, 0, prefix.length);
+    for (int i = 0; i < coords.length; ++i) {
+      if (coords[i] >= dimensions().numElements(i)) {
+        throw new IndexOutOfBoundsException();
+      }
+      layoutCoords[prefix.length + i] = coords[i];
+    }
+    return layout.find(layoutCoords, from, to);
+  }
+
+  final SparseLayout layout;
+  final U values;
+  final long from;
+  final long to;
+  private final long[] prefix;
+  private final long position;
+}
@@ -0,0 +1,67 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+
+/**
+ * Coordinate list (COO) layout, where all coordinates of each non-zero value are stored.
+ *
+ * <p>The coordinates are copied when the layout is created, and returned as a read-only view of
+ * that copy, so that they cannot be changed once validated.
+ */
+final class CooLayout extends SparseLayout {
+
+  static CooLayout create(LongNdArray indices, Shape shape) {
+    Validator.cooArgs(indices, shape);
+    return new CooLayout(indices, shape);
+  }
+
+  @Override
+  long numNonZeros() {
+    return numNonZeros;
+  }
+
+  @Override
+  long coordinate(long valueIdx, int dimIdx) {
+    return coordinates[(int)(valueIdx * rank() + dimIdx)];
+  }
+
+  @Override
+  LongNdArray indices(long from, long to, int dimStart) {
+    if (from == 0 && to == numNonZeros && dimStart == 0) {
+      return indices;
+    }
+    return super.indices(from, to, dimStart);
+  }
+
+  private final LongNdArray indices;
+  private final long[] coordinates;
+  private final long numNonZeros;
+
+  private CooLayout(LongNdArray indices, Shape shape) {
+    super(shape);
+    this.numNonZeros = indices.shape().size(0);
+    this.coordinates = new long[(int)indices.size()];
+    indices.read(DataBuffers.of(coordinates, false, false));
+    this.indices = NdArrays.wrap(indices.shape(), DataBuffers.of(coordinates, true, false));
+    Validator.coordinates(this, shape);
+  }
+}
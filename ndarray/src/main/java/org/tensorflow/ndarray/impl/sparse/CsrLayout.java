@@ -0,0 +1,136 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.SparseNdArray.NonZeroConsumer;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+
+/**
+ * Compressed sparse row (CSR) layout for matrices, where the values of each row are found using
+ * an offset in the list of non-zero values.
+ */
+final class CsrLayout extends SparseLayout {
+
+  static CsrLayout create(LongNdArray rowOffsets, LongNdArray columns, Shape shape) {
+    Validator.csrArgs(rowOffsets, columns, shape);
+    return new CsrLayout(rowOffsets, columns, shape);
+  }
+
+  @Override
+  long numNonZeros() {
+    return columns.length;
+  }
+
+  @Override
+  long coordinate(long valueIdx, int dimIdx) {
+    return dimIdx == 0 ? rowOf(valueIdx) : columns[(int)valueIdx];
+  }
+
+  @Override
+  long lowerBound(long[] coords, int length, long from, long to) {
+    if (length == 0) {
+      return from;
+    }
+    long rowStart = clamp(rowOffsets[(int)coords[0]], from, to);
+    if (length == 1) {
+      return rowStart;
+    }
+    long rowEnd = clamp(rowOffsets[(int)coords[0] + 1], from, to);
+    return columnBound(coords[1], rowStart, rowEnd, false);
+  }
+
+  @Override
+  long upperBound(long[] coords, int length, long from, long to) {
+    if (length == 0) {
+      return to;
+    }
+    long rowEnd = clamp(rowOffsets[(int)coords[0] + 1], from, to);
+    if (length == 1) {
+      return rowEnd;
+    }
+    long rowStart = clamp(rowOffsets[(int)coords[0]], from, to);
+    return columnBound(coords[1], rowStart, rowEnd, true);
+  }
+
+  @Override
+  void forEach(long from, long to, int dimStart, NonZeroConsumer consumer) {
+    if (from >= to) {
+      return;
+    }
+    long[] coords = new long[rank() - dimStart];
+    int row = (int)rowOf(from);
+    for (long valueIdx = from; valueIdx < to; ++valueIdx) {
+      while (rowOffsets[row + 1] <= valueIdx) {
+        ++row;
+      }
+      if (dimStart == 0) {
+        coords[0] = row;
+      }
+      if (dimStart <= 1) {
+        coords[coords.length - 1] = columns[(int)valueIdx];
+      }
+      consumer.accept(coords, valueIdx);
+    }
+  }
+
+  private final long[] rowOffsets;
+  private final long[] columns;
+
+  private CsrLayout(LongNdArray rowOffsets, LongNdArray columns, Shape shape) {
+    super(shape);
+    this.rowOffsets = new long[(int)rowOffsets.size()];
+    rowOffsets.read(DataBuffers.of(this.rowOffsets, false, false));
+    this.columns = new long[(int)columns.size()];
+    columns.read(DataBuffers.of(this.columns, false, false));
+    Validator.rowOffsets(this.rowOffsets, this.columns.length);
+    Validator.coordinates(this, shape);
+  }
+
+  private long rowOf(long valueIdx) {
+    // Last row starting at or before this value, skipping empty rows
+    int from = 0;
+    int to = rowOffsets.length - 1;
+    while (from < to) {
+      int mid = (from + to + 1) >>> 1;
+      if (rowOffsets[mid] <= valueIdx) {
+        from = mid;
+      } else {
+        to = mid - 1;
+      }
+    }
+    return from;
+  }
+
+  private static long clamp(long value, long from, long to) {
+    return Math.min(Math.max(value, from), to);
+  }
+
+  private long columnBound(long column, long from, long to, boolean upper) {
+    while (from < to) {
+      long mid = (from + to) >>> 1;
+      long midColumn = columns[(int)mid];
+      if (midColumn < column || (upper && midColumn == column)) {
+        from = mid + 1;
+      } else {
+        to = mid;
+      }
+    }
+    return from;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.DoubleNdArray;
+import org.tensorflow.ndarray.DoubleNdArrayCursor;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.DoubleDataBuffer;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+public class DoubleSparseNdArray extends AbstractSparseNdArray<Double, DoubleNdArray>
+    implements DoubleNdArray {
+
+  public static DoubleSparseNdArray create(LongNdArray indices, DoubleNdArray values, Shape shape) {
+    CooLayout layout = CooLayout.create(indices, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new DoubleSparseNdArray(layout, values);
+  }
+
+  public static DoubleSparseNdArray createCsr(LongNdArray rowOffsets, LongNdArray columns, DoubleNdArray values, Shape shape) {
+    CsrLayout layout = CsrLayout.create(rowOffsets, columns, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new DoubleSparseNdArray(layout, values);
+  }
+
+  @Override
+  public double getDouble(long... coordinates) {
+    long valueIdx = valueIndexOf(coordinates);
+    return valueIdx < 0 ? 0.0 : values.getDouble(valueIdx);
+  }
+
+  @Override
+  public DoubleSparseNdArray get(long... coordinates) {
+    return (DoubleSparseNdArray)super.get(coordinates);
+  }
+
+  @Override
+  public DoubleNdArray setDouble(double value, long... coordinates) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public DoubleNdArrayCursor cursor() {
+    return new DoubleCursor();
+  }
+
+  @Override
+  public void forEachDouble(IndexedDoubleConsumer consumer) {
+    DoubleNdArrayCursor cursor = cursor();
+    while (cursor.next()) {
+      consumer.accept(cursor.index(), cursor.getDouble());
+    }
+  }
+
+  @Override
+  public DoubleNdArray copyTo(NdArray<Double> dst) {
+    if (!(dst instanceof DoubleNdArray)) {
+      return super.copyTo(dst);
+    }
+    Validator.copyToNdArrayArgs(this, dst);
+    DoubleNdArray doubleDst = (DoubleNdArray)dst;
+    doubleDst.write(DataBuffers.ofDoubles(dst.size()));
+    forEachValue((coords, valueIdx) -> doubleDst.setDouble(values.getDouble(valueIdx), coords));
+    return this;
+  }
+
+  @Override
+  public DoubleNdArray read(DoubleDataBuffer dst) {
+    Validator.readToBufferArgs(this, dst);
+    DataBuffers.ofDoubles(size()).copyTo(dst, size());
+    forEachValue((coords, valueIdx) -> dst.setDouble(values.getDouble(valueIdx), dimensions().positionOf(coords)));
+    return this;
+  }
+
+  @Override
+  public DoubleNdArray write(DoubleDataBuffer src) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  protected Double zero() {
+    return 0.0;
+  }
+
+  @Override
+  protected DataBuffer<Double> zeros(long size) {
+    return DataBuffers.ofDoubles(size);
+  }
+
+  @Override
+  DoubleSparseNdArray instantiate(SparseLayout layout, DoubleNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    return new DoubleSparseNdArray(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private DoubleSparseNdArray(SparseLayout layout, DoubleNdArray values) {
+    this(layout, values, 0, layout.numNonZeros(), new long[0], 0, layout.dimensions());
+  }
+
+  private DoubleSparseNdArray(SparseLayout layout, DoubleNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    super(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private final class DoubleCursor extends SparseCursor<Double, DoubleNdArray> implements DoubleNdArrayCursor {
+
+    @Override
+    public double getDouble() {
+      long valueIdx = valueIdx();
+      return valueIdx < 0 ? 0.0 : values.getDouble(valueIdx);
+    }
+
+    @Override
+    public void setDouble(double value) {
+      throw Validator.readOnly();
+    }
+
+    @Override
+    public Double getObject() {
+      return getDouble();
+    }
+
+    @Override
+    public void setObject(Double value) {
+      setDouble(value);
+    }
+
+    private DoubleCursor() {
+      super(DoubleSparseNdArray.this);
+    }
+  }
+}
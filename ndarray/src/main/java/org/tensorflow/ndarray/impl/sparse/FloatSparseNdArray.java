@@ -0,0 +1,148 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.FloatNdArrayCursor;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.FloatDataBuffer;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+public class FloatSparseNdArray extends AbstractSparseNdArray<Float, FloatNdArray>
+    implements FloatNdArray {
+
+  public static FloatSparseNdArray create(LongNdArray indices, FloatNdArray values, Shape shape) {
+    CooLayout layout = CooLayout.create(indices, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new FloatSparseNdArray(layout, values);
+  }
+
+  public static FloatSparseNdArray createCsr(LongNdArray rowOffsets, LongNdArray columns, FloatNdArray values, Shape shape) {
+    CsrLayout layout = CsrLayout.create(rowOffsets, columns, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new FloatSparseNdArray(layout, values);
+  }
+
+  @Override
+  public float getFloat(long... coordinates) {
+    long valueIdx = valueIndexOf(coordinates);
+    return valueIdx < 0 ? 0.0f : values.getFloat(valueIdx);
+  }
+
+  @Override
+  public FloatSparseNdArray get(long... coordinates) {
+    return (FloatSparseNdArray)super.get(coordinates);
+  }
+
+  @Override
+  public FloatNdArray setFloat(float value, long... coordinates) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public FloatNdArrayCursor cursor() {
+    return new FloatCursor();
+  }
+
+  @Override
+  public void forEachFloat(IndexedFloatConsumer consumer) {
+    FloatNdArrayCursor cursor = cursor();
+    while (cursor.next()) {
+      consumer.accept(cursor.index(), cursor.getFloat());
+    }
+  }
+
+  @Override
+  public FloatNdArray copyTo(NdArray<Float> dst) {
+    if (!(dst instanceof FloatNdArray)) {
+      return super.copyTo(dst);
+    }
+    Validator.copyToNdArrayArgs(this, dst);
+    FloatNdArray floatDst = (FloatNdArray)dst;
+    floatDst.write(DataBuffers.ofFloats(dst.size()));
+    forEachValue((coords, valueIdx) -> floatDst.setFloat(values.getFloat(valueIdx), coords));
+    return this;
+  }
+
+  @Override
+  public FloatNdArray read(FloatDataBuffer dst) {
+    Validator.readToBufferArgs(this, dst);
+    DataBuffers.ofFloats(size()).copyTo(dst, size());
+    forEachValue((coords, valueIdx) -> dst.setFloat(values.getFloat(valueIdx), dimensions().positionOf(coords)));
+    return this;
+  }
+
+  @Override
+  public FloatNdArray write(FloatDataBuffer src) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  protected Float zero() {
+    return 0.0f;
+  }
+
+  @Override
+  protected DataBuffer<Float> zeros(long size) {
+    return DataBuffers.ofFloats(size);
+  }
+
+  @Override
+  FloatSparseNdArray instantiate(SparseLayout layout, FloatNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    return new FloatSparseNdArray(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private FloatSparseNdArray(SparseLayout layout, FloatNdArray values) {
+    this(layout, values, 0, layout.numNonZeros(), new long[0], 0, layout.dimensions());
+  }
+
+  private FloatSparseNdArray(SparseLayout layout, FloatNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    super(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private final class FloatCursor extends SparseCursor<Float, FloatNdArray> implements FloatNdArrayCursor {
+
+    @Override
+    public float getFloat() {
+      long valueIdx = valueIdx();
+      return valueIdx < 0 ? 0.0f : values.getFloat(valueIdx);
+    }
+
+    @Override
+    public void setFloat(float value) {
+      throw Validator.readOnly();
+    }
+
+    @Override
+    public Float getObject() {
+      return getFloat();
+    }
+
+    @Override
+    public void setObject(Float value) {
+      setFloat(value);
+    }
+
+    private FloatCursor() {
+      super(FloatSparseNdArray.this);
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.IntNdArray;
+import org.tensorflow.ndarray.IntNdArrayCursor;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.IntDataBuffer;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+public class IntSparseNdArray extends AbstractSparseNdArray<Integer, IntNdArray>
+    implements IntNdArray {
+
+  public static IntSparseNdArray create(LongNdArray indices, IntNdArray values, Shape shape) {
+    CooLayout layout = CooLayout.create(indices, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new IntSparseNdArray(layout, values);
+  }
+
+  public static IntSparseNdArray createCsr(LongNdArray rowOffsets, LongNdArray columns, IntNdArray values, Shape shape) {
+    CsrLayout layout = CsrLayout.create(rowOffsets, columns, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new IntSparseNdArray(layout, values);
+  }
+
+  @Override
+  public int getInt(long... coordinates) {
+    long valueIdx = valueIndexOf(coordinates);
+    return valueIdx < 0 ? 0 : values.getInt(valueIdx);
+  }
+
+  @Override
+  public IntSparseNdArray get(long... coordinates) {
+    return (IntSparseNdArray)super.get(coordinates);
+  }
+
+  @Override
+  public IntNdArray setInt(int value, long... coordinates) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public IntNdArrayCursor cursor() {
+    return new IntCursor();
+  }
+
+  @Override
+  public void forEachInt(IndexedIntConsumer consumer) {
+    IntNdArrayCursor cursor = cursor();
+    while (cursor.next()) {
+      consumer.accept(cursor.index(), cursor.getInt());
+    }
+  }
+
+  @Override
+  public IntNdArray copyTo(NdArray<Integer> dst) {
+    if (!(dst instanceof IntNdArray)) {
+      return super.copyTo(dst);
+    }
+    Validator.copyToNdArrayArgs(this, dst);
+    IntNdArray intDst = (IntNdArray)dst;
+    intDst.write(DataBuffers.ofInts(dst.size()));
+    forEachValue((coords, valueIdx) -> intDst.setInt(values.getInt(valueIdx), coords));
+    return this;
+  }
+
+  @Override
+  public IntNdArray read(IntDataBuffer dst) {
+    Validator.readToBufferArgs(this, dst);
+    DataBuffers.ofInts(size()).copyTo(dst, size());
+    forEachValue((coords, valueIdx) -> dst.setInt(values.getInt(valueIdx), dimensions().positionOf(coords)));
+    return this;
+  }
+
+  @Override
+  public IntNdArray write(IntDataBuffer src) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  protected Integer zero() {
+    return 0;
+  }
+
+  @Override
+  protected DataBuffer<Integer> zeros(long size) {
+    return DataBuffers.ofInts(size);
+  }
+
+  @Override
+  IntSparseNdArray instantiate(SparseLayout layout, IntNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    return new IntSparseNdArray(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private IntSparseNdArray(SparseLayout layout, IntNdArray values) {
+    this(layout, values, 0, layout.numNonZeros(), new long[0], 0, layout.dimensions());
+  }
+
+  private IntSparseNdArray(SparseLayout layout, IntNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    super(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private final class IntCursor extends SparseCursor<Integer, IntNdArray> implements IntNdArrayCursor {
+
+    @Override
+    public int getInt() {
+      long valueIdx = valueIdx();
+      return valueIdx < 0 ? 0 : values.getInt(valueIdx);
+    }
+
+    @Override
+    public void setInt(int value) {
+      throw Validator.readOnly();
+    }
+
+    @Override
+    public Integer getObject() {
+      return getInt();
+    }
+
+    @Override
+    public void setObject(Integer value) {
+      setInt(value);
+    }
+
+    private IntCursor() {
+      super(IntSparseNdArray.this);
+    }
+  }
+}
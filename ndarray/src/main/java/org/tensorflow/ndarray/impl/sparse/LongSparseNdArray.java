@@ -0,0 +1,147 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.LongNdArrayCursor;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffer;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.LongDataBuffer;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+public class LongSparseNdArray extends AbstractSparseNdArray<Long, LongNdArray>
+    implements LongNdArray {
+
+  public static LongSparseNdArray create(LongNdArray indices, LongNdArray values, Shape shape) {
+    CooLayout layout = CooLayout.create(indices, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new LongSparseNdArray(layout, values);
+  }
+
+  public static LongSparseNdArray createCsr(LongNdArray rowOffsets, LongNdArray columns, LongNdArray values, Shape shape) {
+    CsrLayout layout = CsrLayout.create(rowOffsets, columns, shape);
+    Validator.values(values, layout.numNonZeros());
+    return new LongSparseNdArray(layout, values);
+  }
+
+  @Override
+  public long getLong(long... coordinates) {
+    long valueIdx = valueIndexOf(coordinates);
+    return valueIdx < 0 ? 0L : values.getLong(valueIdx);
+  }
+
+  @Override
+  public LongSparseNdArray get(long... coordinates) {
+    return (LongSparseNdArray)super.get(coordinates);
+  }
+
+  @Override
+  public LongNdArray setLong(long value, long... coordinates) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  public LongNdArrayCursor cursor() {
+    return new LongCursor();
+  }
+
+  @Override
+  public void forEachLong(IndexedLongConsumer consumer) {
+    LongNdArrayCursor cursor = cursor();
+    while (cursor.next()) {
+      consumer.accept(cursor.index(), cursor.getLong());
+    }
+  }
+
+  @Override
+  public LongNdArray copyTo(NdArray<Long> dst) {
+    if (!(dst instanceof LongNdArray)) {
+      return super.copyTo(dst);
+    }
+    Validator.copyToNdArrayArgs(this, dst);
+    LongNdArray longDst = (LongNdArray)dst;
+    longDst.write(DataBuffers.ofLongs(dst.size()));
+    forEachValue((coords, valueIdx) -> longDst.setLong(values.getLong(valueIdx), coords));
+    return this;
+  }
+
+  @Override
+  public LongNdArray read(LongDataBuffer dst) {
+    Validator.readToBufferArgs(this, dst);
+    DataBuffers.ofLongs(size()).copyTo(dst, size());
+    forEachValue((coords, valueIdx) -> dst.setLong(values.getLong(valueIdx), dimensions().positionOf(coords)));
+    return this;
+  }
+
+  @Override
+  public LongNdArray write(LongDataBuffer src) {
+    throw Validator.readOnly();
+  }
+
+  @Override
+  protected Long zero() {
+    return 0L;
+  }
+
+  @Override
+  protected DataBuffer<Long> zeros(long size) {
+    return DataBuffers.ofLongs(size);
+  }
+
+  @Override
+  LongSparseNdArray instantiate(SparseLayout layout, LongNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    return new LongSparseNdArray(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private LongSparseNdArray(SparseLayout layout, LongNdArray values) {
+    this(layout, values, 0, layout.numNonZeros(), new long[0], 0, layout.dimensions());
+  }
+
+  private LongSparseNdArray(SparseLayout layout, LongNdArray values, long from, long to, long[] prefix, long position, DimensionalSpace dimensions) {
+    super(layout, values, from, to, prefix, position, dimensions);
+  }
+
+  private final class LongCursor extends SparseCursor<Long, LongNdArray> implements LongNdArrayCursor {
+
+    @Override
+    public long getLong() {
+      long valueIdx = valueIdx();
+      return valueIdx < 0 ? 0L : values.getLong(valueIdx);
+    }
+
+    @Override
+    public void setLong(long value) {
+      throw Validator.readOnly();
+    }
+
+    @Override
+    public Long getObject() {
+      return getLong();
+    }
+
+    @Override
+    public void setObject(Long value) {
+      setLong(value);
+    }
+
+    private LongCursor() {
+      super(LongSparseNdArray.this);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.NdArrayCursor;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+/**
+ * A cursor over all scalars of a sparse array, moving through its non-zero values as it reaches
+ * them.
+ */
+class SparseCursor<T, U extends NdArray<T>> implements NdArrayCursor<T> {
+
+  @Override
+  public boolean next() {
+    if (index + 1 >= size) {
+      return false;
+    }
+    if (++index > 0) {
+      for (int i = coords.length - 1; i >= 0 && ++coords[i] == dimensions.numElements(i); --i) {
+        coords[i] = 0;
+      }
+    }
+    if (index > nextValueIndex) {
+      moveToNextValue();
+    }
+    return true;
+  }
+
+  @Override
+  public void reset() {
+    index = -1;
+    for (int i = 0; i < coords.length; ++i) {
+      coords[i] = 0;
+    }
+    nextValueIdx = array.from - 1;
+    moveToNextValue();
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  @Override
+  public long[] coordinates() {
+    return coords;
+  }
+
+  @Override
+  public T getObject() {
+    return index == nextValueIndex ? array.values.getObject(nextValueIdx) : array.zero();
+  }
+
+  @Override
+  public void setObject(T value) {
+    throw Validator.readOnly();
+  }
+
+  SparseCursor(AbstractSparseNdArray<T, U> array) {
+    this.array = array;
+    this.dimensions = array.dimensions();
+    this.coords = new long[dimensions.numDimensions()];
+    this.size = dimensions.shape().size();
+    reset();
+  }
+
+  /**
+   * Returns the index of the value of the current scalar in the sparse array, or -1 if this value
+   * is zero.
+   */
+  final long valueIdx() {
+    return index == nextValueIndex ? nextValueIdx : -1;
+  }
+
+  private final AbstractSparseNdArray<T, U> array;
+  private final DimensionalSpace dimensions;
+  private final long[] coords;
+  private final long size;
+  private long index;
+  private long nextValueIdx;
+  private long nextValueIndex;
+
+  private void moveToNextValue() {
+    if (++nextValueIdx < array.to) {
+      nextValueIndex = array.flatIndexOf(nextValueIdx);
+    } else {
+      nextValueIndex = Long.MAX_VALUE;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.SparseNdArray.NonZeroConsumer;
+import org.tensorflow.ndarray.impl.dimension.DimensionalSpace;
+
+/**
+ * Stores the coordinates of the non-zero values of a sparse array, sorted in row-major order.
+ */
+abstract class SparseLayout {
+
+  /**
+   * Returns the number of non-zero values in this layout.
+   */
+  abstract long numNonZeros();
+
+  /**
+   * Returns the coordinate in a given dimension of the non-zero value at the given index.
+   */
+  abstract long coordinate(long valueIdx, int dimIdx);
+
+  DimensionalSpace dimensions() {
+    return dimensions;
+  }
+
+  int rank() {
+    return dimensions.numDimensions();
+  }
+
+  /**
+   * Returns the index of the first value in {@code [from, to)} whose first {@code length}
+   * coordinates are equal or greater than {@code coords}.
+   */
+  long lowerBound(long[] coords, int length, long from, long to) {
+    while (from < to) {
+      long mid = (from + to) >>> 1;
+      if (compare(mid, coords, length) < 0) {
+        from = mid + 1;
+      } else {
+        to = mid;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Returns the index of the first value in {@code [from, to)} whose first {@code length}
+   * coordinates are greater than {@code coords}.
+   */
+  long upperBound(long[] coords, int length, long from, long to) {
+    while (from < to) {
+      long mid = (from + to) >>> 1;
+      if (compare(mid, coords, length) <= 0) {
+        from = mid + 1;
+      } else {
+        to = mid;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Returns the index of the value in {@code [from, to)} found at the given coordinates, or -1 if
+   * this value is zero.
+   */
+  long find(long[] coords, long from, long to) {
+    long valueIdx = lowerBound(coords, coords.length, from, to);
+    if (valueIdx < to && compare(valueIdx, coords, coords.length) == 0) {
+      return valueIdx;
+    }
+    return -1;
+  }
+
+  /**
+   * Visits the values in {@code [from, to)}, passing their coordinates starting from dimension
+   * {@code dimStart}.
+   */
+  void forEach(long from, long to, int dimStart, NonZeroConsumer consumer) {
+    long[] coords = new long[rank() - dimStart];
+    for (long valueIdx = from; valueIdx < to; ++valueIdx) {
+      for (int i = 0; i < coords.length; ++i) {
+        coords[i] = coordinate(valueIdx, dimStart + i);
+      }
+      consumer.accept(coords, valueIdx);
+    }
+  }
+
+  /**
+   * Returns the coordinates of the values in {@code [from, to)} as a matrix, starting from
+   * dimension {@code dimStart}.
+   */
+  LongNdArray indices(long from, long to, int dimStart) {
+    LongNdArray indices = NdArrays.ofLongs(Shape.of(to - from, rank() - dimStart));
+    forEach(from, to, dimStart, (coords, valueIdx) -> {
+      for (int i = 0; i < coords.length; ++i) {
+        indices.setLong(coords[i], valueIdx - from, i);
+      }
+    });
+    return indices;
+  }
+
+  SparseLayout(Shape shape) {
+    this.dimensions = DimensionalSpace.create(shape);
+  }
+
+  private final DimensionalSpace dimensions;
+
+  private int compare(long valueIdx, long[] coords, int length) {
+    for (int i = 0; i < length; ++i) {
+      int result = Long.compare(coordinate(valueIdx, i), coords[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import org.tensorflow.ndarray.IllegalRankException;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArray;
+import org.tensorflow.ndarray.Shape;
+
+final class Validator extends org.tensorflow.ndarray.impl.Validator {
+
+  static void cooArgs(LongNdArray indices, Shape shape) {
+    denseShape(shape);
+    if (indices.rank() != 2 || indices.shape().size(1) != shape.numDimensions()) {
+      throw new IllegalArgumentException("Indices of a sparse array of rank " + shape.numDimensions()
+          + " must be a matrix of shape [N, " + shape.numDimensions() + "], got " + indices.shape());
+    }
+  }
+
+  static void csrArgs(LongNdArray rowOffsets, LongNdArray columns, Shape shape) {
+    denseShape(shape);
+    if (shape.numDimensions() != 2) {
+      throw new IllegalRankException("Only matrices can be stored in a CSR layout");
+    }
+    if (rowOffsets.rank() != 1 || rowOffsets.size() != shape.size(0) + 1) {
+      throw new IllegalArgumentException("Row offsets must be a vector of " + (shape.size(0) + 1)
+          + " elements, got " + rowOffsets.shape());
+    }
+    if (columns.rank() != 1) {
+      throw new IllegalRankException("Column indices must be a vector");
+    }
+  }
+
+  static void values(NdArray<?> values, long numNonZeros) {
+    if (values.rank() != 1 || values.size() != numNonZeros) {
+      throw new IllegalArgumentException("Values must be a vector of " + numNonZeros
+          + " elements, got " + values.shape());
+    }
+  }
+
+  static void rowOffsets(long[] rowOffsets, long numNonZeros) {
+    if (rowOffsets[0] != 0 || rowOffsets[rowOffsets.length - 1] != numNonZeros) {
+      throw new IllegalArgumentException("Row offsets must start at 0 and end at " + numNonZeros);
+    }
+    for (int i = 1; i < rowOffsets.length; ++i) {
+      if (rowOffsets[i] < rowOffsets[i - 1]) {
+        throw new IllegalArgumentException("Row offsets must be in increasing order");
+      }
+    }
+  }
+
+  static void coordinates(SparseLayout layout, Shape shape) {
+    int rank = shape.numDimensions();
+    for (long valueIdx = 0; valueIdx < layout.numNonZeros(); ++valueIdx) {
+      boolean increasing = valueIdx == 0;
+      for (int i = 0; i < rank; ++i) {
+        long coord = layout.coordinate(valueIdx, i);
+        if (coord < 0 || coord >= shape.size(i)) {
+          throw new IndexOutOfBoundsException("Coordinate " + coord + " of value " + valueIdx
+              + " is out of bounds for a dimension of " + shape.size(i) + " elements");
+        }
+        if (!increasing) {
+          long previousCoord = layout.coordinate(valueIdx - 1, i);
+          if (coord < previousCoord) {
+            break;
+          }
+          increasing = coord > previousCoord;
+        }
+      }
+      if (!increasing) {
+        throw new IllegalArgumentException("Coordinates of non-zero values must be unique and "
+            + "sorted in row-major order, check value " + valueIdx);
+      }
+    }
+  }
+
+  static void coordinates(long[] coords, boolean isValue, int rank) {
+    if (coords.length > rank) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (isValue && coords.length != rank) {
+      throw new IllegalRankException("Not a scalar value");
+    }
+    for (long coord : coords) {
+      if (coord < 0) {
+        throw new IndexOutOfBoundsException();
+      }
+    }
+  }
+
+  static UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException("Sparse arrays are read-only");
+  }
+
+  static UnsupportedOperationException unsupported(String operation) {
+    return new UnsupportedOperationException(operation + " is not supported by sparse arrays, "
+        + "copy the array to a dense one first");
+  }
+
+  private static void denseShape(Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+    if (shape.hasUnknownDimension()) {
+      throw new IllegalArgumentException("Sparse arrays cannot have unknown dimension(s)");
+    }
+  }
+
+  private Validator() {}
+}
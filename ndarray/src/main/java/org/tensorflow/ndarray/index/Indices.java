@@ -16,10 +16,11 @@
  */
 package org.tensorflow.ndarray.index;
 
+import java.util.Arrays;
+import org.tensorflow.ndarray.BooleanNdArray;
 import org.tensorflow.ndarray.IllegalRankException;
+import org.tensorflow.ndarray.LongNdArray;
 import org.tensorflow.ndarray.NdArray;
-import org.tensorflow.ndarray.NdArrays;
-import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.buffer.DataBuffers;
 
 /**
@@ -128,14 +129,15 @@ public final class Indices {
     if (coords == null) {
       throw new IllegalArgumentException();
     }
-    return new Sequence(NdArrays.wrap(Shape.of(coords.length), DataBuffers.of(coords, true, false)));
+    return new Sequence(coords);
   }
 
   /**
    * An index that returns only specific elements on a given dimension.
    *
    * <p>This is equivalent to {@link #seq(long...)} but where the coordinates of the elements in
-   * the sequence are provided by an N-dimensional array.
+   * the sequence are provided by an N-dimensional array. These coordinates are read when the
+   * index is created.
    *
    * @param coords vector of coordinates of the elements in the sequence
    * @return index
@@ -145,7 +147,43 @@ public final class Indices {
     if (coords.rank() != 1) {
       throw new IllegalRankException("Only vectors are accepted as an element index");
     }
-    return new Sequence(coords);
+    long[] values = new long[(int)coords.size()];
+    if (coords instanceof LongNdArray) {
+      ((LongNdArray)coords).read(DataBuffers.of(values, false, false));
+    } else {
+      for (int i = 0; i < values.length; ++i) {
+        values[i] = coords.getObject(i).longValue();
+      }
+    }
+    return new Sequence(values);
+  }
+
+  /**
+   * An index that returns only the elements of a given dimension for which the mask is true.
+   *
+   * <p>For example, given a vector with {@code 4} elements on the {@code x} axis,
+   * {@code mask(NdArrays.vectorOf(true, false, false, true))} returns x<sub>0</sub>,
+   * x<sub>3</sub>
+   *
+   * <p>The mask must have as many elements as the dimension it is applied to. Its values are read
+   * when the index is created.
+   *
+   * @param mask vector of booleans selecting the elements of the dimension
+   * @return index
+   * @throws IllegalRankException if {@code mask} is not a vector (rank 1)
+   */
+  public static Index mask(BooleanNdArray mask) {
+    if (mask.rank() != 1) {
+      throw new IllegalRankException("Only vectors are accepted as a mask index");
+    }
+    long[] coords = new long[(int)mask.size()];
+    int numElements = 0;
+    for (int i = 0; i < coords.length; ++i) {
+      if (mask.getBoolean(i)) {
+        coords[numElements++] = i;
+      }
+    }
+    return new Mask(Arrays.copyOf(coords, numElements), mask.size());
   }
 
   /**
@@ -0,0 +1,59 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.index;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import org.tensorflow.ndarray.impl.dimension.Dimension;
+
+final class Mask implements Index {
+
+  @Override
+  public long numElements(Dimension dim) {
+    if (dim.numElements() != maskSize) {
+      throw new IllegalArgumentException("Mask of " + maskSize + " elements cannot be applied to "
+          + "a dimension of " + dim.numElements() + " elements");
+    }
+    return coords.length;
+  }
+
+  @Override
+  public long mapCoordinate(long coordinate, Dimension dim) {
+    return coords[(int)coordinate];
+  }
+
+  Mask(long[] coords, long maskSize) {
+    this.coords = coords;
+    this.maskSize = maskSize;
+  }
+
+  private final long[] coords;
+  private final long maskSize;
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", Mask.class.getSimpleName() + "(", ")")
+        .add("coords=" + Arrays.toString(coords))
+        .add("maskSize=" + maskSize)
+        .toString();
+  }
+
+  @Override
+  public boolean isStridedSlicingCompliant() {
+    return false;
+  }
+}
@@ -16,32 +16,39 @@
  */
 package org.tensorflow.ndarray.index;
 
+import java.util.Arrays;
 import java.util.StringJoiner;
-import org.tensorflow.ndarray.NdArray;
 import org.tensorflow.ndarray.impl.dimension.Dimension;
 
 final class Sequence implements Index {
 
   @Override
   public long numElements(Dimension dim) {
-    return coords.size();
+    // Validate the coordinates once when they are applied to a dimension, instead of on each access
+    for (long coord : coords) {
+      if (coord < 0 || coord >= dim.numElements()) {
+        throw new IndexOutOfBoundsException("Coordinate " + coord + " is out of bounds for a "
+            + "dimension of " + dim.numElements() + " elements");
+      }
+    }
+    return coords.length;
   }
 
   @Override
   public long mapCoordinate(long coordinate, Dimension dim) {
-    return coords.getObject(coordinate).longValue();
+    return coords[(int)coordinate];
   }
 
-  Sequence(NdArray<? extends Number> coords) {
+  Sequence(long[] coords) {
     this.coords = coords;
   }
 
-  private final NdArray<? extends Number> coords;
+  private final long[] coords;
 
   @Override
   public String toString() {
     return new StringJoiner(", ", Sequence.class.getSimpleName() + "(", ")")
-        .add("coords=" + coords)
+        .add("coords=" + Arrays.toString(coords))
         .toString();
   }
 
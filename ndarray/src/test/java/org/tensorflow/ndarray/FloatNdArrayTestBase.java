@@ -17,6 +17,8 @@
 package org.tensorflow.ndarray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.tensorflow.ndarray.index.Indices.all;
+import static org.tensorflow.ndarray.index.Indices.sliceFrom;
 
 import org.junit.jupiter.api.Test;
 
@@ -52,4 +54,31 @@ public abstract class FloatNdArrayTestBase extends NdArrayTestBase<Float> {
         assertEquals(9, matrix3d.getFloat(0, 0, 4), 0.0f);
         assertEquals(7, matrix3d.getFloat(0, 1, 2), 0.0f);
     }
+
+    @Test
+    public void iteratePrimitiveValues() {
+        FloatNdArray matrix = allocate(Shape.of(3, 4));
+        FloatNdArrayCursor cursor = matrix.cursor();
+        while (cursor.next()) {
+            cursor.setFloat(cursor.index() * 0.5f);
+        }
+        assertEquals(3.0f, matrix.getFloat(1, 2), 0.0f);
+
+        float[] sum = new float[1];
+        long[] count = new long[1];
+        matrix.forEachFloat((index, value) -> {
+            assertEquals(index * 0.5f, value, 0.0f);
+            sum[0] += value;
+            count[0]++;
+        });
+        assertEquals(33.0f, sum[0], 0.0f);
+        assertEquals(12L, count[0]);
+
+        count[0] = 0;
+        matrix.slice(all(), sliceFrom(2)).forEachFloat((index, value) -> {
+            assertEquals(((index / 2) * 4 + index % 2 + 2) * 0.5f, value, 0.0f);
+            count[0]++;
+        });
+        assertEquals(6L, count[0]);
+    }
 }
@@ -17,6 +17,7 @@
 package org.tensorflow.ndarray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -202,4 +203,81 @@ public class IndexTest {
     assertEquals(2, slice4.getInt(0, 0, 0));
   }
 
+  @Test
+  public void testSeq(){
+    IntNdArray matrix = NdArrays.ofInts(Shape.of(5, 4));
+
+    matrix.scalars().forEachIndexed((coords, scalar) ->
+        scalar.setInt((int)(coords[0] * 10 + coords[1]))
+    );
+
+    IntNdArray slice1 = matrix.slice(Indices.seq(3, 0, 3), Indices.all());
+
+    assertEquals(Shape.of(3, 4), slice1.shape());
+    assertEquals(30, slice1.getInt(0, 0));
+    assertEquals(2, slice1.getInt(1, 2));
+    assertEquals(33, slice1.getInt(2, 3));
+
+    IntNdArray slice2 = matrix.slice(Indices.all(), Indices.seq(NdArrays.vectorOf(3L, 1L)));
+
+    assertEquals(Shape.of(5, 2), slice2.shape());
+    assertEquals(43, slice2.getInt(4, 0));
+    assertEquals(21, slice2.getInt(2, 1));
+
+    assertEquals(slice2, matrix.slice(Indices.all(), Indices.seq(NdArrays.vectorOf(3, 1))));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.slice(Indices.seq(1, 5)));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.slice(Indices.all(), Indices.seq(-1)));
+  }
+
+  @Test
+  public void testMask(){
+    IntNdArray matrix = NdArrays.ofInts(Shape.of(5, 4));
+
+    matrix.scalars().forEachIndexed((coords, scalar) ->
+        scalar.setInt((int)(coords[0] * 10 + coords[1]))
+    );
+
+    IntNdArray slice1 = matrix.slice(Indices.mask(NdArrays.vectorOf(false, true, true, false, true)));
+
+    assertEquals(Shape.of(3, 4), slice1.shape());
+    assertEquals(10, slice1.getInt(0, 0));
+    assertEquals(23, slice1.getInt(1, 3));
+    assertEquals(41, slice1.getInt(2, 1));
+
+    IntNdArray slice2 = matrix.slice(Indices.all(), Indices.mask(NdArrays.vectorOf(false, false, false, false)));
+
+    assertEquals(Shape.of(5, 0), slice2.shape());
+
+    assertThrows(IllegalArgumentException.class, () -> matrix.slice(Indices.mask(NdArrays.vectorOf(true, false))));
+  }
+
+  @Test
+  public void testGatherAndScatter(){
+    FloatNdArray matrix = NdArrays.ofFloats(Shape.of(6, 3));
+
+    matrix.scalars().forEachIndexed((coords, scalar) ->
+        scalar.setFloat(coords[0] * 10 + coords[1])
+    );
+
+    FloatNdArray rows = NdArrays.gather(matrix, new long[] {4, 1, 2, 3, 0}, NdArrays.ofFloats(Shape.of(5, 3)));
+
+    assertEquals(40.0f, rows.getFloat(0, 0));
+    assertEquals(11.0f, rows.getFloat(1, 1));
+    assertEquals(22.0f, rows.getFloat(2, 2));
+    assertEquals(30.0f, rows.getFloat(3, 0));
+    assertEquals(2.0f, rows.getFloat(4, 2));
+
+    FloatNdArray scattered = NdArrays.scatter(rows, new long[] {0, 1, 2, 3, 5}, NdArrays.ofFloats(Shape.of(6, 3)));
+
+    assertEquals(42.0f, scattered.getFloat(0, 2));
+    assertEquals(20.0f, scattered.getFloat(2, 0));
+    assertEquals(0.0f, scattered.getFloat(4, 1));
+    assertEquals(1.0f, scattered.getFloat(5, 1));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> NdArrays.gather(matrix, new long[] {0, 1}, NdArrays.ofFloats(Shape.of(3, 3))));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> NdArrays.gather(matrix, new long[] {6}, NdArrays.ofFloats(Shape.of(1, 3))));
+  }
 }
@@ -17,7 +17,9 @@
 package org.tensorflow.ndarray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.tensorflow.ndarray.NdArrays.vectorOfObjects;
 import static org.tensorflow.ndarray.index.Indices.all;
@@ -335,4 +337,165 @@ public abstract class NdArrayTestBase<T> {
     assertNotEquals(array1, array4);
     assertNotEquals(array1.hashCode(), array4.hashCode());
   }
+
+  @Test
+  public void permuteDimensions() {
+    NdArray<T> array = allocate(Shape.of(2, 3, 4));
+    long value = 0L;
+    for (NdArray<T> s : array.scalars()) {
+      s.setObject(valueOf(value++));
+    }
+    NdArray<T> permuted = array.permute(2, 0, 1);
+    assertEquals(Shape.of(4, 2, 3), permuted.shape());
+    assertEquals(valueOf(13L), permuted.getObject(1, 1, 0));
+    assertEquals(valueOf(23L), permuted.getObject(3, 1, 2));
+
+    NdArray<T> copy = allocate(permuted.shape());
+    permuted.copyTo(copy);
+    permuted.scalars().forEachIndexed((coords, s) -> assertEquals(s.getObject(), copy.getObject(coords)));
+    assertEquals(permuted, copy);
+
+    DataBuffer<T> buffer = allocateBuffer(permuted.size());
+    permuted.read(buffer);
+    assertEquals(valueOf(4L), buffer.getObject(1));
+    assertEquals(valueOf(12L), buffer.getObject(3));
+
+    NdArray<T> roundTrip = permuted.permute(1, 2, 0);
+    assertEquals(array, roundTrip);
+
+    permuted.setObject(valueOf(100L), 0, 1, 2);
+    assertEquals(valueOf(100L), array.getObject(1, 2, 0));
+
+    NdArray<T> oddPermuted = array.slice(all(), all(), odd()).permute(-1, 0, 1);
+    assertEquals(Shape.of(2, 2, 3), oddPermuted.shape());
+    assertEquals(valueOf(3L), oddPermuted.getObject(1, 0, 0));
+    assertEquals(valueOf(21L), oddPermuted.getObject(0, 1, 2));
+
+    try {
+      array.permute(0, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      array.permute(0, 1, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void reshapeArray() {
+    NdArray<T> array = allocate(Shape.of(4, 6));
+    long value = 0L;
+    for (NdArray<T> s : array.scalars()) {
+      s.setObject(valueOf(value++));
+    }
+    NdArray<T> reshaped = array.reshape(Shape.of(2, 2, -1));
+    assertEquals(Shape.of(2, 2, 6), reshaped.shape());
+    assertEquals(valueOf(23L), reshaped.getObject(1, 1, 5));
+    assertEquals(valueOf(9L), reshaped.getObject(0, 1, 3));
+
+    NdArray<T> rows = array.get(1).reshape(Shape.of(3, 2));
+    assertEquals(valueOf(11L), rows.getObject(2, 1));
+
+    NdArray<T> columns = array.permute(1, 0).reshape(Shape.of(2, 3, 4));
+    assertEquals(valueOf(7L), columns.getObject(0, 1, 1));
+    assertEquals(valueOf(23L), columns.getObject(1, 2, 3));
+
+    try {
+      array.reshape(Shape.of(5, 5));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      array.permute(1, 0).reshape(Shape.of(24));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void broadcastArray() {
+    NdArray<T> matrix = allocate(Shape.of(3, 4));
+    long value = 0L;
+    for (NdArray<T> s : matrix.scalars()) {
+      s.setObject(valueOf(value++));
+    }
+    NdArray<T> broadcast = matrix.get(1).broadcastTo(Shape.of(2, 3, 4));
+    assertEquals(Shape.of(2, 3, 4), broadcast.shape());
+    assertEquals(valueOf(7L), broadcast.getObject(1, 2, 3));
+    assertEquals(valueOf(5L), broadcast.getObject(0, 0, 1));
+
+    NdArray<T> column = matrix.slice(all(), seq(2)).broadcastTo(Shape.of(3, 5));
+    assertEquals(valueOf(2L), column.getObject(0, 4));
+    assertEquals(valueOf(10L), column.getObject(2, 0));
+
+    NdArray<T> copy = allocate(Shape.of(3, 5));
+    column.copyTo(copy);
+    assertEquals(valueOf(6L), copy.getObject(1, 3));
+
+    try {
+      matrix.broadcastTo(Shape.of(3, 5));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      matrix.broadcastTo(Shape.of(4));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void readElementsOfSegmentedSlice() {
+    NdArray<T> matrix = allocate(Shape.of(2, 4));
+    long value = 0L;
+    for (NdArray<T> s : matrix.scalars()) {
+      s.setObject(valueOf(value++));
+    }
+    NdArray<T> row = matrix.slice(all(), odd()).get(1);
+    DataBuffer<T> buffer = allocateBuffer(2);
+    row.read(buffer);
+    assertEquals(valueOf(5L), buffer.getObject(0));
+    assertEquals(valueOf(7L), buffer.getObject(1));
+  }
+
+  @Test
+  public void iterateWithCursor() {
+    NdArray<T> matrix = allocate(Shape.of(3, 4));
+    NdArrayCursor<T> cursor = matrix.cursor();
+    long value = 0L;
+    while (cursor.next()) {
+      assertEquals(value, cursor.index());
+      assertEquals(value / 4, cursor.coordinates()[0]);
+      assertEquals(value % 4, cursor.coordinates()[1]);
+      cursor.setObject(valueOf(value++));
+    }
+    assertEquals(12L, value);
+    assertEquals(valueOf(6L), matrix.getObject(1, 2));
+
+    NdArrayCursor<T> sliceCursor = matrix.slice(flip(), odd()).cursor();
+    long index = 0;
+    while (sliceCursor.next()) {
+      long[] coords = sliceCursor.coordinates();
+      assertEquals(index++, sliceCursor.index());
+      assertEquals(valueOf((2 - coords[0]) * 4 + coords[1] * 2 + 1), sliceCursor.getObject());
+    }
+    assertEquals(6, index);
+
+    sliceCursor.reset();
+    assertTrue(sliceCursor.next());
+    assertEquals(valueOf(9L), sliceCursor.getObject());
+
+    NdArrayCursor<T> scalarCursor = matrix.get(2, 3).cursor();
+    assertTrue(scalarCursor.next());
+    assertEquals(valueOf(11L), scalarCursor.getObject());
+    assertFalse(scalarCursor.next());
+  }
 }
@@ -0,0 +1,190 @@
+package org.tensorflow.ndarray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.tensorflow.ndarray.index.Indices.all;
+import static org.tensorflow.ndarray.index.Indices.at;
+import static org.tensorflow.ndarray.index.Indices.range;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+
+public class NdMathTest {
+
+  @Test
+  public void elementWiseOperations() {
+    FloatNdArray a = StdArrays.ndCopyOf(new float[][] {{1.0f, 2.0f}, {3.0f, 4.0f}});
+    FloatNdArray b = StdArrays.ndCopyOf(new float[][] {{4.0f, 3.0f}, {2.0f, 1.0f}});
+    FloatNdArray c = NdArrays.ofFloats(Shape.of(2, 2));
+
+    NdMath.add(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{5.0f, 5.0f}, {5.0f, 5.0f}}), c);
+    NdMath.sub(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{-3.0f, -1.0f}, {1.0f, 3.0f}}), c);
+    NdMath.mul(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{4.0f, 6.0f}, {6.0f, 4.0f}}), c);
+    NdMath.div(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{0.25f, 2.0f / 3.0f}, {1.5f, 4.0f}}), c);
+    NdMath.maximum(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{4.0f, 3.0f}, {3.0f, 4.0f}}), c);
+    NdMath.minimum(a, b, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{1.0f, 2.0f}, {2.0f, 1.0f}}), c);
+
+    NdMath.neg(a, c);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{-1.0f, -2.0f}, {-3.0f, -4.0f}}), c);
+    NdMath.abs(c, c);
+    assertEquals(a, c);
+    NdMath.sqrt(StdArrays.ndCopyOf(new float[][] {{1.0f, 4.0f}, {9.0f, 16.0f}}), c);
+    assertEquals(a, c);
+
+    IntNdArray ints = NdArrays.vectorOf(7, -8, 9);
+    NdMath.div(ints, NdArrays.scalarOf(2), ints);
+    assertEquals(NdArrays.vectorOf(3, -4, 4), ints);
+  }
+
+  @Test
+  public void broadcasting() {
+    FloatNdArray matrix = StdArrays.ndCopyOf(new float[][] {{1.0f, 2.0f, 3.0f}, {4.0f, 5.0f, 6.0f}});
+    FloatNdArray result = NdArrays.ofFloats(Shape.of(2, 3));
+
+    NdMath.add(matrix, NdArrays.vectorOf(10.0f, 20.0f, 30.0f), result);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{11.0f, 22.0f, 33.0f}, {14.0f, 25.0f, 36.0f}}), result);
+
+    NdMath.sub(StdArrays.ndCopyOf(new float[][] {{10.0f}, {20.0f}}), matrix, result);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{9.0f, 8.0f, 7.0f}, {16.0f, 15.0f, 14.0f}}), result);
+
+    NdMath.mul(NdArrays.scalarOf(2.0f), matrix, result);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{2.0f, 4.0f, 6.0f}, {8.0f, 10.0f, 12.0f}}), result);
+
+    LongNdArray outer = NdArrays.ofLongs(Shape.of(2, 3));
+    NdMath.mul(StdArrays.ndCopyOf(new long[][] {{1L}, {2L}}), NdArrays.vectorOf(1L, 2L, 3L), outer);
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{1L, 2L, 3L}, {2L, 4L, 6L}}), outer);
+
+    try {
+      NdMath.add(matrix, NdArrays.vectorOf(1.0f, 2.0f), result);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdMath.add(matrix, NdArrays.vectorOf(1.0f, 2.0f, 3.0f), NdArrays.ofFloats(Shape.of(3)));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void operationsOnViews() {
+    DoubleNdArray matrix = StdArrays.ndCopyOf(new double[][] {{1.0, 2.0, 3.0}, {4.0, 5.0, 6.0}});
+    DoubleNdArray column = matrix.slice(all(), at(1));
+
+    NdMath.mul(column, NdArrays.scalarOf(10.0), column);
+    assertEquals(StdArrays.ndCopyOf(new double[][] {{1.0, 20.0, 3.0}, {4.0, 50.0, 6.0}}), matrix);
+    assertEquals(70.0, NdMath.sum(column));
+
+    DoubleNdArray readOnly = NdArrays.wrap(Shape.of(2), DataBuffers.of(new double[] {1.0, 2.0}, true, false));
+    try {
+      NdMath.neg(readOnly, readOnly);
+      fail();
+    } catch (java.nio.ReadOnlyBufferException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void partiallyOverlappingInputs() {
+    FloatNdArray matrix = StdArrays.ndCopyOf(new float[][] {{1.0f, 2.0f}, {3.0f, 4.0f}, {5.0f, 6.0f}});
+    NdMath.add(matrix, matrix.get(0), matrix);
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{2.0f, 4.0f}, {4.0f, 6.0f}, {6.0f, 8.0f}}), matrix);
+
+    LongNdArray vector = NdArrays.vectorOf(1L, 2L, 3L, 4L);
+    NdMath.neg(vector.slice(range(0, 3)), vector.slice(range(1, 4)));
+    assertEquals(NdArrays.vectorOf(1L, -1L, -2L, -3L), vector);
+  }
+
+  @Test
+  public void reductions() {
+    FloatNdArray matrix = StdArrays.ndCopyOf(new float[][] {{1.0f, 5.0f, 3.0f}, {4.0f, 2.0f, 6.0f}});
+
+    assertEquals(21.0f, NdMath.sum(matrix));
+    assertEquals(6.0f, NdMath.max(matrix));
+    assertEquals(1.0f, NdMath.min(matrix));
+    assertEquals(3.5f, NdMath.mean(matrix));
+    assertEquals(5L, NdMath.argMax(matrix));
+    assertEquals(0L, NdMath.argMin(matrix));
+
+    FloatNdArray rows = NdArrays.ofFloats(Shape.of(2));
+    assertEquals(NdArrays.vectorOf(9.0f, 12.0f), NdMath.sum(matrix, 1, rows));
+    assertEquals(NdArrays.vectorOf(5.0f, 6.0f), NdMath.max(matrix, -1, rows));
+    FloatNdArray columns = NdArrays.ofFloats(Shape.of(1, 3));
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{2.5f, 3.5f, 4.5f}}), NdMath.mean(matrix, 0, columns));
+    assertEquals(StdArrays.ndCopyOf(new float[][] {{1.0f, 2.0f, 3.0f}}), NdMath.min(matrix, 0, columns));
+
+    LongNdArray indices = NdArrays.ofLongs(Shape.of(2));
+    assertEquals(NdArrays.vectorOf(1L, 2L), NdMath.argMax(matrix, 1, indices));
+    assertEquals(NdArrays.vectorOf(0L, 1L), NdMath.argMin(matrix, 1, indices));
+    LongNdArray columnIndices = NdArrays.ofLongs(Shape.of(3));
+    assertEquals(NdArrays.vectorOf(1L, 0L, 1L), NdMath.argMax(matrix, 0, columnIndices));
+
+    IntNdArray ints = StdArrays.ndCopyOf(new int[][] {{1, 2}, {3, 5}});
+    assertEquals(11, NdMath.sum(ints));
+    assertEquals(2, NdMath.mean(ints));
+    assertEquals(NdArrays.vectorOf(4, 7), NdMath.sum(ints, 0, NdArrays.ofInts(Shape.of(2))));
+
+    assertEquals(0.0f, NdMath.sum(NdArrays.ofFloats(Shape.of(0))));
+    try {
+      NdMath.max(NdArrays.ofFloats(Shape.of(0)));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdMath.sum(matrix, 2, rows);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdMath.sum(matrix, 0, rows);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void softmax() {
+    FloatNdArray logits = StdArrays.ndCopyOf(new float[][] {{1.0f, 1.0f}, {0.0f, (float)Math.log(3.0)}});
+    FloatNdArray probabilities = NdArrays.ofFloats(Shape.of(2, 2));
+
+    NdMath.softmax(logits, 1, probabilities);
+    assertArrayEquals(new float[] {0.5f, 0.5f}, StdArrays.array1dCopyOf(probabilities.get(0)), 1e-6f);
+    assertArrayEquals(new float[] {0.25f, 0.75f}, StdArrays.array1dCopyOf(probabilities.get(1)), 1e-6f);
+
+    NdMath.softmax(logits, 0, probabilities);
+    assertArrayEquals(new float[] {0.7310586f, 0.4753669f}, StdArrays.array1dCopyOf(probabilities.get(0)), 1e-6f);
+  }
+
+  @Test
+  public void parallelExecution() {
+    int size = 1 << 20;
+    FloatNdArray values = NdArrays.ofFloats(Shape.of(size / 8, 8));
+    FloatNdArray ones = NdArrays.ofFloats(Shape.of(8));
+    NdMath.add(values, NdArrays.scalarOf(1.0f), values);
+    NdMath.add(ones, NdArrays.scalarOf(1.0f), ones);
+    values.setFloat(2.0f, size / 8 - 1, 7);
+
+    assertEquals(size + 1.0f, NdMath.sum(values));
+    assertEquals(size - 1L, NdMath.argMax(values));
+
+    FloatNdArray rowSums = NdMath.sum(values, 1, NdArrays.ofFloats(Shape.of(size / 8)));
+    assertEquals(8.0f, rowSums.getFloat(0));
+    assertEquals(9.0f, rowSums.getFloat(size / 8 - 1));
+
+    FloatNdArray columnSums = NdMath.sum(values, 0, NdArrays.ofFloats(Shape.of(8)));
+    assertEquals(size / 8.0f, columnSums.getFloat(0));
+    assertEquals(size / 8.0f + 1.0f, columnSums.getFloat(7));
+  }
+}
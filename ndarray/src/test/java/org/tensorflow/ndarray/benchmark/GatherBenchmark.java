@@ -0,0 +1,96 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class GatherBenchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Setup
+	public void setUp() {
+		embeddings = NdArrays.ofFloats(Shape.of(VOCABULARY_SIZE, EMBEDDING_SIZE));
+		embeddings.scalars().forEachIndexed((coords, s) -> s.setFloat(coords[0] + coords[1]));
+		batch = NdArrays.ofFloats(Shape.of(BATCH_SIZE, EMBEDDING_SIZE));
+
+		Random random = new Random(42);
+		randomIndices = new long[BATCH_SIZE];
+		for (int i = 0; i < BATCH_SIZE; ++i) {
+			randomIndices[i] = (long)random.nextInt(VOCABULARY_SIZE);
+		}
+		// Sorted indices of a dense range, where most rows follow each other in the embeddings
+		sortedIndices = new long[BATCH_SIZE];
+		for (int i = 0; i < BATCH_SIZE; ++i) {
+			sortedIndices[i] = (i / 100) * 150 + i % 100;
+		}
+		Arrays.sort(sortedIndices);
+	}
+
+	@Benchmark
+	public void gatherRowByRow() {
+		for (int i = 0; i < BATCH_SIZE; ++i) {
+			embeddings.get(randomIndices[i]).copyTo(batch.get(i));
+		}
+	}
+
+	@Benchmark
+	public void gatherRandomRows() {
+		NdArrays.gather(embeddings, randomIndices, batch);
+	}
+
+	@Benchmark
+	public void gatherSortedRows() {
+		NdArrays.gather(embeddings, sortedIndices, batch);
+	}
+
+	@Benchmark
+	public void scatterSortedRows() {
+		NdArrays.scatter(batch, sortedIndices, embeddings);
+	}
+
+	private static final int VOCABULARY_SIZE = 100000;
+	private static final int EMBEDDING_SIZE = 128;
+	private static final int BATCH_SIZE = 10000;
+
+	private FloatNdArray embeddings;
+	private FloatNdArray batch;
+	private long[] randomIndices;
+	private long[] sortedIndices;
+}
@@ -35,6 +35,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.RunnerException;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.FloatNdArrayCursor;
 import org.tensorflow.ndarray.NdArrays;
 import org.tensorflow.ndarray.StdArrays;
 
@@ -153,6 +154,53 @@ public class NdArrayBenchmark {
 		);
 	}
 
+	@Benchmark
+	public void transposePixelsBySlicing() {
+		pixels.elements(0).forEachIndexed((coords, pixel) ->
+			pixel.copyTo(channels.slice(all(), at(coords[0])))
+		);
+	}
+
+	@Benchmark
+	public void transposePixelsByPermutation() {
+		pixels.permute(1, 0).copyTo(channels);
+	}
+
+	@Benchmark
+	public float sumAllPixelsByScalars() {
+		float[] sum = new float[1];
+		pixels.scalars().forEach(scalar -> sum[0] += scalar.getFloat());
+		return sum[0];
+	}
+
+	@Benchmark
+	public float sumAllPixelsWithCursor() {
+		float sum = 0.0f;
+		FloatNdArrayCursor cursor = pixels.cursor();
+		while (cursor.next()) {
+			sum += cursor.getFloat();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float sumAllPixelsWithForEach() {
+		float[] sum = new float[1];
+		pixels.forEachFloat((index, value) -> sum[0] += value);
+		return sum[0];
+	}
+
+	@Benchmark
+	public float sumAllChannelsWithCursor() {
+		// channels are iterated in the pixel order, which is not contiguous
+		float sum = 0.0f;
+		FloatNdArrayCursor cursor = channels.permute(1, 0).cursor();
+		while (cursor.next()) {
+			sum += cursor.getFloat();
+		}
+		return sum;
+	}
+
 	private static final String TEST_IMAGE = "castle.jpg";
 	private static final int BATCH_SIZE = 60;
 
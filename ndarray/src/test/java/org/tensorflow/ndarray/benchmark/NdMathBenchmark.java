@@ -0,0 +1,117 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.NdMath;
+import org.tensorflow.ndarray.Shape;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class NdMathBenchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Setup
+	public void setUp() {
+		logits = NdArrays.ofFloats(Shape.of(NUM_ROWS, NUM_CLASSES));
+		bias = NdArrays.ofFloats(Shape.of(NUM_CLASSES));
+		result = NdArrays.ofFloats(Shape.of(NUM_ROWS, NUM_CLASSES));
+		predictions = NdArrays.ofLongs(Shape.of(NUM_ROWS));
+		logits.scalars().forEachIndexed((coords, s) -> s.setFloat((coords[0] * 31 + coords[1] * 17) % 101));
+		bias.scalars().forEachIndexed((coords, s) -> s.setFloat(coords[0]));
+	}
+
+	@Benchmark
+	public void addBiasByIndex() {
+		for (long i = 0; i < NUM_ROWS; ++i) {
+			for (long j = 0; j < NUM_CLASSES; ++j) {
+				result.setFloat(logits.getFloat(i, j) + bias.getFloat(j), i, j);
+			}
+		}
+	}
+
+	@Benchmark
+	public void addBiasWithKernel() {
+		NdMath.add(logits, bias, result);
+	}
+
+	@Benchmark
+	public float sumByIndex() {
+		float sum = 0.0f;
+		for (long i = 0; i < NUM_ROWS; ++i) {
+			for (long j = 0; j < NUM_CLASSES; ++j) {
+				sum += logits.getFloat(i, j);
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public float sumWithKernel() {
+		return NdMath.sum(logits);
+	}
+
+	@Benchmark
+	public void argMaxByIndex() {
+		for (long i = 0; i < NUM_ROWS; ++i) {
+			long best = 0;
+			for (long j = 1; j < NUM_CLASSES; ++j) {
+				if (logits.getFloat(i, j) > logits.getFloat(i, best)) {
+					best = j;
+				}
+			}
+			predictions.setLong(best, i);
+		}
+	}
+
+	@Benchmark
+	public void argMaxWithKernel() {
+		NdMath.argMax(logits, 1, predictions);
+	}
+
+	@Benchmark
+	public void softmaxWithKernel() {
+		NdMath.softmax(logits, 1, result);
+	}
+
+	private static final int NUM_ROWS = 100_000;
+	private static final int NUM_CLASSES = 100;
+
+	private FloatNdArray logits;
+	private FloatNdArray bias;
+	private FloatNdArray result;
+	private LongNdArray predictions;
+}
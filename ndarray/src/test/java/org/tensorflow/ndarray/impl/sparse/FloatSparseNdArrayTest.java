@@ -0,0 +1,215 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.ndarray.impl.sparse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.FloatNdArrayCursor;
+import org.tensorflow.ndarray.LongNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.StdArrays;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.ndarray.buffer.FloatDataBuffer;
+
+public class FloatSparseNdArrayTest {
+
+  // [[0, 1, 0, 0],
+  //  [0, 0, 0, 0],
+  //  [2, 0, 0, 3]]
+  private static final float[][] DENSE = {{0, 1, 0, 0}, {0, 0, 0, 0}, {2, 0, 0, 3}};
+
+  private static FloatSparseNdArray cooMatrix() {
+    return NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{0, 1}, {2, 0}, {2, 3}}),
+        NdArrays.vectorOf(1.0f, 2.0f, 3.0f),
+        Shape.of(3, 4)
+    );
+  }
+
+  private static FloatSparseNdArray csrMatrix() {
+    return NdArrays.sparseCsrOf(
+        NdArrays.vectorOf(0L, 1L, 1L, 3L),
+        NdArrays.vectorOf(1L, 0L, 3L),
+        NdArrays.vectorOf(1.0f, 2.0f, 3.0f),
+        Shape.of(3, 4)
+    );
+  }
+
+  @Test
+  public void readValues() {
+    for (FloatSparseNdArray matrix : new FloatSparseNdArray[] {cooMatrix(), csrMatrix()}) {
+      assertEquals(Shape.of(3, 4), matrix.shape());
+      assertEquals(3, matrix.numNonZeros());
+      for (int i = 0; i < 3; ++i) {
+        for (int j = 0; j < 4; ++j) {
+          assertEquals(DENSE[i][j], matrix.getFloat(i, j));
+          assertEquals(DENSE[i][j], matrix.getObject(i, j));
+        }
+      }
+      assertEquals(3.0f, matrix.get(2).getFloat(3));
+      assertEquals(0, matrix.get(1).numNonZeros());
+      assertEquals(2.0f, matrix.get(2, 0).getFloat());
+
+      assertThrows(IndexOutOfBoundsException.class, () -> matrix.getFloat(3, 0));
+      assertThrows(IllegalArgumentException.class, () -> matrix.getFloat(0));
+    }
+  }
+
+  @Test
+  public void iterateElements() {
+    for (FloatSparseNdArray matrix : new FloatSparseNdArray[] {cooMatrix(), csrMatrix()}) {
+      List<Float> rowSums = new ArrayList<>();
+      matrix.elements(0).forEach(row -> {
+        float sum = 0.0f;
+        for (FloatNdArray scalar : row.scalars()) {
+          sum += scalar.getFloat();
+        }
+        rowSums.add(sum);
+      });
+      assertEquals(3, rowSums.size());
+      assertEquals(1.0f, rowSums.get(0));
+      assertEquals(0.0f, rowSums.get(1));
+      assertEquals(5.0f, rowSums.get(2));
+
+      matrix.scalars().forEachIndexed((coords, scalar) ->
+          assertEquals(DENSE[(int)coords[0]][(int)coords[1]], scalar.getFloat())
+      );
+    }
+  }
+
+  @Test
+  public void iterateNonZeros() {
+    for (FloatSparseNdArray matrix : new FloatSparseNdArray[] {cooMatrix(), csrMatrix()}) {
+      List<long[]> coordinates = new ArrayList<>();
+      List<Float> values = new ArrayList<>();
+      matrix.forEachNonZero((coords, valueIdx) -> {
+        coordinates.add(coords.clone());
+        values.add(matrix.getValues().getFloat(valueIdx));
+      });
+      assertEquals(3, coordinates.size());
+      assertArrayEquals(new long[] {0, 1}, coordinates.get(0));
+      assertArrayEquals(new long[] {2, 0}, coordinates.get(1));
+      assertArrayEquals(new long[] {2, 3}, coordinates.get(2));
+      assertEquals(1.0f, values.get(0));
+      assertEquals(3.0f, values.get(2));
+
+      FloatSparseNdArray row = matrix.get(2);
+      List<long[]> rowCoordinates = new ArrayList<>();
+      row.forEachNonZero((coords, valueIdx) -> rowCoordinates.add(coords.clone()));
+      assertEquals(2, rowCoordinates.size());
+      assertArrayEquals(new long[] {3}, rowCoordinates.get(1));
+      assertEquals(3.0f, row.getValues().getFloat(1));
+    }
+  }
+
+  @Test
+  public void toSparseTensorComponents() {
+    LongNdArray indices = StdArrays.ndCopyOf(new long[][] {{0, 1}, {2, 0}, {2, 3}});
+    FloatNdArray values = NdArrays.vectorOf(1.0f, 2.0f, 3.0f);
+    FloatSparseNdArray matrix = NdArrays.sparseOf(indices, values, Shape.of(3, 4));
+    assertEquals(indices, matrix.getIndices());
+    assertSame(values, matrix.getValues());
+    assertEquals(NdArrays.vectorOf(3L, 4L), matrix.getDenseShape());
+
+    FloatSparseNdArray csr = csrMatrix();
+    assertEquals(indices, csr.getIndices());
+    assertEquals(values, csr.getValues());
+
+    FloatSparseNdArray row = matrix.get(2);
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{0}, {3}}), row.getIndices());
+    assertEquals(NdArrays.vectorOf(2.0f, 3.0f), row.getValues());
+    assertEquals(NdArrays.vectorOf(4L), row.getDenseShape());
+  }
+
+  @Test
+  public void indicesAreCopied() {
+    LongNdArray indices = StdArrays.ndCopyOf(new long[][] {{0, 1}, {2, 0}, {2, 3}});
+    FloatSparseNdArray matrix =
+        NdArrays.sparseOf(indices, NdArrays.vectorOf(1.0f, 2.0f, 3.0f), Shape.of(3, 4));
+
+    indices.setLong(1L, 1, 1);
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{0, 1}, {2, 0}, {2, 3}}), matrix.getIndices());
+    assertEquals(2.0f, matrix.getFloat(2, 0));
+    assertEquals(0.0f, matrix.getFloat(2, 1));
+    assertThrows(ReadOnlyBufferException.class, () -> matrix.getIndices().setLong(1L, 1, 1));
+  }
+
+  @Test
+  public void copyToDense() {
+    for (FloatSparseNdArray matrix : new FloatSparseNdArray[] {cooMatrix(), csrMatrix()}) {
+      FloatNdArray dense = NdArrays.ofFloats(Shape.of(3, 4));
+      dense.setFloat(10.0f, 1, 1);
+      matrix.copyTo(dense);
+      assertEquals(StdArrays.ndCopyOf(DENSE), dense);
+      assertEquals(dense, matrix);
+
+      FloatDataBuffer buffer = DataBuffers.ofFloats(12);
+      matrix.read(buffer);
+      assertEquals(1.0f, buffer.getFloat(1));
+      assertEquals(2.0f, buffer.getFloat(8));
+      assertEquals(3.0f, buffer.getFloat(11));
+      assertEquals(0.0f, buffer.getFloat(5));
+
+      FloatNdArray row = NdArrays.ofFloats(Shape.of(4));
+      matrix.get(2).copyTo(row);
+      assertEquals(NdArrays.vectorOf(2.0f, 0.0f, 0.0f, 3.0f), row);
+    }
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{2, 0}, {0, 1}}), NdArrays.vectorOf(1.0f, 2.0f), Shape.of(3, 4)));
+    assertThrows(IllegalArgumentException.class, () -> NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{0, 1}, {0, 1}}), NdArrays.vectorOf(1.0f, 2.0f), Shape.of(3, 4)));
+    assertThrows(IndexOutOfBoundsException.class, () -> NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{0, 4}}), NdArrays.vectorOf(1.0f), Shape.of(3, 4)));
+    assertThrows(IllegalArgumentException.class, () -> NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{0, 1}}), NdArrays.vectorOf(1.0f, 2.0f), Shape.of(3, 4)));
+    assertThrows(IllegalArgumentException.class, () -> NdArrays.sparseCsrOf(
+        NdArrays.vectorOf(0L, 2L, 1L, 3L), NdArrays.vectorOf(1L, 0L, 3L), NdArrays.vectorOf(1.0f, 2.0f, 3.0f), Shape.of(3, 4)));
+    assertThrows(UnsupportedOperationException.class, () -> cooMatrix().setFloat(1.0f, 0, 0));
+  }
+
+  @Test
+  public void iterateWithCursor() {
+    for (FloatSparseNdArray matrix : new FloatSparseNdArray[] {cooMatrix(), csrMatrix()}) {
+      FloatNdArrayCursor cursor = matrix.cursor();
+      long count = 0;
+      while (cursor.next()) {
+        long[] coords = cursor.coordinates();
+        assertEquals(count++, cursor.index());
+        assertEquals(DENSE[(int)coords[0]][(int)coords[1]], cursor.getFloat());
+      }
+      assertEquals(12, count);
+      assertThrows(UnsupportedOperationException.class, () -> cursor.setFloat(1.0f));
+
+      float[] sum = new float[1];
+      matrix.get(2).forEachFloat((index, value) -> sum[0] += value * (index + 1));
+      assertEquals(14.0f, sum[0]);
+    }
+  }
+}
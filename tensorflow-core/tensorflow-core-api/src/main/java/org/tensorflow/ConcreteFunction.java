@@ -15,12 +15,36 @@
  */
 package org.tensorflow;
 
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_DeleteFunction;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_FunctionName;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_GraphToFunction;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_OperationGetControlInputs;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_OperationInput;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_OperationNumControlInputs;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_OperationNumInputs;
+
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.PointerPointer;
+import org.bytedeco.javacpp.PointerScope;
+import org.tensorflow.internal.c_api.TF_Function;
+import org.tensorflow.internal.c_api.TF_FunctionOptions;
+import org.tensorflow.internal.c_api.TF_Graph;
+import org.tensorflow.internal.c_api.TF_Input;
+import org.tensorflow.internal.c_api.TF_Operation;
+import org.tensorflow.internal.c_api.TF_Output;
+import org.tensorflow.internal.c_api.TF_Status;
 import org.tensorflow.op.Ops;
 import org.tensorflow.proto.framework.SignatureDef;
 import org.tensorflow.proto.framework.TensorInfo;
@@ -241,6 +265,27 @@ public class ConcreteFunction implements AutoCloseable {
     SavedModelBundle.exporter(exportDir).withFunction(this).export();
   }
 
+  /**
+   * Returns the name of this function in a native function library.
+   *
+   * <p>On first call, the operations computing the outputs of this function from its inputs are
+   * converted into a native function, whose arguments and results follow the order of the inputs
+   * and outputs in the function signature. Operations of the graph that are not required to
+   * compute the outputs are left out, so a function can be created from a sub-graph of a larger
+   * graph.
+   *
+   * <p>Operations accepting a function attribute (e.g. {@code PartitionedCall}, {@code If},
+   * {@code MapDataset}) invoke the function by this name, once it has been registered in their
+   * execution environment. This is done automatically by
+   * {@link OperationBuilder#setAttr(String, ConcreteFunction)}.
+   *
+   * @return the native function name, which is unique for a given function definition
+   * @throws IllegalStateException if this function has been closed
+   */
+  public String functionName() {
+    return functionName(nativeFunction());
+  }
+
   /**
    * Returns the session used to execute the graph when calling this function
    *
@@ -263,6 +308,13 @@ public class ConcreteFunction implements AutoCloseable {
 
   @Override
   public void close() {
+    synchronized (this) {
+      if (nativeFunction != null) {
+        TF_DeleteFunction(nativeFunction);
+        nativeFunction = null;
+      }
+      closed = true;
+    }
     if (ownership != Ownership.NONE) {
       session.close();
       if (ownership == Ownership.GRAPH_AND_SESSION) {
@@ -284,6 +336,8 @@ public class ConcreteFunction implements AutoCloseable {
   private final Session session;
   private final Signature signature;
   private final Ownership ownership;
+  private TF_Function nativeFunction;
+  private boolean closed;
 
   ConcreteFunction(Signature signature, Graph graph, Session session, Ownership ownership) {
     this.graph = graph;
@@ -291,4 +345,137 @@ public class ConcreteFunction implements AutoCloseable {
     this.signature = signature;
     this.ownership = ownership;
   }
+
+  /**
+   * Returns the native function built from the graph of this function, converting it first if
+   * needed.
+   *
+   * <p>The native function remains valid until this function is closed. Graphs and eager sessions
+   * registering it keep their own copy of its definition.
+   */
+  synchronized TF_Function nativeFunction() {
+    if (closed) {
+      throw new IllegalStateException("close() has been called on the function");
+    }
+    if (nativeFunction == null) {
+      SignatureDef signatureDef = signature.asSignatureDef();
+      try (Graph.Reference r = graph.ref()) {
+        nativeFunction = graphToFunction(
+            r.nativeHandle(),
+            functionNamePrefix(signature.key()),
+            operationsOf(signatureDef.getInputsMap().values()),
+            indicesOf(signatureDef.getInputsMap().values()),
+            operationsOf(signatureDef.getOutputsMap().values()),
+            indicesOf(signatureDef.getOutputsMap().values())
+        );
+      }
+    }
+    return nativeFunction;
+  }
+
+  static String functionName(TF_Function functionHandle) {
+    return TF_FunctionName(functionHandle).getString();
+  }
+
+  private TF_Operation[] operationsOf(Collection<TensorInfo> tensors) {
+    TF_Operation[] operations = new TF_Operation[tensors.size()];
+    int i = 0;
+    for (TensorInfo tensor : tensors) {
+      String opName = tensor.getName().substring(0, tensor.getName().lastIndexOf(':'));
+      GraphOperation operation = graph.operation(opName);
+      if (operation == null) {
+        throw new IllegalArgumentException("Operation " + opName + " not found in function graph");
+      }
+      operations[i++] = operation.getUnsafeNativeHandle();
+    }
+    return operations;
+  }
+
+  private static int[] indicesOf(Collection<TensorInfo> tensors) {
+    int[] indices = new int[tensors.size()];
+    int i = 0;
+    for (TensorInfo tensor : tensors) {
+      indices[i++] = Integer.parseInt(tensor.getName().substring(tensor.getName().lastIndexOf(':') + 1));
+    }
+    return indices;
+  }
+
+  // Native function names must start with a letter and be composed only of alphanumeric
+  // characters or underscores, a hash of the function definition is appended to make them unique
+  private static String functionNamePrefix(String key) {
+    StringBuilder name = new StringBuilder(key.length() + 1);
+    if (key.isEmpty() || !Character.isLetter(key.charAt(0))) {
+      name.append('f');
+    }
+    for (char c : key.toCharArray()) {
+      name.append(Character.isLetterOrDigit(c) && c < 128 ? c : '_');
+    }
+    return name.toString();
+  }
+
+  private static TF_Function graphToFunction(TF_Graph graphHandle, String name,
+      TF_Operation[] inputOpHandles, int[] inputOpIndices,
+      TF_Operation[] outputOpHandles, int[] outputOpIndices) {
+
+    try (PointerScope scope = new PointerScope()) {
+      List<TF_Operation> bodyOpHandles = bodyOperations(inputOpHandles, outputOpHandles);
+      PointerPointer<TF_Operation> opers = new PointerPointer<>(bodyOpHandles.size());
+      for (int i = 0; i < bodyOpHandles.size(); ++i) {
+        opers.put(i, bodyOpHandles.get(i));
+      }
+      TF_Output inputs = new TF_Output(inputOpHandles.length);
+      Graph.resolveOutputs("input", inputOpHandles, inputOpIndices, inputs, inputOpHandles.length);
+      TF_Output outputs = new TF_Output(outputOpHandles.length);
+      Graph.resolveOutputs("output", outputOpHandles, outputOpIndices, outputs, outputOpHandles.length);
+
+      TF_Status status = TF_Status.newStatus();
+      TF_Function function = TF_GraphToFunction(graphHandle, new BytePointer(name), (byte)1,
+          bodyOpHandles.size(), opers, inputOpHandles.length, inputs, outputOpHandles.length,
+          outputs, (PointerPointer)null, (TF_FunctionOptions)null, (BytePointer)null, status);
+      status.throwExceptionIfNotOK();
+      return function;
+    }
+  }
+
+  // Collects all operations computing the outputs from the inputs, by walking the graph backward.
+  // Operations producing the inputs are excluded from the function body, as required by
+  // TF_GraphToFunction.
+  private static List<TF_Operation> bodyOperations(TF_Operation[] inputOpHandles, TF_Operation[] outputOpHandles) {
+    Set<Long> visited = new HashSet<>();
+    for (TF_Operation opHandle : inputOpHandles) {
+      visited.add(opHandle.address());
+    }
+    Deque<TF_Operation> pending = new ArrayDeque<>();
+    for (TF_Operation opHandle : outputOpHandles) {
+      if (visited.add(opHandle.address())) {
+        pending.add(opHandle);
+      }
+    }
+    List<TF_Operation> body = new ArrayList<>();
+    TF_Input input = new TF_Input();
+    while (!pending.isEmpty()) {
+      TF_Operation opHandle = pending.poll();
+      body.add(opHandle);
+
+      int numInputs = TF_OperationNumInputs(opHandle);
+      for (int i = 0; i < numInputs; ++i) {
+        TF_Operation producer = TF_OperationInput(input.oper(opHandle).index(i)).oper();
+        if (visited.add(producer.address())) {
+          pending.add(producer);
+        }
+      }
+      int numControlInputs = TF_OperationNumControlInputs(opHandle);
+      if (numControlInputs > 0) {
+        PointerPointer<TF_Operation> controlInputs = new PointerPointer<>(numControlInputs);
+        TF_OperationGetControlInputs(opHandle, controlInputs, numControlInputs);
+        for (int i = 0; i < numControlInputs; ++i) {
+          TF_Operation producer = controlInputs.get(TF_Operation.class, i);
+          if (visited.add(producer.address())) {
+            pending.add(producer);
+          }
+        }
+      }
+    }
+    return body;
+  }
 }
@@ -22,6 +22,7 @@ import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrBool;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrBoolList;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrFloat;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrFloatList;
+import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrFunctionName;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrInt;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrIntList;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_OpSetAttrShape;
@@ -217,6 +218,13 @@ final class EagerOperationBuilder implements OperationBuilder {
     return this;
   }
 
+  @Override
+  public EagerOperationBuilder setAttr(String name, ConcreteFunction value) {
+    session.attachFunction(value);
+    setAttrFunctionName(opHandle, name, value.functionName());
+    return this;
+  }
+
   private TFE_Op opHandle;
 
   private final EagerSession session;
@@ -321,6 +329,14 @@ final class EagerOperationBuilder implements OperationBuilder {
     }
   }
 
+  private static void setAttrFunctionName(TFE_Op opHandle, String name, String functionName) {
+    requireOp(opHandle);
+    try (PointerScope scope = new PointerScope()) {
+      byte[] value = functionName.getBytes(StandardCharsets.UTF_8);
+      TFE_OpSetAttrFunctionName(opHandle, new BytePointer(name), new BytePointer(value), value.length);
+    }
+  }
+
   private static void setAttrStringList(TFE_Op opHandle, String name, byte[][] value) {
     requireOp(opHandle);
     try (PointerScope scope = new PointerScope()) {
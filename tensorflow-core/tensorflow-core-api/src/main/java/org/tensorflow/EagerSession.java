@@ -15,18 +15,22 @@ limitations under the License.
 
 package org.tensorflow;
 
+import static org.tensorflow.internal.c_api.global.tensorflow.TFE_ContextAddFunction;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_ContextOptionsSetAsync;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_ContextOptionsSetConfig;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_ContextOptionsSetDevicePlacementPolicy;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_DeleteContext;
 import static org.tensorflow.internal.c_api.global.tensorflow.TFE_NewContext;
 
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.Pointer;
 import org.bytedeco.javacpp.PointerScope;
 import org.tensorflow.internal.WeakPointerScope;
 import org.tensorflow.internal.c_api.TFE_Context;
 import org.tensorflow.internal.c_api.TFE_ContextOptions;
+import org.tensorflow.internal.c_api.TF_Function;
 import org.tensorflow.internal.c_api.TF_Status;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Assign;
@@ -306,6 +310,48 @@ public final class EagerSession implements ExecutionEnvironment, AutoCloseable {
     }
   }
 
+  /**
+   * Registers a function in this session, so it can be invoked by eager operations.
+   *
+   * <p>This is done automatically when passing a function as an attribute of an eager operation.
+   * Registering the same function more than once has no effect.
+   *
+   * @param function function to register
+   * @see OperationBuilder#setAttr(String, ConcreteFunction)
+   */
+  public void attachFunction(ConcreteFunction function) {
+    checkSession();
+    attachFunction(nativeHandle, function.nativeFunction());
+  }
+
+  /**
+   * Attaches a resource to this session, which closes it before releasing its native resources.
+   *
+   * <p>This is required by objects executing operations of this session from other threads, like
+   * the producers of a dataset, so that they can stop using the session before it is released.
+   * Resources are closed in the reverse order they have been attached. A resource that fails to
+   * close does not prevent the others from being closed, and its exception is thrown once the
+   * session has been released.
+   *
+   * @param resource resource to close with this session
+   * @throws IllegalStateException if the session has been closed
+   */
+  public void attachCloseable(AutoCloseable resource) {
+    checkSession();
+    closeables.push(resource);
+  }
+
+  /**
+   * Detaches a resource from this session, so that it is no longer closed with it.
+   *
+   * <p>Detaching a resource that is not attached to this session has no effect.
+   *
+   * @param resource resource to detach
+   */
+  public void detachCloseable(AutoCloseable resource) {
+    closeables.remove(resource);
+  }
+
   TFE_Context nativeHandle() {
     checkSession();
     return nativeHandle;
@@ -360,6 +406,7 @@ public final class EagerSession implements ExecutionEnvironment, AutoCloseable {
   private static volatile EagerSession defaultSession = null;
 
   private final WeakPointerScope nativeResources;
+  private final Deque<AutoCloseable> closeables = new ConcurrentLinkedDeque<>();
   private TFE_Context nativeHandle;
 
   private EagerSession(Options options) {
@@ -375,10 +422,34 @@ public final class EagerSession implements ExecutionEnvironment, AutoCloseable {
 
   private synchronized void doClose() {
     if (nativeHandle != null && !nativeHandle.isNull()) {
+      RuntimeException failure = closeAttached();
       nativeResources.close();
       delete(nativeHandle);
       nativeHandle = null;
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private RuntimeException closeAttached() {
+    RuntimeException failure = null;
+    AutoCloseable resource;
+    while ((resource = closeables.poll()) != null) {
+      try {
+        resource.close();
+      } catch (Exception e) {
+        if (failure == null) {
+          failure =
+              e instanceof RuntimeException
+                  ? (RuntimeException) e
+                  : new IllegalStateException("Failed to close " + resource, e);
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
     }
+    return failure;
   }
 
   private static TFE_Context allocate(boolean async, int devicePlacementPolicy, ConfigProto config) {
@@ -398,6 +469,14 @@ public final class EagerSession implements ExecutionEnvironment, AutoCloseable {
     }
   }
 
+  private static void attachFunction(TFE_Context handle, TF_Function functionHandle) {
+    try (PointerScope scope = new PointerScope()) {
+      TF_Status status = TF_Status.newStatus();
+      TFE_ContextAddFunction(handle, functionHandle, status);
+      status.throwExceptionIfNotOK();
+    }
+  }
+
   private static void delete(TFE_Context handle) {
     if (handle == null || handle.isNull()) return;
     TFE_DeleteContext(handle);
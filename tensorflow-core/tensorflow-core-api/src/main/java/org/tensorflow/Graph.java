@@ -18,6 +18,7 @@ package org.tensorflow;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_AddGradientsWithPrefix;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_DeleteGraph;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_FinishWhile;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_GraphCopyFunction;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_GraphImportGraphDef;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_GraphNextOperation;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_GraphOperationByName;
@@ -38,6 +39,7 @@ import org.bytedeco.javacpp.PointerScope;
 import org.bytedeco.javacpp.SizeTPointer;
 import org.tensorflow.exceptions.TensorFlowException;
 import org.tensorflow.internal.c_api.TF_Buffer;
+import org.tensorflow.internal.c_api.TF_Function;
 import org.tensorflow.internal.c_api.TF_Graph;
 import org.tensorflow.internal.c_api.TF_ImportGraphDefOptions;
 import org.tensorflow.internal.c_api.TF_Operation;
@@ -214,6 +216,22 @@ public final class Graph implements ExecutionEnvironment, AutoCloseable {
     }
   }
 
+  /**
+   * Registers a function in the library of this graph, so it can be invoked by its operations.
+   *
+   * <p>This is done automatically when passing a function as an attribute of an operation of this
+   * graph. Registering a function that is already in the library has no effect.
+   *
+   * @param function function to register
+   * @see OperationBuilder#setAttr(String, ConcreteFunction)
+   */
+  public void attachFunction(ConcreteFunction function) {
+    TF_Function functionHandle = function.nativeFunction();
+    synchronized (nativeHandleLock) {
+      attachFunction(nativeHandle, functionHandle);
+    }
+  }
+
   /**
    * Adds an initializer to the graph initializer list.
    * @param initializer An initializer to add to the list.
@@ -625,6 +643,16 @@ public final class Graph implements ExecutionEnvironment, AutoCloseable {
     }
   }
 
+  private static void attachFunction(TF_Graph handle, TF_Function functionHandle) {
+    requireHandle(handle);
+
+    try (PointerScope scope = new PointerScope()) {
+      TF_Status status = TF_Status.newStatus();
+      TF_GraphCopyFunction(handle, functionHandle, null, status);
+      status.throwExceptionIfNotOK();
+    }
+  }
+
   private static GraphDef toGraphDef(TF_Graph handle) {
     requireHandle(handle);
 
@@ -24,6 +24,7 @@ import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrBool;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrBoolList;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrFloat;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrFloatList;
+import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrFuncName;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrInt;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrIntList;
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrShape;
@@ -37,6 +38,7 @@ import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetAttrTypeList
 import static org.tensorflow.internal.c_api.global.tensorflow.TF_SetDevice;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import org.bytedeco.javacpp.BooleanPointer;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.IntPointer;
@@ -344,6 +346,18 @@ public final class GraphOperationBuilder implements OperationBuilder {
     return this;
   }
 
+  @Override
+  public GraphOperationBuilder setAttr(String name, ConcreteFunction value) {
+    graph.attachFunction(value);
+    Graph.Reference r = graph.ref();
+    try {
+      setAttrFuncName(unsafeNativeHandle, name, value.functionName());
+    } finally {
+      r.close();
+    }
+    return this;
+  }
+
   private TF_OperationDescription unsafeNativeHandle;
   private Graph graph;
 
@@ -539,4 +553,13 @@ public final class GraphOperationBuilder implements OperationBuilder {
       TF_SetAttrStringList(handle, new BytePointer(name), valuePointers, lengths, value.length);
     }
   }
+
+  private static void setAttrFuncName(TF_OperationDescription handle, String name, String functionName) {
+    requireHandle(handle);
+
+    try (PointerScope scope = new PointerScope()) {
+      byte[] value = functionName.getBytes(StandardCharsets.UTF_8);
+      TF_SetAttrFuncName(handle, new BytePointer(name), new BytePointer(value), value.length);
+    }
+  }
 }
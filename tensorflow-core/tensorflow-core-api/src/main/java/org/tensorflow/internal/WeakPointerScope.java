@@ -28,7 +28,7 @@ public class WeakPointerScope implements AutoCloseable {
    * @param pointer pointer to attach
    * @throws IllegalStateException if that scope has already been closed
    */
-  public void attach(Pointer pointer) {
+  public synchronized void attach(Pointer pointer) {
     checkScope();
     if (pointers.add(pointer)) {
       pointer.retainReference();
@@ -46,7 +46,7 @@ public class WeakPointerScope implements AutoCloseable {
    * @param pointer pointer to detach
    * @throws IllegalStateException if that scope has already been closed
    */
-  public void detach(Pointer pointer) {
+  public synchronized void detach(Pointer pointer) {
     checkScope();
     if (pointers.remove(pointer)) {
       pointer.releaseReference();
@@ -16,6 +16,7 @@ package org.tensorflow;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.tensorflow.op.Ops;
@@ -23,6 +24,7 @@ import org.tensorflow.op.core.Init;
 import org.tensorflow.op.core.Placeholder;
 import org.tensorflow.op.math.Add;
 import org.tensorflow.op.math.Sub;
+import org.tensorflow.proto.framework.DataType;
 import org.tensorflow.types.TFloat32;
 
 public class ConcreteFunctionTest {
@@ -118,4 +120,53 @@ public class ConcreteFunctionTest {
       g.toGraphDef();  // check that graph is still valid
     }
   }
+
+  @Test
+  public void convertFunctionToNativeFunction() {
+    try (ConcreteFunction f = ConcreteFunction.create(ConcreteFunctionTest::plusFive)) {
+      String functionName = f.functionName();
+      assertTrue(functionName.startsWith("plusFive"));
+      assertEquals(functionName, f.functionName());
+    }
+  }
+
+  @Test
+  public void callFunctionFromGraphOperation() {
+    try (ConcreteFunction f = ConcreteFunction.create(ConcreteFunctionTest::plusFive);
+        Graph g = new Graph();
+        Session s = new Session(g)) {
+      Ops tf = Ops.create(g);
+      Operation call = g.opBuilder("PartitionedCall", "call")
+          .addInputList(new Output<?>[] {tf.constant(3.0f).asOutput()})
+          .setAttr("Tin", new DataType[] {DataType.DT_FLOAT})
+          .setAttr("Tout", new DataType[] {DataType.DT_FLOAT})
+          .setAttr("f", f)
+          .build();
+      try (TFloat32 y = (TFloat32)s.runner().fetch(call.output(0)).run().get(0)) {
+        assertEquals(8.0f, y.getFloat());
+      }
+    }
+  }
+
+  @Test
+  public void callFunctionFromEagerOperation() {
+    try (ConcreteFunction f = ConcreteFunction.create(ConcreteFunctionTest::minusTwo);
+        EagerSession session = EagerSession.create()) {
+      Ops tf = Ops.create(session);
+      Operation call = session.opBuilder("PartitionedCall", "call")
+          .addInputList(new Output<?>[] {tf.constant(3.0f).asOutput()})
+          .setAttr("Tin", new DataType[] {DataType.DT_FLOAT})
+          .setAttr("Tout", new DataType[] {DataType.DT_FLOAT})
+          .setAttr("f", f)
+          .build();
+      assertEquals(1.0f, call.<TFloat32>output(0).asTensor().getFloat());
+    }
+  }
+
+  @Test
+  public void cannotConvertClosedFunction() {
+    ConcreteFunction f = ConcreteFunction.create(ConcreteFunctionTest::plusFive);
+    f.close();
+    assertThrows(IllegalStateException.class, f::functionName);
+  }
 }
@@ -21,6 +21,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.bytedeco.javacpp.IntPointer;
 import org.bytedeco.javacpp.Pointer;
 import org.junit.jupiter.api.Test;
@@ -101,6 +104,46 @@ public class EagerSessionTest {
     }
   }
 
+  @Test
+  public void attachedCloseablesAreClosedBeforeSession() {
+    List<String> closed = new ArrayList<>();
+    EagerSession s = EagerSession.create();
+    s.attachCloseable(() -> {
+      // the session can still execute operations while its closeables are closed
+      buildOp(s);
+      closed.add("first");
+    });
+    s.attachCloseable(() -> closed.add("second"));
+    AutoCloseable detached = () -> closed.add("detached");
+    s.attachCloseable(detached);
+    s.detachCloseable(detached);
+    s.close();
+    assertEquals(Arrays.asList("second", "first"), closed);
+  }
+
+  @Test
+  public void failingCloseableDoesNotPreventSessionClose() {
+    Pointer ref;
+    EagerSession s = EagerSession.create();
+    s.attach(ref = new IntPointer(1));
+    s.attachCloseable(() -> {
+      throw new IllegalArgumentException("failed");
+    });
+    try {
+      s.close();
+      fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertTrue(ref.isNull());
+    try {
+      buildOp(s);
+      fail();
+    } catch (IllegalStateException e) {
+      // ok
+    }
+  }
+
   @Test
   public void defaultSession() throws Exception {
     EagerSession.closeDefaultForTest();
@@ -16,8 +16,21 @@
 package org.tensorflow.framework.data;
 
 import org.tensorflow.Operand;
+import org.tensorflow.Tensor;
 import org.tensorflow.framework.data.impl.BatchDataset;
+import org.tensorflow.framework.data.impl.BucketBySequenceLengthDataset;
+import org.tensorflow.framework.data.impl.CacheDataset;
+import org.tensorflow.framework.data.impl.GeneratorDataset;
+import org.tensorflow.framework.data.impl.GroupByWindowDataset;
+import org.tensorflow.framework.data.impl.InterleaveDataset;
 import org.tensorflow.framework.data.impl.MapDataset;
+import org.tensorflow.framework.data.impl.MatchingFilesDataset;
+import org.tensorflow.framework.data.impl.OptionsDataset;
+import org.tensorflow.framework.data.impl.PaddedBatchDataset;
+import org.tensorflow.framework.data.impl.ParallelMapDataset;
+import org.tensorflow.framework.data.impl.PrefetchDataset;
+import org.tensorflow.framework.data.impl.RepeatDataset;
+import org.tensorflow.framework.data.impl.ShuffleDataset;
 import org.tensorflow.framework.data.impl.SkipDataset;
 import org.tensorflow.framework.data.impl.TFRecordDataset;
 import org.tensorflow.framework.data.impl.TakeDataset;
@@ -25,13 +38,20 @@ import org.tensorflow.framework.data.impl.TensorSliceDataset;
 import org.tensorflow.framework.data.impl.TextLineDataset;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.Ops;
+import org.tensorflow.ndarray.NdArrays;
 import org.tensorflow.ndarray.Shape;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
 import org.tensorflow.types.family.TType;
 
 /**
@@ -39,10 +59,18 @@ import org.tensorflow.types.family.TType;
  * transformations to be performed across these elements.
  */
 public abstract class Dataset implements Iterable<List<Operand<?>>> {
+
+  /**
+   * Special value for parallelism or buffering parameters, letting the runtime tune them
+   * dynamically based on the available resources.
+   */
+  public static final long AUTOTUNE = -1L;
+
   protected Ops tf;
   private Operand<?> variant;
   private List<Class<? extends TType>> outputTypes;
   private List<Shape> outputShapes;
+  private Set<Runnable> producers = new LinkedHashSet<>();
 
   public Dataset(
       Ops tf, Operand<?> variant, List<Class<? extends TType>> outputTypes, List<Shape> outputShapes) {
@@ -66,6 +94,7 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     this.variant = other.variant;
     this.outputTypes = other.outputTypes;
     this.outputShapes = other.outputShapes;
+    this.producers = new LinkedHashSet<>(other.producers);
   }
 
   /**
@@ -81,13 +110,14 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     List<Shape> batchOutputShapes = new ArrayList<>();
     outputShapes.forEach(s -> batchOutputShapes.add(s.prepend(-1)));
 
-    return new BatchDataset(
-        tf,
-        this.getVariant(),
-        tf.constant(batchSize),
-        tf.constant(dropLastBatch),
-        outputTypes,
-        batchOutputShapes);
+    return derive(
+        new BatchDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(batchSize),
+            tf.constant(dropLastBatch),
+            outputTypes,
+            batchOutputShapes));
   }
 
   /**
@@ -101,6 +131,112 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     return batch(batchSize, false);
   }
 
+  /**
+   * Groups elements of this dataset into batches, padding each component to a common shape.
+   *
+   * <p>Each component is padded to its padded shape, where unknown dimensions (`-1`) are padded to
+   * the largest size of that dimension in the batch, so that elements of different shapes can be
+   * batched together.
+   *
+   * @param batchSize The number of desired elements per batch
+   * @param paddedShapes A list of shapes to pad each component to, with the same rank as the
+   *     component.
+   * @param paddingValues A list of scalars to pad each component with.
+   * @param dropLastBatch Whether to leave out the final batch if it has fewer than `batchSize`
+   *     elements.
+   * @return A batched Dataset
+   */
+  public final Dataset paddedBatch(
+      long batchSize,
+      List<Shape> paddedShapes,
+      List<Operand<?>> paddingValues,
+      boolean dropLastBatch) {
+    if (paddedShapes.size() != outputShapes.size()
+        || paddingValues.size() != outputShapes.size()) {
+      throw new IllegalArgumentException(
+          "There must be one padded shape and padding value for each of the "
+              + outputShapes.size()
+              + " components of this dataset.");
+    }
+    for (int i = 0; i < paddedShapes.size(); ++i) {
+      if (paddedShapes.get(i).isUnknown()
+          || paddedShapes.get(i).numDimensions() != outputShapes.get(i).numDimensions()) {
+        throw new IllegalArgumentException(
+            "Padded shape "
+                + paddedShapes.get(i)
+                + " does not match the rank of component shape "
+                + outputShapes.get(i));
+      }
+    }
+    return derive(
+        new PaddedBatchDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(batchSize),
+            paddedShapes,
+            paddingValues,
+            tf.constant(dropLastBatch),
+            outputTypes));
+  }
+
+  /**
+   * Groups elements of this dataset into batches, padding each component to a common shape.
+   * Includes the last batch, even if it has fewer than `batchSize` elements.
+   *
+   * @param batchSize The number of desired elements per batch
+   * @param paddedShapes A list of shapes to pad each component to, with the same rank as the
+   *     component.
+   * @param paddingValues A list of scalars to pad each component with.
+   * @return A batched Dataset
+   * @see #paddedBatch(long, List, List, boolean)
+   */
+  public final Dataset paddedBatch(
+      long batchSize, List<Shape> paddedShapes, List<Operand<?>> paddingValues) {
+    return paddedBatch(batchSize, paddedShapes, paddingValues, false);
+  }
+
+  /**
+   * Groups elements of this dataset by key into windows, and reduces each window to a new dataset
+   * whose elements are returned by the new dataset.
+   *
+   * <p>A window is reduced once it holds as many elements as the window size of its key, or when
+   * this dataset has no more elements. All functions are traced and run natively, so they must build
+   * their operations with the `Ops` they receive, or with the one of the window for the reducer.
+   *
+   * @param keyFunction Computes the key of an element, as a scalar
+   * @param reducer Reduces a window of elements sharing the same key to a new dataset
+   * @param windowSizeFunction Computes the size of the windows of a given key, as a scalar
+   * @return A new Dataset with the elements of all reduced windows.
+   */
+  public final Dataset groupByWindow(
+      BiFunction<Ops, List<Operand<?>>, Operand<TInt64>> keyFunction,
+      BiFunction<Operand<TInt64>, Dataset, Dataset> reducer,
+      BiFunction<Ops, Operand<TInt64>, Operand<TInt64>> windowSizeFunction) {
+    return derive(new GroupByWindowDataset(this, keyFunction, reducer, windowSizeFunction));
+  }
+
+  /**
+   * Groups elements of this dataset into batches of elements of similar length, which reduces the
+   * amount of padding compared to `paddedBatch`.
+   *
+   * <p>Elements are assigned to buckets by comparing their length to `boundaries`: those shorter
+   * than `boundaries[0]` go to the first bucket, those shorter than `boundaries[1]` to the second
+   * bucket, and so on. Elements of bucket `i` are batched by `batchSizes[i]`, padding each
+   * component with zeros to the largest shape of the batch.
+   *
+   * @param elementLength Computes the length of an element, as a scalar. It is traced and run
+   *     natively, so it must build its operations with the `Ops` it receives.
+   * @param boundaries The upper length boundaries of each bucket, in increasing order
+   * @param batchSizes The batch size of each bucket, one more than the number of boundaries
+   * @return A batched Dataset
+   */
+  public final Dataset bucketBySequenceLength(
+      BiFunction<Ops, List<Operand<?>>, Operand<TInt64>> elementLength,
+      long[] boundaries,
+      long[] batchSizes) {
+    return derive(new BucketBySequenceLengthDataset(this, elementLength, boundaries, batchSizes));
+  }
+
   /**
    * Returns a new `Dataset` which skips `count` initial elements from this dataset
    *
@@ -108,8 +244,13 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
    * @return A new Dataset with `count` elements removed.
    */
   public final Dataset skip(long count) {
-    return new SkipDataset(
-        tf, this.getVariant(), tf.constant(count), this.getOutputTypes(), this.getOutputShapes());
+    return derive(
+        new SkipDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(count),
+            this.getOutputTypes(),
+            this.getOutputShapes()));
   }
 
   /**
@@ -119,8 +260,133 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
    * @return A new Dataset containing the first `count` elements from this dataset.
    */
   public final Dataset take(long count) {
-    return new TakeDataset(
-        tf, this.getVariant(), tf.constant(count), this.getOutputTypes(), this.getOutputShapes());
+    return derive(
+        new TakeDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(count),
+            this.getOutputTypes(),
+            this.getOutputShapes()));
+  }
+
+  /**
+   * Returns a new `Dataset` which prefetches elements of this dataset in the background, up to
+   * `bufferSize` elements ahead of the consumer.
+   *
+   * <p>Adding this stage at the end of an input pipeline lets the runtime prepare the next elements
+   * while the current one is being processed (e.g. by a training step), overlapping I/O and
+   * preprocessing with computation.
+   *
+   * @param bufferSize The maximum number of elements to buffer, or {@link #AUTOTUNE} to let the
+   *     runtime tune it dynamically.
+   * @return A new Dataset prefetching elements of this dataset.
+   */
+  public final Dataset prefetch(long bufferSize) {
+    return derive(
+        new PrefetchDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(bufferSize),
+            this.getOutputTypes(),
+            this.getOutputShapes()));
+  }
+
+  /**
+   * Returns a new `Dataset` which caches elements of this dataset in memory.
+   *
+   * <p>Elements are cached during the first complete iteration and read back from the cache by
+   * the following ones, so expensive upstream stages (e.g. reading and decoding files) are executed
+   * only once.
+   *
+   * @return A new Dataset caching elements of this dataset in memory.
+   */
+  public final Dataset cache() {
+    return cache("");
+  }
+
+  /**
+   * Returns a new `Dataset` which caches elements of this dataset in files.
+   *
+   * <p>Elements are cached during the first complete iteration and read back from the cache by
+   * the following ones, so expensive upstream stages (e.g. reading and decoding files) are executed
+   * only once.
+   *
+   * @param filename The prefix of the files where elements are cached, or an empty string to cache
+   *     them in memory.
+   * @return A new Dataset caching elements of this dataset.
+   */
+  public final Dataset cache(String filename) {
+    return derive(
+        new CacheDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(filename),
+            this.getOutputTypes(),
+            this.getOutputShapes()));
+  }
+
+  /**
+   * Returns a new `Dataset` which randomly shuffles elements of this dataset, reshuffling them
+   * each time it is iterated.
+   *
+   * @param bufferSize The number of elements from this dataset to sample from. A perfect shuffle
+   *     requires a buffer as large as this dataset.
+   * @return A new Dataset shuffling elements of this dataset.
+   */
+  public final Dataset shuffle(long bufferSize) {
+    return shuffle(bufferSize, 0L, true);
+  }
+
+  /**
+   * Returns a new `Dataset` which randomly shuffles elements of this dataset.
+   *
+   * <p>Elements are sampled from a buffer filled with the next `bufferSize` elements of this
+   * dataset, each sampled element being replaced by a new one.
+   *
+   * @param bufferSize The number of elements from this dataset to sample from. A perfect shuffle
+   *     requires a buffer as large as this dataset.
+   * @param seed The random seed used to shuffle elements, or 0 for a random seed.
+   * @param reshuffleEachIteration Whether elements should be shuffled in a different order each
+   *     time this dataset is iterated.
+   * @return A new Dataset shuffling elements of this dataset.
+   */
+  public final Dataset shuffle(long bufferSize, long seed, boolean reshuffleEachIteration) {
+    return derive(
+        new ShuffleDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(bufferSize),
+            tf.constant(seed),
+            tf.constant(0L),
+            reshuffleEachIteration,
+            this.getOutputTypes(),
+            this.getOutputShapes()));
+  }
+
+  /**
+   * Returns a new `Dataset` which repeats this dataset indefinitely.
+   *
+   * @return A new Dataset repeating this dataset.
+   */
+  public final Dataset repeat() {
+    return repeat(-1L);
+  }
+
+  /**
+   * Returns a new `Dataset` which repeats this dataset `count` times.
+   *
+   * @param count The number of times this dataset should be repeated, or -1 to repeat it
+   *     indefinitely.
+   * @return A new Dataset repeating this dataset `count` times.
+   */
+  public final Dataset repeat(long count) {
+    return derive(
+        new RepeatDataset(
+            tf,
+            this.getVariant(),
+            tf.constant(count),
+            this.getOutputTypes(),
+            this.getOutputShapes()));
   }
 
   /**
@@ -196,7 +462,121 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
    * @return A new Dataset applying `mapper` to each element of this iterator.
    */
   public Dataset map(Function<List<Operand<?>>, List<Operand<?>>> mapper) {
-    return new MapDataset(this, mapper);
+    return derive(new MapDataset(this, mapper));
+  }
+
+  /**
+   * Returns a new Dataset which maps a function over all elements of this dataset, natively and in
+   * parallel.
+   *
+   * <p>Unlike {@link #map(Function)}, the mapper is invoked only once to trace its operations into
+   * a graph function, which is then executed by the TensorFlow runtime for each element without
+   * returning to Java. Therefore, all operations of the mapper must be created with the {@code Ops}
+   * instance it receives in argument. For example:
+   *
+   * <pre>{@code
+   * dataset.map((tf, components) -> {
+   *      Operand<TInt32> features = components.get(0).asOutput().expect(TInt32.class);
+   *      return Arrays.asList(tf.math.mul(features, tf.constant(2)), components.get(1));
+   * }, Dataset.AUTOTUNE, false);
+   * }</pre>
+   *
+   * @param mapper The function to apply to each element of this dataset, building its operations
+   *     from the provided `Ops` instance.
+   * @param numParallelCalls The number of elements to process in parallel, or {@link #AUTOTUNE}
+   *     to let the runtime choose it dynamically.
+   * @param deterministic Whether elements must be produced in order. When false, elements that
+   *     are ready may be returned before others, which increases throughput.
+   * @return A new Dataset applying `mapper` to each element of this dataset.
+   */
+  public final Dataset map(
+      BiFunction<Ops, List<Operand<?>>, List<Operand<?>>> mapper,
+      long numParallelCalls,
+      boolean deterministic) {
+    return derive(new ParallelMapDataset(this, mapper, numParallelCalls, deterministic));
+  }
+
+  /**
+   * Returns a new `Dataset` which parses serialized `tf.Example` protos into the features described
+   * by `spec`.
+   *
+   * <p>Elements of this dataset must have a single `TString` component, holding one serialized
+   * example or a vector of them. Parsing a batch of examples is vectorized, so batching this
+   * dataset before parsing it is much faster than parsing each example individually. For example:
+   *
+   * <pre>{@code
+   * Dataset examples = Dataset.tfRecordDataset(tf, filenames, "", 0)
+   *     .batch(32)
+   *     .parseExamples(spec, Dataset.AUTOTUNE);
+   * }</pre>
+   *
+   * @param spec The features to parse and how to return them
+   * @param numParallelCalls The number of elements to parse in parallel, or `AUTOTUNE`
+   * @return A new Dataset with the components described by {@link FeatureSpec#componentNames()}.
+   */
+  public final Dataset parseExamples(FeatureSpec spec, long numParallelCalls) {
+    if (outputTypes.size() != 1
+        || outputTypes.get(0) != TString.class
+        || outputShapes.get(0).isUnknown()
+        || outputShapes.get(0).numDimensions() > 1) {
+      throw new IllegalArgumentException(
+          "Cannot parse examples from a dataset with components " + this);
+    }
+    return map(
+        (tf, components) ->
+            spec.parse(tf, components.get(0).asOutput().expect(TString.class)),
+        numParallelCalls,
+        true);
+  }
+
+  /**
+   * Returns a new Dataset which maps each element of this dataset to a new dataset and interleaves
+   * the elements of these datasets.
+   *
+   * <p>Up to `cycleLength` input elements are processed concurrently, taking `blockLength`
+   * consecutive elements from each of their datasets before moving to the next one. This is
+   * typically used to read multiple files in parallel, like shards of a large dataset:
+   *
+   * <pre>{@code
+   * Dataset records = Dataset.listFiles(tf, "/data/train-*.tfrecord", true)
+   *     .interleave((ftf, components) -> Dataset.tfRecordDataset(ftf,
+   *         components.get(0).asOutput().expect(TString.class), "", 256 * 1024),
+   *       8, 1, Dataset.AUTOTUNE);
+   * }</pre>
+   *
+   * <p>Like {@link #map(BiFunction, long, boolean)}, the mapper is traced only once into a graph
+   * function executed natively by the TensorFlow runtime, so all its operations must be created
+   * with the {@code Ops} instance it receives in argument.
+   *
+   * @param mapper The function returning a dataset for each element of this dataset.
+   * @param cycleLength The number of input elements processed concurrently.
+   * @param blockLength The number of consecutive elements to take from each dataset before
+   *     cycling to the next one.
+   * @param numParallelCalls The number of datasets to fetch elements from in parallel, or
+   *     {@link #AUTOTUNE} to let the runtime choose it dynamically.
+   * @return A new Dataset interleaving the datasets returned by `mapper`.
+   */
+  public final Dataset interleave(
+      BiFunction<Ops, List<Operand<?>>, Dataset> mapper,
+      long cycleLength,
+      long blockLength,
+      long numParallelCalls) {
+    return derive(new InterleaveDataset(this, mapper, cycleLength, blockLength, numParallelCalls));
+  }
+
+  /**
+   * Returns a new Dataset applying the given options to the whole input pipeline ending with this
+   * dataset.
+   *
+   * <p>Options control the threads used by the pipeline, the autotuning of its parameters set to
+   * {@link #AUTOTUNE} and the static optimizations applied to its graph. They should be applied
+   * once, as the last stage of the pipeline.
+   *
+   * @param options The options to apply.
+   * @return A new Dataset with the same elements as this dataset, produced according to `options`.
+   */
+  public final Dataset withOptions(DatasetOptions options) {
+    return derive(new OptionsDataset(this, options));
   }
 
   /**
@@ -253,6 +633,26 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     return iterator;
   }
 
+  /**
+   * Creates a `PrefetchingIterator` that iterates over elements of this dataset in eager mode,
+   * fetching up to `bufferSize` elements ahead of time in a background thread.
+   *
+   * <p>The iterator returns the tensors of each element, which must be closed by the caller. It
+   * must be closed once the iteration is over, to stop fetching elements and release those not
+   * returned; closing the eager session also stops it.
+   *
+   * @param bufferSize The maximum number of elements fetched ahead of time
+   * @return A new `PrefetchingIterator` over this dataset.
+   * @throws UnsupportedOperationException in graph mode
+   */
+  public PrefetchingIterator prefetchingIterator(int bufferSize) {
+    if (!tf.scope().env().isEager()) {
+      throw new UnsupportedOperationException(
+          "Cannot prefetch tensors of a dataset in graph mode.");
+    }
+    return new PrefetchingIterator(makeOneShotIterator(), bufferSize);
+  }
+
   /**
    * Creates an in-memory `Dataset` whose elements are slices of the given tensors. Each element of
    * this dataset will be a {@code List<Operand<?>>}, representing slices (e.g. batches) of the
@@ -270,19 +670,191 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     return new TensorSliceDataset(tf, tensors, outputTypes);
   }
 
+  /**
+   * Creates a `Dataset` whose elements are produced by a Java generator, like an `Iterable` or a
+   * `Stream` of tensors.
+   *
+   * <p>Elements are prefetched in the background, buffering up to 256 elements and transferring
+   * them to the native runtime by chunks of 32 elements.
+   *
+   * @param tf Ops Accessor
+   * @param generator Supplies an iterator returning the components of each element. The tensors
+   *     returned are closed by the dataset once they have been copied.
+   * @param outputTypes A list of tensor type classes representing the data type of each component of
+   *     this dataset.
+   * @param outputShapes A list of fully-defined shapes, one for each component of this dataset.
+   * @return A new `Dataset`
+   * @see #fromGenerator(Ops, Supplier, List, List, long, int)
+   */
+  public static Dataset fromGenerator(
+      Ops tf,
+      Supplier<Iterator<Tensor[]>> generator,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes) {
+    return fromGenerator(tf, generator, outputTypes, outputShapes, 256, 32);
+  }
+
+  /**
+   * Creates a `Dataset` whose elements are produced by a Java generator, like an `Iterable` or a
+   * `Stream` of tensors.
+   *
+   * <p>The generator is iterated by a background thread, which copies each element into reused
+   * staging tensors and transfers them to the native runtime by chunks of `chunkSize` elements,
+   * copying each chunk once more. The thread blocks when `bufferSize` elements are pending, until
+   * the pipeline has consumed enough of them. If the generator throws, iterating the dataset fails
+   * with its error after the elements generated before it. Closing the eager session stops the
+   * thread.
+   *
+   * <p>The generator is invoked once, when the dataset is first iterated, so the dataset can only
+   * be iterated once; use {@link #cache()} to iterate its elements more than once. Components must
+   * have a fixed size, i.e. a fully-defined shape and a numeric or boolean type. This dataset is
+   * only available in eager mode.
+   *
+   * @param tf Ops Accessor
+   * @param generator Supplies an iterator returning the components of each element. The tensors
+   *     returned are closed by the dataset once they have been copied.
+   * @param outputTypes A list of tensor type classes representing the data type of each component of
+   *     this dataset.
+   * @param outputShapes A list of fully-defined shapes, one for each component of this dataset.
+   * @param bufferSize The maximum number of elements generated ahead of the pipeline
+   * @param chunkSize The number of elements transferred at once to the native runtime
+   * @return A new `Dataset`
+   */
+  public static Dataset fromGenerator(
+      Ops tf,
+      Supplier<Iterator<Tensor[]>> generator,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      int chunkSize) {
+    return new GeneratorDataset(tf, generator, outputTypes, outputShapes, bufferSize, chunkSize);
+  }
+
+  /**
+   * Creates a `Dataset` whose elements are the names of the files matching a pattern.
+   *
+   * @param tf Ops Accessor
+   * @param pattern A glob pattern matching the files to list (e.g. {@code /data/train-*})
+   * @param shuffle Whether file names should be returned in a different random order at each
+   *     iteration, which is recommended when reading the shards of a training dataset.
+   * @return A new `Dataset`
+   */
+  public static Dataset listFiles(Ops tf, String pattern, boolean shuffle) {
+    Operand<TString> patterns = tf.constant(pattern);
+    Dataset dataset = new MatchingFilesDataset(tf, patterns);
+    if (!shuffle) {
+      return dataset;
+    }
+    // Shuffle all files, using a buffer as large as their number
+    Operand<TInt64> numFiles =
+        tf.math.maximum(tf.size(tf.io.matchingFiles(patterns), TInt64.class), tf.constant(1L));
+    return new ShuffleDataset(
+        tf,
+        dataset.getVariant(),
+        numFiles,
+        tf.constant(0L),
+        tf.constant(0L),
+        true,
+        dataset.getOutputTypes(),
+        dataset.getOutputShapes());
+  }
+
   public static Dataset tfRecordDataset(
       Ops tf, String filename, String compressionType, long bufferSize) {
     return new TFRecordDataset(
         tf, tf.constant(filename), tf.constant(compressionType), tf.constant(bufferSize));
   }
 
+  /**
+   * Creates a `Dataset` reading records from one or more TFRecord files, sequentially.
+   *
+   * <p>To read multiple files in parallel, use a `Dataset` of file names and
+   * {@link #interleave(BiFunction, long, long, long)} it with a TFRecord dataset per file.
+   *
+   * @param tf Ops Accessor
+   * @param filenames The names of the files to read
+   * @param compressionType The compression of the files: "" (none), "ZLIB" or "GZIP"
+   * @param bufferSize The number of bytes to buffer when reading each file
+   * @return A new `Dataset`
+   */
+  public static Dataset tfRecordDataset(
+      Ops tf, List<String> filenames, String compressionType, long bufferSize) {
+    return tfRecordDataset(tf, filenamesOf(tf, filenames), compressionType, bufferSize);
+  }
+
+  /**
+   * Creates a `Dataset` reading records from one or more TFRecord files, sequentially.
+   *
+   * @param tf Ops Accessor
+   * @param filenames A scalar or vector with the names of the files to read
+   * @param compressionType The compression of the files: "" (none), "ZLIB" or "GZIP"
+   * @param bufferSize The number of bytes to buffer when reading each file
+   * @return A new `Dataset`
+   */
+  public static Dataset tfRecordDataset(
+      Ops tf, Operand<TString> filenames, String compressionType, long bufferSize) {
+    return new TFRecordDataset(
+        tf, filenames, tf.constant(compressionType), tf.constant(bufferSize));
+  }
+
   public static Dataset textLineDataset(
       Ops tf, String filename, String compressionType, long bufferSize) {
     return new TextLineDataset(
         tf, tf.constant(filename), tf.constant(compressionType), tf.constant(bufferSize));
   }
 
+  /**
+   * Creates a `Dataset` reading lines from one or more text files, sequentially.
+   *
+   * @param tf Ops Accessor
+   * @param filenames The names of the files to read
+   * @param compressionType The compression of the files: "" (none), "ZLIB" or "GZIP"
+   * @param bufferSize The number of bytes to buffer when reading each file
+   * @return A new `Dataset`
+   */
+  public static Dataset textLineDataset(
+      Ops tf, List<String> filenames, String compressionType, long bufferSize) {
+    return textLineDataset(tf, filenamesOf(tf, filenames), compressionType, bufferSize);
+  }
+
+  /**
+   * Creates a `Dataset` reading lines from one or more text files, sequentially.
+   *
+   * @param tf Ops Accessor
+   * @param filenames A scalar or vector with the names of the files to read
+   * @param compressionType The compression of the files: "" (none), "ZLIB" or "GZIP"
+   * @param bufferSize The number of bytes to buffer when reading each file
+   * @return A new `Dataset`
+   */
+  public static Dataset textLineDataset(
+      Ops tf, Operand<TString> filenames, String compressionType, long bufferSize) {
+    return new TextLineDataset(
+        tf, filenames, tf.constant(compressionType), tf.constant(bufferSize));
+  }
+
   /** Get the variant tensor representing this dataset. */
+  /**
+   * Registers the start of a producer feeding this dataset from Java, like a generator. It runs
+   * each time an iterator is initialized on this dataset or on a dataset derived from it by the
+   * methods of this class, and must therefore start the producer only once.
+   *
+   * @param start starts the producer
+   */
+  protected void addProducer(Runnable start) {
+    producers.add(start);
+  }
+
+  /** Starts the producers feeding this dataset, when an iterator is initialized on it. */
+  void startProducers() {
+    producers.forEach(Runnable::run);
+  }
+
+  /** Derives a dataset from this one, fed by the same producers. */
+  private Dataset derive(Dataset dataset) {
+    dataset.producers.addAll(producers);
+    return dataset;
+  }
+
   public Operand<?> getVariant() {
     return variant;
   }
@@ -301,6 +873,10 @@ public abstract class Dataset implements Iterable<List<Operand<?>>> {
     return this.tf;
   }
 
+  private static Operand<TString> filenamesOf(Ops tf, List<String> filenames) {
+    return tf.constant(NdArrays.vectorOfObjects(filenames.toArray(new String[0])));
+  }
+
   @Override
   public String toString() {
     return "Dataset{"
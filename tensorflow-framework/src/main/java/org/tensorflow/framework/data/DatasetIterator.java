@@ -17,14 +17,21 @@ package org.tensorflow.framework.data;
 
 import org.tensorflow.Graph;
 import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.op.train.Restore;
+import org.tensorflow.ndarray.NdArrays;
 import org.tensorflow.ndarray.Shape;
+import org.tensorflow.proto.framework.DataType;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import org.tensorflow.types.family.TType;
 
 /**
  * Represents the state of an iteration through a tf.data Datset. DatasetIterator is not a
@@ -101,6 +108,8 @@ import org.tensorflow.types.family.TType;
 public class DatasetIterator implements Iterable<List<Operand<?>>> {
   public static final String EMPTY_SHARED_NAME = "";
 
+  private static final String STATE_NAME = "iterator";
+
   protected Ops tf;
 
   private Operand<?> iteratorResource;
@@ -222,6 +231,8 @@ public class DatasetIterator implements Iterable<List<Operand<?>>> {
     }
 
     this.initializer = tf.data.makeIterator(dataset.getVariant(), getIteratorResource());
+    // Producers feeding the dataset from Java are only started once it is iterated
+    dataset.startProducers();
     return this.initializer;
   }
 
@@ -245,6 +256,78 @@ public class DatasetIterator implements Iterable<List<Operand<?>>> {
     return new DatasetIterator(tf, iteratorResource, outputTypes, outputShapes);
   }
 
+  /**
+   * Returns the serialized state of this iterator, that can be restored with {@link
+   * #restoreState(Operand)}.
+   *
+   * <p>The state includes the position of the iterator in each stage of the input pipeline (e.g.
+   * the offset of readers in their files, or the content of shuffle buffers), so that restoring it
+   * resumes the iteration where it left off instead of replaying the elements already consumed.
+   *
+   * <p>Iterators are not saved with the variables of the graph by `Session.save`, so their state
+   * must be saved explicitly, with this method or with {@link #saveState(String)}.
+   *
+   * @return An `Operand` holding the serialized state of this iterator.
+   */
+  public Operand<?> saveState() {
+    return tf.data.serializeIterator(getIteratorResource());
+  }
+
+  /**
+   * Restores a state of this iterator, previously returned by {@link #saveState()}.
+   *
+   * <p>In eager mode, the state is restored immediately.
+   *
+   * @param state The serialized state of an iterator with the same structure and input pipeline
+   * @return An `Op` restoring the state of this iterator.
+   */
+  public Op restoreState(Operand<?> state) {
+    return tf.data.deserializeIterator(getIteratorResource(), state);
+  }
+
+  /**
+   * Saves the state of this iterator in a checkpoint, that can be restored with {@link
+   * #restoreState(String)}.
+   *
+   * <p>In eager mode, the state is saved immediately. The checkpoint only holds the state of this
+   * iterator, so its prefix must differ from the one used to save the variables of a session.
+   *
+   * @param prefix The prefix of the checkpoint files
+   * @return An `Op` saving the state of this iterator.
+   * @see #saveState()
+   */
+  public Op saveState(String prefix) {
+    Operand<TString> names = tf.constant(NdArrays.vectorOfObjects(STATE_NAME));
+    return tf.train.save(
+        tf.constant(prefix),
+        names,
+        tf.zerosLike(names),
+        Collections.singletonList(saveState()));
+  }
+
+  /**
+   * Restores the state of this iterator from a checkpoint saved with {@link #saveState(String)}.
+   *
+   * <p>In eager mode, the state is restored immediately.
+   *
+   * @param prefix The prefix of the checkpoint files
+   * @return An `Op` restoring the state of this iterator.
+   */
+  public Op restoreState(String prefix) {
+    Operand<TString> names = tf.constant(NdArrays.vectorOfObjects(STATE_NAME));
+    // Iterator states are variants, which have no tensor type to restore them with
+    // `tf.train.restore`
+    Scope scope = tf.scope();
+    OperationBuilder opBuilder =
+        scope.env().opBuilder(Restore.OP_NAME, scope.makeOpName("RestoreIterator"));
+    opBuilder.addInput(tf.constant(prefix).asOutput());
+    opBuilder.addInput(names.asOutput());
+    opBuilder.addInput(tf.zerosLike(names).asOutput());
+    opBuilder = scope.apply(opBuilder);
+    opBuilder.setAttr("dtypes", new DataType[] {DataType.DT_VARIANT});
+    return restoreState(opBuilder.build().output(0));
+  }
+
   public Operand<?> getIteratorResource() {
     return iteratorResource;
   }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options applied to a whole input pipeline by {@link Dataset#withOptions(DatasetOptions)}.
+ *
+ * <p>Options not set explicitly keep their default runtime behavior. For example:
+ *
+ * <pre>{@code
+ * Dataset dataset = Dataset.textLineDataset(tf, filenames, "", 0)
+ *     .map(parseLine, Dataset.AUTOTUNE, false)
+ *     .batch(32)
+ *     .withOptions(DatasetOptions.create()
+ *         .privateThreadPoolSize(8)
+ *         .autotuneCpuBudget(8)
+ *         .enable(DatasetOptions.Optimization.MAP_FUSION));
+ * }</pre>
+ */
+public class DatasetOptions {
+
+  /** Static graph rewrites that can be applied to an input pipeline. */
+  public enum Optimization {
+    /** Fuses consecutive map transformations. */
+    MAP_FUSION("map_fusion"),
+
+    /** Fuses a map transformation followed by a batch into a single transformation. */
+    MAP_AND_BATCH_FUSION("map_and_batch_fusion"),
+
+    /** Runs stateless sequential map transformations in parallel. */
+    MAP_PARALLELIZATION("map_parallelization"),
+
+    /** Fuses consecutive filter transformations. */
+    FILTER_FUSION("filter_fusion"),
+
+    /** Fuses a shuffle transformation followed by a repeat into a single transformation. */
+    SHUFFLE_AND_REPEAT_FUSION("shuffle_and_repeat_fusion"),
+
+    /** Removes transformations having no effect, like {@code take(-1)} or {@code skip(0)}. */
+    NOOP_ELIMINATION("noop_elimination"),
+
+    /** Builds batches in parallel. */
+    PARALLEL_BATCH("parallel_batch");
+
+    /** Returns the name of this rewrite, as known by the TensorFlow runtime. */
+    public String rewriteName() {
+      return rewriteName;
+    }
+
+    private final String rewriteName;
+
+    Optimization(String rewriteName) {
+      this.rewriteName = rewriteName;
+    }
+  }
+
+  /** Creates a new set of options. */
+  public static DatasetOptions create() {
+    return new DatasetOptions();
+  }
+
+  /**
+   * Runs the pipeline in a private thread pool of the given size, instead of sharing the inter-op
+   * thread pool used by other operations (e.g. training kernels).
+   *
+   * @param numThreads number of threads in the private pool
+   * @return this options
+   */
+  public DatasetOptions privateThreadPoolSize(int numThreads) {
+    if (numThreads <= 0) {
+      throw new IllegalArgumentException("Thread pool size must be positive, got " + numThreads);
+    }
+    this.privateThreadPoolSize = numThreads;
+    return this;
+  }
+
+  /**
+   * Limits the number of threads each kernel of the pipeline can use for its own computation.
+   *
+   * @param maxIntraOpParallelism maximum number of threads per kernel, 1 to disable intra-op
+   *     parallelism
+   * @return this options
+   */
+  public DatasetOptions maxIntraOpParallelism(int maxIntraOpParallelism) {
+    if (maxIntraOpParallelism <= 0) {
+      throw new IllegalArgumentException(
+          "Max intra-op parallelism must be positive, got " + maxIntraOpParallelism);
+    }
+    this.maxIntraOpParallelism = maxIntraOpParallelism;
+    return this;
+  }
+
+  /**
+   * Enables or disables dynamic tuning of parameters set to {@link Dataset#AUTOTUNE}.
+   *
+   * <p>Autotuning is enabled by default.
+   *
+   * @param autotune true to enable autotuning
+   * @return this options
+   */
+  public DatasetOptions autotune(boolean autotune) {
+    this.autotune = autotune;
+    return this;
+  }
+
+  /**
+   * Sets the number of CPU cores that autotuning can allocate to the pipeline.
+   *
+   * @param cpuBudget number of cores, or 0 to use all available cores
+   * @return this options
+   */
+  public DatasetOptions autotuneCpuBudget(long cpuBudget) {
+    this.autotuneCpuBudget = cpuBudget;
+    return this;
+  }
+
+  /**
+   * Sets the amount of memory that autotuning can allocate to the buffers of the pipeline.
+   *
+   * @param ramBudget number of bytes, or 0 to use half of the available memory
+   * @return this options
+   */
+  public DatasetOptions autotuneRamBudget(long ramBudget) {
+    this.autotuneRamBudget = ramBudget;
+    return this;
+  }
+
+  /**
+   * Enables static graph rewrites of the pipeline.
+   *
+   * @param optimizations rewrites to enable
+   * @return this options
+   */
+  public DatasetOptions enable(Optimization... optimizations) {
+    enabledOptimizations.addAll(Arrays.asList(optimizations));
+    return this;
+  }
+
+  /**
+   * Disables static graph rewrites of the pipeline, including those applied by default.
+   *
+   * @param optimizations rewrites to disable
+   * @return this options
+   */
+  public DatasetOptions disable(Optimization... optimizations) {
+    disabledOptimizations.addAll(Arrays.asList(optimizations));
+    return this;
+  }
+
+  /**
+   * Sets whether the rewrites applied by default by the runtime should be applied, in addition to
+   * those explicitly enabled.
+   *
+   * @param applyDefaultOptimizations true to apply default rewrites (the default)
+   * @return this options
+   */
+  public DatasetOptions applyDefaultOptimizations(boolean applyDefaultOptimizations) {
+    this.applyDefaultOptimizations = applyDefaultOptimizations;
+    return this;
+  }
+
+  /** Returns the size of the private thread pool, or null if the pipeline uses the shared one. */
+  public Integer getPrivateThreadPoolSize() {
+    return privateThreadPoolSize;
+  }
+
+  /** Returns the maximum intra-op parallelism, or null if not limited. */
+  public Integer getMaxIntraOpParallelism() {
+    return maxIntraOpParallelism;
+  }
+
+  /** Returns true if autotuning is enabled. */
+  public boolean isAutotune() {
+    return autotune;
+  }
+
+  /** Returns the CPU budget for autotuning, 0 meaning all available cores. */
+  public long getAutotuneCpuBudget() {
+    return autotuneCpuBudget;
+  }
+
+  /** Returns the RAM budget for autotuning, in bytes, 0 meaning half of the available memory. */
+  public long getAutotuneRamBudget() {
+    return autotuneRamBudget;
+  }
+
+  /** Returns the rewrites explicitly enabled. */
+  public List<Optimization> getEnabledOptimizations() {
+    return Collections.unmodifiableList(enabledOptimizations);
+  }
+
+  /** Returns the rewrites explicitly disabled. */
+  public List<Optimization> getDisabledOptimizations() {
+    return Collections.unmodifiableList(disabledOptimizations);
+  }
+
+  /** Returns the rewrites applied by default, unless disabled. */
+  public List<Optimization> getDefaultOptimizations() {
+    return applyDefaultOptimizations ? DEFAULT_OPTIMIZATIONS : Collections.emptyList();
+  }
+
+  private static final List<Optimization> DEFAULT_OPTIMIZATIONS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              Optimization.MAP_AND_BATCH_FUSION,
+              Optimization.NOOP_ELIMINATION,
+              Optimization.SHUFFLE_AND_REPEAT_FUSION));
+
+  private Integer privateThreadPoolSize;
+  private Integer maxIntraOpParallelism;
+  private boolean autotune = true;
+  private long autotuneCpuBudget = 0L;
+  private long autotuneRamBudget = 0L;
+  private final List<Optimization> enabledOptimizations = new ArrayList<>();
+  private final List<Optimization> disabledOptimizations = new ArrayList<>();
+  private boolean applyDefaultOptimizations = true;
+
+  private DatasetOptions() {}
+}
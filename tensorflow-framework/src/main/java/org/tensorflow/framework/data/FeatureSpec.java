@@ -0,0 +1,394 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.tensorflow.Operand;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.io.ParseExample;
+import org.tensorflow.op.sparse.SparseReorder;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the features to parse from serialized {@code tf.Example} protos, and how to return
+ * them.
+ *
+ * <p>Features are parsed in the order they have been added to the spec. Dense features are returned
+ * as a single component, while sparse features are returned as three components: their indices,
+ * their values and their dense shape, as expected by sparse operations. For example:
+ *
+ * <pre>{@code
+ * FeatureSpec spec = FeatureSpec.builder()
+ *     .fixedLen("image", TFloat32.class, Shape.of(28, 28))
+ *     .fixedLen("label", TInt64.class, Shape.scalar(), -1L)
+ *     .varLen("tags", TString.class)
+ *     .build();
+ *
+ * // Components are "image", "label", "tags/indices", "tags/values" and "tags/dense_shape"
+ * Dataset examples = Dataset.tfRecordDataset(tf, filenames, "", 0)
+ *     .batch(32)
+ *     .parseExamples(spec, Dataset.AUTOTUNE);
+ * }</pre>
+ *
+ * <p>Feature values must be of type {@code TFloat32}, {@code TInt64} or {@code TString}.
+ */
+public final class FeatureSpec {
+
+  /** Returns a new builder of feature specs. */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builds a {@link FeatureSpec}. */
+  public static final class Builder {
+
+    /**
+     * Adds a dense feature with a fixed shape, which is required in all examples.
+     *
+     * @param key name of the feature
+     * @param type type of the feature values
+     * @param shape shape of the feature, fully defined
+     * @return this builder
+     */
+    public Builder fixedLen(String key, Class<? extends TType> type, Shape shape) {
+      return add(new Feature(Kind.FIXED_LEN, key, type, checkDefined(key, shape), null));
+    }
+
+    /**
+     * Adds a dense feature with a fixed shape, taking a default value in examples where it is
+     * missing.
+     *
+     * @param key name of the feature
+     * @param type type of the feature values
+     * @param shape shape of the feature, fully defined
+     * @param defaultValue scalar value, assigned to all values of the feature when missing
+     * @return this builder
+     */
+    public Builder fixedLen(
+        String key, Class<? extends TType> type, Shape shape, Object defaultValue) {
+      return add(
+          new Feature(Kind.FIXED_LEN, key, type, checkDefined(key, shape), defaultValue));
+    }
+
+    /**
+     * Adds a dense feature holding a variable number of values of a fixed shape, which are padded
+     * to the largest number of values found in a batch of examples.
+     *
+     * @param key name of the feature
+     * @param type type of the feature values
+     * @param elementShape shape of each value of the feature, fully defined
+     * @param paddingValue scalar value to pad the feature with
+     * @return this builder
+     */
+    public Builder fixedLenSequence(
+        String key, Class<? extends TType> type, Shape elementShape, Object paddingValue) {
+      return add(
+          new Feature(
+              Kind.FIXED_LEN_SEQUENCE,
+              key,
+              type,
+              checkDefined(key, elementShape).prepend(-1),
+              paddingValue));
+    }
+
+    /**
+     * Adds a sparse feature holding a variable number of values.
+     *
+     * @param key name of the feature
+     * @param type type of the feature values
+     * @return this builder
+     */
+    public Builder varLen(String key, Class<? extends TType> type) {
+      return add(new Feature(Kind.VAR_LEN, key, type, null, null));
+    }
+
+    /**
+     * Adds a sparse feature of a given size, built from two features of the examples: one
+     * holding the position of each value in the sparse feature, and one holding its values.
+     *
+     * @param key name of the feature
+     * @param indexKey name of the feature holding the position of each value, of type {@code
+     *     TInt64}
+     * @param valueKey name of the feature holding the values
+     * @param type type of the feature values
+     * @param size the dense size of the sparse feature
+     * @return this builder
+     */
+    public Builder sparse(
+        String key, String indexKey, String valueKey, Class<? extends TType> type, long size) {
+      Feature feature = new Feature(Kind.SPARSE, key, type, Shape.of(size), null);
+      feature.indexKey = indexKey;
+      feature.valueKey = valueKey;
+      return add(feature);
+    }
+
+    /** Returns a new feature spec with the features added to this builder. */
+    public FeatureSpec build() {
+      return new FeatureSpec(new ArrayList<>(features));
+    }
+
+    private final List<Feature> features = new ArrayList<>();
+
+    private Builder() {}
+
+    private Builder add(Feature feature) {
+      if (feature.type != TFloat32.class
+          && feature.type != TInt64.class
+          && feature.type != TString.class) {
+        throw new IllegalArgumentException(
+            "Feature \""
+                + feature.key
+                + "\" must be of type TFloat32, TInt64 or TString, found "
+                + feature.type.getSimpleName());
+      }
+      for (Feature other : features) {
+        if (other.key.equals(feature.key)) {
+          throw new IllegalArgumentException("Feature \"" + feature.key + "\" is already defined");
+        }
+      }
+      features.add(feature);
+      return this;
+    }
+
+    private static Shape checkDefined(String key, Shape shape) {
+      if (shape.isUnknown() || shape.hasUnknownDimension()) {
+        throw new IllegalArgumentException(
+            "Shape of feature \"" + key + "\" must be fully defined, found " + shape);
+      }
+      return shape;
+    }
+  }
+
+  /**
+   * Returns the name of each component returned when parsing examples.
+   *
+   * <p>Dense features are named after their key, while the components of a sparse feature are
+   * named {@code <key>/indices}, {@code <key>/values} and {@code <key>/dense_shape}.
+   */
+  public List<String> componentNames() {
+    List<String> names = new ArrayList<>();
+    for (Feature feature : features) {
+      if (feature.isDense()) {
+        names.add(feature.key);
+      } else {
+        names.add(feature.key + "/indices");
+        names.add(feature.key + "/values");
+        names.add(feature.key + "/dense_shape");
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Parses serialized examples, in a single vectorized operation.
+   *
+   * <p>When {@code serialized} is a vector, the first dimension of each component indexes the
+   * examples of the batch.
+   *
+   * @param tf Ops accessor
+   * @param serialized a scalar or a vector of serialized {@code tf.Example} protos
+   * @return the components of the features, in the order given by {@link #componentNames()}
+   * @throws IllegalArgumentException if the rank of {@code serialized} is unknown or greater than 1
+   */
+  public List<Operand<?>> parse(Ops tf, Operand<TString> serialized) {
+    Shape serializedShape = serialized.shape();
+    if (serializedShape.isUnknown() || serializedShape.numDimensions() > 1) {
+      throw new IllegalArgumentException(
+          "Serialized examples must be a scalar or a vector, found shape " + serializedShape);
+    }
+    boolean batched = serializedShape.numDimensions() == 1;
+
+    List<String> denseKeys = new ArrayList<>();
+    List<Operand<?>> denseDefaults = new ArrayList<>();
+    List<Shape> denseShapes = new ArrayList<>();
+    List<String> sparseKeys = new ArrayList<>();
+    List<Class<? extends TType>> sparseTypes = new ArrayList<>();
+    for (Feature feature : features) {
+      switch (feature.kind) {
+        case FIXED_LEN:
+        case FIXED_LEN_SEQUENCE:
+          denseKeys.add(feature.key);
+          denseShapes.add(feature.shape);
+          denseDefaults.add(defaultValue(tf, feature));
+          break;
+        case VAR_LEN:
+          sparseKeys.add(feature.key);
+          sparseTypes.add(feature.type);
+          break;
+        case SPARSE:
+          sparseKeys.add(feature.indexKey);
+          sparseTypes.add(TInt64.class);
+          sparseKeys.add(feature.valueKey);
+          sparseTypes.add(feature.type);
+          break;
+      }
+    }
+    ParseExample parsed =
+        tf.io.parseExample(
+            serialized,
+            strings(tf, Collections.emptyList()),
+            strings(tf, sparseKeys),
+            strings(tf, denseKeys),
+            strings(tf, Collections.emptyList()),
+            denseDefaults,
+            (long) sparseKeys.size(),
+            sparseTypes,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            denseShapes);
+
+    List<Operand<?>> components = new ArrayList<>();
+    int denseIndex = 0;
+    int sparseIndex = 0;
+    for (Feature feature : features) {
+      switch (feature.kind) {
+        case FIXED_LEN:
+        case FIXED_LEN_SEQUENCE:
+          components.add(parsed.denseValues().get(denseIndex++));
+          break;
+        case VAR_LEN:
+          components.add(parsed.sparseIndices().get(sparseIndex));
+          components.add(parsed.sparseValues().get(sparseIndex));
+          components.add(parsed.sparseShapes().get(sparseIndex));
+          sparseIndex++;
+          break;
+        case SPARSE:
+          components.addAll(
+              sparseFeature(
+                  tf,
+                  feature,
+                  parsed.sparseIndices().get(sparseIndex),
+                  parsed.sparseValues().get(sparseIndex).expect(TInt64.class),
+                  parsed.sparseValues().get(sparseIndex + 1),
+                  parsed.sparseShapes().get(sparseIndex),
+                  batched));
+          sparseIndex += 2;
+          break;
+      }
+    }
+    return components;
+  }
+
+  private enum Kind {
+    FIXED_LEN,
+    FIXED_LEN_SEQUENCE,
+    VAR_LEN,
+    SPARSE
+  }
+
+  private static final class Feature {
+
+    final Kind kind;
+    final String key;
+    final Class<? extends TType> type;
+    final Shape shape;
+    final Object defaultValue;
+    String indexKey;
+    String valueKey;
+
+    Feature(Kind kind, String key, Class<? extends TType> type, Shape shape, Object defaultValue) {
+      this.kind = kind;
+      this.key = key;
+      this.type = type;
+      this.shape = shape;
+      this.defaultValue = defaultValue;
+    }
+
+    boolean isDense() {
+      return kind == Kind.FIXED_LEN || kind == Kind.FIXED_LEN_SEQUENCE;
+    }
+  }
+
+  private final List<Feature> features;
+
+  private FeatureSpec(List<Feature> features) {
+    this.features = features;
+  }
+
+  // An empty default marks a required feature, while sequences are padded with a scalar default
+  private static Operand<?> defaultValue(Ops tf, Feature feature) {
+    if (feature.defaultValue == null) {
+      return tf.fill(tf.constant(new long[] {0}), scalar(tf, feature.type, zero(feature.type)));
+    }
+    Operand<?> value = scalar(tf, feature.type, feature.defaultValue);
+    if (feature.kind == Kind.FIXED_LEN_SEQUENCE) {
+      return value;
+    }
+    return tf.fill(tf.constant(feature.shape.asArray()), value);
+  }
+
+  private static Object zero(Class<? extends TType> type) {
+    return type == TString.class ? "" : 0;
+  }
+
+  private static Operand<?> scalar(Ops tf, Class<? extends TType> type, Object value) {
+    if (type == TString.class) {
+      return tf.constant(value.toString());
+    }
+    if (!(value instanceof Number)) {
+      throw new IllegalArgumentException(
+          "Default value of a numeric feature must be a number, found " + value);
+    }
+    if (type == TInt64.class) {
+      return tf.constant(((Number) value).longValue());
+    }
+    return tf.constant(((Number) value).floatValue());
+  }
+
+  private static Operand<TString> strings(Ops tf, List<String> values) {
+    return tf.constant(
+        Shape.of(values.size()), DataBuffers.ofObjects(values.toArray(new String[0])));
+  }
+
+  // Replaces the position of each value in the parsed feature by the one found in the index
+  // feature, and reorders the values accordingly
+  private static List<Operand<?>> sparseFeature(
+      Ops tf,
+      Feature feature,
+      Operand<TInt64> parsedIndices,
+      Operand<TInt64> positions,
+      Operand<?> values,
+      Operand<TInt64> parsedShape,
+      boolean batched) {
+    Operand<TInt64> size = tf.constant(new long[] {feature.shape.size(0)});
+    Operand<TInt64> indices = tf.reshape(positions, tf.constant(new long[] {-1, 1}));
+    Operand<TInt64> denseShape = size;
+    if (batched) {
+      Operand<TInt64> exampleIndices =
+          tf.slice(parsedIndices, tf.constant(new long[] {0, 0}), tf.constant(new long[] {-1, 1}));
+      indices = tf.concat(Arrays.asList(exampleIndices, indices), tf.constant(1));
+      Operand<TInt64> batchSize =
+          tf.slice(parsedShape, tf.constant(new long[] {0}), tf.constant(new long[] {1}));
+      denseShape = tf.concat(Arrays.asList(batchSize, size), tf.constant(0));
+    }
+    SparseReorder<?> reordered = reorder(tf, indices, values, denseShape);
+    return Arrays.asList(reordered.outputIndices(), reordered.outputValues(), denseShape);
+  }
+
+  private static <T extends TType> SparseReorder<T> reorder(
+      Ops tf, Operand<TInt64> indices, Operand<T> values, Operand<TInt64> denseShape) {
+    return tf.sparse.sparseReorder(indices, values, denseShape);
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.Tensor;
+import org.tensorflow.exceptions.TFOutOfRangeException;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An eager iterator through the elements of a dataset, retrieving them ahead of time in a
+ * background thread.
+ *
+ * <p>The background thread fetches the next elements of the dataset and materializes their
+ * components as tensors, keeping up to a given number of elements ready, so that a training loop
+ * only waits for elements when the pipeline cannot keep up with it. The iterator returns tensors
+ * owned by the caller, copied from the tensors of the eager session, which must be closed once
+ * they are no longer needed to release their memory. Tensors of elements fetched but not returned
+ * are closed with the iterator. For example:
+ *
+ * <pre>{@code
+ * try (PrefetchingIterator iterator = dataset.prefetchingIterator(4)) {
+ *   List<List<Tensor>> batch;
+ *   while (!(batch = iterator.getNextBatch(8)).isEmpty()) {
+ *     for (List<Tensor> element : batch) {
+ *       ... // do something with element
+ *       element.forEach(Tensor::close);
+ *     }
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The iterator is attached to the eager session, which waits for the background thread to stop
+ * before releasing its resources, if the iterator has not been closed before the session.
+ */
+public class PrefetchingIterator implements Iterator<List<Tensor>>, AutoCloseable {
+
+  /**
+   * @param source An eager iterator through the elements of a dataset, used exclusively by this
+   *     iterator
+   * @param bufferSize The maximum number of elements fetched ahead of time
+   */
+  public PrefetchingIterator(DatasetIterator source, int bufferSize) {
+    if (!source.getOpsInstance().scope().env().isEager()) {
+      throw new UnsupportedOperationException(
+          "Cannot prefetch tensors of a dataset in graph mode.");
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive, found " + bufferSize);
+    }
+    this.source = source;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.session = (EagerSession) source.getOpsInstance().scope().env();
+    this.fetcher = new Thread(this::fetchAll, "tf-data-prefetch");
+    // Released by the background thread once it has stopped fetching elements from the session
+    session.attachCloseable(sessionStop);
+    fetcher.setDaemon(true);
+    fetcher.start();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return peek() != END_OF_SEQUENCE;
+  }
+
+  /**
+   * Returns the tensors of the next element, waiting until it is available.
+   *
+   * @return the component tensors of the next element, to be closed by the caller
+   * @throws NoSuchElementException if there are no more elements
+   */
+  @Override
+  public List<Tensor> next() {
+    List<Tensor> element = peek();
+    if (element == END_OF_SEQUENCE) {
+      throw new NoSuchElementException();
+    }
+    nextElement = null;
+    return element;
+  }
+
+  /**
+   * Returns the tensors of the next `n` elements, waiting until they are available.
+   *
+   * <p>Fewer elements are returned only when the dataset has no more elements, so an empty list
+   * signals the end of the dataset. If the dataset fails instead, the elements collected are closed
+   * and the failure is thrown.
+   *
+   * @param n the number of elements to return
+   * @return the component tensors of each element, to be closed by the caller
+   */
+  public List<List<Tensor>> getNextBatch(int n) {
+    List<List<Tensor>> elements = new ArrayList<>(n);
+    while (elements.size() < n && hasNext()) {
+      elements.add(next());
+      // Take all elements already available at once, without waiting for each of them
+      List<List<Tensor>> available = new ArrayList<>();
+      buffer.drainTo(available, n - elements.size());
+      for (List<Tensor> element : available) {
+        if (element == END_OF_SEQUENCE) {
+          nextElement = element;
+          if (failure != null) {
+            elements.forEach(PrefetchingIterator::closeAll);
+            throw failure;
+          }
+          break;
+        }
+        elements.add(element);
+      }
+    }
+    return elements;
+  }
+
+  /**
+   * Stops fetching elements and closes the tensors of all elements fetched but not returned yet.
+   *
+   * <p>Waits at most {@link #CLOSE_TIMEOUT_MS} milliseconds for the background thread to stop. If
+   * it is still fetching an element from the dataset by then, it closes that element itself once
+   * fetched, and closing the eager session waits until it has.
+   */
+  @Override
+  public void close() {
+    stop(CLOSE_TIMEOUT_MS);
+  }
+
+  /** The maximum time to wait for the background thread when closing the iterator */
+  public static final long CLOSE_TIMEOUT_MS = 5000;
+
+  private static final List<Tensor> END_OF_SEQUENCE = Collections.emptyList();
+
+  private final DatasetIterator source;
+  private final BlockingQueue<List<Tensor>> buffer;
+  private final EagerSession session;
+  private final Thread fetcher;
+  private final AutoCloseable sessionStop = () -> stop(0);
+  private volatile boolean closed = false;
+  private volatile RuntimeException failure;
+  private List<Tensor> nextElement;
+
+  private List<Tensor> peek() {
+    if (nextElement == null) {
+      if (closed) {
+        throw new IllegalStateException("Iterator has been closed");
+      }
+      try {
+        nextElement = buffer.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the next element", e);
+      }
+      if (nextElement == END_OF_SEQUENCE && failure != null) {
+        throw failure;
+      }
+    }
+    return nextElement;
+  }
+
+  private synchronized void stop(long timeoutMs) {
+    closed = true;
+    fetcher.interrupt();
+    try {
+      fetcher.join(timeoutMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (nextElement != null) {
+      closeAll(nextElement);
+      nextElement = null;
+    }
+    List<List<Tensor>> pending = new ArrayList<>();
+    buffer.drainTo(pending);
+    pending.forEach(PrefetchingIterator::closeAll);
+  }
+
+  private void fetchAll() {
+    try {
+      fetchElements();
+    } finally {
+      session.detachCloseable(sessionStop);
+    }
+  }
+
+  private void fetchElements() {
+    try {
+      while (!closed) {
+        List<Tensor> element;
+        try {
+          element = fetchNext();
+        } catch (TFOutOfRangeException e) {
+          break;
+        }
+        try {
+          buffer.put(element);
+        } catch (InterruptedException e) {
+          // The iterator is being closed, which closes elements left in the buffer once this
+          // thread has ended or once it has timed out waiting for it, after which this thread can
+          // no longer add elements to the buffer since it remains interrupted
+          closeAll(element);
+          return;
+        }
+      }
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    try {
+      buffer.put(END_OF_SEQUENCE);
+    } catch (InterruptedException e) {
+      // The iterator is being closed
+    }
+  }
+
+  private List<Tensor> fetchNext() {
+    List<Operand<?>> components = source.getNext();
+    List<Tensor> element = new ArrayList<>(components.size());
+    for (Operand<?> component : components) {
+      element.add(copyOf(component.asTensor()));
+    }
+    return element;
+  }
+
+  /**
+   * Copies a tensor of the eager session, whose memory is only released with the session or once
+   * its operation is garbage collected, into a tensor owned by the caller.
+   */
+  private static Tensor copyOf(TType tensor) {
+    if (tensor instanceof TString) {
+      return TString.tensorOfBytes(((TString) tensor).asBytes());
+    }
+    return Tensor.of(tensor.type(), tensor.shape(), tensor.asRawTensor().data());
+  }
+
+  private static void closeAll(List<Tensor> element) {
+    element.forEach(Tensor::close);
+  }
+}
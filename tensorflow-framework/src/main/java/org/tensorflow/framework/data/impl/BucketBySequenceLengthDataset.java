@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A dataset grouping elements of another dataset into buckets by length, and batching elements of
+ * each bucket together, so that elements of similar length are padded to a common shape.
+ *
+ * <p>Elements with a length lower than the first boundary go to the first bucket, elements with a
+ * length lower than the second boundary to the second bucket, and so on, while elements with a
+ * length greater than or equal to the last boundary go to the last bucket. Components of the
+ * elements in a batch are padded with zeros (or empty strings) to the largest shape of the batch.
+ */
+public class BucketBySequenceLengthDataset extends Dataset {
+
+  public BucketBySequenceLengthDataset(
+      Dataset input,
+      BiFunction<Ops, List<Operand<?>>, Operand<TInt64>> elementLength,
+      long[] boundaries,
+      long[] batchSizes) {
+    super(bucketBySequenceLength(input, elementLength, boundaries, batchSizes));
+  }
+
+  private static Dataset bucketBySequenceLength(
+      Dataset input,
+      BiFunction<Ops, List<Operand<?>>, Operand<TInt64>> elementLength,
+      long[] boundaries,
+      long[] batchSizes) {
+    if (batchSizes.length != boundaries.length + 1) {
+      throw new IllegalArgumentException(
+          "There must be one more batch size than boundaries, found "
+              + batchSizes.length
+              + " and "
+              + boundaries.length);
+    }
+    for (Shape shape : input.getOutputShapes()) {
+      if (shape.isUnknown()) {
+        throw new IllegalArgumentException("Cannot pad components of unknown rank");
+      }
+    }
+    return new GroupByWindowDataset(
+        input,
+        (tf, components) -> {
+          // The bucket of an element is the number of boundaries lower or equal to its length
+          Operand<TInt64> length = elementLength.apply(tf, components);
+          return tf.reduceSum(
+              tf.dtypes.cast(tf.math.lessEqual(tf.constant(boundaries), length), TInt64.class),
+              tf.constant(0));
+        },
+        (key, window) -> {
+          Ops tf = window.getOpsInstance();
+          return new PaddedBatchDataset(
+              tf,
+              window.getVariant(),
+              batchSize(tf, batchSizes, key),
+              window.getOutputShapes(),
+              paddingValues(tf, window.getOutputTypes()),
+              tf.constant(false),
+              window.getOutputTypes());
+        },
+        (tf, key) -> batchSize(tf, batchSizes, key));
+  }
+
+  private static Operand<TInt64> batchSize(Ops tf, long[] batchSizes, Operand<TInt64> key) {
+    return tf.gather(tf.constant(batchSizes), key, tf.constant(0));
+  }
+
+  private static List<Operand<?>> paddingValues(Ops tf, List<Class<? extends TType>> types) {
+    List<Operand<?>> values = new ArrayList<>(types.size());
+    for (Class<? extends TType> type : types) {
+      if (type == TString.class) {
+        values.add(tf.constant(""));
+      } else {
+        values.add(tf.dtypes.cast(tf.constant(0), type));
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.ConcreteFunction;
+import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
+import org.tensorflow.Signature;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.op.core.Placeholder;
+import org.tensorflow.proto.framework.DataType;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A function applied natively by a dataset operation to each of its elements.
+ *
+ * <p>The function is traced once in its own graph, from placeholders matching the components of the
+ * elements it receives, and converted to a native function so that it can be passed as an attribute
+ * to operations like {@code ParallelMapDatasetV2}. The function must be closed once the operations
+ * using it have been built.
+ */
+public final class DatasetFunction implements AutoCloseable {
+
+  /**
+   * Traces a new dataset function.
+   *
+   * @param name name of the function
+   * @param inputTypes type of each input component
+   * @param inputShapes shape of each input component
+   * @param body builds the function from an {@code Ops} instance of the function graph and its
+   *     input components, returning its output components
+   * @return the traced function
+   */
+  public static DatasetFunction trace(
+      String name,
+      List<Class<? extends TType>> inputTypes,
+      List<Shape> inputShapes,
+      BiFunction<Ops, List<Operand<?>>, List<Operand<?>>> body) {
+    List<Class<? extends TType>> outputTypes = new ArrayList<>();
+    List<Shape> outputShapes = new ArrayList<>();
+    ConcreteFunction function =
+        createFunction(
+            name,
+            inputTypes,
+            inputShapes,
+            (tf, inputs) -> {
+              List<Operand<?>> outputs = body.apply(tf, inputs);
+              for (Operand<?> output : outputs) {
+                outputTypes.add(output.type());
+                outputShapes.add(output.shape());
+              }
+              return outputs;
+            });
+    return new DatasetFunction(function, outputTypes, outputShapes);
+  }
+
+  /**
+   * Traces a new dataset function returning a dataset for each element it receives, like the ones
+   * expected by interleaving operations.
+   *
+   * <p>The output types and shapes of the traced function are those of the elements of the
+   * returned dataset.
+   *
+   * @param name name of the function
+   * @param inputTypes type of each input component
+   * @param inputShapes shape of each input component
+   * @param body builds the function from an {@code Ops} instance of the function graph and its
+   *     input components, returning a dataset
+   * @return the traced function
+   */
+  public static DatasetFunction traceDataset(
+      String name,
+      List<Class<? extends TType>> inputTypes,
+      List<Shape> inputShapes,
+      BiFunction<Ops, List<Operand<?>>, Dataset> body) {
+    List<Class<? extends TType>> outputTypes = new ArrayList<>();
+    List<Shape> outputShapes = new ArrayList<>();
+    ConcreteFunction function =
+        createFunction(
+            name,
+            inputTypes,
+            inputShapes,
+            (tf, inputs) -> {
+              Dataset dataset = body.apply(tf, inputs);
+              outputTypes.addAll(dataset.getOutputTypes());
+              outputShapes.addAll(dataset.getOutputShapes());
+              return Collections.singletonList(dataset.getVariant());
+            });
+    return new DatasetFunction(function, outputTypes, outputShapes);
+  }
+
+  /**
+   * Traces a new dataset function reducing a window of elements sharing the same key to a new
+   * dataset, like the ones expected by grouping operations.
+   *
+   * <p>The function receives the key of the window, as a scalar of type {@code TInt64}, and the
+   * window, as a dataset whose elements have the given types and shapes. Operations of the function
+   * are built with the {@code Ops} instance of the window. The output types and shapes of the
+   * traced function are those of the elements of the returned dataset.
+   *
+   * @param name name of the function
+   * @param elementTypes type of each component of the window elements
+   * @param elementShapes shape of each component of the window elements
+   * @param body builds the function from the key of the window and the window, returning a
+   *     dataset
+   * @return the traced function
+   */
+  public static DatasetFunction traceWindowReducer(
+      String name,
+      List<Class<? extends TType>> elementTypes,
+      List<Shape> elementShapes,
+      BiFunction<Operand<TInt64>, Dataset, Dataset> body) {
+    List<Class<? extends TType>> outputTypes = new ArrayList<>();
+    List<Shape> outputShapes = new ArrayList<>();
+    ConcreteFunction function =
+        ConcreteFunction.create(
+            tf -> {
+              Operand<TInt64> key = tf.placeholder(TInt64.class, Placeholder.shape(Shape.scalar()));
+              Operand<?> windowVariant = variantPlaceholder(tf);
+              Dataset window = new Dataset(tf, windowVariant, elementTypes, elementShapes) {};
+              Dataset dataset = body.apply(key, window);
+              outputTypes.addAll(dataset.getOutputTypes());
+              outputShapes.addAll(dataset.getOutputShapes());
+              return Signature.builder()
+                  .key(name)
+                  .input("key", key)
+                  .input("window", windowVariant)
+                  .output("output_0", dataset.getVariant())
+                  .build();
+            });
+    return new DatasetFunction(function, outputTypes, outputShapes);
+  }
+
+  /** Get the native function to pass as an operation attribute. */
+  public ConcreteFunction getFunction() {
+    return function;
+  }
+
+  /** Get a list of output types for each component returned by this function. */
+  public List<Class<? extends TType>> getOutputTypes() {
+    return outputTypes;
+  }
+
+  /** Get a list of shapes for each component returned by this function. */
+  public List<Shape> getOutputShapes() {
+    return outputShapes;
+  }
+
+  @Override
+  public void close() {
+    function.close();
+  }
+
+  private final ConcreteFunction function;
+  private final List<Class<? extends TType>> outputTypes;
+  private final List<Shape> outputShapes;
+
+  private DatasetFunction(
+      ConcreteFunction function, List<Class<? extends TType>> outputTypes, List<Shape> outputShapes) {
+    this.function = function;
+    this.outputTypes = Collections.unmodifiableList(outputTypes);
+    this.outputShapes = Collections.unmodifiableList(outputShapes);
+  }
+
+  private static ConcreteFunction createFunction(
+      String name,
+      List<Class<? extends TType>> inputTypes,
+      List<Shape> inputShapes,
+      BiFunction<Ops, List<Operand<?>>, List<Operand<?>>> body) {
+    return ConcreteFunction.create(
+        tf -> {
+          Signature.Builder signature = Signature.builder().key(name);
+          List<Operand<?>> inputs = new ArrayList<>(inputTypes.size());
+          for (int i = 0; i < inputTypes.size(); ++i) {
+            Operand<?> input = placeholder(tf, inputTypes.get(i), inputShapes.get(i));
+            signature.input("input_" + i, input);
+            inputs.add(input);
+          }
+          List<Operand<?>> outputs = body.apply(tf, inputs);
+          for (int i = 0; i < outputs.size(); ++i) {
+            signature.output("output_" + i, outputs.get(i));
+          }
+          return signature.build();
+        });
+  }
+
+  // There is no tensor type for variants, so their placeholder is built from its data type
+  private static Operand<?> variantPlaceholder(Ops tf) {
+    Scope scope = tf.scope();
+    OperationBuilder opBuilder = scope.env().opBuilder("Placeholder", scope.makeOpName("window"));
+    opBuilder = scope.apply(opBuilder);
+    opBuilder.setAttr("dtype", DataType.DT_VARIANT);
+    opBuilder.setAttr("shape", Shape.scalar());
+    return opBuilder.build().output(0);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Operand<?> placeholder(Ops tf, Class<? extends TType> type, Shape shape) {
+    return tf.placeholder((Class) type, Placeholder.shape(shape));
+  }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
+import org.tensorflow.Output;
+import org.tensorflow.Tensor;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.ByteDataBuffer;
+import org.tensorflow.op.Operands;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.op.io.FifoQueue;
+import org.tensorflow.op.io.QueueClose;
+import org.tensorflow.proto.framework.DataType;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A dataset whose elements are produced by a Java generator.
+ *
+ * <p>Elements are transferred to the native runtime through a bounded {@code FIFOQueueV2}, filled
+ * by a background thread and drained by a {@code MapDataset} dequeuing one element at a time. The
+ * producer copies the tensors returned by the generator into staging tensors, reused for every
+ * chunk, and enqueues them by chunks, so that only one native call is required for many elements;
+ * each chunk is copied once more into the queue. The enqueue blocks while the queue is full, so the
+ * generator never runs further ahead of the pipeline than the capacity of the queue.
+ *
+ * <p>The producer is started, and the generator invoked, once, when an iterator is first
+ * initialized on the dataset or on a dataset derived from it. The queue is closed when the
+ * generator has no more elements, ending the dataset, which can therefore be iterated only once,
+ * unless its elements are cached.
+ *
+ * <p>The producer is attached to the eager session, which stops it before releasing its resources:
+ * closing the session cancels the enqueue the producer may be blocked in, waits until it no longer
+ * executes any operation, and drops the elements not enqueued yet. Until then, a producer whose
+ * dataset is no longer iterated stays blocked on its full queue.
+ *
+ * <p>Each element is queued with a status, empty unless the generator failed. If it fails, an
+ * element holding the error is queued after the elements generated before, and dequeuing it fails
+ * the pipeline with that error instead of ending the dataset.
+ */
+public class GeneratorDataset extends Dataset {
+
+  public GeneratorDataset(
+      Ops tf,
+      Supplier<Iterator<Tensor[]>> generator,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      int chunkSize) {
+    this(tf, generator, outputTypes, outputShapes, bufferSize, chunkSize, nextSharedName());
+  }
+
+  private GeneratorDataset(
+      Ops tf,
+      Supplier<Iterator<Tensor[]>> generator,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      int chunkSize,
+      String sharedName) {
+    super(
+        tf,
+        dequeueAll(tf, outputTypes, outputShapes, bufferSize, chunkSize, sharedName),
+        outputTypes,
+        outputShapes);
+    Operand<?> queue = queue(tf, outputTypes, outputShapes, bufferSize, sharedName);
+    Producer producer =
+        new Producer(tf, sharedName, queue, generator, outputTypes, outputShapes, chunkSize);
+    addProducer(producer::start);
+  }
+
+  private static final AtomicLong sharedNameCount = new AtomicLong();
+
+  private static String nextSharedName() {
+    return "generator_" + sharedNameCount.getAndIncrement();
+  }
+
+  private static Operand<?> queue(
+      Ops tf,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      String sharedName) {
+    return tf.io.fifoQueue(
+        queueTypes(outputTypes),
+        FifoQueue.shapes(queueShapes(outputShapes)),
+        FifoQueue.capacity(bufferSize),
+        FifoQueue.sharedName(sharedName));
+  }
+
+  /** The types of the queue components, the components of the dataset followed by the status. */
+  private static List<Class<? extends TType>> queueTypes(List<Class<? extends TType>> outputTypes) {
+    List<Class<? extends TType>> types = new ArrayList<>(outputTypes);
+    types.add(TString.class);
+    return types;
+  }
+
+  private static List<Shape> queueShapes(List<Shape> outputShapes) {
+    List<Shape> shapes = new ArrayList<>(outputShapes);
+    shapes.add(Shape.scalar());
+    return shapes;
+  }
+
+  /** Dequeues the next element, failing with its status if it is not empty. */
+  @SuppressWarnings("unchecked")
+  private static List<Operand<?>> dequeue(
+      Ops tf,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      String sharedName) {
+    List<Operand<?>> components =
+        new ArrayList<>(
+            tf.io
+                .queueDequeue(
+                    queue(tf, outputTypes, outputShapes, bufferSize, sharedName),
+                    queueTypes(outputTypes))
+                .components());
+    Operand<TString> status = (Operand<TString>) components.remove(components.size() - 1);
+    Ops checked =
+        tf.withControlDependencies(
+            Collections.singletonList(
+                tf.assertThat(
+                    tf.math.equal(status, tf.constant("")),
+                    Collections.singletonList(status))));
+    List<Operand<?>> outputs = new ArrayList<>();
+    for (Operand<?> component : components) {
+      outputs.add(checked.identity(component));
+    }
+    return outputs;
+  }
+
+  private static Operand<?> dequeueAll(
+      Ops tf,
+      List<Class<? extends TType>> outputTypes,
+      List<Shape> outputShapes,
+      long bufferSize,
+      int chunkSize,
+      String sharedName) {
+    if (!tf.scope().env().isEager()) {
+      throw new UnsupportedOperationException(
+          "Datasets from generators can only be created in eager mode.");
+    }
+    if (outputTypes.size() != outputShapes.size()) {
+      throw new IllegalArgumentException(
+          "Lists `outputTypes` and `outputShapes` must have the same number of elements.");
+    }
+    for (int i = 0; i < outputTypes.size(); ++i) {
+      if (outputTypes.get(i) == TString.class) {
+        throw new IllegalArgumentException(
+            "Generated components must have a fixed size, found a string at index " + i);
+      }
+      if (outputShapes.get(i).hasUnknownDimension()) {
+        throw new IllegalArgumentException(
+            "Generated components must have a known shape, found "
+                + outputShapes.get(i)
+                + " at index "
+                + i);
+      }
+    }
+    if (chunkSize <= 0 || bufferSize < chunkSize) {
+      throw new IllegalArgumentException(
+          "Chunk size must be positive and not larger than the buffer size, found "
+              + chunkSize
+              + " and "
+              + bufferSize);
+    }
+    // The queue is looked up by its shared name from the function dequeuing each element, so it
+    // does not need to be passed to the dataset as a resource.
+    DatasetFunction dequeue =
+        DatasetFunction.trace(
+            "dequeue",
+            Collections.singletonList(TInt64.class),
+            Collections.singletonList(Shape.scalar()),
+            (ftf, inputs) -> dequeue(ftf, outputTypes, outputShapes, bufferSize, sharedName));
+    try {
+      Operand<?> indices =
+          tf.data.rangeDataset(
+              tf.constant(0L),
+              tf.constant(Long.MAX_VALUE),
+              tf.constant(1L),
+              Collections.singletonList(TInt64.class),
+              Collections.singletonList(Shape.scalar()));
+      Scope scope = tf.scope();
+      OperationBuilder opBuilder =
+          scope.env().opBuilder("MapDataset", scope.makeOpName("GeneratorDataset"));
+      opBuilder.addInput(indices.asOutput());
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder = scope.apply(opBuilder);
+      opBuilder.setAttr("f", dequeue.getFunction());
+      opBuilder.setAttr("Targuments", new DataType[0]);
+      opBuilder.setAttr("output_types", Operands.toDataTypes(outputTypes));
+      opBuilder.setAttr("output_shapes", outputShapes.toArray(new Shape[0]));
+      // Dequeuing from a closed and empty queue fails with an out-of-range error, which must end
+      // the sequence instead of being reported as an error
+      opBuilder.setAttr("preserve_cardinality", false);
+      return opBuilder.build().output(0);
+    } finally {
+      dequeue.close();
+    }
+  }
+
+  /** Copies generated elements into staging tensors and enqueues them by chunks. */
+  private static class Producer implements Runnable, AutoCloseable {
+
+    /** Starts the producer thread, unless it has already been started or stopped. */
+    synchronized void start() {
+      if (thread != null || stopped) {
+        return;
+      }
+      session.attachCloseable(this);
+      thread = new Thread(this, "tf-data-" + name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    /**
+     * Stops the producer, cancelling the enqueue it may be blocked in, and waits until it no longer
+     * executes any operation in the session.
+     */
+    @Override
+    public void close() {
+      stopped = true;
+      // Wakes up a pending enqueue and fails the following ones
+      tf.io.queueClose(queue, QueueClose.cancelPendingEnqueues(true));
+      synchronized (this) {
+        // The producer has now left the operation it was executing, and checks that it has not
+        // been stopped before executing another one
+      }
+    }
+
+    @Override
+    public void run() {
+      List<TType> staging = new ArrayList<>();
+      try {
+        for (int i = 0; i < outputTypes.size(); ++i) {
+          staging.add(Tensor.of(outputTypes.get(i), outputShapes.get(i).prepend(chunkSize)));
+        }
+        Iterator<Tensor[]> elements = null;
+        RuntimeException failure = null;
+        int count = 0;
+        while (true) {
+          try {
+            if (elements == null) {
+              elements = generator.get();
+            }
+            if (!elements.hasNext()) {
+              break;
+            }
+            stage(elements.next(), staging, count);
+          } catch (RuntimeException e) {
+            // Only the generator and the staging of its elements can fail here
+            failure = e;
+            break;
+          }
+          if (++count == chunkSize) {
+            enqueue(staging, count, "");
+            count = 0;
+          }
+        }
+        if (count > 0) {
+          enqueue(staging, count, "");
+        }
+        if (failure != null) {
+          fail(staging, failure);
+        }
+      } catch (RuntimeException e) {
+        // Failures of an operation cancelled by stopping the producer are expected
+        if (!stopped) {
+          fail(staging, e);
+        }
+      } finally {
+        staging.forEach(TType::close);
+        closeQueue();
+        session.detachCloseable(this);
+      }
+    }
+
+    private final Ops tf;
+    private final EagerSession session;
+    private final String name;
+    private final Operand<?> queue;
+    private final Supplier<Iterator<Tensor[]>> generator;
+    private final List<Class<? extends TType>> outputTypes;
+    private final List<Shape> outputShapes;
+    private final int chunkSize;
+    private Thread thread;
+    private volatile boolean stopped;
+
+    private Producer(
+        Ops tf,
+        String name,
+        Operand<?> queue,
+        Supplier<Iterator<Tensor[]>> generator,
+        List<Class<? extends TType>> outputTypes,
+        List<Shape> outputShapes,
+        int chunkSize) {
+      this.tf = tf;
+      this.session = (EagerSession) tf.scope().env();
+      this.name = name;
+      this.queue = queue;
+      this.generator = generator;
+      this.outputTypes = outputTypes;
+      this.outputShapes = outputShapes;
+      this.chunkSize = chunkSize;
+    }
+
+    private void stage(Tensor[] element, List<TType> staging, int index) {
+      try {
+        copy(element, staging, index);
+      } finally {
+        for (Tensor component : element) {
+          component.close();
+        }
+      }
+    }
+
+    private void copy(Tensor[] element, List<TType> staging, int index) {
+      if (element.length != staging.size()) {
+        throw new IllegalArgumentException(
+            "Generated elements must have "
+                + staging.size()
+                + " components, found "
+                + element.length);
+      }
+      for (int i = 0; i < element.length; ++i) {
+        if (element[i].dataType() != staging.get(i).dataType()
+            || !element[i].shape().equals(outputShapes.get(i))) {
+          throw new IllegalArgumentException(
+              "Generated component at index "
+                  + i
+                  + " does not match type "
+                  + outputTypes.get(i).getSimpleName()
+                  + " and shape "
+                  + outputShapes.get(i));
+        }
+        ByteDataBuffer source = element[i].asRawTensor().data();
+        source.copyTo(
+            staging.get(i).asRawTensor().data().offset(index * source.size()), source.size());
+      }
+    }
+
+    /** Enqueues an element failing the pipeline with the given error. */
+    private void fail(List<TType> staging, RuntimeException error) {
+      enqueue(staging, 1, "Generator of dataset " + name + " failed: " + error);
+    }
+
+    private synchronized void enqueue(List<TType> staging, int count, String status) {
+      if (stopped) {
+        throw new IllegalStateException("Producer of dataset " + name + " has been stopped");
+      }
+      List<Operand<?>> components = new ArrayList<>();
+      for (int i = 0; i < staging.size(); ++i) {
+        TType chunk = staging.get(i);
+        if (count == chunkSize) {
+          components.add(tf.constantOf(chunk));
+        } else {
+          ByteDataBuffer data = chunk.asRawTensor().data();
+          components.add(
+              tf.constant(
+                  outputTypes.get(i),
+                  outputShapes.get(i).prepend(count),
+                  data.narrow(count * (data.size() / chunkSize))));
+        }
+      }
+      components.add(tf.fill(tf.constant(new long[] {count}), tf.constant(status)));
+      // Blocks while the queue is full, until enough elements are dequeued or the producer stopped
+      tf.io.queueEnqueueMany(queue, components);
+    }
+
+    private synchronized void closeQueue() {
+      if (!stopped) {
+        tf.io.queueClose(queue, QueueClose.cancelPendingEnqueues(false));
+      }
+    }
+  }
+}
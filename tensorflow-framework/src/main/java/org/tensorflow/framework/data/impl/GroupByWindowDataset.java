@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
+import org.tensorflow.Output;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Operands;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.proto.framework.DataType;
+import org.tensorflow.types.TInt64;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A dataset grouping elements of another dataset by key into windows, and reducing each window to
+ * a new dataset, using the {@code GroupByWindowDataset} operation.
+ *
+ * <p>A window is reduced once it holds as many elements as the window size of its key, or when the
+ * input dataset has no more elements.
+ */
+public class GroupByWindowDataset extends Dataset {
+
+  public GroupByWindowDataset(
+      Dataset input,
+      BiFunction<Ops, List<Operand<?>>, Operand<TInt64>> keyFunction,
+      BiFunction<Operand<TInt64>, Dataset, Dataset> reducer,
+      BiFunction<Ops, Operand<TInt64>, Operand<TInt64>> windowSizeFunction) {
+    this(
+        input,
+        DatasetFunction.trace(
+            "key",
+            input.getOutputTypes(),
+            input.getOutputShapes(),
+            (tf, components) ->
+                Collections.singletonList(keyFunction.apply(tf, components))),
+        DatasetFunction.traceWindowReducer(
+            "reduce", input.getOutputTypes(), input.getOutputShapes(), reducer),
+        DatasetFunction.trace(
+            "window_size",
+            Collections.singletonList(TInt64.class),
+            Collections.singletonList(Shape.scalar()),
+            (tf, key) ->
+                Collections.singletonList(
+                    windowSizeFunction.apply(tf, key.get(0).asOutput().expect(TInt64.class)))));
+  }
+
+  private GroupByWindowDataset(
+      Dataset input,
+      DatasetFunction keyFunction,
+      DatasetFunction reduceFunction,
+      DatasetFunction windowSizeFunction) {
+    super(
+        input.getOpsInstance(),
+        groupByWindow(input, keyFunction, reduceFunction, windowSizeFunction),
+        reduceFunction.getOutputTypes(),
+        reduceFunction.getOutputShapes());
+  }
+
+  private static Operand<?> groupByWindow(
+      Dataset input,
+      DatasetFunction keyFunction,
+      DatasetFunction reduceFunction,
+      DatasetFunction windowSizeFunction) {
+    try {
+      Scope scope = input.getOpsInstance().scope();
+      OperationBuilder opBuilder =
+          scope.env().opBuilder("GroupByWindowDataset", scope.makeOpName("GroupByWindowDataset"));
+      opBuilder.addInput(input.getVariant().asOutput());
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder = scope.apply(opBuilder);
+      opBuilder.setAttr("key_func", keyFunction.getFunction());
+      opBuilder.setAttr("reduce_func", reduceFunction.getFunction());
+      opBuilder.setAttr("window_size_func", windowSizeFunction.getFunction());
+      opBuilder.setAttr("Tkey_func_other_arguments", new DataType[0]);
+      opBuilder.setAttr("Treduce_func_other_arguments", new DataType[0]);
+      opBuilder.setAttr("Twindow_size_func_other_arguments", new DataType[0]);
+      opBuilder.setAttr("output_types", Operands.toDataTypes(reduceFunction.getOutputTypes()));
+      opBuilder.setAttr("output_shapes", reduceFunction.getOutputShapes().toArray(new Shape[0]));
+      return opBuilder.build().output(0);
+    } finally {
+      keyFunction.close();
+      reduceFunction.close();
+      windowSizeFunction.close();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
+import org.tensorflow.Output;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Operands;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.proto.framework.DataType;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A dataset mapping each element of another dataset to a new dataset with a traced function, and
+ * interleaving elements of these datasets, using the {@code ParallelInterleaveDatasetV4}
+ * operation.
+ */
+public class InterleaveDataset extends Dataset {
+
+  public InterleaveDataset(
+      Dataset input,
+      BiFunction<Ops, List<Operand<?>>, Dataset> mapper,
+      long cycleLength,
+      long blockLength,
+      long numParallelCalls) {
+    this(
+        input,
+        DatasetFunction.traceDataset(
+            "interleave", input.getOutputTypes(), input.getOutputShapes(), mapper),
+        cycleLength,
+        blockLength,
+        numParallelCalls);
+  }
+
+  private InterleaveDataset(
+      Dataset input,
+      DatasetFunction mapper,
+      long cycleLength,
+      long blockLength,
+      long numParallelCalls) {
+    super(
+        input.getOpsInstance(),
+        parallelInterleave(input, mapper, cycleLength, blockLength, numParallelCalls),
+        mapper.getOutputTypes(),
+        mapper.getOutputShapes());
+  }
+
+  private static Operand<?> parallelInterleave(
+      Dataset input,
+      DatasetFunction mapper,
+      long cycleLength,
+      long blockLength,
+      long numParallelCalls) {
+    try {
+      Ops tf = input.getOpsInstance();
+      Scope scope = tf.scope();
+      OperationBuilder opBuilder =
+          scope
+              .env()
+              .opBuilder("ParallelInterleaveDatasetV4", scope.makeOpName("InterleaveDataset"));
+      opBuilder.addInput(input.getVariant().asOutput());
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder.addInput(tf.constant(cycleLength).asOutput());
+      opBuilder.addInput(tf.constant(blockLength).asOutput());
+      opBuilder.addInput(tf.constant(Dataset.AUTOTUNE).asOutput()); // buffer_output_elements
+      opBuilder.addInput(tf.constant(Dataset.AUTOTUNE).asOutput()); // prefetch_input_elements
+      opBuilder.addInput(tf.constant(numParallelCalls).asOutput());
+      opBuilder = scope.apply(opBuilder);
+      opBuilder.setAttr("f", mapper.getFunction());
+      opBuilder.setAttr("Targuments", new DataType[0]);
+      opBuilder.setAttr("output_types", Operands.toDataTypes(mapper.getOutputTypes()));
+      opBuilder.setAttr("output_shapes", mapper.getOutputShapes().toArray(new Shape[0]));
+      return opBuilder.build().output(0);
+    } finally {
+      mapper.close();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.framework.data.DatasetOptions;
+import org.tensorflow.framework.data.DatasetOptions.Optimization;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.buffer.DataBuffers;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.data.MaxIntraOpParallelismDataset;
+import org.tensorflow.op.data.ModelDataset;
+import org.tensorflow.op.data.OptimizeDatasetV2;
+import org.tensorflow.op.data.PrivateThreadPoolDataset;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.family.TType;
+
+import java.util.List;
+
+/**
+ * A dataset applying {@link DatasetOptions} to an input pipeline, by wrapping it with threading,
+ * static optimization and autotuning operations, in that order.
+ */
+public class OptionsDataset extends Dataset {
+
+  public OptionsDataset(Dataset input, DatasetOptions options) {
+    super(
+        input.getOpsInstance(),
+        applyOptions(input, options),
+        input.getOutputTypes(),
+        input.getOutputShapes());
+  }
+
+  private static Operand<?> applyOptions(Dataset input, DatasetOptions options) {
+    Ops tf = input.getOpsInstance();
+    List<Class<? extends TType>> outputTypes = input.getOutputTypes();
+    List<Shape> outputShapes = input.getOutputShapes();
+    Operand<?> variant = input.getVariant();
+
+    if (options.getPrivateThreadPoolSize() != null) {
+      variant =
+          PrivateThreadPoolDataset.create(
+              tf.scope(),
+              variant,
+              tf.constant((long) options.getPrivateThreadPoolSize()),
+              outputTypes,
+              outputShapes);
+    }
+    if (options.getMaxIntraOpParallelism() != null) {
+      variant =
+          MaxIntraOpParallelismDataset.create(
+              tf.scope(),
+              variant,
+              tf.constant((long) options.getMaxIntraOpParallelism()),
+              outputTypes,
+              outputShapes);
+    }
+    if (!options.getEnabledOptimizations().isEmpty()
+        || !options.getDefaultOptimizations().isEmpty()) {
+      variant =
+          OptimizeDatasetV2.create(
+              tf.scope(),
+              variant,
+              rewriteNames(tf, options.getEnabledOptimizations()),
+              rewriteNames(tf, options.getDisabledOptimizations()),
+              rewriteNames(tf, options.getDefaultOptimizations()),
+              outputTypes,
+              outputShapes);
+    }
+    if (options.isAutotune()) {
+      variant =
+          ModelDataset.create(
+              tf.scope(),
+              variant,
+              outputTypes,
+              outputShapes,
+              ModelDataset.cpuBudget(options.getAutotuneCpuBudget())
+                  .ramBudget(options.getAutotuneRamBudget()));
+    }
+    return variant;
+  }
+
+  private static Operand<TString> rewriteNames(Ops tf, List<Optimization> optimizations) {
+    String[] names = new String[optimizations.size()];
+    for (int i = 0; i < names.length; ++i) {
+      names[i] = optimizations.get(i).rewriteName();
+    }
+    return tf.constant(Shape.of(names.length), DataBuffers.ofObjects(names));
+  }
+}
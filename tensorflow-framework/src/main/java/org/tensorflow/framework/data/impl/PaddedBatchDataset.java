@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TBool;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A dataset grouping elements of another dataset into batches, padding each component of the
+ * elements to a common shape, using the {@code PaddedBatchDatasetV2} operation.
+ */
+public class PaddedBatchDataset extends Dataset {
+
+  public PaddedBatchDataset(
+      Ops tf,
+      Operand<?> variant,
+      Operand<TInt64> batchSize,
+      List<Shape> paddedShapes,
+      List<Operand<?>> paddingValues,
+      Operand<TBool> dropRemainder,
+      List<Class<? extends TType>> outputTypes) {
+    super(
+        tf,
+        org.tensorflow.op.data.PaddedBatchDataset.create(
+            tf.scope(),
+            variant,
+            batchSize,
+            paddedShapeTensors(tf, paddedShapes),
+            paddingValues,
+            dropRemainder,
+            batchOutputShapes(paddedShapes)),
+        outputTypes,
+        batchOutputShapes(paddedShapes));
+  }
+
+  private static List<Operand<TInt64>> paddedShapeTensors(Ops tf, List<Shape> paddedShapes) {
+    List<Operand<TInt64>> tensors = new ArrayList<>(paddedShapes.size());
+    for (Shape paddedShape : paddedShapes) {
+      tensors.add(tf.constant(paddedShape.asArray()));
+    }
+    return tensors;
+  }
+
+  private static List<Shape> batchOutputShapes(List<Shape> paddedShapes) {
+    List<Shape> shapes = new ArrayList<>(paddedShapes.size());
+    paddedShapes.forEach(s -> shapes.add(s.prepend(-1)));
+    return shapes;
+  }
+}
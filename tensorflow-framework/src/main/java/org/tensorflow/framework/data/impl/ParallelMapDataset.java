@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.OperationBuilder;
+import org.tensorflow.Output;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Operands;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.Scope;
+import org.tensorflow.proto.framework.DataType;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A dataset applying a traced function to each element of another dataset, natively and in
+ * parallel, using the {@code ParallelMapDatasetV2} operation.
+ */
+public class ParallelMapDataset extends Dataset {
+
+  public ParallelMapDataset(
+      Dataset input,
+      BiFunction<Ops, List<Operand<?>>, List<Operand<?>>> mapper,
+      long numParallelCalls,
+      boolean deterministic) {
+    this(
+        input,
+        DatasetFunction.trace("map", input.getOutputTypes(), input.getOutputShapes(), mapper),
+        numParallelCalls,
+        deterministic);
+  }
+
+  private ParallelMapDataset(
+      Dataset input, DatasetFunction mapper, long numParallelCalls, boolean deterministic) {
+    super(
+        input.getOpsInstance(),
+        parallelMap(input, mapper, numParallelCalls, deterministic),
+        mapper.getOutputTypes(),
+        mapper.getOutputShapes());
+  }
+
+  private static Operand<?> parallelMap(
+      Dataset input, DatasetFunction mapper, long numParallelCalls, boolean deterministic) {
+    try {
+      Ops tf = input.getOpsInstance();
+      Scope scope = tf.scope();
+      OperationBuilder opBuilder =
+          scope.env().opBuilder("ParallelMapDatasetV2", scope.makeOpName("ParallelMapDataset"));
+      opBuilder.addInput(input.getVariant().asOutput());
+      opBuilder.addInputList(new Output<?>[0]);
+      opBuilder.addInput(tf.constant(numParallelCalls).asOutput());
+      opBuilder = scope.apply(opBuilder);
+      opBuilder.setAttr("f", mapper.getFunction());
+      opBuilder.setAttr("Targuments", new DataType[0]);
+      opBuilder.setAttr("output_types", Operands.toDataTypes(mapper.getOutputTypes()));
+      opBuilder.setAttr("output_shapes", mapper.getOutputShapes().toArray(new Shape[0]));
+      opBuilder.setAttr("deterministic", deterministic ? "true" : "false");
+      opBuilder.setAttr("preserve_cardinality", true);
+      return opBuilder.build().output(0);
+    } finally {
+      mapper.close();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.metrics.impl.ConfusionMatrixMetric;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TNumber;
+
+import static org.tensorflow.framework.utils.CastHelper.cast;
+
+/**
+ * A metric that approximates the area under the ROC or precision-recall curve of the predictions
+ * with respect to the labels.
+ *
+ * <p>The curve is computed at <code>numThresholds</code> thresholds evenly spaced over <code>[0, 1]
+ * </code>, and its area is computed with the trapezoidal rule. The metric keeps fixed-size
+ * histograms of the labels bucketed by thresholds, so that its memory does not grow with the
+ * number of predictions. Predictions are expected to be probabilities, in <code>[0, 1]</code>.
+ *
+ * @param <T> The data type for the metric result
+ */
+public class AUC<T extends TNumber> extends ConfusionMatrixMetric<T> {
+  public static final int NUM_THRESHOLDS_DEFAULT = 200;
+  public static final float EPSILON = 1e-7f;
+
+  private final AUCCurve curve;
+
+  /**
+   * Creates an AUC metric for the {@link AUCCurve#ROC} curve with {@link #NUM_THRESHOLDS_DEFAULT}
+   * thresholds
+   *
+   * @param tf the TensorFlow Ops
+   * @param name the name of this metric, if null then metric name is {@link Class#getSimpleName()}.
+   * @param seed the seed for random number generation. An initializer created with a given seed
+   *     will always produce the same random tensor for a given shape and data type.
+   * @param type the type for the variables and result
+   */
+  public AUC(Ops tf, String name, long seed, Class<T> type) {
+    this(tf, name, NUM_THRESHOLDS_DEFAULT, AUCCurve.ROC, seed, type);
+  }
+
+  /**
+   * Creates an AUC metric
+   *
+   * @param tf the TensorFlow Ops
+   * @param name the name of this metric, if null then metric name is {@link Class#getSimpleName()}.
+   * @param numThresholds the number of thresholds to use to compute the curve, that must be
+   *     greater than 1. A higher number gives a closer approximation of the area.
+   * @param curve the curve to compute the area under
+   * @param seed the seed for random number generation. An initializer created with a given seed
+   *     will always produce the same random tensor for a given shape and data type.
+   * @param type the type for the variables and result
+   * @throws IllegalArgumentException if numThresholds is less than 2
+   */
+  public AUC(Ops tf, String name, int numThresholds, AUCCurve curve, long seed, Class<T> type) {
+    super(tf, name, thresholds(numThresholds), seed, type);
+    this.curve = curve;
+  }
+
+  /**
+   * Gets thresholds evenly spaced over <code>[0, 1]</code>, the first and last thresholds being
+   * slightly moved to include the predictions of 0 and exclude the predictions of 1.
+   *
+   * @param numThresholds the number of thresholds
+   * @return the thresholds
+   * @throws IllegalArgumentException if numThresholds is less than 2
+   */
+  private static float[] thresholds(int numThresholds) {
+    if (numThresholds < 2) {
+      throw new IllegalArgumentException(
+          "numThresholds must be greater than 1, got " + numThresholds);
+    }
+    float[] thresholds = new float[numThresholds];
+    for (int i = 1; i < numThresholds - 1; i++) {
+      thresholds[i] = (float) i / (numThresholds - 1);
+    }
+    thresholds[0] = -EPSILON;
+    thresholds[numThresholds - 1] = 1 + EPSILON;
+    return thresholds;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operand<T> result() {
+    Ops tf = getTF();
+    Operand<T> truePositives = truePositives();
+    Operand<T> recall =
+        tf.math.divNoNan(truePositives, tf.math.add(truePositives, falseNegatives()));
+    Operand<T> x;
+    Operand<T> y;
+    if (curve == AUCCurve.PR) {
+      x = recall;
+      y = tf.math.divNoNan(truePositives, tf.math.add(truePositives, falsePositives()));
+    } else {
+      Operand<T> falsePositives = falsePositives();
+      x = tf.math.divNoNan(falsePositives, tf.math.add(falsePositives, trueNegatives()));
+      y = recall;
+    }
+
+    // the thresholds increase, so x decreases from one point of the curve to the next
+    int numIntervals = getThresholds().size() - 1;
+    Operand<TInt32> size = tf.constant(new int[] {numIntervals});
+    Operand<TInt32> first = tf.constant(new int[] {0});
+    Operand<TInt32> second = tf.constant(new int[] {1});
+    Operand<T> widths = tf.math.sub(tf.slice(x, first, size), tf.slice(x, second, size));
+    Operand<T> heights =
+        tf.math.div(
+            tf.math.add(tf.slice(y, first, size), tf.slice(y, second, size)),
+            cast(tf, tf.constant(2), getResultType()));
+    return tf.reduceSum(tf.math.mul(widths, heights), tf.constant(0));
+  }
+
+  /**
+   * Gets the curve to compute the area under
+   *
+   * @return the curve
+   */
+  public AUCCurve getCurve() {
+    return curve;
+  }
+}
@@ -0,0 +1,287 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.losses.impl.LossesHelper;
+import org.tensorflow.framework.metrics.impl.LossMetric;
+import org.tensorflow.framework.metrics.impl.MeanMetricWrapper;
+import org.tensorflow.framework.metrics.impl.MetricsHelper;
+import org.tensorflow.framework.metrics.impl.Reduce;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TNumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.tensorflow.framework.utils.CastHelper.cast;
+
+/**
+ * A collection of metrics that are updated together by a single operation.
+ *
+ * <p>Updating each metric on its own builds the same sub-graphs many times: every metric casts the
+ * labels, predictions and sample weights, and broadcasts the weights to the shape of its values.
+ * When building the update of a collection, these are built only once per data type and shape,
+ * and the loss values of a {@link LossMetric} are computed only once even if it is used by several
+ * metrics of the collection. Sample weights whose shape is statically known to be broadcastable to
+ * the values are not checked again at runtime.
+ *
+ * <p>Metrics that do not wrap a loss function, or that need a reshaping of their values to be
+ * weighted, are updated by their own {@link Metric#updateStateList(Operand, Operand, Operand)}.
+ *
+ * <p>For example:
+ *
+ * <pre>
+ *   MetricCollection metrics = new MetricCollection(tf)
+ *       .add(new MeanSquaredError&lt;&gt;(tf, "mse", 1001L, TFloat32.class))
+ *       .add(new MeanAbsoluteError&lt;&gt;(tf, "mae", 1001L, TFloat32.class));
+ *   Op update = metrics.updateState(labels, predictions, sampleWeights);
+ * </pre>
+ */
+public class MetricCollection {
+
+  /** The TensorFlow Ops */
+  private final Ops tf;
+
+  /** The metrics of this collection */
+  private final List<Metric<?>> metrics = new ArrayList<>();
+
+  /**
+   * Creates an empty MetricCollection
+   *
+   * @param tf the TensorFlow Ops
+   * @throws IllegalArgumentException if the Ops are not executing in Graph mode
+   */
+  public MetricCollection(Ops tf) {
+    if (!tf.scope().env().isGraph()) {
+      throw new IllegalArgumentException("Metrics are required to execute in Graph mode.");
+    }
+    this.tf = tf.withSubScope(getClass().getSimpleName());
+  }
+
+  /**
+   * Adds a metric to this collection
+   *
+   * @param metric the metric to add
+   * @return this MetricCollection
+   */
+  public MetricCollection add(Metric<?> metric) {
+    metrics.add(metric);
+    return this;
+  }
+
+  /**
+   * Gets the metrics of this collection
+   *
+   * @return the metrics of this collection
+   */
+  public List<Metric<?>> getMetrics() {
+    return Collections.unmodifiableList(metrics);
+  }
+
+  /**
+   * Creates the Operations that update the state of all the metrics of this collection.
+   *
+   * @param labels the labels
+   * @param predictions the predictions
+   * @param sampleWeights sample weights to be applied to values, may be null.
+   * @return the list of Operations to update the metric states
+   * @throws IllegalArgumentException if labels or predictions are null
+   */
+  public List<Op> updateStateList(
+      Operand<? extends TNumber> labels,
+      Operand<? extends TNumber> predictions,
+      Operand<? extends TNumber> sampleWeights) {
+    if (labels == null || predictions == null) {
+      throw new IllegalArgumentException("missing required inputs for labels and predictions");
+    }
+    Update update = new Update(labels, predictions, sampleWeights);
+    List<Op> updateOperations = new ArrayList<>();
+    for (Metric<?> metric : metrics) {
+      if (metric instanceof MeanMetricWrapper
+          && ((Reduce<?>) metric).getReduction() == MetricReduction.WEIGHTED_MEAN) {
+        updateOperations.addAll(update.apply((MeanMetricWrapper<?>) metric));
+      } else {
+        updateOperations.addAll(metric.updateStateList(labels, predictions, sampleWeights));
+      }
+    }
+    return updateOperations;
+  }
+
+  /**
+   * Creates a single NoOp Operation that updates the state of all the metrics of this collection
+   *
+   * @param labels the labels
+   * @param predictions the predictions
+   * @param sampleWeights sample weights to be applied to values, may be null.
+   * @return the Operation to update the metric states
+   * @throws IllegalArgumentException if labels or predictions are null
+   */
+  public Op updateState(
+      Operand<? extends TNumber> labels,
+      Operand<? extends TNumber> predictions,
+      Operand<? extends TNumber> sampleWeights) {
+    List<Op> controlOps = updateStateList(labels, predictions, sampleWeights);
+    return tf.withSubScope("updateState").withControlDependencies(controlOps).noOp();
+  }
+
+  /**
+   * Gets the results of all the metrics of this collection, in the order they have been added.
+   *
+   * @return the results of the metrics
+   */
+  public List<Operand<? extends TNumber>> results() {
+    List<Operand<? extends TNumber>> results = new ArrayList<>();
+    for (Metric<?> metric : metrics) {
+      results.add(metric.result());
+    }
+    return results;
+  }
+
+  /**
+   * Creates a single NoOp Operation that resets the state of all the metrics of this collection
+   *
+   * @return the Operation to reset the metric states
+   */
+  public Op resetStates() {
+    List<Op> controlOps = new ArrayList<>();
+    for (Metric<?> metric : metrics) {
+      controlOps.add(metric.resetStates());
+    }
+    return tf.withSubScope("resetStates").withControlDependencies(controlOps).noOp();
+  }
+
+  /** Builds the update of the collection for one set of inputs, sharing common sub-graphs. */
+  private class Update {
+    private final Operand<? extends TNumber> labels;
+    private final Operand<? extends TNumber> predictions;
+    private final Operand<? extends TNumber> sampleWeights;
+
+    private final Map<Class<?>, Operand<?>> castLabels = new HashMap<>();
+    private final Map<Class<?>, Operand<?>> castPredictions = new HashMap<>();
+    private final Map<Class<?>, Operand<?>> castSampleWeights = new HashMap<>();
+    private final Map<LossMetric<?>, Operand<?>> losses = new IdentityHashMap<>();
+    // keyed by the data type and the fully known shape of the values
+    private final Map<List<Object>, WeightsAndCount<?>> weightsAndCounts = new HashMap<>();
+
+    Update(
+        Operand<? extends TNumber> labels,
+        Operand<? extends TNumber> predictions,
+        Operand<? extends TNumber> sampleWeights) {
+      this.labels = labels;
+      this.predictions = predictions;
+      this.sampleWeights = sampleWeights;
+    }
+
+    <T extends TNumber> List<Op> apply(MeanMetricWrapper<T> metric) {
+      Class<T> type = metric.getResultType();
+      Operand<? extends TNumber> values =
+          cast(tf, getLoss(metric.getLoss(), type), predictions.type());
+      Operand<T> tValues = cast(tf, values, type);
+
+      WeightsAndCount<T> weightsAndCount = getWeightsAndCount(tValues);
+      if (weightsAndCount == null) {
+        return metric.updateStateList(labels, predictions, sampleWeights);
+      }
+      Operand<T> weights = weightsAndCount.weights;
+      if (weights != null) {
+        tValues = tf.math.mul(tValues, weights);
+      }
+      Operand<T> valueSum = tf.reduceSum(tValues, LossesHelper.allAxes(tf, tValues));
+      List<Op> updateOperations = new ArrayList<>();
+      updateOperations.add(tf.assignAdd(metric.getTotal(), valueSum));
+      updateOperations.add(tf.assignAdd(metric.getCount(), weightsAndCount.count));
+      return updateOperations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TNumber> Operand<T> getLoss(LossMetric<T> loss, Class<T> type) {
+      Operand<T> values = (Operand<T>) losses.get(loss);
+      if (values == null) {
+        values =
+            loss.call(
+                getCast(castLabels, labels, type), getCast(castPredictions, predictions, type));
+        losses.put(loss, values);
+      }
+      return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TNumber> Operand<T> getCast(
+        Map<Class<?>, Operand<?>> casts, Operand<? extends TNumber> value, Class<T> type) {
+      return (Operand<T>) casts.computeIfAbsent(type, t -> cast(tf, value, type));
+    }
+
+    /**
+     * Gets the weights broadcast to the values and the count of the values, or null if the weights
+     * cannot be broadcast without reshaping the values.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends TNumber> WeightsAndCount<T> getWeightsAndCount(Operand<T> values) {
+      Shape shape = values.shape();
+      List<Object> key = null;
+      if (!shape.hasUnknownDimension()) {
+        key = Arrays.asList(values.type(), shape);
+        WeightsAndCount<T> cached = (WeightsAndCount<T>) weightsAndCounts.get(key);
+        if (cached != null) {
+          return cached;
+        }
+      }
+      Operand<T> weights = null;
+      Operand<T> count;
+      if (sampleWeights == null) {
+        count =
+            shape.hasUnknownDimension()
+                ? cast(tf, tf.size(values), values.type())
+                : cast(tf, tf.constant(shape.size()), values.type());
+      } else {
+        weights = getCast(castSampleWeights, sampleWeights, values.type());
+        weights =
+            LossesHelper.squeezeOrExpandDimensions(tf, null, values, weights).getSampleWeights();
+        try {
+          weights = MetricsHelper.broadcastWeights(tf, weights, values);
+        } catch (IllegalArgumentException ex) {
+          return null;
+        }
+        count = tf.reduceSum(weights, LossesHelper.allAxes(tf, weights));
+      }
+      WeightsAndCount<T> result = new WeightsAndCount<>(weights, count);
+      if (key != null) {
+        weightsAndCounts.put(key, result);
+      }
+      return result;
+    }
+  }
+
+  /** The sample weights broadcast to values of one type and shape, and the count of the values. */
+  private static class WeightsAndCount<T extends TNumber> {
+    /** the broadcast weights, or null if there are no sample weights */
+    private final Operand<T> weights;
+    /** the weighted count of the values */
+    private final Operand<T> count;
+
+    WeightsAndCount(Operand<T> weights, Operand<T> count) {
+      this.weights = weights;
+      this.count = count;
+    }
+  }
+}
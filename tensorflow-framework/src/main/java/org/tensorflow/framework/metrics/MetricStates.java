@@ -0,0 +1,126 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.metrics.impl.Reduce;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TNumber;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helper class to aggregate the state of {@link Reduce} metrics computed by several graphs,
+ * sessions or workers.
+ *
+ * <p>The state of a metric, returned by {@link Reduce#getState()}, is a small vector of the total
+ * and count of the metric. States can be reduced locally, for example after fetching them from
+ * several sessions of the same process:
+ *
+ * <pre>
+ *   Operand&lt;TFloat32&gt; global = MetricStates.localReduce(tf,
+ *       Arrays.asList(tf.constantOf(state1), tf.constantOf(state2)));
+ *   Op merge = metric.setState(global);
+ * </pre>
+ *
+ * <p>or across workers with a collective reduction, that each worker runs with the same group and
+ * instance keys:
+ *
+ * <pre>
+ *   Op allReduce = MetricStates.allReduce(tf, metric, numWorkers, 1L, 1L);
+ * </pre>
+ */
+public class MetricStates {
+
+  /** The merge operation of the collective reduction of metric states */
+  public static final String MERGE_OP = "Add";
+
+  /** The final operation of the collective reduction of metric states */
+  public static final String FINAL_OP = "Id";
+
+  private MetricStates() {}
+
+  /**
+   * Reduces metric states that are available to one graph.
+   *
+   * @param tf the TensorFlow Ops
+   * @param states the states returned by {@link Reduce#getState()} for metrics of the same
+   *     reduction, or fetched from them.
+   * @param <T> the data type of the states
+   * @return the reduced state
+   * @throws IllegalArgumentException if states is empty
+   */
+  public static <T extends TNumber> Operand<T> localReduce(Ops tf, List<Operand<T>> states) {
+    if (states.isEmpty()) {
+      throw new IllegalArgumentException("at least one state is required.");
+    }
+    if (states.size() == 1) {
+      return states.get(0);
+    }
+    return tf.withSubScope("localReduce").math.addN(states);
+  }
+
+  /**
+   * Reduces a metric state across the members of a collective group. Each member of the group must
+   * call this method with a state of the same shape and type, and the same group and instance
+   * keys.
+   *
+   * @param tf the TensorFlow Ops
+   * @param state the state returned by {@link Reduce#getState()}
+   * @param groupSize the number of members of the group
+   * @param groupKey the key of the group
+   * @param instanceKey the key of this reduction in the group, that must be unique for each
+   *     reduction run by the group
+   * @param <T> the data type of the state
+   * @return the state reduced across the group
+   * @throws IllegalArgumentException if groupSize is not positive
+   */
+  public static <T extends TNumber> Operand<T> collectiveReduce(
+      Ops tf, Operand<T> state, long groupSize, long groupKey, long instanceKey) {
+    if (groupSize <= 0) {
+      throw new IllegalArgumentException("groupSize must be positive, got " + groupSize);
+    }
+    return org.tensorflow.op.collective.Reduce.create(
+        tf.withSubScope("collectiveReduce").scope(),
+        state,
+        groupSize,
+        groupKey,
+        instanceKey,
+        MERGE_OP,
+        FINAL_OP,
+        Collections.emptyList());
+  }
+
+  /**
+   * Replaces the state of a metric by its state reduced across the members of a collective group.
+   *
+   * @param tf the TensorFlow Ops
+   * @param metric the metric
+   * @param groupSize the number of members of the group
+   * @param groupKey the key of the group
+   * @param instanceKey the key of this reduction in the group, that must be unique for each
+   *     reduction run by the group
+   * @param <T> the data type of the metric
+   * @return the Operation that replaces the state of the metric
+   * @throws IllegalArgumentException if groupSize is not positive
+   */
+  public static <T extends TNumber> Op allReduce(
+      Ops tf, Reduce<T> metric, long groupSize, long groupKey, long instanceKey) {
+    return metric.setState(
+        collectiveReduce(tf, metric.getState(), groupSize, groupKey, instanceKey));
+  }
+}
@@ -0,0 +1,82 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.metrics.impl.ConfusionMatrixMetric;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TNumber;
+
+/**
+ * A metric that computes the precision of the predictions with respect to the labels, at one or
+ * more thresholds.
+ *
+ * <p>The precision is the ratio <code>truePositives / (truePositives + falsePositives)</code>, the
+ * fraction of the predictions considered positive that are positive. A prediction is considered
+ * positive at a threshold if it is greater than or equal to that threshold.
+ *
+ * <p>The metric keeps fixed-size histograms of the labels bucketed by thresholds, so that its
+ * memory does not grow with the number of predictions.
+ *
+ * @param <T> The data type for the metric result
+ */
+public class Precision<T extends TNumber> extends ConfusionMatrixMetric<T> {
+  public static final float DEFAULT_THRESHOLD = 0.5f;
+
+  /**
+   * Creates a Precision metric with a threshold of {@link #DEFAULT_THRESHOLD}
+   *
+   * @param tf the TensorFlow Ops
+   * @param name the name of this metric, if null then metric name is {@link Class#getSimpleName()}.
+   * @param seed the seed for random number generation. An initializer created with a given seed
+   *     will always produce the same random tensor for a given shape and data type.
+   * @param type the type for the variables and result
+   */
+  public Precision(Ops tf, String name, long seed, Class<T> type) {
+    this(tf, name, new float[] {DEFAULT_THRESHOLD}, seed, type);
+  }
+
+  /**
+   * Creates a Precision metric
+   *
+   * @param tf the TensorFlow Ops
+   * @param name the name of this metric, if null then metric name is {@link Class#getSimpleName()}.
+   * @param thresholds the thresholds, in strictly increasing order
+   * @param seed the seed for random number generation. An initializer created with a given seed
+   *     will always produce the same random tensor for a given shape and data type.
+   * @param type the type for the variables and result
+   * @throws IllegalArgumentException if thresholds is empty or not strictly increasing
+   */
+  public Precision(Ops tf, String name, float[] thresholds, long seed, Class<T> type) {
+    super(tf, name, thresholds, seed, type);
+  }
+
+  /**
+   * Gets the precision at each threshold
+   *
+   * @return the precision at each threshold, or a scalar if there is only one threshold
+   */
+  @Override
+  public Operand<T> result() {
+    Ops tf = getTF();
+    Operand<T> truePositives = truePositives();
+    Operand<T> result =
+        tf.math.divNoNan(truePositives, tf.math.add(truePositives, falsePositives()));
+    if (getThresholds().size() == 1) {
+      return tf.reshape(result, tf.constant(new int[0]));
+    }
+    return result;
+  }
+}
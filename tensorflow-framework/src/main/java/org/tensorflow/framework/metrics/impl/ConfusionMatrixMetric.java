@@ -0,0 +1,243 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics.impl;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.losses.impl.LossTuple;
+import org.tensorflow.framework.losses.impl.LossesHelper;
+import org.tensorflow.framework.metrics.Metric;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Variable;
+import org.tensorflow.op.math.Cumsum;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TNumber;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.tensorflow.framework.utils.CastHelper.cast;
+
+/**
+ * Base class for metrics computed from the confusion matrix of binary predictions at a list of
+ * thresholds.
+ *
+ * <p>Instead of keeping the predictions, the metric keeps two histograms of the positive and
+ * negative labels, bucketed by the thresholds the predictions fall between. Updating the metric is
+ * a vectorized bucketization followed by a segment sum, and the memory of the metric is linear in
+ * the number of thresholds, whatever the number of predictions. The true and false positives and
+ * negatives at each threshold are derived from the cumulative sums of the histograms.
+ *
+ * <p>A prediction is considered positive at a threshold if it is greater than or equal to that
+ * threshold.
+ *
+ * @param <T> The data type for the metric result
+ */
+public abstract class ConfusionMatrixMetric<T extends TNumber> extends Metric<T> {
+  public static final String POSITIVES = "positives";
+  public static final String NEGATIVES = "negatives";
+
+  private final List<Float> thresholds;
+  private final Class<T> resultType;
+
+  /** the histogram of the weighted positive labels, bucketed by thresholds */
+  private final Variable<T> positives;
+  /** the histogram of the weighted negative labels, bucketed by thresholds */
+  private final Variable<T> negatives;
+
+  /**
+   * Creates a ConfusionMatrixMetric
+   *
+   * @param tf the TensorFlow Ops
+   * @param name the name for this metric. If null, name defaults to {@link Class#getSimpleName()}.
+   * @param thresholds the thresholds, in strictly increasing order
+   * @param seed the seed for random number generation. An initializer created with a given seed
+   *     will always produce the same random tensor for a given shape and data type.
+   * @param resultType the type for the variables and result
+   * @throws IllegalArgumentException if thresholds is empty or not strictly increasing
+   */
+  protected ConfusionMatrixMetric(
+      Ops tf, String name, float[] thresholds, long seed, Class<T> resultType) {
+    super(tf, name, seed);
+    if (thresholds == null || thresholds.length == 0) {
+      throw new IllegalArgumentException("at least one threshold is required.");
+    }
+    this.thresholds = new ArrayList<>(thresholds.length);
+    for (int i = 0; i < thresholds.length; i++) {
+      if (i > 0 && thresholds[i] <= thresholds[i - 1]) {
+        throw new IllegalArgumentException("thresholds must be in strictly increasing order.");
+      }
+      this.thresholds.add(thresholds[i]);
+    }
+    this.resultType = resultType;
+    Shape shape = Shape.of(thresholds.length + 1);
+    positives = getTF().withName(getVariableName(POSITIVES)).variable(shape, resultType);
+    negatives = getTF().withName(getVariableName(NEGATIVES)).variable(shape, resultType);
+  }
+
+  /**
+   * Creates Operations that add the labels to the histograms, in the buckets of their predictions.
+   *
+   * @param labels the truth values, 1 for positive labels and 0 for negative labels
+   * @param predictions the predictions, of the same shape as labels
+   * @param sampleWeights Optional sample weights, that must be broadcastable to the predictions
+   * @return a List of control operations that updates the histograms
+   * @throws IllegalArgumentException if labels or predictions are null
+   */
+  @Override
+  public List<Op> updateStateList(
+      Operand<? extends TNumber> labels,
+      Operand<? extends TNumber> predictions,
+      Operand<? extends TNumber> sampleWeights) {
+    if (labels == null || predictions == null) {
+      throw new IllegalArgumentException("missing required inputs for labels and predictions");
+    }
+    Ops tf = getTF();
+    Operand<T> tLabels = cast(tf, labels, resultType);
+    Operand<T> tPredictions = cast(tf, predictions, resultType);
+    Operand<T> tSampleWeights = sampleWeights == null ? null : cast(tf, sampleWeights, resultType);
+    LossTuple<T> tuple =
+        LossesHelper.squeezeOrExpandDimensions(tf, tLabels, tPredictions, tSampleWeights);
+    tLabels = tuple.getLabels();
+    tPredictions = tuple.getTarget();
+
+    Operand<T> positiveValues = tLabels;
+    Operand<T> negativeValues = tf.math.sub(tf.onesLike(tLabels), tLabels);
+    if (tuple.getSampleWeights() != null) {
+      Operand<T> weights =
+          MetricsHelper.broadcastWeights(tf, tuple.getSampleWeights(), tPredictions);
+      positiveValues = tf.math.mul(positiveValues, weights);
+      negativeValues = tf.math.mul(negativeValues, weights);
+    }
+
+    Operand<TInt32> flat = tf.constant(new int[] {-1});
+    Operand<TInt32> buckets =
+        tf.reshape(tf.bucketize(cast(tf, tPredictions, TFloat32.class), thresholds), flat);
+    Operand<TInt32> numBuckets = tf.constant(thresholds.size() + 1);
+    List<Op> updateOperations = new ArrayList<>();
+    updateOperations.add(
+        tf.assignAdd(
+            positives,
+            tf.math.unsortedSegmentSum(tf.reshape(positiveValues, flat), buckets, numBuckets)));
+    updateOperations.add(
+        tf.assignAdd(
+            negatives,
+            tf.math.unsortedSegmentSum(tf.reshape(negativeValues, flat), buckets, numBuckets)));
+    return updateOperations;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Op resetStates() {
+    Ops tf = getTF();
+    List<Op> controls = new ArrayList<>();
+    Operand<T> zeros = tf.zeros(tf.constant(Shape.of(thresholds.size() + 1)), resultType);
+    controls.add(tf.assign(positives, zeros));
+    controls.add(tf.assign(negatives, zeros));
+    return tf.withControlDependencies(controls).noOp();
+  }
+
+  /**
+   * Gets the weighted count of predictions greater than or equal to each threshold, for a
+   * histogram.
+   *
+   * @param histogram the histogram
+   * @return the count at each threshold
+   */
+  private Operand<T> countAbove(Operand<T> histogram) {
+    Ops tf = getTF();
+    // the exclusive reverse sum of bucket i counts the buckets after i, that are above threshold i
+    Operand<T> sums =
+        tf.math.cumsum(histogram, tf.constant(0), Cumsum.exclusive(true), Cumsum.reverse(true));
+    return tf.slice(sums, tf.constant(new int[] {0}), tf.constant(new int[] {thresholds.size()}));
+  }
+
+  /**
+   * Gets the true positives at each threshold
+   *
+   * @return the true positives at each threshold
+   */
+  public Operand<T> truePositives() {
+    return countAbove(positives);
+  }
+
+  /**
+   * Gets the false positives at each threshold
+   *
+   * @return the false positives at each threshold
+   */
+  public Operand<T> falsePositives() {
+    return countAbove(negatives);
+  }
+
+  /**
+   * Gets the true negatives at each threshold
+   *
+   * @return the true negatives at each threshold
+   */
+  public Operand<T> trueNegatives() {
+    Ops tf = getTF();
+    return tf.math.sub(tf.reduceSum(negatives, tf.constant(0)), falsePositives());
+  }
+
+  /**
+   * Gets the false negatives at each threshold
+   *
+   * @return the false negatives at each threshold
+   */
+  public Operand<T> falseNegatives() {
+    Ops tf = getTF();
+    return tf.math.sub(tf.reduceSum(positives, tf.constant(0)), truePositives());
+  }
+
+  /**
+   * Gets the histogram of the weighted positive labels, bucketed by thresholds
+   *
+   * @return the histogram of the weighted positive labels
+   */
+  public Variable<T> getPositives() {
+    return positives;
+  }
+
+  /**
+   * Gets the histogram of the weighted negative labels, bucketed by thresholds
+   *
+   * @return the histogram of the weighted negative labels
+   */
+  public Variable<T> getNegatives() {
+    return negatives;
+  }
+
+  /**
+   * Gets the thresholds
+   *
+   * @return the thresholds
+   */
+  public List<Float> getThresholds() {
+    return Collections.unmodifiableList(thresholds);
+  }
+
+  /**
+   * Gets the type for the variables
+   *
+   * @return the type for the variables
+   */
+  public Class<T> getResultType() {
+    return resultType;
+  }
+}
@@ -81,29 +81,7 @@ public class MetricsHelper {
             .withControlDependencies(Collections.EMPTY_LIST)
             .noOp();
       }
-      if (weightsRankStatic != valuesRankStatic) {
-        throw new NotBroadcastableException(
-            String.format(
-                "%s values.rank=%d. weights.rank=%d.  values.shape=%s. weights.shape=%s.",
-                ASSERT_BROADCAST_ERROR_PREFIX,
-                valuesRankStatic,
-                weightsRankStatic,
-                valuesShapeStatic.toString(),
-                weightsShapeStatic.toString()));
-      }
-
-      for (int i = 0; i < valuesRankStatic; i++) {
-        if (valuesShapeStatic.size(i) != weightsShapeStatic.size(i)
-            && weightsShapeStatic.size(i) != 1) {
-          throw new NotBroadcastableException(
-              String.format(
-                  "%s Mismatch at dim %d. values.shape=%s weights.shape=%s.",
-                  ASSERT_BROADCAST_ERROR_PREFIX,
-                  i,
-                  valuesShapeStatic.toString(),
-                  weightsShapeStatic.toString()));
-        }
-      }
+      assertStaticBroadcastable(weightsShapeStatic, valuesShapeStatic);
       return tf.withSubScope("staticDimsCheckSuccess")
           .withControlDependencies(Collections.EMPTY_LIST)
           .noOp();
@@ -140,6 +118,42 @@ public class MetricsHelper {
     return tf.withSubScope("broadcastWeights-dynamic").assertThat(isValidShape, data);
   }
 
+  /**
+   * Asserts that sample weights of a fully known shape can be broadcast to values of a fully known
+   * shape, without adding any operation to the graph.
+   *
+   * @param weightsShape the shape of the sample weights
+   * @param valuesShape the shape of the values
+   * @throws NotBroadcastableException if the weights cannot be broadcast to the values
+   */
+  private static void assertStaticBroadcastable(Shape weightsShape, Shape valuesShape) {
+    if (weightsShape.numDimensions() == 0) {
+      return;
+    }
+    if (weightsShape.numDimensions() != valuesShape.numDimensions()) {
+      throw new NotBroadcastableException(
+          String.format(
+              "%s values.rank=%d. weights.rank=%d.  values.shape=%s. weights.shape=%s.",
+              ASSERT_BROADCAST_ERROR_PREFIX,
+              valuesShape.numDimensions(),
+              weightsShape.numDimensions(),
+              valuesShape.toString(),
+              weightsShape.toString()));
+    }
+
+    for (int i = 0; i < valuesShape.numDimensions(); i++) {
+      if (valuesShape.size(i) != weightsShape.size(i) && weightsShape.size(i) != 1) {
+        throw new NotBroadcastableException(
+            String.format(
+                "%s Mismatch at dim %d. values.shape=%s weights.shape=%s.",
+                ASSERT_BROADCAST_ERROR_PREFIX,
+                i,
+                valuesShape.toString(),
+                weightsShape.toString()));
+      }
+    }
+  }
+
   /**
    * Gets an operand that tests if the shapes have the same rank and valid dimensions.
    *
@@ -199,10 +213,13 @@ public class MetricsHelper {
     Shape weightsShape = weights.shape();
     Shape valuesShape = values.shape();
 
-    if (!weightsShape.hasUnknownDimension()
-        && !valuesShape.hasUnknownDimension()
-        && weightsShape.isCompatibleWith(valuesShape)) {
-      return weights;
+    if (!weightsShape.hasUnknownDimension() && !valuesShape.hasUnknownDimension()) {
+      if (weightsShape.isCompatibleWith(valuesShape)) {
+        return weights;
+      }
+      // static shapes are fully checked now, no runtime assertion is needed
+      assertStaticBroadcastable(weightsShape, valuesShape);
+      return tf.withSubScope("broadcastWeights").math.mul(weights, tf.onesLike(values));
     }
 
     Ops ctf =
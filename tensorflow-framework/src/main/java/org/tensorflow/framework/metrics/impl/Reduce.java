@@ -26,6 +26,8 @@ import org.tensorflow.op.core.Variable;
 import org.tensorflow.types.family.TNumber;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.tensorflow.framework.utils.CastHelper.cast;
@@ -211,6 +213,82 @@ public abstract class Reduce<T extends TNumber> extends Metric<T> {
     return fResult;
   }
 
+  /**
+   * Gets the state of this metric as a vector holding the total and, unless the reduction is
+   * {@link MetricReduction#SUM}, the count.
+   *
+   * <p>The state can be fetched from one graph and merged into the same metric of another graph,
+   * or reduced across workers, so that a global metric can be computed without summing the
+   * variables in Java.
+   *
+   * @return the state of this metric
+   */
+  public Operand<T> getState() {
+    Ops tf = getTF().withSubScope("getState");
+    if (count == null) {
+      return tf.expandDims(total, tf.constant(0));
+    }
+    return tf.stack(Arrays.<Operand<T>>asList(total, count));
+  }
+
+  /**
+   * Replaces the state of this metric.
+   *
+   * @param state a state returned by {@link #getState()} for a metric of the same reduction.
+   * @return the Operation that replaces the state of this metric
+   * @throws IllegalArgumentException if the static shape of state does not match the state of
+   *     this metric
+   */
+  public Op setState(Operand<? extends TNumber> state) {
+    return applyState(state, false);
+  }
+
+  /**
+   * Merges a state into the state of this metric, so that the metric result accounts for the
+   * values of both states.
+   *
+   * @param state a state returned by {@link #getState()} for a metric of the same reduction.
+   * @return the Operation that merges the state into the state of this metric
+   * @throws IllegalArgumentException if the static shape of state does not match the state of
+   *     this metric
+   */
+  public Op mergeState(Operand<? extends TNumber> state) {
+    return applyState(state, true);
+  }
+
+  /**
+   * Assigns or adds a state to the metric variables
+   *
+   * @param state the state
+   * @param merge true if the state is added to the variables, false if it replaces them
+   * @return the Operation that updates the metric variables
+   */
+  private Op applyState(Operand<? extends TNumber> state, boolean merge) {
+    if (state == null) {
+      throw new IllegalArgumentException("state is required.");
+    }
+    long stateSize = count == null ? 1 : 2;
+    Shape stateShape = state.shape();
+    if (!stateShape.isUnknown()
+        && (stateShape.numDimensions() != 1
+            || (stateShape.size(0) != Shape.UNKNOWN_SIZE && stateShape.size(0) != stateSize))) {
+      throw new IllegalArgumentException(
+          String.format(
+              "state must be a vector of size %d, got shape %s.", stateSize, stateShape));
+    }
+    Ops tf = getTF().withSubScope(merge ? "mergeState" : "setState");
+    Operand<T> tState = cast(tf, state, resultType);
+    List<Op> controls = new ArrayList<>();
+    List<Variable<T>> variables =
+        count == null ? Collections.singletonList(total) : Arrays.asList(total, count);
+    for (int i = 0; i < variables.size(); i++) {
+      Operand<T> value = tf.gather(tState, tf.constant(i), tf.constant(0));
+      controls.add(
+          merge ? tf.assignAdd(variables.get(i), value) : tf.assign(variables.get(i), value));
+    }
+    return tf.withControlDependencies(controls).noOp();
+  }
+
   /**
    * Gets the total variable
    *
@@ -229,6 +307,15 @@ public abstract class Reduce<T extends TNumber> extends Metric<T> {
     return count;
   }
 
+  /**
+   * Gets the type of metric reduction applied by this metric
+   *
+   * @return the type of metric reduction applied by this metric
+   */
+  public MetricReduction getReduction() {
+    return reduction;
+  }
+
   /**
    * Gets the type for the variables
    *
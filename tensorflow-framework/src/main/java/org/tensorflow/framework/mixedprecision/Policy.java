@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.mixedprecision;
+
+import org.tensorflow.Operand;
+import org.tensorflow.framework.initializers.Initializer;
+import org.tensorflow.framework.losses.Loss;
+import org.tensorflow.framework.utils.CastHelper;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TBfloat16;
+import org.tensorflow.types.TFloat16;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TFloating;
+import org.tensorflow.types.family.TNumber;
+
+/**
+ * A mixed precision policy, which computes a model in a reduced precision while keeping its
+ * variables, losses and metric states in float32.
+ *
+ * <p>Variables are read in the compute type with {@link #cast(Ops, Operand)}, so that their
+ * gradients, and thus the updates applied by the optimizers, are computed in float32. Losses are
+ * computed in the compute type by {@link #computeLoss(Loss, Operand, Operand)} and returned in
+ * float32, so they can be scaled by a {@link
+ * org.tensorflow.framework.optimizers.LossScaleOptimizer} and passed to metrics, which accumulate
+ * their state in their own result type.
+ *
+ * <pre>{@code
+ * Policy<TBfloat16> policy = Policy.mixedBfloat16();
+ * Initializer<TFloat32> init =
+ *     policy.initializer(tf, new Glorot<>(tf, Distribution.UNIFORM, seed));
+ * Variable<TFloat32> weights = tf.variable(init.call(dims, TFloat32.class));
+ * Operand<TBfloat16> logits =
+ *     tf.linalg.matMul(policy.cast(tf, inputs), policy.cast(tf, weights));
+ * Loss crossentropy = new CategoricalCrossentropy(tf, true);
+ * Operand<TFloat32> loss = policy.computeLoss(crossentropy, labels, logits);
+ * Op train = new LossScaleOptimizer(new Adam(graph)).minimize(loss);
+ * }</pre>
+ *
+ * @param <C> the data type in which the model is computed
+ */
+public class Policy<C extends TFloating> {
+
+  /**
+   * Creates a policy that computes everything in float32.
+   *
+   * @return the policy
+   */
+  public static Policy<TFloat32> float32() {
+    return new Policy<>("float32", TFloat32.class);
+  }
+
+  /**
+   * Creates a policy that computes in float16 and keeps the variables in float32.
+   *
+   * <p>Training with this policy usually requires loss scaling to prevent the gradients from
+   * underflowing.
+   *
+   * @return the policy
+   */
+  public static Policy<TFloat16> mixedFloat16() {
+    return new Policy<>("mixed_float16", TFloat16.class);
+  }
+
+  /**
+   * Creates a policy that computes in bfloat16 and keeps the variables in float32.
+   *
+   * <p>bfloat16 has the same exponent range as float32, so loss scaling is usually not needed.
+   *
+   * @return the policy
+   */
+  public static Policy<TBfloat16> mixedBfloat16() {
+    return new Policy<>("mixed_bfloat16", TBfloat16.class);
+  }
+
+  /**
+   * Creates a policy.
+   *
+   * @param name the name of this policy
+   * @param computeType the data type in which the model is computed
+   */
+  public Policy(String name, Class<C> computeType) {
+    this.name = name;
+    this.computeType = computeType;
+  }
+
+  /**
+   * Gets the name of this policy
+   *
+   * @return the name of this policy
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the data type in which the model is computed
+   *
+   * @return the compute type
+   */
+  public Class<C> getComputeType() {
+    return computeType;
+  }
+
+  /**
+   * Gets the data type of the variables, losses and metric states
+   *
+   * @return the variable type, always float32
+   */
+  public Class<TFloat32> getVariableType() {
+    return TFloat32.class;
+  }
+
+  /**
+   * Casts a value, such as a variable or an input, to the compute type.
+   *
+   * @param tf the TensorFlow Ops
+   * @param value the value to cast
+   * @param <T> the data type of the value
+   * @return the value in the compute type, or the value itself if it is already of that type
+   */
+  public <T extends TNumber> Operand<C> cast(Ops tf, Operand<T> value) {
+    return CastHelper.cast(tf, value, computeType);
+  }
+
+  /**
+   * Wraps an initializer so that it generates its values in the compute type, for a variable of
+   * the variable type.
+   *
+   * @param tf the TensorFlow Ops
+   * @param initializer the initializer computing in the compute type
+   * @return an initializer of variables of the variable type
+   */
+  public Initializer<TFloat32> initializer(Ops tf, Initializer<C> initializer) {
+    return (dims, type) -> CastHelper.cast(tf, initializer.call(dims, computeType), type);
+  }
+
+  /**
+   * Computes a loss in the compute type.
+   *
+   * @param loss the loss function
+   * @param labels the truth values or labels
+   * @param predictions the predictions, of any floating type
+   * @param <T> the data type of the predictions
+   * @return the loss, in float32
+   */
+  public <T extends TNumber> Operand<TFloat32> computeLoss(
+      Loss loss, Operand<? extends TNumber> labels, Operand<T> predictions) {
+    return computeLoss(loss, labels, predictions, null);
+  }
+
+  /**
+   * Computes a loss in the compute type.
+   *
+   * @param loss the loss function
+   * @param labels the truth values or labels
+   * @param predictions the predictions, of any floating type
+   * @param sampleWeights Optional sample weights, may be null
+   * @param <T> the data type of the predictions
+   * @return the loss, in float32
+   */
+  public <T extends TNumber> Operand<TFloat32> computeLoss(
+      Loss loss,
+      Operand<? extends TNumber> labels,
+      Operand<T> predictions,
+      Operand<? extends TNumber> sampleWeights) {
+    Ops tf = loss.getTF();
+    Operand<C> weights = sampleWeights != null ? cast(tf, sampleWeights) : null;
+    return CastHelper.cast(tf, loss.call(labels, cast(tf, predictions), weights), TFloat32.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "Policy{" + "name='" + name + '\'' + '}';
+  }
+
+  private final String name;
+  private final Class<C> computeType;
+}
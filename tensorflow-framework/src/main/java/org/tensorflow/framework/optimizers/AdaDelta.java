@@ -15,11 +15,13 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Variable;
+import org.tensorflow.op.train.ResourceApplyAdadelta;
 import org.tensorflow.types.family.TType;
 
 import java.util.List;
@@ -69,30 +71,35 @@ public class AdaDelta extends Optimizer {
 
   private final float epsilon;
 
-  public AdaDelta(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, RHO_DEFAULT, EPSILON_DEFAULT);
+  /**
+   * Creates an AdaDelta Optimizer
+   *
+   * @param env the TensorFlow execution environment, a graph or an eager session
+   */
+  public AdaDelta(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, RHO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an AdaDelta Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public AdaDelta(Graph graph, float learningRate) {
-    this(graph, learningRate, RHO_DEFAULT, EPSILON_DEFAULT);
+  public AdaDelta(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, RHO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an AdaDelta Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param rho The decay factor
    * @param epsilon A constant epsilon used to better conditioning the grad update
    */
-  public AdaDelta(Graph graph, float learningRate, float rho, float epsilon) {
-    super(graph);
+  public AdaDelta(ExecutionEnvironment env, float learningRate, float rho, float epsilon) {
+    super(env);
     this.learningRate = learningRate;
     this.rho = rho;
     this.epsilon = epsilon;
@@ -101,25 +108,26 @@ public class AdaDelta extends Optimizer {
   /**
    * Creates an AdaDelta Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'Adadelta')
    * @param learningRate the learning rate
    */
-  public AdaDelta(Graph graph, String name, float learningRate) {
-    this(graph, name, learningRate, 0.95f, 1e-8f);
+  public AdaDelta(ExecutionEnvironment env, String name, float learningRate) {
+    this(env, name, learningRate, 0.95f, 1e-8f);
   }
 
   /**
    * Creates an AdaDelta Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'Adadelta')
    * @param learningRate the learning rate
    * @param rho The decay factor
    * @param epsilon A constant epsilon used to better conditioning the grad update
    */
-  public AdaDelta(Graph graph, String name, float learningRate, float rho, float epsilon) {
-    super(graph, name);
+  public AdaDelta(
+      ExecutionEnvironment env, String name, float learningRate, float rho, float epsilon) {
+    super(env, name);
     this.learningRate = learningRate;
     this.rho = rho;
     this.epsilon = epsilon;
@@ -157,7 +165,24 @@ public class AdaDelta extends Optimizer {
         variable,
         accumSlot,
         accumUpdateSlot,
-        tf.dtypes.cast(tf.constant(learningRate), gradient.type()),
+        getLearningRate(learningRate, gradient.type()),
+        tf.dtypes.cast(tf.constant(rho), gradient.type()),
+        tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
+        gradient);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> accumSlot = getSlot(variable, ACCUMULATOR).get();
+    ResourceVariable<T> accumUpdateSlot = getSlot(variable, ACCUMULATOR_UPDATE).get();
+    return ResourceApplyAdadelta.create(
+        tf.scope(),
+        variable.handle(),
+        accumSlot.handle(),
+        accumUpdateSlot.handle(),
+        getLearningRate(learningRate, gradient.type()),
         tf.dtypes.cast(tf.constant(rho), gradient.type()),
         tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
         gradient);
@@ -15,11 +15,14 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Variable;
+import org.tensorflow.op.train.ResourceApplyAdagrad;
+import org.tensorflow.op.train.SparseApplyAdagrad;
 import org.tensorflow.types.family.TType;
 
 import java.util.List;
@@ -49,32 +52,32 @@ public class AdaGrad extends Optimizer {
   /**
    * Creates an AdaGrad Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public AdaGrad(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, INITIAL_ACCUMULATOR_DEFAULT);
+  public AdaGrad(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, INITIAL_ACCUMULATOR_DEFAULT);
   }
 
   /**
    * Creates an AdaGrad Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public AdaGrad(Graph graph, float learningRate) {
-    this(graph, learningRate, INITIAL_ACCUMULATOR_DEFAULT);
+  public AdaGrad(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, INITIAL_ACCUMULATOR_DEFAULT);
   }
 
   /**
    * Creates an AdaGrad Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param initialAccumulatorValue Starting value for the accumulators, must be non-negative.
    * @throws java.lang.IllegalArgumentException if initialAccumulatorValue is negative
    */
-  public AdaGrad(Graph graph, float learningRate, float initialAccumulatorValue) {
-    super(graph);
+  public AdaGrad(ExecutionEnvironment env, float learningRate, float initialAccumulatorValue) {
+    super(env);
     if (initialAccumulatorValue < 0F) {
       throw new IllegalArgumentException(
           String.format(
@@ -87,25 +90,26 @@ public class AdaGrad extends Optimizer {
   /**
    * Creates an AdaGrad Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'Adagrad')
    * @param learningRate the learning rate
    */
-  public AdaGrad(Graph graph, String name, float learningRate) {
-    this(graph, name, learningRate, 0.01f);
+  public AdaGrad(ExecutionEnvironment env, String name, float learningRate) {
+    this(env, name, learningRate, 0.01f);
   }
 
   /**
    * Creates an AdaGrad Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'Adagrad')
    * @param learningRate the learning rate
    * @param initialAccumulatorValue Starting value for the accumulators, must be non-negative.
    * @throws java.lang.IllegalArgumentException if initialAccumulatorValue is negative
    */
-  public AdaGrad(Graph graph, String name, float learningRate, float initialAccumulatorValue) {
-    super(graph, name);
+  public AdaGrad(
+      ExecutionEnvironment env, String name, float learningRate, float initialAccumulatorValue) {
+    super(env, name);
     if (initialAccumulatorValue < 0F) {
       throw new IllegalArgumentException(
           String.format(
@@ -140,7 +144,48 @@ public class AdaGrad extends Optimizer {
   protected <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable) {
     Variable<T> slot = getSlot(variable, ACCUMULATOR).get();
     return tf.train.applyAdagrad(
-        variable, slot, tf.dtypes.cast(tf.constant(learningRate), gradient.type()), gradient);
+        variable, slot, getLearningRate(learningRate, gradient.type()), gradient);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return SparseApplyAdagrad.create(
+        tf.scope(),
+        variable,
+        slot,
+        getLearningRate(learningRate, variable.type()),
+        tf.dtypes.cast(tf.constant(0.0f), variable.type()),
+        gradient.getValues(),
+        gradient.getIndices());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return ResourceApplyAdagrad.create(
+        tf.scope(),
+        variable.handle(),
+        slot.handle(),
+        getLearningRate(learningRate, gradient.type()),
+        tf.dtypes.cast(tf.constant(0.0f), gradient.type()),
+        gradient);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return tf.train.resourceSparseApplyAdagrad(
+        variable.handle(),
+        slot.handle(),
+        getLearningRate(learningRate, variable.type()),
+        gradient.getValues(),
+        gradient.getIndices());
   }
 
   /** {@inheritDoc} */
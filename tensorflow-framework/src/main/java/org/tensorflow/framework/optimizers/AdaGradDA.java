@@ -15,13 +15,15 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.Variable;
+import org.tensorflow.op.train.ResourceApplyAdagradDa;
 import org.tensorflow.types.TInt64;
 import org.tensorflow.types.family.TType;
 
@@ -55,16 +57,17 @@ public class AdaGradDA extends Optimizer {
   private final float initialAccumulatorValue;
   private final float l1Strength;
   private final float l2Strength;
-  private Variable<TInt64> globalStep;
+  /** The global step of this optimizer, a resource variable if operating eagerly. */
+  private Operand<TInt64> globalStep;
 
   /**
    * Creates an AdaGradDA Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public AdaGradDA(Graph graph) {
+  public AdaGradDA(ExecutionEnvironment env) {
     this(
-        graph,
+        env,
         LEARNING_RATE_DEFAULT,
         INITIAL_ACCUMULATOR_DEFAULT,
         L1_STRENGTH_DEFAULT,
@@ -74,18 +77,18 @@ public class AdaGradDA extends Optimizer {
   /**
    * Creates an AdaGradDA Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public AdaGradDA(Graph graph, float learningRate) {
+  public AdaGradDA(ExecutionEnvironment env, float learningRate) {
     this(
-        graph, learningRate, INITIAL_ACCUMULATOR_DEFAULT, L1_STRENGTH_DEFAULT, L2_STRENGTH_DEFAULT);
+        env, learningRate, INITIAL_ACCUMULATOR_DEFAULT, L1_STRENGTH_DEFAULT, L2_STRENGTH_DEFAULT);
   }
 
   /**
    * Creates an AdaGradDA Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param initialAccumulatorValue Starting value for the accumulators, must be greater than zero.
    * @param l1Strength l1 regularization strength, must be greater than or equal to zero.
@@ -94,12 +97,12 @@ public class AdaGradDA extends Optimizer {
    *     or l1Strength or l2Strength is less than zero
    */
   public AdaGradDA(
-      Graph graph,
+      ExecutionEnvironment env,
       float learningRate,
       float initialAccumulatorValue,
       float l1Strength,
       float l2Strength) {
-    super(graph);
+    super(env);
     if (initialAccumulatorValue <= 0F) {
       throw new IllegalArgumentException(
           String.format(
@@ -122,13 +125,13 @@ public class AdaGradDA extends Optimizer {
   /**
    * Creates an AdaGradDA Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'adagrad-da')
    * @param learningRate the learning rate
    */
-  public AdaGradDA(Graph graph, String name, float learningRate) {
+  public AdaGradDA(ExecutionEnvironment env, String name, float learningRate) {
     this(
-        graph,
+        env,
         name,
         learningRate,
         INITIAL_ACCUMULATOR_DEFAULT,
@@ -139,7 +142,7 @@ public class AdaGradDA extends Optimizer {
   /**
    * Creates an AdaGradDA Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer (defaults to 'adagrad-da')
    * @param learningRate the learning rate
    * @param initialAccumulatorValue Starting value for the accumulators, must be positive
@@ -149,13 +152,13 @@ public class AdaGradDA extends Optimizer {
    *     or * l1Strength or l2Strength is less than zero
    */
   public AdaGradDA(
-      Graph graph,
+      ExecutionEnvironment env,
       String name,
       float learningRate,
       float initialAccumulatorValue,
       float l1Strength,
       float l2Strength) {
-    super(graph, name);
+    super(env, name);
     if (initialAccumulatorValue <= 0F) {
       throw new IllegalArgumentException(
           String.format(
@@ -178,7 +181,7 @@ public class AdaGradDA extends Optimizer {
   /** {@inheritDoc} */
   @Override
   protected Optional<Op> prepare(String name) {
-    return Optional.of(tf.assignAdd(globalStep, tf.constant(1L)));
+    return Optional.of(incrementGlobalStep());
   }
 
   /** {@inheritDoc} */
@@ -187,9 +190,27 @@ public class AdaGradDA extends Optimizer {
     for (Output<? extends TType> v : variables) {
       createAdaGradDASlot(v);
     }
-    globalStep = tf.withName("adagrad-da-global-step").variable(Shape.scalar(), TInt64.class);
-    Assign<TInt64> globalStepInitializer = tf.assign(globalStep, tf.constant(0L));
+    if (graph == null) {
+      globalStep = ResourceVariable.create(tf.withName("adagrad-da-global-step"), tf.constant(0L));
+      return;
+    }
+    Variable<TInt64> step =
+        tf.withName("adagrad-da-global-step").variable(Shape.scalar(), TInt64.class);
+    Assign<TInt64> globalStepInitializer = tf.assign(step, tf.constant(0L));
     graph.addInitializer(globalStepInitializer);
+    globalStep = step;
+  }
+
+  /**
+   * Increments the global step of this optimizer.
+   *
+   * @return the update operation
+   */
+  private Op incrementGlobalStep() {
+    if (globalStep instanceof ResourceVariable) {
+      return ((ResourceVariable<TInt64>) globalStep).assignAdd(tf.constant(1L));
+    }
+    return tf.assignAdd((Variable<TInt64>) globalStep, tf.constant(1L));
   }
 
   /**
@@ -216,7 +237,25 @@ public class AdaGradDA extends Optimizer {
         gradSlot,
         gradSquaredSlot,
         gradient,
-        tf.dtypes.cast(tf.constant(learningRate), gradient.type()),
+        getLearningRate(learningRate, gradient.type()),
+        tf.dtypes.cast(tf.constant(l1Strength), gradient.type()),
+        tf.dtypes.cast(tf.constant(l2Strength), gradient.type()),
+        globalStep);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> gradSlot = getSlot(variable, ACCUMULATOR).get();
+    ResourceVariable<T> gradSquaredSlot = getSlot(variable, SQUARED_ACCUMULATOR).get();
+    return ResourceApplyAdagradDa.create(
+        tf.scope(),
+        variable.handle(),
+        gradSlot.handle(),
+        gradSquaredSlot.handle(),
+        gradient,
+        getLearningRate(learningRate, gradient.type()),
         tf.dtypes.cast(tf.constant(l1Strength), gradient.type()),
         tf.dtypes.cast(tf.constant(l2Strength), gradient.type()),
         globalStep);
@@ -233,7 +272,7 @@ public class AdaGradDA extends Optimizer {
    */
   @Override
   protected Op finish(List<Op> updateOperations, String name) {
-    updateOperations.add(tf.assignAdd(globalStep, tf.constant(1L)));
+    updateOperations.add(incrementGlobalStep());
     return super.finish(updateOperations, name);
   }
 
@@ -15,11 +15,14 @@
  */
 package org.tensorflow.framework.optimizers;
 
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Graph;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
 import org.tensorflow.op.Scope;
 import org.tensorflow.op.annotation.Endpoint;
 import org.tensorflow.op.annotation.Operator;
@@ -27,8 +30,11 @@ import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.Constant;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TNumber;
 import org.tensorflow.types.family.TType;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,36 +70,37 @@ public class Adam extends Optimizer {
 
   private final float epsilon;
 
-  private Constant<TFloat32> learningRateConst;
+  private Operand<TFloat32> learningRateConst;
   private Constant<TFloat32> epsilonConst;
   private Constant<TFloat32> betaOneConst;
   private Constant<TFloat32> betaTwoConst;
-  private Variable<TFloat32> betaOnePower;
-  private Variable<TFloat32> betaTwoPower;
+  /** The powers of betaOne and betaTwo, resource variables if operating eagerly. */
+  private Operand<TFloat32> betaOnePower;
+  private Operand<TFloat32> betaTwoPower;
 
   /**
    * Creates an Adam optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public Adam(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adam(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Adam optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public Adam(Graph graph, float learningRate) {
-    this(graph, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adam(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Adam optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param betaOne The exponential decay rate for the 1st moment estimates. Defaults to 0.9.
    * @param betaTwo The exponential decay rate for the 2nd moment estimates. Defaults to 0.999.
@@ -101,8 +108,9 @@ public class Adam extends Optimizer {
    *     Kingma and Ba paper (in the formula just before Section 2.1), not the epsilon in Algorithm
    *     1 of the paper. Defaults to 1e-8.
    */
-  public Adam(Graph graph, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph);
+  public Adam(
+      ExecutionEnvironment env, float learningRate, float betaOne, float betaTwo, float epsilon) {
+    super(env);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -112,18 +120,18 @@ public class Adam extends Optimizer {
   /**
    * Creates an Adam optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the Optimizer name, defaults to "Adam"
    * @param learningRate the learning rate
    */
-  public Adam(Graph graph, String name, float learningRate) {
-    this(graph, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adam(ExecutionEnvironment env, String name, float learningRate) {
+    this(env, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Adam optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the Optimizer name, defaults to "Adam"
    * @param learningRate the learning rate
    * @param betaOne The exponential decay rate for the 1st moment estimates. Defaults to 0.9.
@@ -133,8 +141,13 @@ public class Adam extends Optimizer {
    *     1 of the paper. Defaults to 1e-8.
    */
   public Adam(
-      Graph graph, String name, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph, name);
+      ExecutionEnvironment env,
+      String name,
+      float learningRate,
+      float betaOne,
+      float betaTwo,
+      float epsilon) {
+    super(env, name);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -189,12 +202,41 @@ public class Adam extends Optimizer {
     for (Output<? extends TType> v : variables) {
       createAdamSlot(v.asOutput());
     }
-    betaOnePower = tf.withName("beta1_power").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> betaOnePowerInit = tf.assign(betaOnePower, tf.constant(betaOne));
-    graph.addInitializer(betaOnePowerInit);
-    betaTwoPower = tf.withName("beta2_power").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> betaTwoPowerInit = tf.assign(betaTwoPower, tf.constant(betaTwo));
-    graph.addInitializer(betaTwoPowerInit);
+    if (betaOnePower == null) {
+      betaOnePower = createPower("beta1_power", betaOne);
+      betaTwoPower = createPower("beta2_power", betaTwo);
+    }
+  }
+
+  /**
+   * Creates a variable holding the power of a beta, initialized to the beta itself.
+   *
+   * @param name the name of the variable
+   * @param beta the beta
+   * @return the variable
+   */
+  private Operand<TFloat32> createPower(String name, float beta) {
+    if (graph == null) {
+      return ResourceVariable.create(tf.withName(name), tf.constant(beta));
+    }
+    Variable<TFloat32> power = tf.withName(name).variable(Shape.scalar(), TFloat32.class);
+    Assign<TFloat32> powerInit = tf.assign(power, tf.constant(beta));
+    graph.addInitializer(powerInit);
+    return power;
+  }
+
+  /**
+   * Multiplies the power of a beta by the beta.
+   *
+   * @param power the variable holding the power of the beta
+   * @param beta the beta
+   * @return the update operation
+   */
+  private Op updatePower(Operand<TFloat32> power, Operand<TFloat32> beta) {
+    if (power instanceof ResourceVariable) {
+      return ((ResourceVariable<TFloat32>) power).assign(tf.math.mul(power, beta));
+    }
+    return tf.assign(power, tf.math.mul(power, beta));
   }
 
   /** {@inheritDoc} */
@@ -202,7 +244,7 @@ public class Adam extends Optimizer {
   protected Optional<Op> prepare(String scopeName) {
     betaOneConst = tf.constant(betaOne);
     betaTwoConst = tf.constant(betaTwo);
-    learningRateConst = tf.constant(learningRate);
+    learningRateConst = getLearningRate(learningRate, TFloat32.class);
     epsilonConst = tf.constant(epsilon);
     return Optional.empty();
   }
@@ -240,6 +282,138 @@ public class Adam extends Optimizer {
         gradient);
   }
 
+  /**
+   * Generates the update operations for a sparse gradient with unique indices.
+   *
+   * <p>The update is lazy: only the rows of the moments and of the variable that have a gradient
+   * are updated, and the other rows are not decayed. The cost of the update is then proportional to
+   * the number of gradient rows instead of the size of the variable, as needed for large embedding
+   * tables. Once a row stops receiving gradients, its momentum is no longer applied to it, so the
+   * result differs from applying the equivalent dense gradient.
+   *
+   * @param gradient The sparse gradient to use, with unique indices.
+   * @param variable The variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> firstMomentSlot = getSlot(variable, FIRST_MOMENT).get();
+    Variable<T> secondMomentSlot = getSlot(variable, SECOND_MOMENT).get();
+    Class<T> type = variable.type();
+    Operand<? extends TNumber> indices = gradient.getIndices();
+    Operand<T> values = gradient.getValues();
+    Operand<T> one = tf.dtypes.cast(tf.constant(1.0f), type);
+    Operand<T> beta1 = tf.dtypes.cast(betaOneConst, type);
+    Operand<T> beta2 = tf.dtypes.cast(betaTwoConst, type);
+    Operand<T> lr =
+        tf.math.div(
+            tf.math.mul(
+                tf.dtypes.cast(learningRateConst, type),
+                tf.math.sqrt(tf.math.sub(one, tf.dtypes.cast(betaTwoPower, type)))),
+            tf.math.sub(one, tf.dtypes.cast(betaOnePower, type)));
+    Operand<TInt32> axis = tf.constant(0);
+
+    // m_t = beta1 * m + (1 - beta1) * g_t, for the rows of the gradient
+    Operand<T> firstMoment =
+        tf.math.add(
+            tf.math.mul(tf.gather(firstMomentSlot, indices, axis), beta1),
+            tf.math.mul(values, tf.math.sub(one, beta1)));
+    Op firstMomentUpdate = tf.scatterUpdate(firstMomentSlot, indices, firstMoment);
+
+    // v_t = beta2 * v + (1 - beta2) * (g_t * g_t), for the rows of the gradient
+    Operand<T> secondMoment =
+        tf.math.add(
+            tf.math.mul(tf.gather(secondMomentSlot, indices, axis), beta2),
+            tf.math.mul(tf.math.square(values), tf.math.sub(one, beta2)));
+    Op secondMomentUpdate = tf.scatterUpdate(secondMomentSlot, indices, secondMoment);
+
+    // variable -= lr * m_t / (sqrt(v_t) + epsilon), for the rows of the gradient
+    return tf.withControlDependencies(Arrays.asList(firstMomentUpdate, secondMomentUpdate))
+        .scatterSub(
+            variable,
+            indices,
+            tf.math.div(
+                tf.math.mul(lr, firstMoment),
+                tf.math.add(tf.math.sqrt(secondMoment), tf.dtypes.cast(epsilonConst, type))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> firstMomentSlot = getSlot(variable, FIRST_MOMENT).get();
+    ResourceVariable<T> secondMomentSlot = getSlot(variable, SECOND_MOMENT).get();
+    return tf.train.resourceApplyAdam(
+        variable.handle(),
+        firstMomentSlot.handle(),
+        secondMomentSlot.handle(),
+        tf.dtypes.cast(betaOnePower, gradient.type()),
+        tf.dtypes.cast(betaTwoPower, gradient.type()),
+        tf.dtypes.cast(learningRateConst, gradient.type()),
+        tf.dtypes.cast(betaOneConst, gradient.type()),
+        tf.dtypes.cast(betaTwoConst, gradient.type()),
+        tf.dtypes.cast(epsilonConst, gradient.type()),
+        gradient);
+  }
+
+  /**
+   * Generates the update operations for a sparse gradient of a resource variable with unique
+   * indices.
+   *
+   * <p>Like {@link #applySparse(IndexedSlices, Output)}, the update is lazy and only the rows that
+   * have a gradient are updated, with {@code ResourceGather} and {@code ResourceScatter*}
+   * operations.
+   *
+   * @param gradient The sparse gradient to use, with unique indices.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> firstMomentSlot = getSlot(variable, FIRST_MOMENT).get();
+    ResourceVariable<T> secondMomentSlot = getSlot(variable, SECOND_MOMENT).get();
+    Class<T> type = variable.type();
+    Operand<? extends TNumber> indices = gradient.getIndices();
+    Operand<T> values = gradient.getValues();
+    Operand<T> one = tf.dtypes.cast(tf.constant(1.0f), type);
+    Operand<T> beta1 = tf.dtypes.cast(betaOneConst, type);
+    Operand<T> beta2 = tf.dtypes.cast(betaTwoConst, type);
+    Operand<T> lr =
+        tf.math.div(
+            tf.math.mul(
+                tf.dtypes.cast(learningRateConst, type),
+                tf.math.sqrt(tf.math.sub(one, tf.dtypes.cast(betaTwoPower, type)))),
+            tf.math.sub(one, tf.dtypes.cast(betaOnePower, type)));
+
+    // m_t = beta1 * m + (1 - beta1) * g_t, for the rows of the gradient
+    Operand<T> firstMoment =
+        tf.math.add(
+            tf.math.mul(tf.resourceGather(firstMomentSlot.handle(), indices, type), beta1),
+            tf.math.mul(values, tf.math.sub(one, beta1)));
+    Op firstMomentUpdate =
+        tf.resourceScatterUpdate(firstMomentSlot.handle(), indices, firstMoment);
+
+    // v_t = beta2 * v + (1 - beta2) * (g_t * g_t), for the rows of the gradient
+    Operand<T> secondMoment =
+        tf.math.add(
+            tf.math.mul(tf.resourceGather(secondMomentSlot.handle(), indices, type), beta2),
+            tf.math.mul(tf.math.square(values), tf.math.sub(one, beta2)));
+    Op secondMomentUpdate =
+        tf.resourceScatterUpdate(secondMomentSlot.handle(), indices, secondMoment);
+
+    // variable -= lr * m_t / (sqrt(v_t) + epsilon), for the rows of the gradient
+    return tf.withControlDependencies(Arrays.asList(firstMomentUpdate, secondMomentUpdate))
+        .resourceScatterSub(
+            variable.handle(),
+            indices,
+            tf.math.div(
+                tf.math.mul(lr, firstMoment),
+                tf.math.add(tf.math.sqrt(secondMoment), tf.dtypes.cast(epsilonConst, type))));
+  }
+
   /**
    * Gathers up the update operations into a single op that can be used as a run target.
    *
@@ -251,8 +425,8 @@ public class Adam extends Optimizer {
    */
   @Override
   protected Op finish(List<Op> updateOperations, String name) {
-    updateOperations.add(tf.assign(betaOnePower, tf.math.mul(betaOnePower, betaOneConst)));
-    updateOperations.add(tf.assign(betaTwoPower, tf.math.mul(betaTwoPower, betaTwoConst)));
+    updateOperations.add(updatePower(betaOnePower, betaOneConst));
+    updateOperations.add(updatePower(betaTwoPower, betaTwoConst));
     return super.finish(updateOperations, name);
   }
 
@@ -1,14 +1,16 @@
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.Constant;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.op.train.ApplyAdaMax;
+import org.tensorflow.op.train.ResourceApplyAdaMax;
 import org.tensorflow.types.TFloat32;
 import org.tensorflow.types.family.TType;
 
@@ -36,63 +38,65 @@ public class Adamax extends Optimizer {
   private final float betaTwo;
   private final float epsilon;
   private final float learningRate;
-  private Constant<TFloat32> learningRateConst;
+  private Operand<TFloat32> learningRateConst;
   private Constant<TFloat32> epsilonConst;
   private Constant<TFloat32> betaOneConst;
   private Constant<TFloat32> betaTwoConst;
-  private Variable<TFloat32> betaOnePower;
+  /** The power of betaOne, a resource variable if operating eagerly. */
+  private Operand<TFloat32> betaOnePower;
 
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public Adamax(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adamax(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name name for the operations Created when applying gradients. Defaults to "Adamax".
    */
-  public Adamax(Graph graph, String name) {
-    this(graph, name, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adamax(ExecutionEnvironment env, String name) {
+    this(env, name, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate The learning rate.
    */
-  public Adamax(Graph graph, float learningRate) {
-    this(graph, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adamax(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name name for the operations Created when applying gradients. Defaults to "Adamax".
    * @param learningRate The learning rate.
    */
-  public Adamax(Graph graph, String name, float learningRate) {
-    this(graph, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Adamax(ExecutionEnvironment env, String name, float learningRate) {
+    this(env, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate The learning rate.
    * @param betaOne The exponential decay rate for the 1st moment estimates.
    * @param betaTwo The exponential decay rate for the exponentially weighted infinity norm.
    * @param epsilon A small constant for numerical stability.
    */
-  public Adamax(Graph graph, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph);
+  public Adamax(
+      ExecutionEnvironment env, float learningRate, float betaOne, float betaTwo, float epsilon) {
+    super(env);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -102,7 +106,7 @@ public class Adamax extends Optimizer {
   /**
    * Creates an Optimizer that implements the Adamax algorithm.
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name name for the operations Created when applying gradients. Defaults to "Adamax".
    * @param learningRate The learning rate.
    * @param betaOne The exponential decay rate for the 1st moment estimates.
@@ -110,8 +114,13 @@ public class Adamax extends Optimizer {
    * @param epsilon A small constant for numerical stability.
    */
   public Adamax(
-      Graph graph, String name, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph, name);
+      ExecutionEnvironment env,
+      String name,
+      float learningRate,
+      float betaOne,
+      float betaTwo,
+      float epsilon) {
+    super(env, name);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -123,7 +132,7 @@ public class Adamax extends Optimizer {
   protected Optional<Op> prepare(String scopeName) {
     betaOneConst = tf.constant(betaOne);
     betaTwoConst = tf.constant(betaTwo);
-    learningRateConst = tf.constant(learningRate);
+    learningRateConst = getLearningRate(learningRate, TFloat32.class);
     epsilonConst = tf.constant(epsilon);
 
     return Optional.empty();
@@ -135,9 +144,14 @@ public class Adamax extends Optimizer {
     for (Output<? extends TType> v : variables) {
       createAdamaxSlot(v.asOutput());
     }
-    betaOnePower = tf.withName("beta1_power").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> betaOnePowerInit = tf.assign(betaOnePower, tf.constant(betaOne));
-    ((Graph) tf.scope().env()).addInitializer(betaOnePowerInit);
+    if (graph == null) {
+      betaOnePower = ResourceVariable.create(tf.withName("beta1_power"), tf.constant(betaOne));
+      return;
+    }
+    Variable<TFloat32> power = tf.withName("beta1_power").variable(Shape.scalar(), TFloat32.class);
+    Assign<TFloat32> betaOnePowerInit = tf.assign(power, tf.constant(betaOne));
+    graph.addInitializer(betaOnePowerInit);
+    betaOnePower = power;
   }
 
   /**
@@ -173,10 +187,34 @@ public class Adamax extends Optimizer {
         gradient);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> firstMomentSlot = getSlot(variable, FIRST_MOMENT).get();
+    ResourceVariable<T> secondMomentSlot = getSlot(variable, SECOND_MOMENT).get();
+    return ResourceApplyAdaMax.create(
+        tf.scope(),
+        variable.handle(),
+        firstMomentSlot.handle(),
+        secondMomentSlot.handle(),
+        tf.dtypes.cast(betaOnePower, gradient.type()),
+        tf.dtypes.cast(learningRateConst, gradient.type()),
+        tf.dtypes.cast(betaOneConst, gradient.type()),
+        tf.dtypes.cast(betaTwoConst, gradient.type()),
+        tf.dtypes.cast(epsilonConst, gradient.type()),
+        gradient);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected Op finish(List<Op> updateOperations, String name) {
-    updateOperations.add(tf.assign(betaOnePower, tf.math.mul(betaOnePower, betaOneConst)));
+    Operand<TFloat32> nextPower = tf.math.mul(betaOnePower, betaOneConst);
+    if (betaOnePower instanceof ResourceVariable) {
+      updateOperations.add(((ResourceVariable<TFloat32>) betaOnePower).assign(nextPower));
+    } else {
+      updateOperations.add(tf.assign((Variable<TFloat32>) betaOnePower, nextPower));
+    }
     return super.finish(updateOperations, name);
   }
 
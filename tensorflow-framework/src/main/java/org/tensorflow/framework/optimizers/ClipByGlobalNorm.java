@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TNumber;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clips gradients so that their global norm, the L2 norm of all gradients taken together, is at
+ * most {@code clipNorm}.
+ *
+ * <p>If the global norm exceeds {@code clipNorm}, all gradients are multiplied by {@code clipNorm
+ * / globalNorm}, which preserves the direction of the update. The global norm is computed with a
+ * single {@code AddN} of the squared norm of each gradient.
+ */
+public class ClipByGlobalNorm implements GradientTransform {
+
+  private final float clipNorm;
+
+  /**
+   * Creates a ClipByGlobalNorm transform
+   *
+   * @param clipNorm the maximum global norm of the gradients
+   * @throws IllegalArgumentException if clipNorm is not positive
+   */
+  public ClipByGlobalNorm(float clipNorm) {
+    if (clipNorm <= 0.0f) {
+      throw new IllegalArgumentException("clipNorm must be positive, got " + clipNorm);
+    }
+    this.clipNorm = clipNorm;
+  }
+
+  /**
+   * Computes the global norm of gradients, in float32.
+   *
+   * <p>Sparse gradients must have unique indices, otherwise the norm of their values differs from
+   * the norm of the gradient they represent. Gradients passed to transforms by an {@link
+   * Optimizer} always have unique indices.
+   *
+   * @param tf the TensorFlow Ops
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @return the global norm
+   */
+  public static Operand<TFloat32> globalNorm(
+      Ops tf, List<Optimizer.GradAndVar<? extends TType>> gradsAndVars) {
+    List<Operand<TFloat32>> halfSquaredNorms = new ArrayList<>(gradsAndVars.size());
+    for (Optimizer.GradAndVar<? extends TType> pair : gradsAndVars) {
+      halfSquaredNorms.add(halfSquaredNorm(tf, pair.getGradientValues()));
+    }
+    Operand<TFloat32> sum =
+        halfSquaredNorms.size() > 1 ? tf.math.addN(halfSquaredNorms) : halfSquaredNorms.get(0);
+    return tf.math.sqrt(tf.math.mul(sum, tf.constant(2.0f)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Optimizer.GradAndVar<? extends TType>> apply(
+      Ops tf, List<Optimizer.GradAndVar<? extends TType>> gradsAndVars) {
+    if (gradsAndVars.isEmpty()) {
+      return gradsAndVars;
+    }
+    Operand<TFloat32> clip = tf.constant(clipNorm);
+    Operand<TFloat32> scale =
+        tf.math.div(clip, tf.math.maximum(globalNorm(tf, gradsAndVars), clip));
+    List<Optimizer.GradAndVar<? extends TType>> clipped = new ArrayList<>(gradsAndVars.size());
+    for (Optimizer.GradAndVar<? extends TType> pair : gradsAndVars) {
+      clipped.add(scale(tf, pair, scale));
+    }
+    return clipped;
+  }
+
+  /**
+   * Computes half the squared L2 norm of a tensor, in float32.
+   *
+   * @param tf the TensorFlow Ops
+   * @param values the tensor
+   * @param <T> the data type of the tensor
+   * @return {@code sum(values ** 2) / 2}
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends TType> Operand<TFloat32> halfSquaredNorm(Ops tf, Operand<T> values) {
+    Operand<? extends TNumber> l2Loss = tf.nn.l2Loss((Operand<TNumber>) values);
+    return l2Loss.type() == TFloat32.class
+        ? (Operand<TFloat32>) l2Loss
+        : tf.dtypes.cast(l2Loss, TFloat32.class);
+  }
+
+  /**
+   * Multiplies a gradient by a scale.
+   *
+   * @param tf the TensorFlow Ops
+   * @param pair the (gradient, variable) pair
+   * @param scale the scale, in float32
+   * @param <T> the data type of the gradient
+   * @return the (scaled gradient, variable) pair
+   */
+  static <T extends TType> Optimizer.GradAndVar<T> scale(
+      Ops tf, Optimizer.GradAndVar<T> pair, Operand<TFloat32> scale) {
+    Operand<T> values = pair.getGradientValues();
+    return pair.withGradientValues(
+        tf.math.mul(values, tf.dtypes.cast(scale, values.type())));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "ClipByGlobalNorm{" + "clipNorm=" + clipNorm + '}';
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clips each gradient so that its L2 norm is at most {@code clipNorm}.
+ *
+ * <p>If the norm of a gradient exceeds {@code clipNorm}, the gradient is multiplied by {@code
+ * clipNorm / norm}. Unlike {@link ClipByGlobalNorm}, each gradient is clipped independently.
+ */
+public class ClipByNorm implements GradientTransform {
+
+  private final float clipNorm;
+
+  /**
+   * Creates a ClipByNorm transform
+   *
+   * @param clipNorm the maximum norm of each gradient
+   * @throws IllegalArgumentException if clipNorm is not positive
+   */
+  public ClipByNorm(float clipNorm) {
+    if (clipNorm <= 0.0f) {
+      throw new IllegalArgumentException("clipNorm must be positive, got " + clipNorm);
+    }
+    this.clipNorm = clipNorm;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Optimizer.GradAndVar<? extends TType>> apply(
+      Ops tf, List<Optimizer.GradAndVar<? extends TType>> gradsAndVars) {
+    Operand<TFloat32> clip = tf.constant(clipNorm);
+    List<Optimizer.GradAndVar<? extends TType>> clipped = new ArrayList<>(gradsAndVars.size());
+    for (Optimizer.GradAndVar<? extends TType> pair : gradsAndVars) {
+      Operand<TFloat32> norm =
+          tf.math.sqrt(
+              tf.math.mul(
+                  ClipByGlobalNorm.halfSquaredNorm(tf, pair.getGradientValues()),
+                  tf.constant(2.0f)));
+      Operand<TFloat32> scale = tf.math.div(clip, tf.math.maximum(norm, clip));
+      clipped.add(ClipByGlobalNorm.scale(tf, pair, scale));
+    }
+    return clipped;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "ClipByNorm{" + "clipNorm=" + clipNorm + '}';
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clips each element of the gradients to the range {@code [clipValueMin, clipValueMax]}.
+ *
+ * <p>Each gradient is clipped with a single {@code ClipByValue} kernel.
+ */
+public class ClipByValue implements GradientTransform {
+
+  private final float clipValueMin;
+
+  private final float clipValueMax;
+
+  /**
+   * Creates a ClipByValue transform that clips the gradients to {@code [-clipValue, clipValue]}
+   *
+   * @param clipValue the maximum absolute value of the gradients
+   * @throws IllegalArgumentException if clipValue is negative
+   */
+  public ClipByValue(float clipValue) {
+    this(-clipValue, clipValue);
+  }
+
+  /**
+   * Creates a ClipByValue transform
+   *
+   * @param clipValueMin the minimum value of the gradients
+   * @param clipValueMax the maximum value of the gradients
+   * @throws IllegalArgumentException if clipValueMin is greater than clipValueMax
+   */
+  public ClipByValue(float clipValueMin, float clipValueMax) {
+    if (clipValueMin > clipValueMax) {
+      throw new IllegalArgumentException(
+          "clipValueMin must not be greater than clipValueMax, got "
+              + clipValueMin
+              + " > "
+              + clipValueMax);
+    }
+    this.clipValueMin = clipValueMin;
+    this.clipValueMax = clipValueMax;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Optimizer.GradAndVar<? extends TType>> apply(
+      Ops tf, List<Optimizer.GradAndVar<? extends TType>> gradsAndVars) {
+    List<Optimizer.GradAndVar<? extends TType>> clipped = new ArrayList<>(gradsAndVars.size());
+    for (Optimizer.GradAndVar<? extends TType> pair : gradsAndVars) {
+      clipped.add(clip(tf, pair));
+    }
+    return clipped;
+  }
+
+  /**
+   * Clips the values of a gradient.
+   *
+   * @param tf the TensorFlow Ops
+   * @param pair the (gradient, variable) pair
+   * @param <T> the data type of the gradient
+   * @return the (clipped gradient, variable) pair
+   */
+  private <T extends TType> Optimizer.GradAndVar<T> clip(Ops tf, Optimizer.GradAndVar<T> pair) {
+    Operand<T> values = pair.getGradientValues();
+    return pair.withGradientValues(
+        tf.clipByValue(
+            values,
+            tf.dtypes.cast(tf.constant(clipValueMin), values.type()),
+            tf.dtypes.cast(tf.constant(clipValueMax), values.type())));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "ClipByValue{"
+        + "clipValueMin="
+        + clipValueMin
+        + ", clipValueMax="
+        + clipValueMax
+        + '}';
+  }
+}
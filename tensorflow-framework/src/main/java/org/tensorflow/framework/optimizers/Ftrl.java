@@ -1,11 +1,13 @@
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.op.train.ApplyFtrl;
+import org.tensorflow.op.train.SparseApplyFtrl;
 import org.tensorflow.types.family.TType;
 
 import java.util.List;
@@ -40,11 +42,11 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public Ftrl(Graph graph) {
+  public Ftrl(ExecutionEnvironment env) {
     this(
-        graph,
+        env,
         LEARNING_RATE_DEFAULT,
         LEARNING_RATE_POWER_DEFAULT,
         INITIAL_ACCUMULATOR_VALUE_DEFAULT,
@@ -56,12 +58,12 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name of this Optimizer
    */
-  public Ftrl(Graph graph, String name) {
+  public Ftrl(ExecutionEnvironment env, String name) {
     this(
-        graph,
+        env,
         name,
         LEARNING_RATE_DEFAULT,
         LEARNING_RATE_POWER_DEFAULT,
@@ -74,12 +76,12 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public Ftrl(Graph graph, float learningRate) {
+  public Ftrl(ExecutionEnvironment env, float learningRate) {
     this(
-        graph,
+        env,
         learningRate,
         LEARNING_RATE_POWER_DEFAULT,
         INITIAL_ACCUMULATOR_VALUE_DEFAULT,
@@ -91,13 +93,13 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name of this Optimizer
    * @param learningRate the learning rate
    */
-  public Ftrl(Graph graph, String name, float learningRate) {
+  public Ftrl(ExecutionEnvironment env, String name, float learningRate) {
     this(
-        graph,
+        env,
         name,
         learningRate,
         LEARNING_RATE_POWER_DEFAULT,
@@ -110,7 +112,7 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param learningRatePower Controls how the learning rate decreases during training. Use zero for
    *     a fixed learning rate.
@@ -126,14 +128,14 @@ public class Ftrl extends Optimizer {
    *     are less than 0.0, or learningRatePower is greater than 0.0.
    */
   public Ftrl(
-      Graph graph,
+      ExecutionEnvironment env,
       float learningRate,
       float learningRatePower,
       float initialAccumulatorValue,
       float l1Strength,
       float l2Strength,
       float l2ShrinkageRegularizationStrength) {
-    super(graph);
+    super(env);
     this.learningRate = learningRate;
     this.learningRatePower = learningRatePower;
     this.initialAccumulatorValue = initialAccumulatorValue;
@@ -146,7 +148,7 @@ public class Ftrl extends Optimizer {
   /**
    * Creates a Ftrl Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name of this Optimizer
    * @param learningRate the learning rate
    * @param learningRatePower Controls how the learning rate decreases during training. Use zero for
@@ -163,7 +165,7 @@ public class Ftrl extends Optimizer {
    *     are less than 0.0, or learningRatePower is greater than 0.0.
    */
   public Ftrl(
-      Graph graph,
+      ExecutionEnvironment env,
       String name,
       float learningRate,
       float learningRatePower,
@@ -171,7 +173,7 @@ public class Ftrl extends Optimizer {
       float l1Strength,
       float l2Strength,
       float l2ShrinkageRegularizationStrength) {
-    super(graph, name);
+    super(env, name);
     this.learningRate = learningRate;
     this.learningRatePower = learningRatePower;
     this.initialAccumulatorValue = initialAccumulatorValue;
@@ -248,7 +250,7 @@ public class Ftrl extends Optimizer {
         accumSlot, // accum
         linearSlot, // linear
         gradient, // gradient
-        tf.dtypes.cast(tf.constant(learningRate), gradient.type()), // lr
+        getLearningRate(learningRate, gradient.type()), // lr
         tf.dtypes.cast(tf.constant(l1RegularizationStrength), gradient.type()), // l1
         tf.dtypes.cast(tf.constant(l2RegularizationStrength), gradient.type()), // l2
         tf.dtypes.cast(
@@ -257,6 +259,65 @@ public class Ftrl extends Optimizer {
         options);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> accumSlot = getSlot(variable, ACCUMULATOR).get();
+    Variable<T> linearSlot = getSlot(variable, LINEAR_ACCUMULATOR).get();
+    return this.tf.train.sparseApplyFtrl(
+        variable,
+        accumSlot, // accum
+        linearSlot, // linear
+        gradient.getValues(), // gradient
+        gradient.getIndices(), // indices
+        getLearningRate(learningRate, variable.type()), // lr
+        tf.dtypes.cast(tf.constant(l1RegularizationStrength), variable.type()), // l1
+        tf.dtypes.cast(tf.constant(l2RegularizationStrength), variable.type()), // l2
+        tf.dtypes.cast(
+            tf.constant(l2ShrinkageRegularizationStrength), variable.type()), // l2Shrinkage
+        tf.dtypes.cast(tf.constant(learningRatePower), variable.type()), // lrPower
+        SparseApplyFtrl.useLocking(true));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> accumSlot = getSlot(variable, ACCUMULATOR).get();
+    ResourceVariable<T> linearSlot = getSlot(variable, LINEAR_ACCUMULATOR).get();
+    return this.tf.train.resourceApplyFtrl(
+        variable.handle(),
+        accumSlot.handle(), // accum
+        linearSlot.handle(), // linear
+        gradient, // gradient
+        getLearningRate(learningRate, gradient.type()), // lr
+        tf.dtypes.cast(tf.constant(l1RegularizationStrength), gradient.type()), // l1
+        tf.dtypes.cast(tf.constant(l2RegularizationStrength), gradient.type()), // l2
+        tf.dtypes.cast(
+            tf.constant(l2ShrinkageRegularizationStrength), gradient.type()), // l2Shrinkage
+        tf.dtypes.cast(tf.constant(learningRatePower), gradient.type())); // lrPower
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> accumSlot = getSlot(variable, ACCUMULATOR).get();
+    ResourceVariable<T> linearSlot = getSlot(variable, LINEAR_ACCUMULATOR).get();
+    return this.tf.train.resourceSparseApplyFtrl(
+        variable.handle(),
+        accumSlot.handle(), // accum
+        linearSlot.handle(), // linear
+        gradient.getValues(), // gradient
+        gradient.getIndices(), // indices
+        getLearningRate(learningRate, variable.type()), // lr
+        tf.dtypes.cast(tf.constant(l1RegularizationStrength), variable.type()), // l1
+        tf.dtypes.cast(tf.constant(l2RegularizationStrength), variable.type()), // l2
+        tf.dtypes.cast(
+            tf.constant(l2ShrinkageRegularizationStrength), variable.type()), // l2Shrinkage
+        tf.dtypes.cast(tf.constant(learningRatePower), variable.type())); // lrPower
+  }
+
   /** {@inheritDoc} */
   @Override
   public String getOptimizerName() {
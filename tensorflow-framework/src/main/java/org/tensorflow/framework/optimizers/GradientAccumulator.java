@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Variable;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Optimizer that accumulates gradients over several micro-batches before applying them with
+ * another optimizer.
+ *
+ * <p>This allows training with a batch that does not fit in memory, by splitting it into
+ * micro-batches. The op returned by {@link #minimize(Operand)} or {@link #applyGradients(List,
+ * String)} adds the gradients of a micro-batch to the accumulators of the variables, and is run
+ * once per micro-batch. The op returned by {@link #applyAccumulated(String)} then applies the
+ * average of the accumulated gradients with the wrapped optimizer and resets the accumulators.
+ *
+ * <pre>{@code
+ * GradientAccumulator optimizer = new GradientAccumulator(new Adam(graph));
+ * Op accumulate = optimizer.minimize(loss);
+ * Op apply = optimizer.applyAccumulated("apply");
+ * for (int i = 0; i < microBatches; ++i) {
+ *   session.runner().addTarget(accumulate).feed(...).run();
+ * }
+ * session.run(apply);
+ * }</pre>
+ *
+ * <p>The accumulators are slots of the variables, which are created once and reused for every
+ * batch. Each micro-batch adds its gradient to the accumulator of a variable with a single {@code
+ * AssignAdd}, or a single {@code ScatterAdd} if the gradient is sparse.
+ */
+public class GradientAccumulator extends Optimizer {
+
+  public static final String ACCUMULATOR = "accumulator";
+
+  private final Optimizer optimizer;
+
+  private final ResourceVariable<TFloat32> steps;
+
+  private final List<Operand<? extends TType>> variables;
+
+  private final Set<Object> accumulatedVariables;
+
+  /**
+   * Creates a GradientAccumulator Optimizer
+   *
+   * @param optimizer the optimizer that applies the accumulated gradients
+   */
+  public GradientAccumulator(Optimizer optimizer) {
+    this(optimizer, null);
+  }
+
+  /**
+   * Creates a GradientAccumulator Optimizer
+   *
+   * @param optimizer the optimizer that applies the accumulated gradients
+   * @param name the name for this Optimizer, default is "GradientAccumulator"
+   */
+  public GradientAccumulator(Optimizer optimizer, String name) {
+    super(optimizer.env, name);
+    this.optimizer = optimizer;
+    this.steps = ResourceVariable.create(tf.withName("steps"), tf.constant(0.0f));
+    this.variables = new ArrayList<>();
+    this.accumulatedVariables = new HashSet<>();
+  }
+
+  /**
+   * Gets the optimizer that applies the accumulated gradients.
+   *
+   * @return the wrapped optimizer
+   */
+  public Optimizer getOptimizer() {
+    return optimizer;
+  }
+
+  /**
+   * Adds gradients to the accumulators of their variables.
+   *
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @param name the name of the accumulate operation
+   * @return an Op that adds the gradients to the accumulators
+   */
+  @Override
+  public Op applyGradients(List<GradAndVar<? extends TType>> gradsAndVars, String name) {
+    for (GradAndVar<? extends TType> pair : gradsAndVars) {
+      Operand<? extends TType> variable =
+          pair.isResource() ? pair.getResourceVariable() : pair.getVariable();
+      Object key = pair.isResource() ? variable : variable.op().name();
+      if (accumulatedVariables.add(key)) {
+        variables.add(variable);
+      }
+    }
+    return super.applyGradients(gradsAndVars, name);
+  }
+
+  /**
+   * Applies the average of the gradients accumulated since the last call with the wrapped
+   * optimizer, then resets the accumulators. At least one micro-batch must have been accumulated
+   * before the returned op is run.
+   *
+   * <p>In a graph, this method must be called after the gradients of all the variables have been
+   * passed to {@link #applyGradients(List, String)}, and the returned op can then be run after
+   * each batch.
+   *
+   * @param name the name of the apply operation
+   * @return an Op that applies the accumulated gradients and resets the accumulators
+   */
+  public Op applyAccumulated(String name) {
+    List<GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>(variables.size());
+    for (Operand<? extends TType> variable : variables) {
+      gradsAndVars.add(accumulatedGradient(variable));
+    }
+    Op applyOp = optimizer.applyGradients(gradsAndVars, name + "/apply");
+
+    Ops resetTf = tf.withControlDependencies(Collections.singletonList(applyOp));
+    List<Op> resetOps = new ArrayList<>(variables.size() + 1);
+    for (Operand<? extends TType> variable : variables) {
+      resetOps.add(reset(resetTf, variable));
+    }
+    resetOps.add(steps.assign(resetTf.constant(0.0f)));
+    return super.finish(resetOps, name);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void createSlots(List<Output<? extends TType>> variables) {
+    for (Output<? extends TType> v : variables) {
+      createAccumulatorSlot(v);
+    }
+  }
+
+  /**
+   * Creates a slot for the gradient accumulator
+   *
+   * @param v the variable
+   * @param <T> the data type of the variable
+   */
+  private <T extends TType> void createAccumulatorSlot(Output<T> v) {
+    Operand<T> initializer = tf.fill(tf.shape(v), tf.dtypes.cast(tf.constant(0.0f), v.type()));
+    createSlot(v.asOutput(), ACCUMULATOR, initializer);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable) {
+    Variable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return tf.assignAdd(slot, gradient);
+  }
+
+  /**
+   * Adds the rows of the sparse gradient to the accumulator, summing duplicate indices in place.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which adds the gradient to the accumulator.
+   */
+  @Override
+  protected <T extends TType> Op applySparseDuplicateIndices(
+      IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return tf.scatterAdd(slot, gradient.getIndices(), gradient.getValues());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    return getSlot(variable, ACCUMULATOR).get().assignAdd(gradient);
+  }
+
+  /**
+   * Adds the rows of the sparse gradient to the accumulator, summing duplicate indices in place.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which adds the gradient to the accumulator.
+   */
+  @Override
+  protected <T extends TType> Op applyResourceSparseDuplicateIndices(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> slot = getSlot(variable, ACCUMULATOR).get();
+    return tf.resourceScatterAdd(slot.handle(), gradient.getIndices(), gradient.getValues());
+  }
+
+  /**
+   * Gathers up the accumulate operations and counts the accumulated micro-batches.
+   *
+   * @param updateOperations The accumulate operations.
+   * @param name The name of the run target.
+   * @return A NoOp with a control dependency on each accumulate operation.
+   */
+  @Override
+  protected Op finish(List<Op> updateOperations, String name) {
+    updateOperations.add(steps.assignAdd(tf.constant(1.0f)));
+    return super.finish(updateOperations, name);
+  }
+
+  /**
+   * Pairs a variable with the average of its accumulated gradients.
+   *
+   * @param variable the variable, or resource variable
+   * @param <T> the data type of the variable
+   * @return the averaged gradient and variable pair
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends TType> GradAndVar<T> accumulatedGradient(Operand<T> variable) {
+    if (variable instanceof ResourceVariable) {
+      ResourceVariable<T> resourceVariable = (ResourceVariable<T>) variable;
+      ResourceVariable<T> slot = getSlot(resourceVariable, ACCUMULATOR).get();
+      return new GradAndVar<>(average(slot), resourceVariable);
+    }
+    Output<T> output = variable.asOutput();
+    Variable<T> slot = getSlot(output, ACCUMULATOR).get();
+    return new GradAndVar<>(average(slot), output);
+  }
+
+  /**
+   * Divides an accumulator by the number of accumulated micro-batches.
+   *
+   * @param accumulator the accumulator
+   * @param <T> the data type of the accumulator
+   * @return the average gradient
+   */
+  private <T extends TType> Output<T> average(Operand<T> accumulator) {
+    return tf.math.div(accumulator, tf.dtypes.cast(steps, accumulator.type())).asOutput();
+  }
+
+  /**
+   * Resets the accumulator of a variable to zero.
+   *
+   * @param resetTf the ops to create the reset with
+   * @param variable the variable, or resource variable
+   * @param <T> the data type of the variable
+   * @return the reset operation
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends TType> Op reset(Ops resetTf, Operand<T> variable) {
+    if (variable instanceof ResourceVariable) {
+      ResourceVariable<T> slot = getSlot((ResourceVariable<T>) variable, ACCUMULATOR).get();
+      return resetTf.assignVariableOp(slot.handle(), resetTf.zerosLike(slot));
+    }
+    Variable<T> slot = getSlot(variable.asOutput(), ACCUMULATOR).get();
+    return resetTf.assign(slot, resetTf.zerosLike(slot));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "GradientAccumulator{" + "optimizer=" + optimizer + '}';
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getOptimizerName() {
+    return "GradientAccumulator";
+  }
+}
@@ -15,8 +15,10 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
+import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.types.family.TType;
 
@@ -33,32 +35,32 @@ public class GradientDescent extends Optimizer {
   /**
    * Creates a GradientDescent Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public GradientDescent(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT);
+  public GradientDescent(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT);
   }
 
   /**
    * Creates a GradientDescent Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate, defaults to 0.01
    */
-  public GradientDescent(Graph graph, float learningRate) {
-    super(graph);
+  public GradientDescent(ExecutionEnvironment env, float learningRate) {
+    super(env);
     this.learningRate = learningRate;
   }
 
   /**
    * Creates a GradientDescent Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer, default is "GradientDescent"
    * @param learningRate the learning rate, defaults to 0.01
    */
-  public GradientDescent(Graph graph, String name, float learningRate) {
-    super(graph, name);
+  public GradientDescent(ExecutionEnvironment env, String name, float learningRate) {
+    super(env, name);
     this.learningRate = learningRate;
   }
 
@@ -66,7 +68,66 @@ public class GradientDescent extends Optimizer {
   @Override
   protected <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable) {
     return tf.train.applyGradientDescent(
-        variable, tf.dtypes.cast(tf.constant(learningRate), gradient.type()), gradient);
+        variable, getLearningRate(learningRate, gradient.type()), gradient);
+  }
+
+  /**
+   * Applies the sparse gradient without summing duplicate indices first, as the update is linear
+   * in the gradient.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  @Override
+  protected <T extends TType> Op applySparseDuplicateIndices(
+      IndexedSlices<T> gradient, Output<T> variable) {
+    return applySparse(gradient, variable);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Operand<T> values = gradient.getValues();
+    return tf.scatterSub(
+        variable,
+        gradient.getIndices(),
+        tf.math.mul(values, getLearningRate(learningRate, values.type())));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    return tf.train.resourceApplyGradientDescent(
+        variable.handle(), getLearningRate(learningRate, gradient.type()), gradient);
+  }
+
+  /**
+   * Applies the sparse gradient without summing duplicate indices first, as the update is linear
+   * in the gradient.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  @Override
+  protected <T extends TType> Op applyResourceSparseDuplicateIndices(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    return applyResourceSparse(gradient, variable);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    Operand<T> values = gradient.getValues();
+    return tf.resourceScatterSub(
+        variable.handle(),
+        gradient.getIndices(),
+        tf.math.mul(values, getLearningRate(learningRate, values.type())));
   }
 
   /** {@inheritDoc} */
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TType;
+
+import java.util.List;
+
+/**
+ * A transformation of gradients, applied by an {@link Optimizer} between computing the gradients
+ * and updating the variables. Sparse gradients are passed to transforms with unique indices.
+ *
+ * @see Optimizer#setGradientTransforms(GradientTransform...)
+ */
+@FunctionalInterface
+public interface GradientTransform {
+
+  /**
+   * Transforms gradients.
+   *
+   * @param tf the TensorFlow Ops of the optimizer
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @return the list of (transformed gradient, variable) pairs, in the same order.
+   */
+  List<Optimizer.GradAndVar<? extends TType>> apply(
+      Ops tf, List<Optimizer.GradAndVar<? extends TType>> gradsAndVars);
+
+  /**
+   * Composes this transform with another one.
+   *
+   * @param after the transform to apply after this one
+   * @return a transform that applies this transform, then the other one
+   */
+  default GradientTransform andThen(GradientTransform after) {
+    return (tf, gradsAndVars) -> after.apply(tf, apply(tf, gradsAndVars));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.types.family.TNumber;
+import org.tensorflow.types.family.TType;
+
+/**
+ * A sparse representation of a gradient, as a set of rows of the variable it applies to.
+ *
+ * <p>The gradient is the dense tensor whose row {@code indices[i]} is {@code values[i]}, and whose
+ * other rows are zero. This is typically the gradient of an embedding lookup, where only the rows
+ * that were gathered during the step receive an update. Indices may repeat, in which case the
+ * corresponding values are summed.
+ *
+ * @param <T> the data type of the gradient values
+ */
+public class IndexedSlices<T extends TType> {
+
+  private final Operand<T> values;
+  private final Operand<? extends TNumber> indices;
+
+  /**
+   * Creates an IndexedSlices
+   *
+   * @param values the gradient rows, of shape {@code [N] + variable.shape[1:]}
+   * @param indices a vector of {@code N} indices into the first dimension of the variable
+   */
+  public IndexedSlices(Operand<T> values, Operand<? extends TNumber> indices) {
+    this.values = values;
+    this.indices = indices;
+  }
+
+  /**
+   * Gets the gradient rows
+   *
+   * @return the gradient rows
+   */
+  public Operand<T> getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the indices of the gradient rows in the first dimension of the variable
+   *
+   * @return the indices of the gradient rows
+   */
+  public Operand<? extends TNumber> getIndices() {
+    return indices;
+  }
+}
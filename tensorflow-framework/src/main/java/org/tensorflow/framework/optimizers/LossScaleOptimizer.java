@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers;
+
+import org.tensorflow.Operand;
+import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.op.Op;
+import org.tensorflow.types.TBool;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TNumber;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimizer that applies loss scaling to prevent numeric underflow of the gradients, when a model
+ * is computed in a reduced precision such as float16 or bfloat16.
+ *
+ * <p>The loss is multiplied by a loss scale before computing the gradients, which are then divided
+ * by the same scale before being applied with the wrapped optimizer. If any gradient is not finite,
+ * the step is skipped.
+ *
+ * <p>With dynamic loss scaling, the loss scale is divided by the {@code multiplier} every time a
+ * gradient overflows, and multiplied by it after {@code growthInterval} consecutive steps with
+ * finite gradients. With a fixed loss scale, the scale never changes but overflowing steps are
+ * still skipped.
+ *
+ * <p>When gradients are computed outside of this optimizer, as in an eager session, the loss must
+ * be scaled with {@link #getScaledLoss(Operand)} and the scaled gradients passed to {@link
+ * #applyGradients(List, String)}.
+ */
+public class LossScaleOptimizer extends Optimizer {
+
+  public static final float INITIAL_SCALE_DEFAULT = 32768.0f;
+  public static final int GROWTH_INTERVAL_DEFAULT = 2000;
+  public static final float MULTIPLIER_DEFAULT = 2.0f;
+
+  private final Optimizer optimizer;
+
+  private final boolean dynamic;
+
+  private final int growthInterval;
+
+  private final float multiplier;
+
+  private final ResourceVariable<TFloat32> lossScale;
+
+  private final ResourceVariable<TInt32> goodSteps;
+
+  /**
+   * Creates a LossScaleOptimizer with dynamic loss scaling and default settings
+   *
+   * @param optimizer the optimizer that applies the unscaled gradients
+   */
+  public LossScaleOptimizer(Optimizer optimizer) {
+    this(optimizer, INITIAL_SCALE_DEFAULT, GROWTH_INTERVAL_DEFAULT, MULTIPLIER_DEFAULT);
+  }
+
+  /**
+   * Creates a LossScaleOptimizer with dynamic loss scaling
+   *
+   * @param optimizer the optimizer that applies the unscaled gradients
+   * @param initialScale the initial loss scale, defaults to 2^15
+   * @param growthInterval the number of consecutive steps with finite gradients after which the
+   *     loss scale is increased, defaults to 2000
+   * @param multiplier the factor by which the loss scale is increased or decreased, defaults to 2
+   */
+  public LossScaleOptimizer(
+      Optimizer optimizer, float initialScale, int growthInterval, float multiplier) {
+    this(optimizer, null, initialScale, true, growthInterval, multiplier);
+  }
+
+  /**
+   * Creates a LossScaleOptimizer with a fixed loss scale
+   *
+   * @param optimizer the optimizer that applies the unscaled gradients
+   * @param lossScale the loss scale
+   */
+  public LossScaleOptimizer(Optimizer optimizer, float lossScale) {
+    this(optimizer, null, lossScale, false, GROWTH_INTERVAL_DEFAULT, MULTIPLIER_DEFAULT);
+  }
+
+  /**
+   * Creates a LossScaleOptimizer
+   *
+   * @param optimizer the optimizer that applies the unscaled gradients
+   * @param name the name for this Optimizer, default is "LossScaleOptimizer"
+   * @param initialScale the initial loss scale
+   * @param dynamic whether the loss scale is updated dynamically
+   * @param growthInterval the number of consecutive steps with finite gradients after which the
+   *     loss scale is increased, if dynamic
+   * @param multiplier the factor by which the loss scale is increased or decreased, if dynamic
+   * @throws IllegalArgumentException if the initial scale is lower than 1, the growth interval is
+   *     not positive or the multiplier is not greater than 1.
+   */
+  public LossScaleOptimizer(
+      Optimizer optimizer,
+      String name,
+      float initialScale,
+      boolean dynamic,
+      int growthInterval,
+      float multiplier) {
+    super(optimizer.env, name);
+    if (initialScale < 1.0f) {
+      throw new IllegalArgumentException("initialScale must be at least 1, got " + initialScale);
+    }
+    if (growthInterval <= 0) {
+      throw new IllegalArgumentException(
+          "growthInterval must be positive, got " + growthInterval);
+    }
+    if (multiplier <= 1.0f) {
+      throw new IllegalArgumentException(
+          "multiplier must be greater than 1, got " + multiplier);
+    }
+    this.optimizer = optimizer;
+    this.dynamic = dynamic;
+    this.growthInterval = growthInterval;
+    this.multiplier = multiplier;
+    this.lossScale = ResourceVariable.create(tf.withName("lossScale"), tf.constant(initialScale));
+    this.goodSteps = ResourceVariable.create(tf.withName("goodSteps"), tf.constant(0));
+  }
+
+  /**
+   * Gets the optimizer that applies the unscaled gradients.
+   *
+   * @return the wrapped optimizer
+   */
+  public Optimizer getOptimizer() {
+    return optimizer;
+  }
+
+  /**
+   * Gets the current loss scale.
+   *
+   * @return the loss scale variable
+   */
+  public ResourceVariable<TFloat32> getLossScale() {
+    return lossScale;
+  }
+
+  /**
+   * Multiplies a loss by the loss scale.
+   *
+   * @param loss the loss
+   * @param <T> the data type of the loss
+   * @return the scaled loss
+   */
+  public <T extends TNumber> Operand<T> getScaledLoss(Operand<T> loss) {
+    return tf.math.mul(loss, tf.dtypes.cast(lossScale, loss.type()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Op minimize(Operand<?> loss, String name) {
+    return applyGradients(computeGradients(scale(loss)), name);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Op minimize(Operand<?> loss, List<? extends Operand<?>> variables, String name) {
+    return applyGradients(computeGradients(scale(loss), variables), name);
+  }
+
+  /**
+   * Unscales the gradients and applies them with the wrapped optimizer if they are all finite,
+   * then updates the loss scale. The gradient transforms of this optimizer are applied to the
+   * unscaled gradients.
+   *
+   * <p>In a graph, none of the operations of the wrapped optimizer is run when a gradient
+   * overflows, including the updates of its own state that do not depend on the gradients, such as
+   * the powers of the betas of {@link Adam}. In an eager session, the wrapped optimizer is not
+   * called at all.
+   *
+   * @param gradsAndVars the list of (scaled gradient, variable) pairs.
+   * @param name the name of the apply gradients operation
+   * @return an Op that applies the gradients to the variables and updates the loss scale.
+   */
+  @Override
+  public Op applyGradients(List<GradAndVar<? extends TType>> gradsAndVars, String name) {
+    List<GradAndVar<? extends TType>> unscaled = new ArrayList<>(gradsAndVars.size());
+    List<Operand<TBool>> finite = new ArrayList<>(gradsAndVars.size());
+    for (GradAndVar<? extends TType> pair : gradsAndVars) {
+      unscaled.add(unscale(pair, finite));
+    }
+    Operand<TBool> allFinite = tf.reduceAll(tf.stack(finite), tf.constant(0));
+    unscaled = transformGradients(unscaled);
+
+    List<Op> updateOps = new ArrayList<>();
+    if (graph != null) {
+      List<GradAndVar<? extends TType>> skippable = new ArrayList<>(unscaled.size());
+      for (GradAndVar<? extends TType> pair : unscaled) {
+        skippable.add(skipUnless(pair, allFinite));
+      }
+      // ops depending on the true output of a switch are not run when the predicate is false
+      Op applyTrigger = tf.identity(tf.switchCond(allFinite, allFinite).outputTrue());
+      updateOps.add(
+          optimizer.applyGradients(
+              skippable, name + "/apply", Collections.singletonList(applyTrigger)));
+    } else if (allFinite.asTensor().getBoolean()) {
+      updateOps.add(optimizer.applyGradients(unscaled, name + "/apply"));
+    }
+    if (dynamic) {
+      updateOps.addAll(updateLossScale(allFinite));
+    }
+    return finish(updateOps, name);
+  }
+
+  /**
+   * Multiplies a loss of any type by the loss scale.
+   *
+   * @param loss the loss
+   * @param <T> the data type of the loss
+   * @return the scaled loss
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends TNumber> Operand<T> scale(Operand<?> loss) {
+    return getScaledLoss((Operand<T>) loss);
+  }
+
+  /**
+   * Divides a gradient by the loss scale, and checks that it is finite.
+   *
+   * @param pair the (scaled gradient, variable) pair
+   * @param finite the list to which a scalar that is true if the gradient is finite is added
+   * @param <T> the data type of the gradient
+   * @return the (unscaled gradient, variable) pair
+   */
+  private <T extends TType> GradAndVar<T> unscale(GradAndVar<T> pair, List<Operand<TBool>> finite) {
+    if (pair.isSparse()) {
+      IndexedSlices<T> gradient = pair.getSparseGradient();
+      Operand<T> values = unscale(gradient.getValues(), finite);
+      IndexedSlices<T> unscaled = new IndexedSlices<>(values, gradient.getIndices());
+      return pair.isResource()
+          ? new GradAndVar<>(unscaled, pair.getResourceVariable())
+          : new GradAndVar<>(unscaled, pair.getVariable());
+    }
+    Output<T> gradient = unscale(pair.getGradient(), finite).asOutput();
+    return pair.isResource()
+        ? new GradAndVar<>(gradient, pair.getResourceVariable())
+        : new GradAndVar<>(gradient, pair.getVariable());
+  }
+
+  /**
+   * Divides a gradient by the loss scale, and checks that it is finite.
+   *
+   * @param gradient the scaled gradient
+   * @param finite the list to which a scalar that is true if the gradient is finite is added
+   * @param <T> the data type of the gradient
+   * @return the unscaled gradient
+   */
+  private <T extends TType> Operand<T> unscale(Operand<T> gradient, List<Operand<TBool>> finite) {
+    Operand<T> unscaled =
+        tf.math.mul(gradient, tf.math.reciprocal(tf.dtypes.cast(lossScale, gradient.type())));
+    @SuppressWarnings("unchecked")
+    Operand<? extends TNumber> numeric = (Operand<? extends TNumber>) unscaled;
+    Operand<TInt32> axes = tf.range(tf.constant(0), tf.rank(unscaled), tf.constant(1));
+    finite.add(tf.reduceAll(tf.math.isFinite(numeric), axes));
+    return unscaled;
+  }
+
+  /**
+   * Routes a gradient through a switch, so that the ops using it are only run if the predicate is
+   * true.
+   *
+   * @param pair the (gradient, variable) pair
+   * @param pred the predicate
+   * @param <T> the data type of the gradient
+   * @return the (switched gradient, variable) pair
+   */
+  private <T extends TType> GradAndVar<T> skipUnless(GradAndVar<T> pair, Operand<TBool> pred) {
+    if (pair.isSparse()) {
+      IndexedSlices<T> gradient = pair.getSparseGradient();
+      IndexedSlices<T> switched =
+          new IndexedSlices<>(
+              tf.switchCond(gradient.getValues(), pred).outputTrue(), gradient.getIndices());
+      return pair.isResource()
+          ? new GradAndVar<>(switched, pair.getResourceVariable())
+          : new GradAndVar<>(switched, pair.getVariable());
+    }
+    Output<T> switched = tf.switchCond(pair.getGradient(), pred).outputTrue();
+    return pair.isResource()
+        ? new GradAndVar<>(switched, pair.getResourceVariable())
+        : new GradAndVar<>(switched, pair.getVariable());
+  }
+
+  /**
+   * Updates the loss scale and the count of consecutive steps with finite gradients.
+   *
+   * @param allFinite true if all gradients of the step are finite
+   * @return the update operations
+   */
+  private List<Op> updateLossScale(Operand<TBool> allFinite) {
+    Operand<TInt32> zero = tf.constant(0);
+    Operand<TInt32> steps =
+        tf.select(allFinite, tf.math.add(goodSteps, tf.constant(1)), zero);
+    Operand<TBool> grow =
+        tf.math.logicalAnd(
+            allFinite, tf.math.greaterEqual(steps, tf.constant(growthInterval)));
+    Operand<TFloat32> shrunk =
+        tf.math.maximum(tf.math.div(lossScale, tf.constant(multiplier)), tf.constant(1.0f));
+    Operand<TFloat32> scale =
+        tf.select(
+            grow,
+            tf.math.mul(lossScale, tf.constant(multiplier)),
+            tf.select(allFinite, lossScale, shrunk));
+    return Arrays.asList(lossScale.assign(scale), goodSteps.assign(tf.select(grow, zero, steps)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "LossScaleOptimizer{"
+        + "optimizer="
+        + optimizer
+        + ", dynamic="
+        + dynamic
+        + ", growthInterval="
+        + growthInterval
+        + ", multiplier="
+        + multiplier
+        + '}';
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getOptimizerName() {
+    return "LossScaleOptimizer";
+  }
+}
@@ -15,12 +15,16 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.op.train.ApplyMomentum;
+import org.tensorflow.op.train.ResourceApplyMomentum;
+import org.tensorflow.op.train.ResourceSparseApplyMomentum;
+import org.tensorflow.op.train.SparseApplyMomentum;
 import org.tensorflow.types.family.TType;
 
 import java.util.List;
@@ -48,45 +52,46 @@ public class Momentum extends Optimizer {
   /**
    * Creates a Momentum Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public Momentum(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, MOMENTUM_DEFAULT, NESTEROV_DEFAULT);
+  public Momentum(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, MOMENTUM_DEFAULT, NESTEROV_DEFAULT);
   }
 
   /**
    * Creates a Momentum Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public Momentum(Graph graph, float learningRate) {
-    this(graph, learningRate, MOMENTUM_DEFAULT, NESTEROV_DEFAULT);
+  public Momentum(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, MOMENTUM_DEFAULT, NESTEROV_DEFAULT);
   }
 
   /**
    * Creates a Momentum Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param momentum hyperparameter that accelerates gradient descent in the relevant direction and
    *     dampens oscillations, Must be greater than or equal to zero. Default is 0.
    */
-  public Momentum(Graph graph, float learningRate, float momentum) {
-    this(graph, learningRate, momentum, NESTEROV_DEFAULT);
+  public Momentum(ExecutionEnvironment env, float learningRate, float momentum) {
+    this(env, learningRate, momentum, NESTEROV_DEFAULT);
   }
 
   /**
    * Creates a Momentum Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param momentum hyperparameter that accelerates gradient descent in the relevant direction and
    *     dampens oscillations, Must be greater than or equal to zero. Default is 0.
    * @param useNesterov Whether to apply Nesterov momentum. Defaults to false.
    */
-  public Momentum(Graph graph, float learningRate, float momentum, boolean useNesterov) {
-    super(graph);
+  public Momentum(
+      ExecutionEnvironment env, float learningRate, float momentum, boolean useNesterov) {
+    super(env);
     this.learningRate = learningRate;
     this.momentum = momentum;
     this.useNesterov = useNesterov;
@@ -95,7 +100,7 @@ public class Momentum extends Optimizer {
   /**
    * Creates a Momentum Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer
    * @param learningRate the learning rate
    * @param momentum hyperparameter that accelerates gradient descent in the relevant direction and
@@ -103,8 +108,12 @@ public class Momentum extends Optimizer {
    * @param useNesterov Whether to apply Nesterov momentum. Defaults to false.
    */
   public Momentum(
-      Graph graph, String name, float learningRate, float momentum, boolean useNesterov) {
-    super(graph, name);
+      ExecutionEnvironment env,
+      String name,
+      float learningRate,
+      float momentum,
+      boolean useNesterov) {
+    super(env, name);
     this.learningRate = learningRate;
     this.momentum = momentum;
     this.useNesterov = useNesterov;
@@ -136,12 +145,55 @@ public class Momentum extends Optimizer {
     return tf.train.applyMomentum(
         variable,
         slot,
-        tf.dtypes.cast(tf.constant(learningRate), gradient.type()),
+        getLearningRate(learningRate, gradient.type()),
         gradient,
         tf.dtypes.cast(tf.constant(momentum), gradient.type()),
         ApplyMomentum.useNesterov(useNesterov));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> slot = getSlot(variable, MOMENTUM).get();
+    return tf.train.sparseApplyMomentum(
+        variable,
+        slot,
+        getLearningRate(learningRate, variable.type()),
+        gradient.getValues(),
+        gradient.getIndices(),
+        tf.dtypes.cast(tf.constant(momentum), variable.type()),
+        SparseApplyMomentum.useNesterov(useNesterov));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> slot = getSlot(variable, MOMENTUM).get();
+    return tf.train.resourceApplyMomentum(
+        variable.handle(),
+        slot.handle(),
+        getLearningRate(learningRate, gradient.type()),
+        gradient,
+        tf.dtypes.cast(tf.constant(momentum), gradient.type()),
+        ResourceApplyMomentum.useNesterov(useNesterov));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> slot = getSlot(variable, MOMENTUM).get();
+    return tf.train.resourceSparseApplyMomentum(
+        variable.handle(),
+        slot.handle(),
+        getLearningRate(learningRate, variable.type()),
+        gradient.getValues(),
+        gradient.getIndices(),
+        tf.dtypes.cast(tf.constant(momentum), variable.type()),
+        ResourceSparseApplyMomentum.useNesterov(useNesterov));
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
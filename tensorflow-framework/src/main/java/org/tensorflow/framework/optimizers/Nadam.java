@@ -1,10 +1,12 @@
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
 import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.Constant;
 import org.tensorflow.op.core.Variable;
@@ -12,6 +14,8 @@ import org.tensorflow.types.TFloat32;
 import org.tensorflow.types.TInt64;
 import org.tensorflow.types.family.TType;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,14 +49,15 @@ public class Nadam extends Optimizer {
   /** A small constant for numerical stability. */
   private final float epsilon;
 
-  private Constant<TFloat32> learningRateConst;
+  private Operand<TFloat32> learningRateConst;
   private Constant<TFloat32> epsilonConst;
   private Constant<TFloat32> betaOneConst;
   private Constant<TFloat32> betaTwoConst;
 
-  private Variable<TFloat32> betaOnePower;
-  private Variable<TFloat32> betaTwoPower;
-  private Variable<TFloat32> momentum;
+  /** The powers of betaOne and betaTwo and the momentum, resource variables if eager. */
+  private Operand<TFloat32> betaOnePower;
+  private Operand<TFloat32> betaTwoPower;
+  private Operand<TFloat32> momentum;
 
   private long iterations = 0;
 
@@ -69,34 +74,35 @@ public class Nadam extends Optimizer {
   /**
    * Creates a Nadam Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public Nadam(Graph graph) {
-    this(graph, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Nadam(ExecutionEnvironment env) {
+    this(env, LEARNING_RATE_DEFAULT, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates a Nadam Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate, defaults to 0.001
    */
-  public Nadam(Graph graph, float learningRate) {
-    this(graph, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Nadam(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates a Nadam Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate, defaults to 0.001
    * @param betaOne The exponential decay rate for the 1st moment estimates. Default is 0.9.
    * @param betaTwo The exponential decay rate for the exponentially weighted infinity norm. Default
    *     is 0.999.
    * @param epsilon A small constant for numerical stability. Default is 1e-8.
    */
-  public Nadam(Graph graph, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph);
+  public Nadam(
+      ExecutionEnvironment env, float learningRate, float betaOne, float betaTwo, float epsilon) {
+    super(env);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -106,18 +112,18 @@ public class Nadam extends Optimizer {
   /**
    * Creates a Nadam Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer, defaults to "Nadam"
    * @param learningRate the learning rate, defaults to 0.001
    */
-  public Nadam(Graph graph, String name, float learningRate) {
-    this(graph, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
+  public Nadam(ExecutionEnvironment env, String name, float learningRate) {
+    this(env, name, learningRate, BETA_ONE_DEFAULT, BETA_TWO_DEFAULT, EPSILON_DEFAULT);
   }
 
   /**
    * Creates a Nadam Optimizer
    *
-   * @param graph the TensorFlow graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name for this Optimizer, defaults to "Nadam"
    * @param learningRate the learning rate, defaults to 0.001
    * @param betaOne The exponential decay rate for the 1st moment estimates. Default is 0.9.
@@ -126,8 +132,13 @@ public class Nadam extends Optimizer {
    * @param epsilon A small constant for numerical stability. Default is 1e-8.
    */
   public Nadam(
-      Graph graph, String name, float learningRate, float betaOne, float betaTwo, float epsilon) {
-    super(graph, name);
+      ExecutionEnvironment env,
+      String name,
+      float learningRate,
+      float betaOne,
+      float betaTwo,
+      float epsilon) {
+    super(env, name);
     this.learningRate = learningRate;
     this.betaOne = betaOne;
     this.betaTwo = betaTwo;
@@ -140,17 +151,40 @@ public class Nadam extends Optimizer {
     for (Output<? extends TType> v : variables) {
       createNadamSlot(v.asOutput());
     }
-    betaOnePower = tf.withName("beta1_power").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> betaOnePowerInit = tf.assign(betaOnePower, tf.constant(betaOne));
-    ((Graph) tf.scope().env()).addInitializer(betaOnePowerInit);
+    betaOnePower = createScalar("beta1_power", betaOne);
+    betaTwoPower = createScalar("beta2_power", betaTwo);
+    momentum = createScalar("momentum", 1.0F);
+  }
 
-    betaTwoPower = tf.withName("beta2_power").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> betaTwoPowerInit = tf.assign(betaTwoPower, tf.constant(betaTwo));
-    ((Graph) tf.scope().env()).addInitializer(betaTwoPowerInit);
+  /**
+   * Creates a scalar variable of this optimizer.
+   *
+   * @param name the name of the variable
+   * @param value the initial value of the variable
+   * @return the variable
+   */
+  private Operand<TFloat32> createScalar(String name, float value) {
+    if (graph == null) {
+      return ResourceVariable.create(tf.withName(name), tf.constant(value));
+    }
+    Variable<TFloat32> variable = tf.withName(name).variable(Shape.scalar(), TFloat32.class);
+    Assign<TFloat32> variableInit = tf.assign(variable, tf.constant(value));
+    graph.addInitializer(variableInit);
+    return variable;
+  }
 
-    momentum = tf.withName("momentum").variable(Shape.scalar(), TFloat32.class);
-    Assign<TFloat32> momentumInit = tf.assign(momentum, tf.constant(1.0F));
-    ((Graph) tf.scope().env()).addInitializer(momentumInit);
+  /**
+   * Assigns a new value to a scalar variable of this optimizer.
+   *
+   * @param variable the variable
+   * @param value the new value
+   * @return the assignment operation
+   */
+  private Op assignScalar(Operand<TFloat32> variable, Operand<TFloat32> value) {
+    if (variable instanceof ResourceVariable) {
+      return ((ResourceVariable<TFloat32>) variable).assign(value);
+    }
+    return tf.assign((Variable<TFloat32>) variable, value, Assign.useLocking(true));
   }
 
   /**
@@ -178,7 +212,7 @@ public class Nadam extends Optimizer {
     Constant<TFloat32> one = tf.constant(1.0F);
     Constant<TFloat32> point5 = tf.constant(0.5F);
 
-    learningRateConst = tf.constant(learningRate);
+    learningRateConst = getLearningRate(learningRate, TFloat32.class);
     betaOneConst = tf.constant(betaOne);
     betaTwoConst = tf.constant(betaTwo);
     Constant<TInt64> localStepConst = tf.constant(this.iterations + 1);
@@ -211,7 +245,9 @@ public class Nadam extends Optimizer {
 
     Operand<TFloat32> mScheduleNew = tf.math.mul(momentum, mT);
 
-    mScheduleNew = tf.assign(momentum, mScheduleNew, Assign.useLocking(true));
+    mScheduleNew =
+        tf.withControlDependencies(Collections.singletonList(assignScalar(momentum, mScheduleNew)))
+            .identity(mScheduleNew);
     Operand<TFloat32> mScheduleNext = tf.math.mul(mScheduleNew, mT1);
 
     oneMinusBeta1 = tf.math.sub(one, betaOneConst);
@@ -227,34 +263,88 @@ public class Nadam extends Optimizer {
   /** {@inheritDoc} */
   @Override
   protected <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable) {
-    Class<T> type = gradient.type();
     Variable<T> m = getSlot(variable, FIRST_MOMENT).get(); // first Moment
     Variable<T> v = getSlot(variable, SECOND_MOMENT).get(); // Second Moment
 
-    //  gPrime = grad / coefficients['oneMinusMScheduleNew']
-    Operand<T> gPrime = tf.math.div(gradient, tf.dtypes.cast(oneMinusMScheduleNew, type));
-    // mT = (coefficients['beta_1_t'] * m + coefficients['one_minus_beta_1_t'] * grad)
-    Operand<T> mT =
-        tf.math.add(
-            tf.math.mul(tf.dtypes.cast(betaOneConst, type), m),
-            tf.math.mul(tf.dtypes.cast(oneMinusBeta1, type), gradient));
     // mT = state_ops.assign(m, mT, use_locking=self._use_locking)
     // update m
-    mT = tf.assign(m, mT, Assign.useLocking(true));
+    Operand<T> mT = tf.assign(m, firstMoment(gradient, m), Assign.useLocking(true));
+    // vT = state_ops.assign(v, vT, use_locking=self._use_locking)
+    // update v
+    Operand<T> vT = tf.assign(v, secondMoment(gradient, v), Assign.useLocking(true));
 
-    // mTPrime = mT / coefficients['oneMinusMScheduleNext']
-    Operand<T> mTPrime = tf.math.div(mT, tf.dtypes.cast(oneMinusMScheduleNext, type));
+    // varT = var - coefficients['lr_t'] * m_t_bar / (math_ops.sqrt(vTPrime) +
+    // coefficients['epsilon'])
+    Operand<T> varT = tf.math.sub(variable, step(gradient, mT, vT));
+
+    return tf.assign(variable, varT, Assign.useLocking(true));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    Class<T> type = gradient.type();
+    ResourceVariable<T> m = getSlot(variable, FIRST_MOMENT).get();
+    ResourceVariable<T> v = getSlot(variable, SECOND_MOMENT).get();
+
+    Op mUpdate = tf.assignVariableOp(m.handle(), firstMoment(gradient, m));
+    Op vUpdate = tf.assignVariableOp(v.handle(), secondMoment(gradient, v));
+    Ops updated = tf.withControlDependencies(Arrays.asList(mUpdate, vUpdate));
+    Operand<T> mT = updated.readVariableOp(m.handle(), type);
+    Operand<T> vT = updated.readVariableOp(v.handle(), type);
 
+    return tf.assignSubVariableOp(variable.handle(), step(gradient, mT, vT));
+  }
+
+  /**
+   * Computes the new first moment of a variable.
+   *
+   * @param gradient the gradient
+   * @param m the first moment
+   * @param <T> the datatype of the gradient and moment
+   * @return the new first moment
+   */
+  private <T extends TType> Operand<T> firstMoment(Operand<T> gradient, Operand<T> m) {
+    Class<T> type = gradient.type();
+    // mT = (coefficients['beta_1_t'] * m + coefficients['one_minus_beta_1_t'] * grad)
+    return tf.math.add(
+        tf.math.mul(tf.dtypes.cast(betaOneConst, type), m),
+        tf.math.mul(tf.dtypes.cast(oneMinusBeta1, type), gradient));
+  }
+
+  /**
+   * Computes the new second moment of a variable.
+   *
+   * @param gradient the gradient
+   * @param v the second moment
+   * @param <T> the datatype of the gradient and moment
+   * @return the new second moment
+   */
+  private <T extends TType> Operand<T> secondMoment(Operand<T> gradient, Operand<T> v) {
+    Class<T> type = gradient.type();
     // vT = (coefficients['beta_2_t'] * v + coefficients['one_minus_beta_2_t'] *
     // math_ops.square(grad))
-    Operand<T> vT =
-        tf.math.add(
-            tf.math.mul(tf.dtypes.cast(betaTwoConst, type), v),
-            tf.math.mul(tf.dtypes.cast(oneMinusBeta2, type), tf.math.square(gradient)));
-    // vT = state_ops.assign(v, vT, use_locking=self._use_locking)
-    // update v
-    vT = tf.assign(v, vT, Assign.useLocking(true));
+    return tf.math.add(
+        tf.math.mul(tf.dtypes.cast(betaTwoConst, type), v),
+        tf.math.mul(tf.dtypes.cast(oneMinusBeta2, type), tf.math.square(gradient)));
+  }
 
+  /**
+   * Computes the value to subtract from a variable, from its new moments.
+   *
+   * @param gradient the gradient
+   * @param mT the new first moment
+   * @param vT the new second moment
+   * @param <T> the datatype of the gradient and moments
+   * @return the value to subtract from the variable
+   */
+  private <T extends TType> Operand<T> step(Operand<T> gradient, Operand<T> mT, Operand<T> vT) {
+    Class<T> type = gradient.type();
+    //  gPrime = grad / coefficients['oneMinusMScheduleNew']
+    Operand<T> gPrime = tf.math.div(gradient, tf.dtypes.cast(oneMinusMScheduleNew, type));
+    // mTPrime = mT / coefficients['oneMinusMScheduleNext']
+    Operand<T> mTPrime = tf.math.div(mT, tf.dtypes.cast(oneMinusMScheduleNext, type));
     // vTPrime = vT / coefficients['vTPrimeDenominator']
     Operand<T> vTPrime = tf.math.div(vT, tf.dtypes.cast(vTPrimeDenominator, type));
 
@@ -263,16 +353,9 @@ public class Nadam extends Optimizer {
         tf.math.add(
             tf.math.mul(tf.dtypes.cast(oneMinusMT, type), gPrime),
             tf.math.mul(tf.dtypes.cast(mT1, type), mTPrime));
-    // varT = var - coefficients['lr_t'] * m_t_bar / (math_ops.sqrt(vTPrime) +
-    // coefficients['epsilon'])
-    Operand<T> varT =
-        tf.math.sub(
-            variable,
-            tf.math.div(
-                tf.math.mul(tf.dtypes.cast(learningRateConst, type), m_t_bar),
-                tf.math.add(tf.math.sqrt(vTPrime), tf.dtypes.cast(epsilonConst, type))));
-
-    return tf.assign(variable, varT, Assign.useLocking(true));
+    return tf.math.div(
+        tf.math.mul(tf.dtypes.cast(learningRateConst, type), m_t_bar),
+        tf.math.add(tf.math.sqrt(vTPrime), tf.dtypes.cast(epsilonConst, type)));
   }
 
   /**
@@ -287,8 +370,8 @@ public class Nadam extends Optimizer {
   @Override
   protected Op finish(List<Op> updateOperations, String name) {
     iterations++; // increment the step;
-    updateOperations.add(tf.assign(betaOnePower, tf.math.mul(betaOnePower, betaOneConst)));
-    updateOperations.add(tf.assign(betaTwoPower, tf.math.mul(betaTwoPower, betaTwoConst)));
+    updateOperations.add(assignScalar(betaOnePower, tf.math.mul(betaOnePower, betaOneConst)));
+    updateOperations.add(assignScalar(betaTwoPower, tf.math.mul(betaTwoPower, betaTwoConst)));
     return super.finish(updateOperations, name);
   }
 
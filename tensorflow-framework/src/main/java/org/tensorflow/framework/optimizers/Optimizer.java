@@ -15,60 +15,97 @@
  */
 package org.tensorflow.framework.optimizers;
 
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Graph;
 import org.tensorflow.Operand;
 import org.tensorflow.Operation;
 import org.tensorflow.Output;
+import org.tensorflow.framework.optimizers.schedules.LearningRateSchedule;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.ndarray.index.Indices;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.Ops;
 import org.tensorflow.op.Scope;
 import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.NoOp;
+import org.tensorflow.op.core.Unique;
 import org.tensorflow.op.core.Variable;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.family.TNumber;
 import org.tensorflow.types.family.TType;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
-/** Base class for gradient optimizers. */
+/**
+ * Base class for gradient optimizers.
+ *
+ * <p>An optimizer updates either {@link Variable}s, which are only supported in a {@link Graph},
+ * or {@link ResourceVariable}s, which are updated in place and can also be optimized in an {@link
+ * org.tensorflow.EagerSession}. In an eager session, gradients cannot be computed by the
+ * optimizer and must be passed to {@link #applyGradients(List, String)}, which then updates the
+ * variables immediately.
+ */
 public abstract class Optimizer {
 
   public static final String VARIABLE_V2 = "VariableV2";
   /** Global state variables */
   // TODO make this be used.
   protected final List<Variable<?>> globals;
-  /** The Graph this optimizer is operating on. */
+  /** The execution environment this optimizer is operating on. */
+  protected final ExecutionEnvironment env;
+  /** The Graph this optimizer is operating on, or null if it is operating eagerly. */
   protected final Graph graph;
-  /** The ops builder for the graph. */
-  protected final Ops tf;
+  /**
+   * The ops builder for the execution environment, with the control dependencies of the step being
+   * built, if any.
+   */
+  protected Ops tf;
   /** Top level map key is the variable name, lower level map key is the slot name. */
   private final Map<String, Map<String, Variable<?>>> slots;
+  /** Top level map key is the slot name, lower level map key is the resource variable. */
+  private final Map<String, Map<ResourceVariable<?>, ResourceVariable<?>>> resourceSlots;
+  /** The variable names and resource variables whose slots have already been created. */
+  private final Set<Object> slottedVariables;
+  /** The values of resource variables being passed to {@link #createSlots(List)}. */
+  private final Map<Output<?>, ResourceVariable<?>> resourceValues;
+  /** The transforms applied to the gradients before updating the variables, in order. */
+  private List<GradientTransform> gradientTransforms;
+  /** The learning rate schedule, or null if the learning rate is constant. */
+  private LearningRateSchedule learningRateSchedule;
+  /** The number of training steps, or null if it has never been requested. */
+  private ResourceVariable<TInt64> globalStep;
+  /** The learning rate computed by the schedule for the gradients being applied. */
+  private Operand<TFloat32> scheduledLearningRate;
 
   /**
-   * Builds an optimizer for the supplied graph.
+   * Builds an optimizer for the supplied execution environment.
    *
    * <p>Uses the name from {@link Optimizer#getOptimizerName()} to name the operations.
    *
-   * @param graph The graph to optimize.
+   * @param env The graph or the eager session to optimize.
    */
-  protected Optimizer(Graph graph) {
-    this.graph = graph;
-    this.tf = Ops.create(graph).withName(getOptimizerName());
-    this.slots = new HashMap<>();
-    this.globals = new ArrayList<>();
+  protected Optimizer(ExecutionEnvironment env) {
+    this(env, null);
   }
 
   /**
-   * Builds an optimizer for the supplied graph.
+   * Builds an optimizer for the supplied execution environment.
    *
-   * @param graph The graph to optimize.
+   * @param env The graph or the eager session to optimize.
    * @param name The base name for the operations.
    */
-  protected Optimizer(Graph graph, String name) {
-    this.graph = graph;
-    this.tf = Ops.create(graph).withName(name);
+  protected Optimizer(ExecutionEnvironment env, String name) {
+    this.env = env;
+    this.graph = env.isGraph() ? (Graph) env : null;
+    this.tf = Ops.create(env).withName(name != null ? name : getOptimizerName());
     this.slots = new HashMap<>();
+    this.resourceSlots = new HashMap<>();
+    this.slottedVariables = new HashSet<>();
+    this.resourceValues = new IdentityHashMap<>();
     this.globals = new ArrayList<>();
+    this.gradientTransforms = Collections.emptyList();
   }
 
   /**
@@ -91,6 +128,70 @@ public abstract class Optimizer {
     return tf;
   }
 
+  /**
+   * Sets the transforms applied to the gradients by {@link #applyGradients(List, String)}, before
+   * updating the variables, such as {@link ClipByGlobalNorm}.
+   *
+   * <p>The transforms are applied in order, and only to the gradients applied after this call.
+   *
+   * @param transforms the gradient transforms
+   * @return this optimizer
+   */
+  public Optimizer setGradientTransforms(GradientTransform... transforms) {
+    this.gradientTransforms = Collections.unmodifiableList(Arrays.asList(transforms));
+    return this;
+  }
+
+  /**
+   * Gets the transforms applied to the gradients before updating the variables.
+   *
+   * @return the gradient transforms, in order
+   */
+  public List<GradientTransform> getGradientTransforms() {
+    return gradientTransforms;
+  }
+
+  /**
+   * Sets the schedule of the learning rate, which replaces the constant learning rate of this
+   * optimizer.
+   *
+   * <p>The learning rate is computed from the {@link #getGlobalStep() global step} by each op
+   * returned by {@link #applyGradients(List, String)}, after which the global step is incremented.
+   *
+   * @param schedule the learning rate schedule
+   * @return this optimizer
+   */
+  public Optimizer setLearningRateSchedule(LearningRateSchedule schedule) {
+    getGlobalStep();
+    this.learningRateSchedule = schedule;
+    return this;
+  }
+
+  /**
+   * Gets the schedule of the learning rate.
+   *
+   * @return the learning rate schedule, or null if the learning rate is constant
+   */
+  public LearningRateSchedule getLearningRateSchedule() {
+    return learningRateSchedule;
+  }
+
+  /**
+   * Gets the global step, the number of training steps run by this optimizer.
+   *
+   * <p>The global step is created by the first call to this method, or to {@link
+   * #setLearningRateSchedule(LearningRateSchedule)}, and is only incremented by the ops returned
+   * by {@link #applyGradients(List, String)} after that.
+   *
+   * @return the global step
+   */
+  public ResourceVariable<TInt64> getGlobalStep() {
+    if (globalStep == null) {
+      globalStep = ResourceVariable.create(tf.withName("globalStep"), tf.constant(0L));
+    }
+    return globalStep;
+  }
+
   /**
    * Minimizes the loss by updating the variables
    *
@@ -114,14 +215,47 @@ public abstract class Optimizer {
     return applyGradients(gradsAndVars, name);
   }
 
+  /**
+   * Minimizes the loss by updating the given variables
+   *
+   * @param loss the loss operation that returns the value to minimize
+   * @param variables the variables to update, either {@link Variable}s or {@link
+   *     ResourceVariable}s
+   * @return op that minimizes the loss by updating the listed variables
+   * @throws IllegalStateException if this optimizer is not operating on a graph
+   */
+  public Op minimize(Operand<?> loss, List<? extends Operand<?>> variables) {
+    return minimize(loss, variables, getOptimizerName() + "-minimize");
+  }
+
+  /**
+   * Minimizes the loss by updating the given variables
+   *
+   * @param loss the loss operation that returns the value to minimize
+   * @param variables the variables to update, either {@link Variable}s or {@link
+   *     ResourceVariable}s
+   * @param name the name for the minimize operation
+   * @return op that minimizes the loss by updating the listed variables
+   * @throws IllegalStateException if this optimizer is not operating on a graph
+   */
+  public Op minimize(Operand<?> loss, List<? extends Operand<?>> variables, String name) {
+    return applyGradients(computeGradients(loss, variables), name);
+  }
+
   /**
    * Computes the gradients based on a loss operand.
    *
+   * <p>The gradients are computed for all the {@link Variable}s of the graph, which are found by
+   * scanning all its operations. Prefer {@link #computeGradients(Operand, List)} when the
+   * variables to train are known.
+   *
    * @param loss the loss operation
    * @param <T> the data type of the loss, gradients and variables.
    * @return the computed gradients
+   * @throws IllegalStateException if this optimizer is not operating on a graph
    */
   public <T extends TType> List<GradAndVar<?>> computeGradients(Operand<?> loss) {
+    checkGraph();
     List<Operation> variables = new ArrayList<>();
     graph
         .operations()
@@ -132,7 +266,7 @@ public abstract class Optimizer {
               }
             });
 
-    Output<?>[] variableOutputArray = new Output[variables.size()];
+    Output<?>[] variableOutputArray = new Output<?>[variables.size()];
     for (int i = 0; i < variables.size(); i++) {
       // First output of a variable is it's output.
       variableOutputArray[i] = variables.get(i).output(0);
@@ -152,30 +286,253 @@ public abstract class Optimizer {
     return gradVarPairs;
   }
 
+  /**
+   * Computes the gradients of a loss operand with respect to the given variables.
+   *
+   * <p>The gradients of a {@link ResourceVariable} are computed with respect to its value, so the
+   * loss must have been computed from the variable itself.
+   *
+   * @param loss the loss operation
+   * @param variables the variables to compute the gradients for, either {@link Variable}s or
+   *     {@link ResourceVariable}s
+   * @return the computed gradients, in the same order as the variables
+   * @throws IllegalStateException if this optimizer is not operating on a graph
+   */
+  public List<GradAndVar<?>> computeGradients(
+      Operand<?> loss, List<? extends Operand<?>> variables) {
+    checkGraph();
+    Output<?>[] variableOutputArray = new Output<?>[variables.size()];
+    for (int i = 0; i < variables.size(); i++) {
+      variableOutputArray[i] = variables.get(i).asOutput();
+    }
+    Output<?>[] gradients = graph.addGradients(loss.asOutput(), variableOutputArray);
+    List<GradAndVar<?>> gradVarPairs = new ArrayList<>(variables.size());
+    for (int i = 0; i < gradients.length; i++) {
+      gradVarPairs.add(pair(gradients[i], variables.get(i)));
+    }
+    return gradVarPairs;
+  }
+
+  /**
+   * Pairs a gradient with its variable.
+   *
+   * @param gradient the gradient
+   * @param variable the variable
+   * @param <T> the data type of the gradient and variable
+   * @return the gradient and variable pair
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends TType> GradAndVar<T> pair(Output<?> gradient, Operand<?> variable) {
+    if (variable instanceof ResourceVariable) {
+      return new GradAndVar<>((Output<T>) gradient, (ResourceVariable<T>) variable);
+    }
+    return new GradAndVar<>((Output<T>) gradient, (Output<T>) variable.asOutput());
+  }
+
+  /**
+   * Computes the sparse gradient of a loss with respect to a variable that is only read through a
+   * lookup of some of its rows, such as an embedding table.
+   *
+   * <p>The gradient is computed with respect to the looked up rows rather than to the whole
+   * variable, so that applying it only touches the rows that were read.
+   *
+   * @param loss the loss operation
+   * @param variable the variable being looked up
+   * @param ids the indices of the rows that were looked up, of any shape
+   * @param lookup the result of the lookup, of shape {@code ids.shape + variable.shape[1:]}, e.g.
+   *     {@code tf.gather(variable, ids, tf.constant(0))}
+   * @param <T> the data type of the variable
+   * @return the sparse gradient paired with the variable
+   * @throws IllegalStateException if this optimizer is not operating on a graph
+   */
+  public <T extends TType> GradAndVar<T> computeSparseGradient(
+      Operand<?> loss, Output<T> variable, Operand<? extends TNumber> ids, Operand<T> lookup) {
+    return new GradAndVar<>(sparseGradient(loss, variable, ids, lookup), variable);
+  }
+
+  /**
+   * Computes the sparse gradient of a loss with respect to a resource variable that is only read
+   * through a lookup of some of its rows, such as an embedding table.
+   *
+   * @param loss the loss operation
+   * @param variable the variable being looked up
+   * @param ids the indices of the rows that were looked up, of any shape
+   * @param lookup the result of the lookup, of shape {@code ids.shape + variable.shape[1:]}, e.g.
+   *     {@code tf.resourceGather(variable.handle(), ids, variable.type())}
+   * @param <T> the data type of the variable
+   * @return the sparse gradient paired with the variable
+   * @throws IllegalStateException if this optimizer is not operating on a graph
+   */
+  public <T extends TType> GradAndVar<T> computeSparseGradient(
+      Operand<?> loss,
+      ResourceVariable<T> variable,
+      Operand<? extends TNumber> ids,
+      Operand<T> lookup) {
+    return new GradAndVar<>(sparseGradient(loss, variable, ids, lookup), variable);
+  }
+
+  /**
+   * Computes the sparse gradient of a loss with respect to the rows of a variable.
+   *
+   * @param loss the loss operation
+   * @param variable the variable being looked up
+   * @param ids the indices of the rows that were looked up
+   * @param lookup the result of the lookup
+   * @param <T> the data type of the variable
+   * @return the sparse gradient
+   */
+  private <T extends TType> IndexedSlices<T> sparseGradient(
+      Operand<?> loss, Operand<T> variable, Operand<? extends TNumber> ids, Operand<T> lookup) {
+    checkGraph();
+    @SuppressWarnings("unchecked")
+    Output<T> gradient =
+        (Output<T>) graph.addGradients(loss.asOutput(), new Output<?>[] {lookup.asOutput()})[0];
+    Operand<TInt32> valuesShape =
+        tf.concat(
+            Arrays.asList(
+                tf.constant(new int[] {-1}),
+                tf.stridedSlice(tf.shape(variable), Indices.sliceFrom(1))),
+            tf.constant(0));
+    return new IndexedSlices<>(
+        tf.reshape(gradient, valuesShape), tf.reshape(ids, tf.constant(new int[] {-1})));
+  }
+
   /**
    * Applies gradients to variables
    *
+   * <p>The gradients are first transformed by the {@link #getGradientTransforms() gradient
+   * transforms} of this optimizer, if any.
+   *
+   * <p>Dense gradients are applied with {@link #applyDense(Output, Output)}, sparse gradients with
+   * {@link #applySparseDuplicateIndices(IndexedSlices, Output)}, or with their resource variable
+   * counterparts. The slots of a variable are created the first time a gradient is applied to it.
+   *
+   * <p>In an eager session, the variables are updated before this method returns.
+   *
    * @param gradsAndVars the list of (gradient, variable) pairs.
    * @param name the name of the apply gradients operation
    * @return an Op that applies the gradients to the variables.
+   * @throws IllegalArgumentException if a variable is not a resource variable while operating
+   *     eagerly
    */
   public Op applyGradients(List<GradAndVar<? extends TType>> gradsAndVars, String name) {
-    List<Output<? extends TType>> variables =
-        gradsAndVars.stream().map(GradAndVar::getVariable).collect(Collectors.toList());
-
-    createSlots(variables);
+    createSlotsIfNeeded(gradsAndVars);
+    gradsAndVars = transformGradients(gradsAndVars);
 
+    if (learningRateSchedule != null) {
+      scheduledLearningRate = learningRateSchedule.call(tf, globalStep);
+    }
     Optional<Op> prepOp = prepare(name + "/prepare");
 
     List<Op> updateOps = new ArrayList<>();
     prepOp.ifPresent(updateOps::add);
     for (GradAndVar<? extends TType> pair : gradsAndVars) {
-      updateOps.add(applyDense(pair));
+      if (pair.isResource()) {
+        updateOps.add(pair.isSparse() ? applyResourceSparse(pair) : applyResourceDense(pair));
+      } else {
+        updateOps.add(pair.isSparse() ? applySparse(pair) : applyDense(pair));
+      }
     }
 
     return finish(updateOps, name);
   }
 
+  /**
+   * Applies gradients to variables, like {@link #applyGradients(List, String)}, with control
+   * dependencies on the given operations for all the operations of the step, so that none of them
+   * is run if a control operation is not. The slots of the variables are created without these
+   * control dependencies, so that they can be initialized.
+   *
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @param name the name of the apply gradients operation
+   * @param controls the control operations
+   * @return an Op that applies the gradients to the variables.
+   * @throws IllegalArgumentException if a variable is not a resource variable while operating
+   *     eagerly
+   */
+  Op applyGradients(
+      List<GradAndVar<? extends TType>> gradsAndVars, String name, List<Op> controls) {
+    createSlotsIfNeeded(gradsAndVars);
+    Ops ops = tf;
+    tf = tf.withControlDependencies(controls);
+    try {
+      return applyGradients(gradsAndVars, name);
+    } finally {
+      tf = ops;
+    }
+  }
+
+  /**
+   * Creates the slots of the variables that have none yet.
+   *
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @throws IllegalArgumentException if a variable is not a resource variable while operating
+   *     eagerly
+   */
+  private void createSlotsIfNeeded(List<GradAndVar<? extends TType>> gradsAndVars) {
+    List<Output<? extends TType>> variables = new ArrayList<>();
+    for (GradAndVar<? extends TType> pair : gradsAndVars) {
+      if (pair.isResource()) {
+        ResourceVariable<?> variable = pair.getResourceVariable();
+        if (slottedVariables.add(variable)) {
+          Output<? extends TType> value = variable.asOutput();
+          resourceValues.put(value, variable);
+          variables.add(value);
+        }
+      } else {
+        if (graph == null) {
+          throw new IllegalArgumentException(
+              "Only resource variables can be optimized in an eager session");
+        }
+        if (slottedVariables.add(pair.getVariable().op().name())) {
+          variables.add(pair.getVariable());
+        }
+      }
+    }
+    if (!variables.isEmpty()) {
+      createSlots(variables);
+      resourceValues.clear();
+    }
+  }
+
+  /**
+   * Applies the gradient transforms of this optimizer to gradients.
+   *
+   * <p>If there are transforms, the values of sparse gradients that share the same index are
+   * summed first, so that transforms computing norms see the gradient that is actually applied.
+   *
+   * @param gradsAndVars the list of (gradient, variable) pairs.
+   * @return the list of (transformed gradient, variable) pairs.
+   */
+  protected List<GradAndVar<? extends TType>> transformGradients(
+      List<GradAndVar<? extends TType>> gradsAndVars) {
+    if (gradientTransforms.isEmpty()) {
+      return gradsAndVars;
+    }
+    List<GradAndVar<? extends TType>> transformed = new ArrayList<>(gradsAndVars.size());
+    for (GradAndVar<? extends TType> pair : gradsAndVars) {
+      transformed.add(pair.isSparse() ? deduplicate(pair) : pair);
+    }
+    for (GradientTransform transform : gradientTransforms) {
+      transformed = transform.apply(tf, transformed);
+    }
+    return transformed;
+  }
+
+  /**
+   * Sums the values of the sparse gradient of a pair that share the same index.
+   *
+   * @param pair the (sparse gradient, variable) pair
+   * @param <T> the data type of the gradient
+   * @return the (sparse gradient with unique indices, variable) pair
+   */
+  private <T extends TType> GradAndVar<T> deduplicate(GradAndVar<T> pair) {
+    IndexedSlices<T> gradient = deduplicate(pair.getSparseGradient());
+    return pair.isResource()
+        ? new GradAndVar<>(gradient, pair.getResourceVariable())
+        : new GradAndVar<>(gradient, pair.getVariable());
+  }
+
   /**
    * Gets the slot associated with the specified variable and slot name.
    *
@@ -209,10 +566,32 @@ public abstract class Optimizer {
     return Optional.empty();
   }
 
+  /**
+   * Gets the slot associated with the specified resource variable and slot name.
+   *
+   * @param var The resource variable to lookup.
+   * @param slotName The slot name.
+   * @param <T> a tensor type
+   * @return The slot or {@link Optional#empty}.
+   */
+  public <T extends TType> Optional<ResourceVariable<T>> getSlot(
+      ResourceVariable<T> var, String slotName) {
+    Map<ResourceVariable<?>, ResourceVariable<?>> variables = resourceSlots.get(slotName);
+    if (variables != null) {
+      @SuppressWarnings("unchecked") // The slot has the same type as its variable.
+      ResourceVariable<T> slot = (ResourceVariable<T>) variables.get(var);
+      return Optional.ofNullable(slot);
+    }
+    return Optional.empty();
+  }
+
   /**
    * Creates a slot in the graph for the specified variable with the specified name. Adds the slot's
    * initializer to the graph's initializers, and the slot to the Optimizer's slot map.
    *
+   * <p>If {@code variable} is the value of a resource variable, as passed to {@link
+   * #createSlots(List)}, the slot is a resource variable as well.
+   *
    * @param variable The variable to create the slot for.
    * @param slotName The name of the slot.
    * @param initializer The initializer for the slot.
@@ -220,6 +599,16 @@ public abstract class Optimizer {
    */
   protected <T extends TType> void createSlot(
       Output<T> variable, String slotName, Operand<T> initializer) {
+    ResourceVariable<?> resourceVariable = resourceValues.get(variable);
+    if (resourceVariable != null) {
+      ResourceVariable<T> slot =
+          ResourceVariable.create(
+              tf.withName(createName(resourceVariable.handle(), slotName)), initializer);
+      resourceSlots
+          .computeIfAbsent(slotName, (k) -> new IdentityHashMap<>())
+          .put(resourceVariable, slot);
+      return;
+    }
     Variable<T> slot =
         tf.withName(createName(variable, slotName)).variable(variable.shape(), variable.type());
     Assign<T> slotInit = tf.assign(slot, initializer);
@@ -230,6 +619,20 @@ public abstract class Optimizer {
     variables.put(varName, slot);
   }
 
+  /**
+   * Gets the learning rate of the step being built.
+   *
+   * @param learningRate the constant learning rate of this optimizer
+   * @param type the data type of the learning rate
+   * @param <T> the data type of the learning rate
+   * @return the learning rate computed by the schedule, if set, or the constant learning rate
+   */
+  protected <T extends TType> Operand<T> getLearningRate(float learningRate, Class<T> type) {
+    Operand<TFloat32> rate =
+        scheduledLearningRate != null ? scheduledLearningRate : tf.constant(learningRate);
+    return tf.dtypes.cast(rate, type);
+  }
+
   /**
    * Returns a No-op prepare.
    *
@@ -243,6 +646,9 @@ public abstract class Optimizer {
   /**
    * Performs a No-op slot creation method.
    *
+   * <p>This method is called once for each variable, the first time a gradient is applied to it.
+   * Resource variables are passed by their value.
+   *
    * @param variables The variables to create slots for.
    */
   protected void createSlots(List<Output<? extends TType>> variables) {}
@@ -261,27 +667,212 @@ public abstract class Optimizer {
   /**
    * Generates the gradient update operations for the specific variable and gradient.
    *
+   * <p>By default, variables are not supported. Optimizers should override this method to update
+   * the variable with an {@code Apply*} kernel, unless they override {@link #applyGradients(List,
+   * String)} to delegate the updates to another optimizer.
+   *
    * @param gradient The gradient to use.
    * @param variable The variable to update.
    * @param <T> The type of the variable.
    * @return An operand which applies the desired optimizer update to the variable.
+   * @throws UnsupportedOperationException if this optimizer does not update variables itself
+   */
+  protected <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable) {
+    throw new UnsupportedOperationException(
+        getOptimizerName() + " does not update variables itself");
+  }
+
+  /**
+   * Generates the sparse gradient update operations for the specific variable and gradient.
+   *
+   * @param gradVarPair the (sparse gradient, variable) pair.
+   * @param <T> the datatype of the gradients and variables.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  private <T extends TType> Op applySparse(GradAndVar<T> gradVarPair) {
+    return applySparseDuplicateIndices(gradVarPair.getSparseGradient(), gradVarPair.getVariable());
+  }
+
+  /**
+   * Generates the update operations for a sparse gradient that may contain duplicate indices.
+   *
+   * <p>By default, the gradient values of duplicate indices are summed before calling {@link
+   * #applySparse(IndexedSlices, Output)}. Optimizers whose sparse update is linear in the gradient
+   * can override this method to skip that step.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  protected <T extends TType> Op applySparseDuplicateIndices(
+      IndexedSlices<T> gradient, Output<T> variable) {
+    return applySparse(deduplicate(gradient), variable);
+  }
+
+  /**
+   * Generates the update operations for a sparse gradient with unique indices.
+   *
+   * <p>By default, the gradient is converted to a dense gradient and applied with {@link
+   * #applyDense(Output, Output)}. Optimizers should override this method to only update the rows
+   * of the variable, and of its slots, that are present in the gradient.
+   *
+   * @param gradient The sparse gradient to use, with unique indices.
+   * @param variable The variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
    */
-  protected abstract <T extends TType> Op applyDense(Output<T> gradient, Output<T> variable);
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Operand<T> dense =
+        tf.math.unsortedSegmentSum(
+            gradient.getValues(),
+            gradient.getIndices(),
+            tf.shape.size(variable, tf.constant(0)));
+    return applyDense(dense.asOutput(), variable);
+  }
+
+  /**
+   * Sums the values of a sparse gradient that share the same index.
+   *
+   * @param gradient the sparse gradient
+   * @param <T> the data type of the gradient
+   * @return a sparse gradient with unique indices
+   */
+  protected <T extends TType> IndexedSlices<T> deduplicate(IndexedSlices<T> gradient) {
+    return deduplicate(gradient.getValues(), gradient.getIndices());
+  }
+
+  /**
+   * Sums the values of a sparse gradient that share the same index.
+   *
+   * @param values the gradient rows
+   * @param indices the indices of the gradient rows
+   * @param <T> the data type of the gradient
+   * @param <U> the data type of the indices
+   * @return a sparse gradient with unique indices
+   */
+  private <T extends TType, U extends TNumber> IndexedSlices<T> deduplicate(
+      Operand<T> values, Operand<U> indices) {
+    Unique<U, TInt32> unique = tf.unique(indices, tf.constant(new int[] {0}));
+    Operand<T> summed =
+        tf.math.unsortedSegmentSum(values, unique.idx(), tf.size(unique.y()));
+    return new IndexedSlices<>(summed, unique.y());
+  }
+
+  /**
+   * Generates the gradient update operations for the specific resource variable and gradient.
+   *
+   * @param gradVarPair the (gradient, resource variable) pair.
+   * @param <T> the datatype of the gradients and variables.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  private <T extends TType> Op applyResourceDense(GradAndVar<T> gradVarPair) {
+    return applyResourceDense(gradVarPair.getGradient(), gradVarPair.getResourceVariable());
+  }
+
+  /**
+   * Generates the sparse gradient update operations for the specific resource variable and
+   * gradient.
+   *
+   * @param gradVarPair the (sparse gradient, resource variable) pair.
+   * @param <T> the datatype of the gradients and variables.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  private <T extends TType> Op applyResourceSparse(GradAndVar<T> gradVarPair) {
+    return applyResourceSparseDuplicateIndices(
+        gradVarPair.getSparseGradient(), gradVarPair.getResourceVariable());
+  }
+
+  /**
+   * Generates the gradient update operations for the specific resource variable and gradient.
+   *
+   * <p>By default, resource variables are not supported. Optimizers should override this method
+   * to update the variable in place with a {@code ResourceApply*} kernel.
+   *
+   * @param gradient The gradient to use.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   * @throws UnsupportedOperationException if this optimizer does not support resource variables
+   */
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    throw new UnsupportedOperationException(
+        getOptimizerName() + " does not support resource variables");
+  }
+
+  /**
+   * Generates the update operations for a sparse gradient of a resource variable that may contain
+   * duplicate indices.
+   *
+   * <p>By default, the gradient values of duplicate indices are summed before calling {@link
+   * #applyResourceSparse(IndexedSlices, ResourceVariable)}.
+   *
+   * @param gradient The sparse gradient to use, possibly with duplicate indices.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  protected <T extends TType> Op applyResourceSparseDuplicateIndices(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    return applyResourceSparse(deduplicate(gradient), variable);
+  }
+
+  /**
+   * Generates the update operations for a sparse gradient of a resource variable with unique
+   * indices.
+   *
+   * <p>By default, the gradient is converted to a dense gradient and applied with {@link
+   * #applyResourceDense(Output, ResourceVariable)}.
+   *
+   * @param gradient The sparse gradient to use, with unique indices.
+   * @param variable The resource variable to update.
+   * @param <T> The type of the variable.
+   * @return An operand which applies the desired optimizer update to the variable.
+   */
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    Operand<T> dense =
+        tf.math.unsortedSegmentSum(
+            gradient.getValues(),
+            gradient.getIndices(),
+            tf.shape.size(variable, tf.constant(0)));
+    return applyResourceDense(dense.asOutput(), variable);
+  }
 
   /**
    * Gathers up the update operations into a single op that can be used as a run target.
    *
+   * <p>If the global step exists, it is incremented after the update operations.
+   *
    * @param updateOperations The update operations.
    * @param name The name of the run target.
    * @return A NoOp with a control dependency on each update operation.
    */
   protected Op finish(List<Op> updateOperations, String name) {
-    Scope scope = new Scope(graph);
+    if (globalStep != null) {
+      updateOperations.add(
+          tf.withControlDependencies(new ArrayList<>(updateOperations))
+              .assignAddVariableOp(globalStep.handle(), tf.constant(1L)));
+    }
+    Scope scope = new Scope(env);
     scope = scope.withName(name);
     scope = scope.withControlDependencies(updateOperations);
     return NoOp.create(scope);
   }
 
+  /**
+   * Checks that this optimizer is operating on a graph, as required to compute gradients.
+   *
+   * @throws IllegalStateException if this optimizer is operating eagerly
+   */
+  private void checkGraph() {
+    if (graph == null) {
+      throw new IllegalStateException(
+          "Gradients can only be computed in a graph, use applyGradients in an eager session");
+    }
+  }
+
   /**
    * Get the Name of the optimizer.
    *
@@ -317,7 +908,9 @@ public abstract class Optimizer {
   public static class GradAndVar<T extends TType> {
 
     private final Output<T> gradient;
+    private final IndexedSlices<T> sparseGradient;
     private final Output<T> variable;
+    private final ResourceVariable<T> resourceVariable;
 
     /**
      * Creates a Gradient and Variable pair
@@ -327,25 +920,131 @@ public abstract class Optimizer {
      */
     public GradAndVar(Output<T> gradient, Output<T> variable) {
       this.gradient = gradient;
+      this.sparseGradient = null;
+      this.variable = variable;
+      this.resourceVariable = null;
+    }
+
+    /**
+     * Creates a sparse Gradient and Variable pair
+     *
+     * @param gradient the sparse gradient
+     * @param variable the variable
+     */
+    public GradAndVar(IndexedSlices<T> gradient, Output<T> variable) {
+      this.gradient = null;
+      this.sparseGradient = gradient;
       this.variable = variable;
+      this.resourceVariable = null;
+    }
+
+    /**
+     * Creates a Gradient and resource Variable pair
+     *
+     * @param gradient the gradient
+     * @param variable the resource variable
+     */
+    public GradAndVar(Output<T> gradient, ResourceVariable<T> variable) {
+      this.gradient = gradient;
+      this.sparseGradient = null;
+      this.variable = null;
+      this.resourceVariable = variable;
+    }
+
+    /**
+     * Creates a sparse Gradient and resource Variable pair
+     *
+     * @param gradient the sparse gradient
+     * @param variable the resource variable
+     */
+    public GradAndVar(IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+      this.gradient = null;
+      this.sparseGradient = gradient;
+      this.variable = null;
+      this.resourceVariable = variable;
     }
 
     /**
      * Gets the gradient
      *
-     * @return the gradient
+     * @return the gradient, or null if the gradient is sparse
      */
     public Output<T> getGradient() {
       return gradient;
     }
 
+    /**
+     * Gets the values of the gradient
+     *
+     * @return the gradient if it is dense, or the values of the sparse gradient
+     */
+    public Operand<T> getGradientValues() {
+      return gradient != null ? gradient : sparseGradient.getValues();
+    }
+
+    /**
+     * Creates a pair of the same variable with new gradient values, e.g. the values of this
+     * gradient after an element-wise transformation.
+     *
+     * @param values the new gradient values. If the gradient is sparse, they replace the values of
+     *     the sparse gradient and keep its indices.
+     * @return the new pair
+     */
+    public GradAndVar<T> withGradientValues(Operand<T> values) {
+      if (sparseGradient != null) {
+        IndexedSlices<T> slices = new IndexedSlices<>(values, sparseGradient.getIndices());
+        return resourceVariable != null
+            ? new GradAndVar<>(slices, resourceVariable)
+            : new GradAndVar<>(slices, variable);
+      }
+      return resourceVariable != null
+          ? new GradAndVar<>(values.asOutput(), resourceVariable)
+          : new GradAndVar<>(values.asOutput(), variable);
+    }
+
+    /**
+     * Gets the sparse gradient
+     *
+     * @return the sparse gradient, or null if the gradient is dense
+     */
+    public IndexedSlices<T> getSparseGradient() {
+      return sparseGradient;
+    }
+
+    /**
+     * Tells whether the gradient is sparse
+     *
+     * @return true if the gradient is an {@link IndexedSlices}
+     */
+    public boolean isSparse() {
+      return sparseGradient != null;
+    }
+
     /**
      * Gets the variable
      *
-     * @return the variable
+     * @return the variable, or null if the variable is a resource variable
      */
     public Output<T> getVariable() {
       return variable;
     }
+
+    /**
+     * Gets the resource variable
+     *
+     * @return the resource variable, or null if the variable is not a resource variable
+     */
+    public ResourceVariable<T> getResourceVariable() {
+      return resourceVariable;
+    }
+
+    /**
+     * Tells whether the variable is a resource variable
+     *
+     * @return true if the variable is a {@link ResourceVariable}
+     */
+    public boolean isResource() {
+      return resourceVariable != null;
+    }
   }
 }
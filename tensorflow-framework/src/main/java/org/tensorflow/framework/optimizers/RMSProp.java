@@ -15,9 +15,10 @@
  */
 package org.tensorflow.framework.optimizers;
 
-import org.tensorflow.Graph;
+import org.tensorflow.ExecutionEnvironment;
 import org.tensorflow.Operand;
 import org.tensorflow.Output;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.types.family.TType;
@@ -62,11 +63,11 @@ public class RMSProp extends Optimizer {
   /**
    * Creates an RMSPRrop Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    */
-  public RMSProp(Graph graph) {
+  public RMSProp(ExecutionEnvironment env) {
     this(
-        graph,
+        env,
         LEARNING_RATE_DEFAULT,
         DECAY_DEFAULT,
         MOMENTUM_DEFAULT,
@@ -77,17 +78,17 @@ public class RMSProp extends Optimizer {
   /**
    * Creates an RMSPRrop Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    */
-  public RMSProp(Graph graph, float learningRate) {
-    this(graph, learningRate, DECAY_DEFAULT, MOMENTUM_DEFAULT, EPSILON_DEFAULT, CENTERED_DEFAULT);
+  public RMSProp(ExecutionEnvironment env, float learningRate) {
+    this(env, learningRate, DECAY_DEFAULT, MOMENTUM_DEFAULT, EPSILON_DEFAULT, CENTERED_DEFAULT);
   }
 
   /**
    * Creates an RMSPRrop Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param learningRate the learning rate
    * @param decay Discounting factor for the history/coming gradient. Defaults to 0.9.
    * @param momentum the acceleration factor, default is 0.
@@ -98,13 +99,13 @@ public class RMSProp extends Optimizer {
    *     and memory. Defaults to <code>false</code>.
    */
   public RMSProp(
-      Graph graph,
+      ExecutionEnvironment env,
       float learningRate,
       float decay,
       float momentum,
       float epsilon,
       boolean centered) {
-    super(graph);
+    super(env);
     this.learningRate = learningRate;
     this.decay = decay;
     this.momentum = momentum;
@@ -115,13 +116,13 @@ public class RMSProp extends Optimizer {
   /**
    * Creates an RMSPRrop Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name of this Optimizer. Defaults to "RMSProp".
    * @param learningRate the learning rate
    */
-  public RMSProp(Graph graph, String name, float learningRate) {
+  public RMSProp(ExecutionEnvironment env, String name, float learningRate) {
     this(
-        graph,
+        env,
         name,
         learningRate,
         DECAY_DEFAULT,
@@ -133,7 +134,7 @@ public class RMSProp extends Optimizer {
   /**
    * Creates an RMSPRrop Optimizer
    *
-   * @param graph the TensorFlow Graph
+   * @param env the TensorFlow execution environment, a graph or an eager session
    * @param name the name of this Optimizer. Defaults to "RMSProp".
    * @param learningRate the learning rate
    * @param decay Discounting factor for the history/coming gradient. Defaults to 0.9.
@@ -145,14 +146,14 @@ public class RMSProp extends Optimizer {
    *     and memory. Defaults to <code>false</code>.
    */
   public RMSProp(
-      Graph graph,
+      ExecutionEnvironment env,
       String name,
       float learningRate,
       float decay,
       float momentum,
       float epsilon,
       boolean centered) {
-    super(graph, name);
+    super(env, name);
     this.learningRate = learningRate;
     this.decay = decay;
     this.momentum = momentum;
@@ -198,7 +199,7 @@ public class RMSProp extends Optimizer {
           mgSlot,
           rmsSlot,
           momentumSlot,
-          tf.dtypes.cast(tf.constant(learningRate), gradient.type()),
+          getLearningRate(learningRate, gradient.type()),
           tf.dtypes.cast(tf.constant(decay), gradient.type()),
           tf.dtypes.cast(tf.constant(momentum), gradient.type()),
           tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
@@ -208,13 +209,106 @@ public class RMSProp extends Optimizer {
         variable,
         rmsSlot,
         momentumSlot,
-        tf.dtypes.cast(tf.constant(learningRate), gradient.type()),
+        getLearningRate(learningRate, gradient.type()),
         tf.dtypes.cast(tf.constant(decay), gradient.type()),
         tf.dtypes.cast(tf.constant(momentum), gradient.type()),
         tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
         gradient);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applySparse(IndexedSlices<T> gradient, Output<T> variable) {
+    Variable<T> rmsSlot = getSlot(variable, RMS).get();
+    Variable<T> momentumSlot = getSlot(variable, MOMENTUM).get();
+    if (centered) {
+      Variable<T> mgSlot = getSlot(variable, MG).get();
+      return tf.train.sparseApplyCenteredRmsProp(
+          variable,
+          mgSlot,
+          rmsSlot,
+          momentumSlot,
+          getLearningRate(learningRate, variable.type()),
+          tf.dtypes.cast(tf.constant(decay), variable.type()),
+          tf.dtypes.cast(tf.constant(momentum), variable.type()),
+          tf.dtypes.cast(tf.constant(epsilon), variable.type()),
+          gradient.getValues(),
+          gradient.getIndices());
+    }
+    return tf.train.sparseApplyRmsProp(
+        variable,
+        rmsSlot,
+        momentumSlot,
+        getLearningRate(learningRate, variable.type()),
+        tf.dtypes.cast(tf.constant(decay), variable.type()),
+        tf.dtypes.cast(tf.constant(momentum), variable.type()),
+        tf.dtypes.cast(tf.constant(epsilon), variable.type()),
+        gradient.getValues(),
+        gradient.getIndices());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceDense(
+      Output<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> rmsSlot = getSlot(variable, RMS).get();
+    ResourceVariable<T> momentumSlot = getSlot(variable, MOMENTUM).get();
+    if (centered) {
+      ResourceVariable<T> mgSlot = getSlot(variable, MG).get();
+      return tf.train.resourceApplyCenteredRmsProp(
+          variable.handle(),
+          mgSlot.handle(),
+          rmsSlot.handle(),
+          momentumSlot.handle(),
+          getLearningRate(learningRate, gradient.type()),
+          tf.dtypes.cast(tf.constant(decay), gradient.type()),
+          tf.dtypes.cast(tf.constant(momentum), gradient.type()),
+          tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
+          gradient);
+    }
+    return tf.train.resourceApplyRmsProp(
+        variable.handle(),
+        rmsSlot.handle(),
+        momentumSlot.handle(),
+        getLearningRate(learningRate, gradient.type()),
+        tf.dtypes.cast(tf.constant(decay), gradient.type()),
+        tf.dtypes.cast(tf.constant(momentum), gradient.type()),
+        tf.dtypes.cast(tf.constant(epsilon), gradient.type()),
+        gradient);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected <T extends TType> Op applyResourceSparse(
+      IndexedSlices<T> gradient, ResourceVariable<T> variable) {
+    ResourceVariable<T> rmsSlot = getSlot(variable, RMS).get();
+    ResourceVariable<T> momentumSlot = getSlot(variable, MOMENTUM).get();
+    if (centered) {
+      ResourceVariable<T> mgSlot = getSlot(variable, MG).get();
+      return tf.train.resourceSparseApplyCenteredRmsProp(
+          variable.handle(),
+          mgSlot.handle(),
+          rmsSlot.handle(),
+          momentumSlot.handle(),
+          getLearningRate(learningRate, variable.type()),
+          tf.dtypes.cast(tf.constant(decay), variable.type()),
+          tf.dtypes.cast(tf.constant(momentum), variable.type()),
+          tf.dtypes.cast(tf.constant(epsilon), variable.type()),
+          gradient.getValues(),
+          gradient.getIndices());
+    }
+    return tf.train.resourceSparseApplyRmsProp(
+        variable.handle(),
+        rmsSlot.handle(),
+        momentumSlot.handle(),
+        getLearningRate(learningRate, variable.type()),
+        tf.dtypes.cast(tf.constant(decay), variable.type()),
+        tf.dtypes.cast(tf.constant(momentum), variable.type()),
+        tf.dtypes.cast(tf.constant(epsilon), variable.type()),
+        gradient.getValues(),
+        gradient.getIndices());
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
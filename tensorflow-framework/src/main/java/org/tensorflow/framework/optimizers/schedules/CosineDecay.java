@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+
+/**
+ * A learning rate schedule that follows a cosine curve from an initial learning rate down to a
+ * fraction {@code alpha} of it, over {@code decaySteps} steps.
+ *
+ * <pre>
+ * cosine = 0.5 * (1 + cos(pi * min(step, decaySteps) / decaySteps))
+ * learningRate = initialLearningRate * ((1 - alpha) * cosine + alpha)
+ * </pre>
+ *
+ * <p>See <a href="https://arxiv.org/abs/1608.03983">SGDR: Stochastic Gradient Descent with Warm
+ * Restarts</a>.
+ */
+public class CosineDecay implements LearningRateSchedule {
+
+  private final float initialLearningRate;
+  private final long decaySteps;
+  private final float alpha;
+
+  /**
+   * Creates a CosineDecay schedule that decays the learning rate to 0
+   *
+   * @param initialLearningRate the learning rate at step 0
+   * @param decaySteps the number of steps over which the learning rate decays
+   */
+  public CosineDecay(float initialLearningRate, long decaySteps) {
+    this(initialLearningRate, decaySteps, 0.0f);
+  }
+
+  /**
+   * Creates a CosineDecay schedule
+   *
+   * @param initialLearningRate the learning rate at step 0
+   * @param decaySteps the number of steps over which the learning rate decays
+   * @param alpha the fraction of the initial learning rate reached after decaySteps
+   * @throws IllegalArgumentException if decaySteps is not positive
+   */
+  public CosineDecay(float initialLearningRate, long decaySteps, float alpha) {
+    if (decaySteps <= 0) {
+      throw new IllegalArgumentException("decaySteps must be positive, got " + decaySteps);
+    }
+    this.initialLearningRate = initialLearningRate;
+    this.decaySteps = decaySteps;
+    this.alpha = alpha;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operand<TFloat32> call(Ops tf, Operand<TInt64> step) {
+    Operand<TFloat32> completed =
+        tf.math.div(
+            tf.dtypes.cast(tf.math.minimum(step, tf.constant(decaySteps)), TFloat32.class),
+            tf.constant((float) decaySteps));
+    Operand<TFloat32> cosine =
+        tf.math.mul(
+            tf.constant(0.5f),
+            tf.math.add(
+                tf.constant(1.0f),
+                tf.math.cos(tf.math.mul(tf.constant((float) Math.PI), completed))));
+    Operand<TFloat32> decayed =
+        tf.math.add(tf.math.mul(tf.constant(1.0f - alpha), cosine), tf.constant(alpha));
+    return tf.math.mul(tf.constant(initialLearningRate), decayed);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "CosineDecay{"
+        + "initialLearningRate="
+        + initialLearningRate
+        + ", decaySteps="
+        + decaySteps
+        + ", alpha="
+        + alpha
+        + '}';
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+
+/**
+ * A learning rate schedule that decays exponentially.
+ *
+ * <pre>
+ * learningRate = initialLearningRate * decayRate ^ (step / decaySteps)
+ * </pre>
+ *
+ * <p>If {@code staircase} is true, {@code step / decaySteps} is an integer division and the
+ * learning rate decays at discrete intervals.
+ */
+public class ExponentialDecay implements LearningRateSchedule {
+
+  private final float initialLearningRate;
+  private final long decaySteps;
+  private final float decayRate;
+  private final boolean staircase;
+
+  /**
+   * Creates an ExponentialDecay schedule
+   *
+   * @param initialLearningRate the learning rate at step 0
+   * @param decaySteps the number of steps over which the learning rate is multiplied by decayRate
+   * @param decayRate the decay rate
+   */
+  public ExponentialDecay(float initialLearningRate, long decaySteps, float decayRate) {
+    this(initialLearningRate, decaySteps, decayRate, false);
+  }
+
+  /**
+   * Creates an ExponentialDecay schedule
+   *
+   * @param initialLearningRate the learning rate at step 0
+   * @param decaySteps the number of steps over which the learning rate is multiplied by decayRate
+   * @param decayRate the decay rate
+   * @param staircase whether to decay the learning rate at discrete intervals
+   * @throws IllegalArgumentException if decaySteps is not positive
+   */
+  public ExponentialDecay(
+      float initialLearningRate, long decaySteps, float decayRate, boolean staircase) {
+    if (decaySteps <= 0) {
+      throw new IllegalArgumentException("decaySteps must be positive, got " + decaySteps);
+    }
+    this.initialLearningRate = initialLearningRate;
+    this.decaySteps = decaySteps;
+    this.decayRate = decayRate;
+    this.staircase = staircase;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operand<TFloat32> call(Ops tf, Operand<TInt64> step) {
+    Operand<TFloat32> p =
+        tf.math.div(tf.dtypes.cast(step, TFloat32.class), tf.constant((float) decaySteps));
+    if (staircase) {
+      p = tf.math.floor(p);
+    }
+    return tf.math.mul(
+        tf.constant(initialLearningRate), tf.math.pow(tf.constant(decayRate), p));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "ExponentialDecay{"
+        + "initialLearningRate="
+        + initialLearningRate
+        + ", decaySteps="
+        + decaySteps
+        + ", decayRate="
+        + decayRate
+        + ", staircase="
+        + staircase
+        + '}';
+  }
+}
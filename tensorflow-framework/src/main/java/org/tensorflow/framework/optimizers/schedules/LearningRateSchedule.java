@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+
+/**
+ * A learning rate that changes with the training step.
+ *
+ * <p>The learning rate is computed in the graph from the global step of an optimizer, which is
+ * incremented by each training step, so that it changes without rebuilding the graph or feeding
+ * it at each step.
+ *
+ * @see org.tensorflow.framework.optimizers.Optimizer#setLearningRateSchedule(LearningRateSchedule)
+ */
+@FunctionalInterface
+public interface LearningRateSchedule {
+
+  /**
+   * Computes the learning rate for a step.
+   *
+   * @param tf the TensorFlow Ops
+   * @param step the training step, starting at 0
+   * @return the learning rate
+   */
+  Operand<TFloat32> call(Ops tf, Operand<TInt64> step);
+}
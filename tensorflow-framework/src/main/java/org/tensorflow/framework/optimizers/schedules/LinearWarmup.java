@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+
+/**
+ * A learning rate schedule that increases linearly during the first {@code warmupSteps} steps,
+ * before following another schedule.
+ *
+ * <pre>
+ * learningRate = schedule(step) * min(1, (step + 1) / warmupSteps)
+ * </pre>
+ */
+public class LinearWarmup implements LearningRateSchedule {
+
+  private final LearningRateSchedule schedule;
+  private final long warmupSteps;
+
+  /**
+   * Creates a LinearWarmup schedule
+   *
+   * @param schedule the schedule followed after the warmup, which is also scaled during the warmup
+   * @param warmupSteps the number of warmup steps
+   * @throws IllegalArgumentException if warmupSteps is not positive
+   */
+  public LinearWarmup(LearningRateSchedule schedule, long warmupSteps) {
+    if (warmupSteps <= 0) {
+      throw new IllegalArgumentException("warmupSteps must be positive, got " + warmupSteps);
+    }
+    this.schedule = schedule;
+    this.warmupSteps = warmupSteps;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operand<TFloat32> call(Ops tf, Operand<TInt64> step) {
+    Operand<TFloat32> warmup =
+        tf.math.minimum(
+            tf.math.div(
+                tf.dtypes.cast(tf.math.add(step, tf.constant(1L)), TFloat32.class),
+                tf.constant((float) warmupSteps)),
+            tf.constant(1.0f));
+    return tf.math.mul(schedule.call(tf, step), warmup);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "LinearWarmup{" + "schedule=" + schedule + ", warmupSteps=" + warmupSteps + '}';
+  }
+}
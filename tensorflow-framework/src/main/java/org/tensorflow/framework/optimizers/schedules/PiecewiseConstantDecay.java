@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+
+import java.util.Arrays;
+
+/**
+ * A learning rate schedule that is constant between step boundaries.
+ *
+ * <p>The learning rate is {@code values[0]} up to step {@code boundaries[0]} included, {@code
+ * values[1]} up to step {@code boundaries[1]} included, and so on, and {@code values[n]} after the
+ * last boundary. It is computed with a single comparison of the step to all the boundaries.
+ */
+public class PiecewiseConstantDecay implements LearningRateSchedule {
+
+  private final long[] boundaries;
+  private final float[] values;
+
+  /**
+   * Creates a PiecewiseConstantDecay schedule
+   *
+   * @param boundaries the step boundaries, in increasing order
+   * @param values the learning rates between the boundaries, one more than the boundaries
+   * @throws IllegalArgumentException if the number of values is not the number of boundaries plus
+   *     one, or if the boundaries are not increasing
+   */
+  public PiecewiseConstantDecay(long[] boundaries, float[] values) {
+    if (values.length != boundaries.length + 1) {
+      throw new IllegalArgumentException(
+          "Expected "
+              + (boundaries.length + 1)
+              + " values for "
+              + boundaries.length
+              + " boundaries, got "
+              + values.length);
+    }
+    for (int i = 1; i < boundaries.length; ++i) {
+      if (boundaries[i] <= boundaries[i - 1]) {
+        throw new IllegalArgumentException(
+            "Boundaries must be increasing, got " + Arrays.toString(boundaries));
+      }
+    }
+    this.boundaries = boundaries.clone();
+    this.values = values.clone();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operand<TFloat32> call(Ops tf, Operand<TInt64> step) {
+    if (boundaries.length == 0) {
+      return tf.constant(values[0]);
+    }
+    float[] deltas = new float[boundaries.length];
+    for (int i = 0; i < deltas.length; ++i) {
+      deltas[i] = values[i + 1] - values[i];
+    }
+    Operand<TFloat32> passed =
+        tf.dtypes.cast(tf.math.greater(step, tf.constant(boundaries)), TFloat32.class);
+    return tf.math.add(
+        tf.constant(values[0]),
+        tf.reduceSum(tf.math.mul(passed, tf.constant(deltas)), tf.constant(0)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "PiecewiseConstantDecay{"
+        + "boundaries="
+        + Arrays.toString(boundaries)
+        + ", values="
+        + Arrays.toString(values)
+        + '}';
+  }
+}
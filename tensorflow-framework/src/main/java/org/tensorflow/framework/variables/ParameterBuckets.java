@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.variables;
+
+import org.tensorflow.ExecutionEnvironment;
+import org.tensorflow.Operand;
+import org.tensorflow.Operation;
+import org.tensorflow.Output;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameters of a model that are stored in flat resource variables, one for each data type.
+ *
+ * <p>A model with many small variables spends most of its training step dispatching one update
+ * kernel, or more, for each of them. When its parameters are grouped in buckets instead, an
+ * optimizer updates each bucket, and thus all the parameters of the same type, with a single
+ * kernel. To do so, pass the {@link #buckets()} to the optimizer instead of the parameters:
+ *
+ * <pre>{@code
+ * ParameterBuckets params = new ParameterBuckets(tf);
+ * Operand<TFloat32> weights = params.add(tf.zerosLike(initialWeights));
+ * Operand<TFloat32> biases = params.add(tf.constant(new float[] {0.0f, 0.0f}));
+ * params.build();
+ *
+ * Operand<TFloat32> loss = ...; // computed from weights and biases
+ * Op train = new Adam(graph).minimize(loss, params.buckets());
+ * }</pre>
+ *
+ * <p>Parameters are added to the buckets first, then {@link #build()} creates the buckets, after
+ * which the parameters can be used as operands. In a graph, the values of all the parameters of a
+ * bucket are split from a single read of the bucket, so that their gradients are concatenated
+ * into a single gradient for the bucket.
+ */
+public class ParameterBuckets {
+
+  /**
+   * A parameter stored in a bucket.
+   *
+   * <p>As an operand, a parameter evaluates to its current value.
+   *
+   * @param <T> the data type of the parameter
+   */
+  public static final class Parameter<T extends TType> implements Operand<T> {
+
+    /**
+     * Returns the value of this parameter.
+     *
+     * @return the value of this parameter
+     * @throws IllegalStateException if the buckets have not been built yet
+     */
+    @Override
+    public Output<T> asOutput() {
+      if (bucket == null) {
+        throw new IllegalStateException("Parameter buckets must be built before being used");
+      }
+      if (value != null) {
+        return value;
+      }
+      Operand<T> slice =
+          tf.slice(bucket, tf.constant(new long[] {offset}), tf.constant(new long[] {size}));
+      return tf.reshape(slice, tf.constant(shape.asArray())).asOutput();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Operation op() {
+      return asOutput().op();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ExecutionEnvironment env() {
+      return tf.scope().env();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Class<T> type() {
+      return type;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Shape shape() {
+      return shape;
+    }
+
+    /**
+     * Gets the bucket this parameter is stored in.
+     *
+     * @return the bucket
+     * @throws IllegalStateException if the buckets have not been built yet
+     */
+    public ResourceVariable<T> bucket() {
+      if (bucket == null) {
+        throw new IllegalStateException("Parameter buckets must be built before being used");
+      }
+      return bucket;
+    }
+
+    private final Ops tf;
+    private final Operand<T> initialValue;
+    private final Shape shape;
+    private final Class<T> type;
+    private final long size;
+    private long offset;
+    private ResourceVariable<T> bucket;
+    private Output<T> value;
+
+    private Parameter(Ops tf, Operand<T> initialValue) {
+      this.tf = tf;
+      this.initialValue = initialValue;
+      this.shape = initialValue.shape();
+      this.type = initialValue.type();
+      this.size = shape.size();
+    }
+  }
+
+  /**
+   * Creates empty parameter buckets.
+   *
+   * @param tf the ops used to create the buckets and read the parameters
+   */
+  public ParameterBuckets(Ops tf) {
+    this.tf = tf;
+  }
+
+  /**
+   * Adds a parameter to the buckets.
+   *
+   * @param initialValue the initial value of the parameter, which also determines its shape and
+   *     type. Its shape must be fully known.
+   * @param <T> the data type of the parameter
+   * @return the parameter, which can be used once the buckets are built
+   * @throws IllegalArgumentException if the shape of the initial value is not fully known
+   * @throws IllegalStateException if the buckets have already been built
+   */
+  public <T extends TType> Parameter<T> add(Operand<T> initialValue) {
+    if (buckets != null) {
+      throw new IllegalStateException("Parameter buckets have already been built");
+    }
+    if (initialValue.shape().hasUnknownDimension()) {
+      throw new IllegalArgumentException(
+          "Shape of parameters must be fully known, got " + initialValue.shape());
+    }
+    Parameter<T> parameter = new Parameter<>(tf, initialValue);
+    parameters.computeIfAbsent(initialValue.type(), k -> new ArrayList<>()).add(parameter);
+    return parameter;
+  }
+
+  /**
+   * Creates one bucket for each data type of the parameters, initialized with the initial values
+   * of its parameters.
+   *
+   * <p>In a graph, the initialization of the buckets is added to the graph initializers. In an
+   * eager session, the buckets are initialized immediately.
+   *
+   * @return this
+   * @throws IllegalStateException if the buckets have already been built
+   */
+  public ParameterBuckets build() {
+    if (buckets != null) {
+      throw new IllegalStateException("Parameter buckets have already been built");
+    }
+    buckets = new ArrayList<>(parameters.size());
+    for (List<Parameter<?>> group : parameters.values()) {
+      buckets.add(buildBucket(group));
+    }
+    return this;
+  }
+
+  /**
+   * Gets the buckets, to be passed to an optimizer.
+   *
+   * @return the buckets, one for each data type of the parameters
+   * @throws IllegalStateException if the buckets have not been built yet
+   */
+  public List<ResourceVariable<?>> buckets() {
+    if (buckets == null) {
+      throw new IllegalStateException("Parameter buckets must be built before being used");
+    }
+    return Collections.unmodifiableList(buckets);
+  }
+
+  private final Ops tf;
+  private final Map<Class<?>, List<Parameter<?>>> parameters = new LinkedHashMap<>();
+  private List<ResourceVariable<?>> buckets;
+
+  @SuppressWarnings("unchecked")
+  private <T extends TType> ResourceVariable<T> buildBucket(List<Parameter<?>> group) {
+    List<Parameter<T>> typedGroup = new ArrayList<>(group.size());
+    group.forEach(p -> typedGroup.add((Parameter<T>) p));
+
+    List<Operand<T>> initialValues = new ArrayList<>(typedGroup.size());
+    long[] sizes = new long[typedGroup.size()];
+    long offset = 0;
+    for (int i = 0; i < sizes.length; ++i) {
+      Parameter<T> parameter = typedGroup.get(i);
+      parameter.offset = offset;
+      sizes[i] = parameter.size;
+      offset += parameter.size;
+      initialValues.add(tf.reshape(parameter.initialValue, tf.constant(new long[] {-1})));
+    }
+    Operand<T> initialValue =
+        initialValues.size() > 1
+            ? tf.concat(initialValues, tf.constant(0))
+            : initialValues.get(0);
+    ResourceVariable<T> bucket = ResourceVariable.create(tf, initialValue);
+
+    List<Output<T>> values = null;
+    if (tf.scope().env().isGraph()) {
+      values = tf.splitV(bucket, tf.constant(sizes), tf.constant(0), (long) sizes.length).output();
+    }
+    for (int i = 0; i < sizes.length; ++i) {
+      Parameter<T> parameter = typedGroup.get(i);
+      parameter.bucket = bucket;
+      if (values != null) {
+        parameter.value =
+            tf.reshape(values.get(i), tf.constant(parameter.shape.asArray())).asOutput();
+      }
+    }
+    return bucket;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.variables;
+
+import org.tensorflow.ExecutionEnvironment;
+import org.tensorflow.Operand;
+import org.tensorflow.Operation;
+import org.tensorflow.Output;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.VarHandleOp;
+import org.tensorflow.types.family.TType;
+
+/**
+ * A variable whose state is held by a resource, created with {@code VarHandleOp}.
+ *
+ * <p>Unlike a {@link org.tensorflow.op.core.Variable}, a resource variable is updated in place by
+ * the {@code ResourceApply*} and {@code Assign*VariableOp} kernels, without locking or copying its
+ * value, and it can be used both in a {@link org.tensorflow.Graph} and in an {@link
+ * org.tensorflow.EagerSession}.
+ *
+ * <p>As an operand, a resource variable evaluates to its current value. In a graph, this value is
+ * read by a single {@code ReadVariableOp}, which is also the operand to compute gradients against.
+ * In an eager session, each use of the variable reads its value again, so that it reflects the
+ * updates that were applied since.
+ *
+ * @param <T> the data type of the variable
+ */
+public class ResourceVariable<T extends TType> implements Operand<T> {
+
+  /**
+   * Creates a resource variable, initialized with the given value.
+   *
+   * <p>In a graph, the initialization is added to the graph initializers. In an eager session, the
+   * variable is initialized immediately.
+   *
+   * @param tf the ops used to create the variable
+   * @param initialValue the initial value of the variable, which also determines its shape and type
+   * @param <T> the data type of the variable
+   * @return a new resource variable
+   */
+  public static <T extends TType> ResourceVariable<T> create(Ops tf, Operand<T> initialValue) {
+    ResourceVariable<T> variable = create(tf, initialValue.shape(), initialValue.type());
+    tf.initAdd(variable.assign(initialValue));
+    return variable;
+  }
+
+  /**
+   * Creates an uninitialized resource variable.
+   *
+   * @param tf the ops used to create the variable
+   * @param shape the shape of the variable
+   * @param type the data type of the variable
+   * @param <T> the data type of the variable
+   * @return a new resource variable
+   */
+  public static <T extends TType> ResourceVariable<T> create(
+      Ops tf, Shape shape, Class<T> type) {
+    VarHandleOp handle;
+    if (tf.scope().env().isGraph()) {
+      handle = tf.varHandleOp(type, shape);
+    } else {
+      // Eager handles must not share their resource, which they do by default as they all have
+      // the same node name. The anonymous name gives each of them its own resource instead.
+      handle = tf.varHandleOp(type, shape, VarHandleOp.sharedName(ANONYMOUS_NAME));
+    }
+    return new ResourceVariable<>(handle, shape, type);
+  }
+
+  /**
+   * Gets the handle of the resource holding the state of this variable.
+   *
+   * @return the resource handle
+   */
+  public Output<?> handle() {
+    return handle.resource();
+  }
+
+  /**
+   * Assigns a new value to this variable.
+   *
+   * @param value the new value
+   * @return the assignment operation
+   */
+  public Op assign(Operand<T> value) {
+    return tf.assignVariableOp(handle, value);
+  }
+
+  /**
+   * Adds a value to this variable.
+   *
+   * @param value the value to add
+   * @return the assignment operation
+   */
+  public Op assignAdd(Operand<T> value) {
+    return tf.assignAddVariableOp(handle, value);
+  }
+
+  /**
+   * Subtracts a value from this variable.
+   *
+   * @param value the value to subtract
+   * @return the assignment operation
+   */
+  public Op assignSub(Operand<T> value) {
+    return tf.assignSubVariableOp(handle, value);
+  }
+
+  /**
+   * Returns the value of this variable.
+   *
+   * <p>In a graph, the same read operation is returned each time. In an eager session, the
+   * variable is read again each time this method is called.
+   *
+   * @return the value of this variable
+   */
+  @Override
+  public Output<T> asOutput() {
+    if (value != null) {
+      return value;
+    }
+    Output<T> read = tf.readVariableOp(handle, type).value();
+    if (env().isGraph()) {
+      value = read;
+    }
+    return read;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Operation op() {
+    return asOutput().op();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ExecutionEnvironment env() {
+    return handle.env();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Class<T> type() {
+    return type;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Shape shape() {
+    return shape;
+  }
+
+  /** The shared name that makes the kernel create a new, anonymous resource for each handle. */
+  private static final String ANONYMOUS_NAME = "cd2c89b7-88b7-44c8-ad83-06c2a9158347";
+
+  private final VarHandleOp handle;
+  private final Shape shape;
+  private final Class<T> type;
+  private final Ops tf;
+  private Output<T> value;
+
+  private ResourceVariable(VarHandleOp handle, Shape shape, Class<T> type) {
+    this.handle = handle;
+    this.shape = shape;
+    this.type = type;
+    this.tf = Ops.create(handle.env());
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.io.DecodeCsv;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class DatasetBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    csvFile = Files.createTempFile("dataset-benchmark", ".csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(csvFile)) {
+      for (int i = 0; i < NUM_LINES; ++i) {
+        for (int j = 0; j < NUM_FEATURES; ++j) {
+          writer.write(Float.toString(random.nextFloat() * 255.0f));
+          writer.write(',');
+        }
+        writer.write(Integer.toString(random.nextInt(10)));
+        writer.newLine();
+      }
+    }
+    session = EagerSession.create();
+    tf = Ops.create(session);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    session.close();
+    Files.delete(csvFile);
+  }
+
+  @Benchmark
+  public int parseLinesOnClientSide() {
+    Dataset dataset = textLines().map(line -> parseLine(tf, line));
+    return countElements(dataset);
+  }
+
+  @Benchmark
+  public int parseLinesNatively() {
+    Dataset dataset = textLines().map(DatasetBenchmark::parseLine, 1, true);
+    return countElements(dataset);
+  }
+
+  @Benchmark
+  public int parseLinesNativelyInParallel() {
+    Dataset dataset = textLines().map(DatasetBenchmark::parseLine, Dataset.AUTOTUNE, false);
+    return countElements(dataset);
+  }
+
+  private static final int NUM_LINES = 20000;
+  private static final int NUM_FEATURES = 32;
+
+  private Path csvFile;
+  private EagerSession session;
+  private Ops tf;
+
+  private Dataset textLines() {
+    return Dataset.textLineDataset(tf, csvFile.toString(), "", 256 * 1024);
+  }
+
+  private static int countElements(Dataset dataset) {
+    int count = 0;
+    for (List<Operand<?>> element : dataset) {
+      for (Operand<?> component : element) {
+        component.asTensor().close();
+      }
+      ++count;
+    }
+    return count;
+  }
+
+  // Decodes the features of a CSV line and normalizes them, then extracts its label
+  private static List<Operand<?>> parseLine(Ops tf, List<Operand<?>> components) {
+    Operand<TString> line = components.get(0).asOutput().expect(TString.class);
+    List<Operand<?>> recordDefaults = new ArrayList<>(NUM_FEATURES + 1);
+    for (int i = 0; i < NUM_FEATURES; ++i) {
+      recordDefaults.add(tf.constant(new float[] {0.0f}));
+    }
+    recordDefaults.add(tf.constant(new long[] {0L}));
+    DecodeCsv columns = tf.io.decodeCsv(line, recordDefaults);
+
+    List<Operand<TFloat32>> features = new ArrayList<>(NUM_FEATURES);
+    for (int i = 0; i < NUM_FEATURES; ++i) {
+      features.add(columns.output().get(i).expect(TFloat32.class));
+    }
+    Operand<TFloat32> x = tf.math.div(tf.stack(features), tf.constant(255.0f));
+    x = tf.math.sub(x, tf.math.mean(x, tf.constant(0)));
+    Operand<TInt64> label = columns.output().get(NUM_FEATURES).expect(TInt64.class);
+    return Arrays.<Operand<?>>asList(x, label);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.Tensor;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.framework.data.PrefetchingIterator;
+import org.tensorflow.ndarray.FloatNdArray;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.linalg.MatMul;
+import org.tensorflow.types.TFloat32;
+
+/**
+ * Measures the number of training steps per second of a small linear model in eager mode, when
+ * iterating through its input dataset one element at a time or with a prefetching iterator.
+ */
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class EagerIterationBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    features = NdArrays.ofFloats(Shape.of(NUM_EXAMPLES, NUM_FEATURES));
+    labels = NdArrays.ofFloats(Shape.of(NUM_EXAMPLES, 1));
+    features.scalars().forEach(x -> x.setFloat(random.nextFloat()));
+    labels.scalars().forEach(y -> y.setFloat(random.nextFloat()));
+    session = EagerSession.create();
+    tf = Ops.create(session);
+    weights = tf.variable(tf.zeros(tf.constant(new long[] {NUM_FEATURES, 1}), TFloat32.class));
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_STEPS)
+  public void iterateElements() {
+    for (List<Operand<?>> batch : batches()) {
+      trainStep(batch.get(0), batch.get(1));
+      batch.forEach(c -> c.asTensor().close());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_STEPS)
+  public void prefetchElements() {
+    try (PrefetchingIterator iterator = batches().prefetchingIterator(4)) {
+      while (iterator.hasNext()) {
+        trainStep(iterator.next());
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_STEPS)
+  public void prefetchElementsByBatch() {
+    try (PrefetchingIterator iterator = batches().prefetchingIterator(4)) {
+      List<List<Tensor>> elements;
+      while (!(elements = iterator.getNextBatch(4)).isEmpty()) {
+        elements.forEach(this::trainStep);
+      }
+    }
+  }
+
+  private static final int NUM_EXAMPLES = 8192;
+  private static final int NUM_FEATURES = 64;
+  private static final int BATCH_SIZE = 32;
+  private static final int NUM_STEPS = NUM_EXAMPLES / BATCH_SIZE;
+
+  private FloatNdArray features;
+  private FloatNdArray labels;
+  private EagerSession session;
+  private Ops tf;
+  private Operand<TFloat32> weights;
+
+  // Normalizes features natively, to give some work to the input pipeline
+  private Dataset batches() {
+    return Dataset.fromTensorSlices(
+            tf,
+            Arrays.asList(tf.constant(features), tf.constant(labels)),
+            Arrays.asList(TFloat32.class, TFloat32.class))
+        .map(
+            (ftf, components) -> {
+              Operand<TFloat32> x = components.get(0).asOutput().expect(TFloat32.class);
+              Operand<TFloat32> mean = ftf.math.mean(x, ftf.constant(0));
+              Operand<TFloat32> stddev =
+                  ftf.math.sqrt(
+                      ftf.math.mean(ftf.math.square(ftf.math.sub(x, mean)), ftf.constant(0)));
+              return Arrays.<Operand<?>>asList(
+                  ftf.math.div(ftf.math.sub(x, mean), ftf.math.add(stddev, ftf.constant(1e-6f))),
+                  components.get(1));
+            },
+            Dataset.AUTOTUNE,
+            true)
+        .batch(BATCH_SIZE);
+  }
+
+  private void trainStep(List<Tensor> batch) {
+    try (TFloat32 x = (TFloat32) batch.get(0);
+        TFloat32 y = (TFloat32) batch.get(1)) {
+      // tensors are released as soon as the step is completed
+      trainStep(tf.constantOf(x), tf.constantOf(y));
+    }
+  }
+
+  // Computes the mean squared error of the model and applies a gradient descent step to its weights
+  private Operand<TFloat32> trainStep(Operand<?> features, Operand<?> labels) {
+    Operand<TFloat32> x = features.asOutput().expect(TFloat32.class);
+    Operand<TFloat32> y = labels.asOutput().expect(TFloat32.class);
+    Operand<TFloat32> error = tf.math.sub(tf.linalg.matMul(x, weights), y);
+    Operand<TFloat32> gradient =
+        tf.math.mul(
+            tf.linalg.matMul(x, error, MatMul.transposeA(true)),
+            tf.constant(2.0f / BATCH_SIZE));
+    tf.assign(weights, tf.math.sub(weights, tf.math.mul(gradient, tf.constant(0.01f))));
+    return tf.math.mean(tf.math.square(error), tf.constant(new int[] {0, 1}));
+  }
+}
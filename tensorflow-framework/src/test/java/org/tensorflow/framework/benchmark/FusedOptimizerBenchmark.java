@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.Session;
+import org.tensorflow.framework.optimizers.Adam;
+import org.tensorflow.framework.optimizers.Momentum;
+import org.tensorflow.framework.optimizers.Optimizer;
+import org.tensorflow.framework.optimizers.RMSProp;
+import org.tensorflow.framework.variables.ParameterBuckets;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+
+/**
+ * Measures the time of a training step of a model made of many small variables, when each
+ * variable is updated separately or when all of them are stored and updated in a single bucket.
+ */
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class FusedOptimizerBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Param({"100", "1000", "5000"})
+  public int numVariables;
+
+  @Param({"Momentum", "RMSProp", "Adam"})
+  public String optimizer;
+
+  @Param({"true", "false"})
+  public boolean bucketed;
+
+  @Setup
+  public void setUp() {
+    graph = new Graph();
+    Ops tf = Ops.create(graph);
+    Operand<TFloat32> initialValue =
+        tf.fill(tf.constant(new long[] {VARIABLE_SIZE}), tf.constant(0.1f));
+
+    List<Operand<TFloat32>> variables = new ArrayList<>(numVariables);
+    ParameterBuckets params = new ParameterBuckets(tf);
+    for (int i = 0; i < numVariables; ++i) {
+      variables.add(
+          bucketed ? params.add(initialValue) : ResourceVariable.create(tf, initialValue));
+    }
+    List<? extends Operand<?>> trainable = bucketed ? params.build().buckets() : variables;
+    List<Operand<TFloat32>> losses = new ArrayList<>(numVariables);
+    for (Operand<TFloat32> variable : variables) {
+      losses.add(tf.math.square(variable));
+    }
+    Operand<TFloat32> loss = tf.reduceSum(tf.math.addN(losses), tf.constant(0));
+    trainStep = createOptimizer().minimize(loss, trainable, "train");
+    session = new Session(graph);
+    session.runInit();
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+    graph.close();
+  }
+
+  @Benchmark
+  public void trainStep() {
+    session.run(trainStep);
+  }
+
+  private static final long VARIABLE_SIZE = 16;
+
+  private Graph graph;
+  private Session session;
+  private Op trainStep;
+
+  private Optimizer createOptimizer() {
+    switch (optimizer) {
+      case "Momentum":
+        return new Momentum(graph);
+      case "RMSProp":
+        return new RMSProp(graph);
+      case "Adam":
+        return new Adam(graph);
+      default:
+        throw new IllegalArgumentException("Unknown optimizer " + optimizer);
+    }
+  }
+}
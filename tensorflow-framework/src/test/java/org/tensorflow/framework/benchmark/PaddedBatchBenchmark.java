@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+import org.tensorflow.types.TUint8;
+
+/**
+ * Compares the amount of padding, and the time it takes, to batch a corpus of text lines of
+ * variable length, tokenized by characters.
+ *
+ * <p>The {@code paddedTokens} counter reports the number of tokens in all batches, padding
+ * included, while the corpus holds {@code realTokens} tokens.
+ */
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class PaddedBatchBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Tokens {
+
+    public long paddedTokens;
+    public long realTokens;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      paddedTokens = 0;
+      realTokens = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    corpusFile = Files.createTempFile("padded-batch-benchmark", ".txt");
+    try (BufferedWriter writer = Files.newBufferedWriter(corpusFile)) {
+      for (int i = 0; i < NUM_LINES; ++i) {
+        // Line lengths follow a log-normal distribution, like sentences of natural languages
+        int length = (int) Math.min(MAX_LENGTH, 1 + Math.exp(3.5 + 0.8 * random.nextGaussian()));
+        for (int j = 0; j < length; ++j) {
+          writer.write('a' + random.nextInt(26));
+        }
+        writer.newLine();
+        corpusTokens += length;
+      }
+    }
+    session = EagerSession.create();
+    tf = Ops.create(session);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    session.close();
+    Files.delete(corpusFile);
+  }
+
+  @Benchmark
+  public void padToMaxLength(Tokens tokens) {
+    Dataset dataset =
+        tokenizedLines()
+            .paddedBatch(
+                BATCH_SIZE,
+                Arrays.asList(Shape.of(MAX_LENGTH), Shape.scalar()),
+                Arrays.asList(tf.constant((byte) 0), tf.constant(0L)));
+    countTokens(dataset, tokens);
+  }
+
+  @Benchmark
+  public void padToLongestOfBatch(Tokens tokens) {
+    Dataset dataset =
+        tokenizedLines()
+            .paddedBatch(
+                BATCH_SIZE,
+                Arrays.asList(Shape.of(Shape.UNKNOWN_SIZE), Shape.scalar()),
+                Arrays.asList(tf.constant((byte) 0), tf.constant(0L)));
+    countTokens(dataset, tokens);
+  }
+
+  @Benchmark
+  public void bucketBySequenceLength(Tokens tokens) {
+    Dataset dataset =
+        tokenizedLines()
+            .bucketBySequenceLength(
+                (ftf, components) -> components.get(1).asOutput().expect(TInt64.class),
+                new long[] {16, 32, 64, 128},
+                new long[] {BATCH_SIZE, BATCH_SIZE, BATCH_SIZE, BATCH_SIZE, BATCH_SIZE});
+    countTokens(dataset, tokens);
+  }
+
+  private static final int NUM_LINES = 20000;
+  private static final int MAX_LENGTH = 256;
+  private static final int BATCH_SIZE = 32;
+
+  private Path corpusFile;
+  private long corpusTokens;
+  private EagerSession session;
+  private Ops tf;
+
+  // Each line is decoded to a vector of bytes, which is returned along with its length
+  private Dataset tokenizedLines() {
+    return Dataset.textLineDataset(tf, corpusFile.toString(), "", 256 * 1024)
+        .map(
+            (ftf, components) -> {
+              Operand<TUint8> tokens =
+                  ftf.io.decodeRaw(components.get(0).asOutput().expect(TString.class), TUint8.class);
+              return Arrays.<Operand<?>>asList(tokens, ftf.size(tokens, TInt64.class));
+            },
+            Dataset.AUTOTUNE,
+            true);
+  }
+
+  private void countTokens(Dataset dataset, Tokens tokens) {
+    for (List<Operand<?>> batch : dataset) {
+      tokens.paddedTokens += batch.get(0).shape().size();
+      for (Operand<?> component : batch) {
+        component.asTensor().close();
+      }
+    }
+    tokens.realTokens += corpusTokens;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.data.Dataset;
+import org.tensorflow.framework.data.FeatureSpec;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.proto.example.Example;
+import org.tensorflow.proto.example.Feature;
+import org.tensorflow.proto.example.Features;
+import org.tensorflow.proto.example.FloatList;
+import org.tensorflow.proto.example.Int64List;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+
+/**
+ * Compares parsing serialized {@code tf.Example} protos one at a time before batching them, with
+ * batching them first and parsing each batch in a single vectorized operation.
+ */
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ParseExamplesBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    serialized = new byte[NUM_EXAMPLES][];
+    for (int i = 0; i < NUM_EXAMPLES; ++i) {
+      FloatList.Builder features = FloatList.newBuilder();
+      for (int j = 0; j < NUM_FEATURES; ++j) {
+        features.addValue(random.nextFloat());
+      }
+      Example example =
+          Example.newBuilder()
+              .setFeatures(
+                  Features.newBuilder()
+                      .putFeature("features", Feature.newBuilder().setFloatList(features).build())
+                      .putFeature(
+                          "label",
+                          Feature.newBuilder()
+                              .setInt64List(Int64List.newBuilder().addValue(random.nextInt(10)))
+                              .build()))
+              .build();
+      serialized[i] = example.toByteArray();
+    }
+    spec =
+        FeatureSpec.builder()
+            .fixedLen("features", TFloat32.class, Shape.of(NUM_FEATURES))
+            .fixedLen("label", TInt64.class, Shape.scalar())
+            .build();
+    session = EagerSession.create();
+    tf = Ops.create(session);
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+  }
+
+  @Benchmark
+  public int parseEachExample() {
+    Dataset dataset = examples().parseExamples(spec, Dataset.AUTOTUNE).batch(BATCH_SIZE);
+    return countElements(dataset);
+  }
+
+  @Benchmark
+  public int parseBatchedExamples() {
+    Dataset dataset = examples().batch(BATCH_SIZE).parseExamples(spec, Dataset.AUTOTUNE);
+    return countElements(dataset);
+  }
+
+  private static final int NUM_EXAMPLES = 20000;
+  private static final int NUM_FEATURES = 32;
+  private static final int BATCH_SIZE = 64;
+
+  private byte[][] serialized;
+  private FeatureSpec spec;
+  private EagerSession session;
+  private Ops tf;
+
+  private Dataset examples() {
+    return Dataset.fromTensorSlices(
+        tf,
+        Collections.singletonList(
+            tf.constantOf(TString.tensorOfBytes(NdArrays.vectorOfObjects(serialized)))),
+        Collections.singletonList(TString.class));
+  }
+
+  private static int countElements(Dataset dataset) {
+    int count = 0;
+    for (List<Operand<?>> element : dataset) {
+      for (Operand<?> component : element) {
+        component.asTensor().close();
+      }
+      ++count;
+    }
+    return count;
+  }
+}
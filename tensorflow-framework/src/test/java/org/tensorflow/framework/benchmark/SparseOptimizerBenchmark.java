@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.Session;
+import org.tensorflow.framework.optimizers.AdaGrad;
+import org.tensorflow.framework.optimizers.Adam;
+import org.tensorflow.framework.optimizers.Ftrl;
+import org.tensorflow.framework.optimizers.GradientDescent;
+import org.tensorflow.framework.optimizers.Momentum;
+import org.tensorflow.framework.optimizers.Optimizer;
+import org.tensorflow.framework.optimizers.RMSProp;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Variable;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TType;
+
+/**
+ * Measures the time of a training step of an embedding table, when its gradient is applied as a
+ * dense tensor or as sparse rows, for growing table sizes. Only {@value #BATCH_SIZE} rows of the
+ * table are looked up at each step, so sparse updates should not depend on the size of the table.
+ */
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class SparseOptimizerBenchmark {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Param({"10000", "100000", "1000000"})
+  public int embeddingSize;
+
+  @Param({"GradientDescent", "AdaGrad", "Momentum", "RMSProp", "Ftrl", "Adam"})
+  public String optimizer;
+
+  @Param({"true", "false"})
+  public boolean sparse;
+
+  @Setup
+  public void setUp() {
+    graph = new Graph();
+    Ops tf = Ops.create(graph);
+    int[] ids = new int[BATCH_SIZE];
+    Random random = new Random(42);
+    for (int i = 0; i < ids.length; ++i) {
+      ids[i] = random.nextInt(embeddingSize);
+    }
+    Variable<TFloat32> embeddings =
+        tf.variable(
+            tf.fill(tf.constant(new long[] {embeddingSize, EMBEDDING_DIM}), tf.constant(0.1f)));
+    Operand<TInt32> lookupIds = tf.constant(ids);
+    Operand<TFloat32> lookup = tf.gather(embeddings, lookupIds, tf.constant(0));
+    Operand<TFloat32> loss =
+        tf.math.mean(tf.math.square(lookup), tf.constant(new int[] {0, 1}));
+
+    Optimizer instance = createOptimizer();
+    if (sparse) {
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars =
+          Collections.singletonList(
+              instance.computeSparseGradient(loss, embeddings.asOutput(), lookupIds, lookup));
+      trainStep = instance.applyGradients(gradsAndVars, "train");
+    } else {
+      trainStep = instance.minimize(loss, "train");
+    }
+    session = new Session(graph);
+    session.runInit();
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+    graph.close();
+  }
+
+  @Benchmark
+  public void trainStep() {
+    session.run(trainStep);
+  }
+
+  private static final int EMBEDDING_DIM = 64;
+  private static final int BATCH_SIZE = 256;
+
+  private Graph graph;
+  private Session session;
+  private Op trainStep;
+
+  private Optimizer createOptimizer() {
+    switch (optimizer) {
+      case "GradientDescent":
+        return new GradientDescent(graph);
+      case "AdaGrad":
+        return new AdaGrad(graph);
+      case "Momentum":
+        return new Momentum(graph);
+      case "RMSProp":
+        return new RMSProp(graph);
+      case "Ftrl":
+        return new Ftrl(graph);
+      case "Adam":
+        return new Adam(graph);
+      default:
+        throw new IllegalArgumentException("Unknown optimizer " + optimizer);
+    }
+  }
+}
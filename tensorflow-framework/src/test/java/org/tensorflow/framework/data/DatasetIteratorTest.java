@@ -16,14 +16,18 @@
 package org.tensorflow.framework.data;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.tensorflow.Graph;
 import org.tensorflow.Operand;
 import org.tensorflow.Session;
 import org.tensorflow.types.family.TType;
 import org.tensorflow.exceptions.TFOutOfRangeException;
+import org.tensorflow.op.Op;
 import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Variable;
 import org.tensorflow.types.TInt32;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
@@ -90,4 +94,119 @@ public class DatasetIteratorTest extends DatasetTestBase {
       }
     }
   }
+
+  @Test
+  public void testGraphSaveAndRestoreState(@TempDir Path tempDir) {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+
+      List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+      List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+
+      DatasetIterator iterator =
+          Dataset.fromTensorSlices(tf, tensors, dataTypes).makeOneShotIterator();
+      Operand<?> x = iterator.getNext().get(0);
+      String prefix = tempDir.resolve("iterator").toString();
+      Op save = iterator.saveState(prefix);
+      Op restore = iterator.restoreState(prefix);
+
+      try (Session session = new Session(graph)) {
+        session.run(tf.init());
+        session.runner().fetch(x).run().get(0).close();
+        session.run(save);
+
+        // Consume the next element, which must be returned again after restoring the iterator
+        session.runner().fetch(x).run().get(0).close();
+        session.run(restore);
+
+        try (TInt32 xBatch = (TInt32) session.runner().fetch(x).run().get(0)) {
+          assertEquals(testMatrix1.get(1), xBatch);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSessionSaveIgnoresIterators(@TempDir Path tempDir) {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+      Variable<TInt32> v = tf.withName("v").variable(tf.constant(1));
+
+      // The iterator is never initialized, so its state could not be serialized
+      List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+      List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+      Dataset.fromTensorSlices(tf, tensors, dataTypes).makeInitializeableIterator();
+
+      try (Session session = new Session(graph)) {
+        session.run(tf.init());
+        session.save(tempDir.resolve("checkpoint").toString());
+
+        session.run(tf.assign(v, tf.constant(2)));
+        session.restore(tempDir.resolve("checkpoint").toString());
+        try (TInt32 value = (TInt32) session.runner().fetch(v).run().get(0)) {
+          assertEquals(1, value.getInt());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSessionRestoreOfCheckpointWithoutIterators(@TempDir Path tempDir) {
+    String prefix = tempDir.resolve("checkpoint").toString();
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+      tf.withName("v").variable(tf.constant(1));
+      try (Session session = new Session(graph)) {
+        session.run(tf.init());
+        session.save(prefix);
+      }
+    }
+
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+      Variable<TInt32> v = tf.withName("v").variable(tf.constant(2));
+
+      List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+      List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+      Operand<?> x =
+          Dataset.fromTensorSlices(tf, tensors, dataTypes).makeOneShotIterator().getNext().get(0);
+
+      try (Session session = new Session(graph)) {
+        session.run(tf.init());
+        session.restore(prefix);
+        try (TInt32 value = (TInt32) session.runner().fetch(v).run().get(0);
+            TInt32 xBatch = (TInt32) session.runner().fetch(x).run().get(0)) {
+          assertEquals(1, value.getInt());
+          assertEquals(testMatrix1.get(0), xBatch);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEagerSaveAndRestoreState(@TempDir Path tempDir) {
+    Ops tf = Ops.create();
+
+    List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+    List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+
+    DatasetIterator iterator =
+        Dataset.fromTensorSlices(tf, tensors, dataTypes).makeOneShotIterator();
+    String prefix = tempDir.resolve("checkpoint").toString();
+
+    iterator.getNext();
+    Operand<?> state = iterator.saveState();
+    iterator.saveState(prefix);
+
+    iterator.getNext();
+    iterator.restoreState(state);
+    try (TInt32 xBatch = (TInt32) iterator.getNext().get(0).asTensor()) {
+      assertEquals(testMatrix1.get(1), xBatch);
+    }
+
+    iterator.restoreState(prefix);
+    try (TInt32 xBatch = (TInt32) iterator.getNext().get(0).asTensor()) {
+      assertEquals(testMatrix1.get(1), xBatch);
+    }
+  }
 }
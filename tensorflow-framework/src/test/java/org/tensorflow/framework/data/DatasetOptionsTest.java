@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.Operation;
+import org.tensorflow.framework.data.DatasetOptions.Optimization;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatasetOptionsTest extends DatasetTestBase {
+
+  @Test
+  public void testEagerDatasetWithOptions() {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.fromTensorSlices(
+                tf,
+                Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2)),
+                Arrays.asList(TInt32.class, TInt32.class))
+            .withOptions(
+                DatasetOptions.create()
+                    .privateThreadPoolSize(2)
+                    .maxIntraOpParallelism(1)
+                    .autotuneCpuBudget(2)
+                    .enable(Optimization.MAP_FUSION, Optimization.MAP_PARALLELIZATION));
+
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 batch1 = (TInt32)components.get(0).asTensor();
+          TInt32 batch2 = (TInt32)components.get(1).asTensor()) {
+        assertEquals(testMatrix1.get(count), batch1);
+        assertEquals(testMatrix2.get(count), batch2);
+        count++;
+      }
+    }
+
+    assertEquals(4, count);
+  }
+
+  @Test
+  public void testOptionsWrapPipeline() {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+
+      Dataset.fromTensorSlices(
+              tf,
+              Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2)),
+              Arrays.asList(TInt32.class, TInt32.class))
+          .withOptions(
+              DatasetOptions.create()
+                  .privateThreadPoolSize(4)
+                  .applyDefaultOptimizations(false)
+                  .autotune(false));
+
+      Set<String> opTypes = new HashSet<>();
+      for (Iterator<Operation> it = graph.operations(); it.hasNext(); ) {
+        opTypes.add(it.next().type());
+      }
+      assertTrue(opTypes.contains("PrivateThreadPoolDataset"));
+      assertFalse(opTypes.contains("MaxIntraOpParallelismDataset"));
+      assertFalse(opTypes.contains("OptimizeDatasetV2"));
+      assertFalse(opTypes.contains("ModelDataset"));
+    }
+  }
+
+  @Test
+  public void testInvalidOptions() {
+    assertThrows(
+        IllegalArgumentException.class, () -> DatasetOptions.create().privateThreadPoolSize(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> DatasetOptions.create().maxIntraOpParallelism(-1));
+  }
+}
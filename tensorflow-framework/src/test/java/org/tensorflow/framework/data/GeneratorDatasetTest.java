@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.Tensor;
+import org.tensorflow.exceptions.TFInvalidArgumentException;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeneratorDatasetTest extends DatasetTestBase {
+
+  @Test
+  public void testEagerGeneratorDataset() {
+    Ops tf = Ops.create();
+
+    // Chunks of 3 elements, so the last chunk is partial
+    Dataset dataset =
+        Dataset.fromGenerator(
+            tf,
+            () ->
+                IntStream.range(0, 4)
+                    .mapToObj(
+                        i ->
+                            new Tensor[] {
+                              TInt32.tensorOf(testMatrix1.get(i)),
+                              TInt32.tensorOf(testMatrix2.get(i))
+                            })
+                    .iterator(),
+            Arrays.asList(TInt32.class, TInt32.class),
+            Arrays.asList(Shape.of(5), Shape.of(1)),
+            3,
+            3);
+
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 batch1 = (TInt32) components.get(0).asTensor();
+          TInt32 batch2 = (TInt32) components.get(1).asTensor()) {
+        assertEquals(testMatrix1.get(count), batch1);
+        assertEquals(testMatrix2.get(count), batch2);
+        count++;
+      }
+    }
+
+    assertEquals(4, count);
+  }
+
+  @Test
+  public void testGeneratorIsBoundedByBufferSize() throws InterruptedException {
+    Ops tf = Ops.create();
+    AtomicLong generated = new AtomicLong();
+
+    Dataset dataset =
+        Dataset.fromGenerator(
+                tf,
+                () ->
+                    LongStream.range(0, 1000)
+                        .peek(i -> generated.incrementAndGet())
+                        .mapToObj(i -> new Tensor[] {TInt64.scalarOf(i)})
+                        .iterator(),
+                Collections.singletonList(TInt64.class),
+                Collections.singletonList(Shape.scalar()),
+                100,
+                10)
+            .batch(100);
+
+    // The producer is only started once the dataset is iterated
+    Thread.sleep(200);
+    assertEquals(0, generated.get());
+
+    long sum = 0;
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt64 batch = (TInt64) components.get(0).asTensor()) {
+        for (int i = 0; i < batch.size(); ++i) {
+          sum += batch.getLong(i);
+        }
+        if (count == 0) {
+          // Past the first batch, the producer can only fill the buffer and stage one more chunk
+          Thread.sleep(200);
+          assertTrue(generated.get() <= 210, "Generated " + generated.get() + " elements");
+        }
+        count++;
+      }
+    }
+
+    assertEquals(10, count);
+    assertEquals(999L * 1000L / 2, sum);
+  }
+
+  @Test
+  public void testClosingSessionStopsProducer() throws InterruptedException {
+    Set<Thread> producers = producerThreads();
+    AtomicLong generated = new AtomicLong();
+
+    try (EagerSession session = EagerSession.create()) {
+      Ops tf = Ops.create(session);
+      Dataset dataset =
+          Dataset.fromGenerator(
+              tf,
+              () ->
+                  LongStream.range(0, Long.MAX_VALUE)
+                      .peek(i -> generated.incrementAndGet())
+                      .mapToObj(i -> new Tensor[] {TInt64.scalarOf(i)})
+                      .iterator(),
+              Collections.singletonList(TInt64.class),
+              Collections.singletonList(Shape.scalar()),
+              10,
+              5);
+
+      // Leaves the producer blocked on its full queue
+      Iterator<List<Operand<?>>> iterator = dataset.iterator();
+      try (TInt64 value = (TInt64) iterator.next().get(0).asTensor()) {
+        assertEquals(0L, value.getLong());
+      }
+      Thread.sleep(200);
+    }
+
+    Set<Thread> stopped = producerThreads();
+    stopped.removeAll(producers);
+    assertEquals(1, stopped.size());
+    Thread producer = stopped.iterator().next();
+    producer.join(5000);
+    assertFalse(producer.isAlive());
+    // Besides the elements consumed, at most the buffer and two chunks have been generated
+    assertTrue(generated.get() <= 25, "Generated " + generated.get() + " elements");
+  }
+
+  private static Set<Thread> producerThreads() {
+    Set<Thread> threads = new HashSet<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith("tf-data-generator_")) {
+        threads.add(thread);
+      }
+    }
+    return threads;
+  }
+
+  @Test
+  public void testGeneratorFailureFailsThePipeline() {
+    Ops tf = Ops.create();
+
+    // The generator fails in the middle of its second chunk
+    Dataset dataset =
+        Dataset.fromGenerator(
+            tf,
+            () ->
+                LongStream.range(0, 10)
+                    .mapToObj(
+                        i -> {
+                          if (i == 5) {
+                            throw new IllegalStateException("no more data at " + i);
+                          }
+                          return new Tensor[] {TInt64.scalarOf(i)};
+                        })
+                    .iterator(),
+            Collections.singletonList(TInt64.class),
+            Collections.singletonList(Shape.scalar()),
+            6,
+            3);
+
+    List<Long> values = new ArrayList<>();
+    TFInvalidArgumentException e =
+        assertThrows(
+            TFInvalidArgumentException.class,
+            () -> {
+              for (List<Operand<?>> components : dataset) {
+                try (TInt64 value = (TInt64) components.get(0).asTensor()) {
+                  values.add(value.getLong());
+                }
+              }
+            });
+    assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), values);
+    assertTrue(e.getMessage().contains("no more data at 5"), e.getMessage());
+  }
+
+  @Test
+  public void testGeneratedComponentsMustHaveFixedSize() {
+    Ops tf = Ops.create();
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Dataset.fromGenerator(
+                tf,
+                Collections::emptyIterator,
+                Collections.singletonList(TString.class),
+                Collections.singletonList(Shape.scalar())));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Dataset.fromGenerator(
+                tf,
+                Collections::emptyIterator,
+                Collections.singletonList(TInt32.class),
+                Collections.singletonList(Shape.of(Shape.UNKNOWN_SIZE))));
+  }
+
+  @Test
+  public void testGraphGeneratorDatasetIsNotSupported() {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+
+      assertThrows(
+          UnsupportedOperationException.class,
+          () ->
+              Dataset.fromGenerator(
+                  tf,
+                  Collections::emptyIterator,
+                  Collections.singletonList(TInt32.class),
+                  Collections.singletonList(Shape.scalar())));
+    }
+  }
+}
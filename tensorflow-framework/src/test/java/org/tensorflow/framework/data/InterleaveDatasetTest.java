@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InterleaveDatasetTest {
+
+  @TempDir Path dataDir;
+
+  @Test
+  public void testEagerInterleaveTextFiles() throws IOException {
+    Set<String> expectedLines = new HashSet<>();
+    for (int i = 0; i < 3; ++i) {
+      List<String> lines = new ArrayList<>();
+      for (int j = 0; j < 4; ++j) {
+        lines.add("shard" + i + "-line" + j);
+      }
+      Files.write(dataDir.resolve("shard-" + i + ".txt"), lines);
+      expectedLines.addAll(lines);
+    }
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.listFiles(tf, dataDir.resolve("shard-*.txt").toString(), true)
+            .interleave(
+                (ftf, components) ->
+                    Dataset.textLineDataset(
+                        ftf, components.get(0).asOutput().expect(TString.class), "", 1024),
+                3,
+                1,
+                Dataset.AUTOTUNE);
+
+    Set<String> lines = new HashSet<>();
+    for (List<Operand<?>> components : dataset) {
+      try (TString line = (TString)components.get(0).asTensor()) {
+        lines.add(line.getObject());
+      }
+    }
+    assertEquals(expectedLines, lines);
+  }
+
+  @Test
+  public void testEagerListFiles() throws IOException {
+    for (String filename : Arrays.asList("a.txt", "b.txt", "c.dat")) {
+      Files.write(dataDir.resolve(filename), new byte[0]);
+    }
+    Ops tf = Ops.create();
+
+    Set<String> filenames = new HashSet<>();
+    for (List<Operand<?>> components : Dataset.listFiles(tf, dataDir.resolve("*.txt").toString(), false)) {
+      try (TString filename = (TString)components.get(0).asTensor()) {
+        filenames.add(filename.getObject());
+      }
+    }
+    assertEquals(
+        new HashSet<>(Arrays.asList(dataDir.resolve("a.txt").toString(), dataDir.resolve("b.txt").toString())),
+        filenames);
+  }
+}
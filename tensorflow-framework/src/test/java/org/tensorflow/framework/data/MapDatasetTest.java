@@ -122,4 +122,86 @@ public class MapDatasetTest extends DatasetTestBase {
       }
     }
   }
+
+  @Test
+  public void testNativeGraphIteration() {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+
+      List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+
+      List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+
+      Dataset dataset =
+          Dataset.fromTensorSlices(tf, tensors, dataTypes)
+              .map(
+                  (ftf, components) ->
+                      Arrays.asList(
+                          ftf.math.mul(components.get(0).asOutput().expect(TInt32.class), ftf.constant(2)),
+                          ftf.math.mul(components.get(1).asOutput().expect(TInt32.class), ftf.constant(2))),
+                  2,
+                  true);
+
+      assertEquals(dataTypes, dataset.getOutputTypes());
+
+      DatasetIterator iterator = dataset.makeOneShotIterator();
+      List<Operand<?>> components = iterator.getNext();
+      Operand<?> X = components.get(0);
+      Operand<?> y = components.get(1);
+
+      try (Session session = new Session(graph)) {
+        session.run(tf.init());
+
+        int batches = 0;
+        while (true) {
+          try {
+            List<?> outputs = session.runner().fetch(X).fetch(y).run();
+
+            try (TInt32 XBatch = (TInt32)outputs.get(0);
+                TInt32 yBatch = (TInt32)outputs.get(1)) {
+
+              assertEquals(mapped1.get(batches), XBatch);
+              assertEquals(mapped2.get(batches), yBatch);
+
+              batches++;
+            }
+          } catch (TFOutOfRangeException e) {
+            break;
+          }
+        }
+        assertEquals(4, batches);
+      }
+    }
+  }
+
+  @Test
+  public void testNativeEagerIteration() {
+    Ops tf = Ops.create();
+
+    List<Operand<?>> tensors = Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2));
+
+    List<Class<? extends TType>> dataTypes = Arrays.asList(TInt32.class, TInt32.class);
+
+    Dataset dataset =
+        Dataset.fromTensorSlices(tf, tensors, dataTypes)
+            .map(
+                (ftf, components) ->
+                    Arrays.asList(
+                        ftf.math.mul(components.get(0).asOutput().expect(TInt32.class), ftf.constant(2)),
+                        components.get(1)),
+                Dataset.AUTOTUNE,
+                true);
+
+    int count = 0;
+    for (List<Operand<?>> outputs : dataset) {
+      try (TInt32 XBatch = (TInt32)outputs.get(0).asTensor();
+          TInt32 yBatch = (TInt32)outputs.get(1).asTensor()) {
+        assertEquals(mapped1.get(count), XBatch);
+        assertEquals(testMatrix2.get(count), yBatch);
+
+        count++;
+      }
+    }
+    assertEquals(4, count);
+  }
 }
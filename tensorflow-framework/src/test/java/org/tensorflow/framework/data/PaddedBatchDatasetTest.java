@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.ndarray.IntNdArray;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.StdArrays;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.TInt64;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PaddedBatchDatasetTest extends DatasetTestBase {
+
+  @Test
+  public void testEagerPaddedBatch() {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        sequences(tf)
+            .paddedBatch(
+                2,
+                Arrays.asList(Shape.of(Shape.UNKNOWN_SIZE), Shape.scalar()),
+                Arrays.asList(tf.constant(0), tf.constant(0L)));
+
+    List<IntNdArray> expected =
+        Arrays.asList(
+            StdArrays.ndCopyOf(new int[][] {{1, 0, 0}, {2, 4, 6}}),
+            StdArrays.ndCopyOf(new int[][] {{3, 6, 0, 0, 0}, {4, 8, 12, 16, 20}}));
+
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 batch = (TInt32) components.get(0).asTensor()) {
+        assertEquals(expected.get(count), batch);
+        count++;
+      }
+    }
+
+    assertEquals(2, count);
+  }
+
+  @Test
+  public void testEagerBucketBySequenceLength() {
+    Ops tf = Ops.create();
+
+    // Lengths 1, 3, 2, 5 go to buckets 0, 1, 0, 1
+    Dataset dataset =
+        sequences(tf)
+            .bucketBySequenceLength(
+                (ftf, components) -> components.get(1).asOutput().expect(TInt64.class),
+                new long[] {3},
+                new long[] {2, 2});
+
+    List<IntNdArray> expected =
+        Arrays.asList(
+            StdArrays.ndCopyOf(new int[][] {{1, 0}, {3, 6}}),
+            StdArrays.ndCopyOf(new int[][] {{2, 4, 6, 0, 0}, {4, 8, 12, 16, 20}}));
+
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 batch = (TInt32) components.get(0).asTensor()) {
+        assertEquals(expected.get(count), batch);
+        count++;
+      }
+    }
+
+    assertEquals(2, count);
+  }
+
+  @Test
+  public void testPaddedShapesMustMatchComponents() {
+    Ops tf = Ops.create();
+    Dataset dataset = sequences(tf);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            dataset.paddedBatch(
+                2,
+                Arrays.asList(Shape.of(5, 5), Shape.scalar()),
+                Arrays.asList(tf.constant(0), tf.constant(0L))));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            dataset.bucketBySequenceLength(
+                (ftf, components) -> components.get(1).asOutput().expect(TInt64.class),
+                new long[] {3},
+                new long[] {2}));
+  }
+
+  // Rows of the first test matrix, truncated to different lengths, along with their length
+  private Dataset sequences(Ops tf) {
+    return Dataset.fromTensorSlices(
+            tf,
+            Arrays.asList(tf.constant(testMatrix1), tf.constant(new long[] {1, 3, 2, 5})),
+            Arrays.asList(TInt32.class, TInt64.class))
+        .map(
+            (ftf, components) -> {
+              Operand<TInt64> length = components.get(1).asOutput().expect(TInt64.class);
+              return Arrays.asList(
+                  ftf.slice(
+                      components.get(0).asOutput().expect(TInt32.class),
+                      ftf.constant(new long[] {0}),
+                      ftf.reshape(length, ftf.constant(new long[] {1}))),
+                  length);
+            },
+            1,
+            true);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.ndarray.NdArrays;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.ndarray.StdArrays;
+import org.tensorflow.op.Ops;
+import org.tensorflow.proto.example.BytesList;
+import org.tensorflow.proto.example.Example;
+import org.tensorflow.proto.example.Feature;
+import org.tensorflow.proto.example.Features;
+import org.tensorflow.proto.example.FloatList;
+import org.tensorflow.proto.example.Int64List;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt64;
+import org.tensorflow.types.TString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParseExamplesTest {
+
+  private static final FeatureSpec SPEC =
+      FeatureSpec.builder()
+          .fixedLen("label", TInt64.class, Shape.scalar(), -1L)
+          .fixedLen("weights", TFloat32.class, Shape.of(2))
+          .varLen("tags", TString.class)
+          .sparse("ratings", "item", "rating", TFloat32.class, 10)
+          .build();
+
+  @Test
+  public void testComponentNames() {
+    assertEquals(
+        Arrays.asList(
+            "label",
+            "weights",
+            "tags/indices",
+            "tags/values",
+            "tags/dense_shape",
+            "ratings/indices",
+            "ratings/values",
+            "ratings/dense_shape"),
+        SPEC.componentNames());
+  }
+
+  @Test
+  public void testEagerParseBatchedExamples() {
+    Ops tf = Ops.create();
+
+    Dataset dataset = examples(tf).batch(3).parseExamples(SPEC, Dataset.AUTOTUNE);
+
+    Iterator<List<Operand<?>>> iterator = dataset.iterator();
+    List<Operand<?>> components = iterator.next();
+    assertEquals(8, components.size());
+
+    assertEquals(NdArrays.vectorOf(1L, -1L, 3L), components.get(0).asTensor());
+    assertEquals(
+        StdArrays.ndCopyOf(new float[][] {{0.1f, 0.2f}, {0.3f, 0.4f}, {0.5f, 0.6f}}),
+        components.get(1).asTensor());
+
+    assertEquals(
+        StdArrays.ndCopyOf(new long[][] {{0, 0}, {0, 1}, {2, 0}}), components.get(2).asTensor());
+    assertEquals(NdArrays.vectorOf(3L, 2L), components.get(4).asTensor());
+
+    // Ratings are indexed by item, and sorted
+    assertEquals(
+        StdArrays.ndCopyOf(new long[][] {{0, 2}, {0, 7}, {1, 4}}), components.get(5).asTensor());
+    assertEquals(NdArrays.vectorOf(5.0f, 3.0f, 1.0f), components.get(6).asTensor());
+    assertEquals(NdArrays.vectorOf(3L, 10L), components.get(7).asTensor());
+
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testEagerParseSingleExamples() {
+    Ops tf = Ops.create();
+
+    Dataset dataset = examples(tf).parseExamples(SPEC, 1);
+
+    int count = 0;
+    long[] labels = {1L, -1L, 3L};
+    for (List<Operand<?>> components : dataset) {
+      try (TInt64 label = (TInt64) components.get(0).asTensor()) {
+        assertEquals(Shape.scalar(), label.shape());
+        assertEquals(labels[count], label.getLong());
+      }
+      count++;
+    }
+    assertEquals(3, count);
+  }
+
+  @Test
+  public void testParseExamplesRequiresSerializedExamples() {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.fromTensorSlices(
+            tf,
+            Collections.singletonList(tf.constant(new long[] {1, 2, 3})),
+            Collections.singletonList(TInt64.class));
+    assertThrows(IllegalArgumentException.class, () -> dataset.parseExamples(SPEC, 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> FeatureSpec.builder().fixedLen("label", TInt64.class, Shape.of(-1)));
+  }
+
+  private static Dataset examples(Ops tf) {
+    byte[][] serialized = {
+      example(1L, new float[] {0.1f, 0.2f}, Arrays.asList("a", "b"), new long[] {7, 2}, 3.0f, 5.0f)
+          .toByteArray(),
+      example(null, new float[] {0.3f, 0.4f}, Collections.emptyList(), new long[] {4}, 1.0f)
+          .toByteArray(),
+      example(3L, new float[] {0.5f, 0.6f}, Collections.singletonList("c"), new long[0])
+          .toByteArray()
+    };
+    return Dataset.fromTensorSlices(
+        tf,
+        Collections.singletonList(
+            tf.constantOf(TString.tensorOfBytes(NdArrays.vectorOfObjects(serialized)))),
+        Collections.singletonList(TString.class));
+  }
+
+  private static Example example(
+      Long label, float[] weights, List<String> tags, long[] items, float... ratings) {
+    Features.Builder features = Features.newBuilder();
+    if (label != null) {
+      features.putFeature(
+          "label",
+          Feature.newBuilder().setInt64List(Int64List.newBuilder().addValue(label)).build());
+    }
+    FloatList.Builder weightList = FloatList.newBuilder();
+    for (float weight : weights) {
+      weightList.addValue(weight);
+    }
+    features.putFeature("weights", Feature.newBuilder().setFloatList(weightList).build());
+    BytesList.Builder tagList = BytesList.newBuilder();
+    tags.forEach(tag -> tagList.addValue(ByteString.copyFromUtf8(tag)));
+    features.putFeature("tags", Feature.newBuilder().setBytesList(tagList).build());
+    Int64List.Builder itemList = Int64List.newBuilder();
+    for (long item : items) {
+      itemList.addValue(item);
+    }
+    features.putFeature("item", Feature.newBuilder().setInt64List(itemList).build());
+    FloatList.Builder ratingList = FloatList.newBuilder();
+    for (float rating : ratings) {
+      ratingList.addValue(rating);
+    }
+    features.putFeature("rating", Feature.newBuilder().setFloatList(ratingList).build());
+    return Example.newBuilder().setFeatures(features).build();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.data.SleepDataset;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.TInt64;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefetchDatasetTest extends DatasetTestBase {
+
+  private static final long STEP_MILLIS = 200;
+  private static final int PREFETCH_SIZE = 4;
+
+  @Test
+  public void testEagerPrefetchDataset() {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.fromTensorSlices(
+                tf,
+                Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2)),
+                Arrays.asList(TInt32.class, TInt32.class))
+            .prefetch(Dataset.AUTOTUNE);
+
+    int count = 0;
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 batch1 = (TInt32)components.get(0).asTensor();
+          TInt32 batch2 = (TInt32)components.get(1).asTensor()) {
+        assertEquals(testMatrix1.get(count), batch1);
+        assertEquals(testMatrix2.get(count), batch2);
+        count++;
+      }
+    }
+
+    assertEquals(4, count);
+  }
+
+  @Test
+  public void testPrefetchingBuffersElementsAhead() throws InterruptedException {
+    Ops tf = Ops.create();
+    DatasetIterator iterator = slowDataset(tf).prefetch(PREFETCH_SIZE).makeOneShotIterator();
+    assertEquals(0L, getNext(iterator));
+
+    // While the first element is being consumed, the prefetching stage fills its buffer
+    Thread.sleep(STEP_MILLIS * (PREFETCH_SIZE + 1) * 2);
+
+    // Buffered elements are returned at once, without waiting for the slow stage to produce them
+    long start = System.nanoTime();
+    for (long i = 1; i <= PREFETCH_SIZE; ++i) {
+      assertEquals(i, getNext(iterator));
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    assertTrue(
+        elapsedMillis < STEP_MILLIS,
+        "Getting " + PREFETCH_SIZE + " prefetched elements took " + elapsedMillis + " ms");
+  }
+
+  // Dataset of the values 0 to 9, taking STEP_MILLIS to produce each of them
+  private static Dataset slowDataset(Ops tf) {
+    Dataset dataset =
+        Dataset.fromTensorSlices(
+            tf,
+            Collections.singletonList(tf.constant(new long[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9})),
+            Collections.singletonList(TInt64.class));
+    return new Dataset(
+        tf,
+        SleepDataset.create(
+            tf.scope(),
+            dataset.getVariant(),
+            tf.constant(STEP_MILLIS * 1000),
+            dataset.getOutputTypes(),
+            dataset.getOutputShapes()),
+        dataset.getOutputTypes(),
+        dataset.getOutputShapes()) {};
+  }
+
+  private static long getNext(DatasetIterator iterator) {
+    try (TInt64 value = (TInt64) iterator.getNext().get(0).asTensor()) {
+      return value.getLong();
+    }
+  }
+}
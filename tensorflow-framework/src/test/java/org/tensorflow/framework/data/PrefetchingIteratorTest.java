@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.EagerSession;
+import org.tensorflow.Graph;
+import org.tensorflow.Tensor;
+import org.tensorflow.exceptions.TFInvalidArgumentException;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.TInt64;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefetchingIteratorTest extends DatasetTestBase {
+
+  @Test
+  public void testEagerPrefetchingIteration() {
+    Ops tf = Ops.create();
+
+    int count = 0;
+    try (PrefetchingIterator iterator = dataset(tf).prefetchingIterator(2)) {
+      while (iterator.hasNext()) {
+        List<Tensor> element = iterator.next();
+        assertEquals(testMatrix1.get(count), element.get(0));
+        assertEquals(testMatrix2.get(count), element.get(1));
+        element.forEach(Tensor::close);
+        count++;
+      }
+      assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    assertEquals(4, count);
+  }
+
+  @Test
+  public void testEagerBatchedFetch() {
+    Ops tf = Ops.create();
+
+    try (PrefetchingIterator iterator = dataset(tf).prefetchingIterator(2)) {
+      List<List<Tensor>> batch = iterator.getNextBatch(3);
+      assertEquals(3, batch.size());
+      for (int i = 0; i < 3; ++i) {
+        assertEquals(testMatrix1.get(i), batch.get(i).get(0));
+        batch.get(i).forEach(Tensor::close);
+      }
+
+      batch = iterator.getNextBatch(3);
+      assertEquals(1, batch.size());
+      assertEquals(testMatrix1.get(3), batch.get(0).get(0));
+      batch.get(0).forEach(Tensor::close);
+
+      assertTrue(iterator.getNextBatch(3).isEmpty());
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testEagerBatchedFetchOfFailingDataset() throws InterruptedException {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.fromGenerator(
+            tf,
+            () ->
+                LongStream.range(0, 10)
+                    .mapToObj(
+                        i -> {
+                          if (i == 5) {
+                            throw new IllegalStateException("no more data at " + i);
+                          }
+                          return new Tensor[] {TInt64.scalarOf(i)};
+                        })
+                    .iterator(),
+            Collections.singletonList(TInt64.class),
+            Collections.singletonList(Shape.scalar()));
+
+    try (PrefetchingIterator iterator = dataset.prefetchingIterator(8)) {
+      // Lets the failure reach the buffer, so that it is taken with the elements preceding it
+      Thread.sleep(500);
+      TFInvalidArgumentException e =
+          assertThrows(TFInvalidArgumentException.class, () -> iterator.getNextBatch(8));
+      assertTrue(e.getMessage().contains("no more data at 5"), e.getMessage());
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testCloseBeforeEndOfDataset() {
+    Ops tf = Ops.create();
+
+    PrefetchingIterator iterator = dataset(tf).repeat().prefetchingIterator(2);
+    iterator.next().forEach(Tensor::close);
+    iterator.close();
+
+    assertThrows(IllegalStateException.class, iterator::next);
+  }
+
+  @Test
+  public void testClosingTensorsReleasesTheirMemory() {
+    List<Tensor> element;
+    try (EagerSession session = EagerSession.create()) {
+      Ops tf = Ops.create(session);
+      try (PrefetchingIterator iterator = dataset(tf).prefetchingIterator(2)) {
+        element = iterator.next();
+      }
+    }
+
+    // The tensors are owned by the caller, not by the session
+    assertEquals(testMatrix1.get(0), element.get(0));
+    assertEquals(testMatrix2.get(0), element.get(1));
+
+    // Closing them deletes their native tensors
+    element.forEach(Tensor::close);
+    for (Tensor tensor : element) {
+      assertThrows(IllegalStateException.class, tensor::numBytes);
+    }
+  }
+
+  @Test
+  public void testClosingSessionStopsFetcher() throws InterruptedException {
+    Set<Thread> fetchers = fetcherThreads();
+    PrefetchingIterator iterator;
+    try (EagerSession session = EagerSession.create()) {
+      Ops tf = Ops.create(session);
+      iterator = dataset(tf).repeat().prefetchingIterator(2);
+      iterator.next().forEach(Tensor::close);
+    }
+
+    // The session waits for the fetcher, which ends once it has fetched its current element
+    Set<Thread> stopped = fetcherThreads();
+    stopped.removeAll(fetchers);
+    for (Thread fetcher : stopped) {
+      fetcher.join(5000);
+      assertFalse(fetcher.isAlive());
+    }
+    assertThrows(IllegalStateException.class, iterator::next);
+    iterator.close();
+  }
+
+  private static Set<Thread> fetcherThreads() {
+    Set<Thread> threads = new HashSet<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals("tf-data-prefetch")) {
+        threads.add(thread);
+      }
+    }
+    return threads;
+  }
+
+  @Test
+  public void testGraphPrefetchingIteratorIsNotSupported() {
+    try (Graph graph = new Graph()) {
+      Ops tf = Ops.create(graph);
+
+      assertThrows(UnsupportedOperationException.class, () -> dataset(tf).prefetchingIterator(2));
+    }
+  }
+
+  private Dataset dataset(Ops tf) {
+    return Dataset.fromTensorSlices(
+        tf,
+        Arrays.asList(tf.constant(testMatrix1), tf.constant(testMatrix2)),
+        Arrays.asList(TInt32.class, TInt32.class));
+  }
+}
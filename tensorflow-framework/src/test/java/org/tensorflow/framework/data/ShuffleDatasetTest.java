@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TInt32;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShuffleDatasetTest extends DatasetTestBase {
+
+  @Test
+  public void testEagerShuffleDataset() {
+    Ops tf = Ops.create();
+
+    Dataset dataset =
+        Dataset.fromTensorSlices(
+                tf,
+                Collections.singletonList(tf.range(tf.constant(0), tf.constant(100), tf.constant(1))),
+                Collections.singletonList(TInt32.class))
+            .shuffle(100, 42L, false);
+
+    List<Integer> firstEpoch = collect(dataset);
+    List<Integer> secondEpoch = collect(dataset);
+
+    // Same seed without reshuffling produces the same permutation of all elements at each epoch
+    assertEquals(firstEpoch, secondEpoch);
+    List<Integer> sorted = new ArrayList<>(firstEpoch);
+    Collections.sort(sorted);
+    for (int i = 0; i < 100; ++i) {
+      assertEquals(i, sorted.get(i));
+    }
+  }
+
+  private static List<Integer> collect(Dataset dataset) {
+    List<Integer> values = new ArrayList<>();
+    for (List<Operand<?>> components : dataset) {
+      try (TInt32 value = (TInt32)components.get(0).asTensor()) {
+        values.add(value.getInt());
+      }
+    }
+    return values;
+  }
+}
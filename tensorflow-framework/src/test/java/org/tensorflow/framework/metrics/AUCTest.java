@@ -0,0 +1,115 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AUCTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  private final int[] labelsArray = {0, 0, 1, 1};
+  private final float[] predictionsArray = {0, 0.4f, 0.3f, 0.9f};
+
+  @Test
+  public void testUnweightedROC() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      AUC<TFloat32> instance =
+          new AUC<>(tf, "AUC_testUnweightedROC", 3, AUCCurve.ROC, 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(labelsArray);
+      Operand<TFloat32> predictions = tf.constant(predictionsArray);
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(new float[] {0f, 1f, 1f, 0f}, instance.getPositives());
+      session.evaluate(new float[] {0f, 2f, 0f, 0f}, instance.getNegatives());
+      session.evaluate(new float[] {2f, 1f, 0f}, instance.truePositives());
+      session.evaluate(new float[] {2f, 0f, 0f}, instance.falsePositives());
+      session.evaluate(new float[] {0f, 2f, 2f}, instance.trueNegatives());
+      session.evaluate(new float[] {0f, 1f, 2f}, instance.falseNegatives());
+      session.evaluate(0.75f, instance.result());
+    }
+  }
+
+  @Test
+  public void testUnweightedPR() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      AUC<TFloat32> instance =
+          new AUC<>(tf, "AUC_testUnweightedPR", 3, AUCCurve.PR, 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(labelsArray);
+      Operand<TFloat32> predictions = tf.constant(predictionsArray);
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(0.625f, instance.result());
+    }
+  }
+
+  @Test
+  public void testWeightedROC() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      AUC<TFloat32> instance =
+          new AUC<>(tf, "AUC_testWeightedROC", 3, AUCCurve.ROC, 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(labelsArray);
+      Operand<TFloat32> predictions = tf.constant(predictionsArray);
+      Operand<TFloat32> sampleWeights = tf.constant(new float[] {1, 2, 3, 4});
+      Op op = instance.updateState(labels, predictions, sampleWeights);
+      session.run(op);
+      session.evaluate(11f / 14f, instance.result());
+    }
+  }
+
+  @Test
+  public void testDefaultThresholds() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      AUC<TFloat32> instance = new AUC<>(tf, "AUC_testDefaultThresholds", 1001L, TFloat32.class);
+      assertEquals(AUC.NUM_THRESHOLDS_DEFAULT, instance.getThresholds().size());
+      assertEquals(AUCCurve.ROC, instance.getCurve());
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(labelsArray);
+      Operand<TFloat32> predictions = tf.constant(new float[] {0.1f, 0.2f, 0.8f, 0.9f});
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(1f, instance.result());
+    }
+  }
+
+  @Test
+  public void testInvalidNumThresholds() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new AUC<>(tf, "AUC_invalid", 1, AUCCurve.ROC, 1001L, TFloat32.class));
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.Operation;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TFloat64;
+import org.tensorflow.types.TInt64;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricCollectionTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  private final long[] trueArray = {
+    0, 1, 0, 1, 0,
+    0, 0, 1, 1, 1,
+    1, 1, 1, 1, 0,
+    0, 0, 0, 0, 1
+  };
+  private final float[] predictionArray = {
+    0, 0, 1, 1, 0,
+    1, 1, 1, 1, 1,
+    0, 1, 0, 1, 0,
+    1, 1, 1, 1, 1
+  };
+
+  @Test
+  public void testUnweighted() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> mse =
+          new MeanSquaredError<>(tf, "MSE_testUnweighted", 1001L, TFloat64.class);
+      MeanAbsoluteError<TFloat32> mae =
+          new MeanAbsoluteError<>(tf, "MAE_testUnweighted", 1001L, TFloat32.class);
+      MetricCollection instance = new MetricCollection(tf).add(mse).add(mae);
+      assertEquals(2, instance.getMetrics().size());
+      session.run(instance.resetStates());
+
+      Operand<TInt64> yTrue = tf.reshape(tf.constant(trueArray), tf.constant(Shape.of(4, 5)));
+      Operand<TFloat32> yPrediction =
+          tf.reshape(tf.constant(predictionArray), tf.constant(Shape.of(4, 5)));
+      Op op = instance.updateState(yTrue, yPrediction, null);
+      session.run(op);
+      session.evaluate(2.0, mse.getTotal());
+      session.evaluate(4, mse.getCount());
+      session.evaluate(0.5, mse.result());
+      session.evaluate(2.0f, mae.getTotal());
+      session.evaluate(4f, mae.getCount());
+      session.evaluate(0.5f, mae.result());
+
+      session.run(op);
+      session.evaluate(4.0, mse.getTotal());
+      session.evaluate(8, mse.getCount());
+      session.evaluate(0.5, mse.result());
+
+      session.run(instance.resetStates());
+      session.evaluate(0.0, mse.getTotal());
+      session.evaluate(0.0f, mae.getTotal());
+    }
+  }
+
+  @Test
+  public void testWeighted() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> mse =
+          new MeanSquaredError<>(tf, "MSE_testWeighted", 1001L, TFloat64.class);
+      MeanAbsoluteError<TFloat64> mae =
+          new MeanAbsoluteError<>(tf, "MAE_testWeighted", 1001L, TFloat64.class);
+      MetricCollection instance = new MetricCollection(tf).add(mse).add(mae);
+      session.run(instance.resetStates());
+
+      Operand<TInt64> yTrue = tf.reshape(tf.constant(trueArray), tf.constant(Shape.of(4, 5)));
+      Operand<TFloat32> yPrediction =
+          tf.reshape(tf.constant(predictionArray), tf.constant(Shape.of(4, 5)));
+      Operand<TFloat64> sampleWeight = tf.constant(new double[] {1., 1.5, 2., 2.5});
+      Op op = instance.updateState(yTrue, yPrediction, sampleWeight);
+      session.run(op);
+      session.evaluate(3.8, mse.getTotal());
+      session.evaluate(7, mse.getCount());
+      session.evaluate(0.542857, mse.result());
+      session.evaluate(3.8, mae.getTotal());
+      session.evaluate(7, mae.getCount());
+      session.evaluate(0.542857, mae.result());
+    }
+  }
+
+  @Test
+  public void testStaticShapesSkipAssertions() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> mse =
+          new MeanSquaredError<>(tf, "MSE_testStaticShapes", 1001L, TFloat64.class);
+      MetricCollection instance = new MetricCollection(tf).add(mse);
+      session.run(instance.resetStates());
+
+      Operand<TInt64> yTrue = tf.reshape(tf.constant(trueArray), tf.constant(Shape.of(4, 5)));
+      Operand<TFloat32> yPrediction =
+          tf.reshape(tf.constant(predictionArray), tf.constant(Shape.of(4, 5)));
+      Operand<TFloat64> sampleWeight = tf.constant(new double[][] {{2.}});
+      Op op = instance.updateState(yTrue, yPrediction, sampleWeight);
+      session.run(op);
+      session.evaluate(4.0, mse.getTotal());
+      session.evaluate(8, mse.getCount());
+      session.evaluate(0.5, mse.result());
+
+      Iterator<Operation> operations = session.getGraph().operations();
+      while (operations.hasNext()) {
+        assertNotEquals("Assert", operations.next().type());
+      }
+    }
+  }
+
+  @Test
+  public void testEagerNotSupported() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      Ops tf = session.getTF();
+      assertThrows(IllegalArgumentException.class, () -> new MetricCollection(tf));
+    }
+  }
+}
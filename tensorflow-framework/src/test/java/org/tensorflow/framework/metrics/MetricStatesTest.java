@@ -0,0 +1,153 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TFloat64;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricStatesTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  private final float[] trueArray = {0, 1, 0, 1, 0, 0, 0, 1, 1, 1};
+  private final float[] predictionArray = {0, 0, 1, 1, 0, 1, 1, 1, 1, 1};
+
+  private MeanSquaredError<TFloat64> update(TestSession session, String name, int rows) {
+    Ops tf = session.getTF();
+    MeanSquaredError<TFloat64> instance = new MeanSquaredError<>(tf, name, 1001L, TFloat64.class);
+    session.run(instance.resetStates());
+    Operand<TFloat32> yTrue =
+        tf.reshape(
+            tf.constant(Arrays.copyOf(trueArray, rows * 5)), tf.constant(Shape.of(rows, 5)));
+    Operand<TFloat32> yPrediction =
+        tf.reshape(
+            tf.constant(Arrays.copyOf(predictionArray, rows * 5)), tf.constant(Shape.of(rows, 5)));
+    session.run(instance.updateState(yTrue, yPrediction, null));
+    return instance;
+  }
+
+  @Test
+  public void testGetState() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      MeanSquaredError<TFloat64> instance = update(session, "MSE_testGetState", 2);
+      session.evaluate(new double[] {0.8, 2.0}, instance.getState());
+      session.run(instance.setState(session.getTF().constant(new double[] {3.0, 4.0})));
+      session.evaluate(3.0, instance.getTotal());
+      session.evaluate(4.0, instance.getCount());
+      session.evaluate(0.75, instance.result());
+    }
+  }
+
+  @Test
+  public void testMergeAcrossSessions() {
+    // two in-process workers, each with its own graph and session
+    try (TestSession worker1 = TestSession.createTestSession(tfMode);
+        TestSession worker2 = TestSession.createTestSession(tfMode)) {
+      MeanSquaredError<TFloat64> instance1 = update(worker1, "MSE_worker1", 1);
+      MeanSquaredError<TFloat64> instance2 = update(worker2, "MSE_worker2", 2);
+      try (TFloat64 state =
+          (TFloat64)
+              worker1.getGraphSession().runner().fetch(instance1.getState()).run().get(0)) {
+        worker2.run(instance2.mergeState(worker2.getTF().constantOf(state)));
+      }
+      evaluateMerged(worker2, instance2);
+    }
+  }
+
+  private void evaluateMerged(TestSession session, MeanSquaredError<TFloat64> instance) {
+    session.evaluate(1.2, instance.getTotal());
+    session.evaluate(3.0, instance.getCount());
+    session.evaluate(0.4, instance.result());
+  }
+
+  @Test
+  public void testLocalReduce() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> instance1 = update(session, "MSE_local1", 1);
+      MeanSquaredError<TFloat64> instance2 = update(session, "MSE_local2", 2);
+      MeanSquaredError<TFloat64> global =
+          new MeanSquaredError<>(tf, "MSE_global", 1001L, TFloat64.class);
+      session.run(global.resetStates());
+      session.run(
+          global.setState(
+              MetricStates.localReduce(
+                  tf, Arrays.asList(instance1.getState(), instance2.getState()))));
+      evaluateMerged(session, global);
+    }
+  }
+
+  @Test
+  public void testAllReduce() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> instance = update(session, "MSE_testAllReduce", 2);
+      session.run(MetricStates.allReduce(tf, instance, 1L, 1L, 1L));
+      session.evaluate(0.8, instance.getTotal());
+      session.evaluate(2.0, instance.getCount());
+    }
+  }
+
+  @Test
+  public void testConcurrentAllReduce() throws Exception {
+    // two in-process members of the same collective group, each running in its own thread
+    try (TestSession member1 = TestSession.createTestSession(tfMode);
+        TestSession member2 = TestSession.createTestSession(tfMode)) {
+      MeanSquaredError<TFloat64> instance1 = update(member1, "MSE_member1", 1);
+      MeanSquaredError<TFloat64> instance2 = update(member2, "MSE_member2", 2);
+      Op allReduce1 = MetricStates.allReduce(member1.getTF(), instance1, 2L, 2L, 1L);
+      Op allReduce2 = MetricStates.allReduce(member2.getTF(), instance2, 2L, 2L, 1L);
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        Future<?> run1 = executor.submit(() -> member1.run(allReduce1));
+        Future<?> run2 = executor.submit(() -> member2.run(allReduce2));
+        run1.get(30, TimeUnit.SECONDS);
+        run2.get(30, TimeUnit.SECONDS);
+      } finally {
+        executor.shutdownNow();
+      }
+      evaluateMerged(member1, instance1);
+      evaluateMerged(member2, instance2);
+    }
+  }
+
+  @Test
+  public void testInvalidState() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      MeanSquaredError<TFloat64> instance =
+          new MeanSquaredError<>(tf, "MSE_testInvalidState", 1001L, TFloat64.class);
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> instance.setState(tf.constant(new double[] {1.0, 2.0, 3.0})));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> MetricStates.collectiveReduce(tf, instance.getState(), 0L, 1L, 1L));
+    }
+  }
+}
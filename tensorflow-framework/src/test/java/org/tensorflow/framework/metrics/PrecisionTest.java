@@ -0,0 +1,106 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrecisionTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  @Test
+  public void testUnweighted() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Precision<TFloat32> instance =
+          new Precision<>(tf, "Precision_testUnweighted", 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+      session.evaluate(0f, instance.result());
+
+      Operand<TInt32> labels = tf.constant(new int[][] {{0, 1, 1, 0}});
+      Operand<TFloat32> predictions = tf.constant(new float[][] {{1, 0, 1, 0}});
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(new float[] {1f}, instance.truePositives());
+      session.evaluate(new float[] {1f}, instance.falsePositives());
+      session.evaluate(0.5f, instance.result());
+    }
+  }
+
+  @Test
+  public void testWeighted() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Precision<TFloat32> instance =
+          new Precision<>(tf, "Precision_testWeighted", 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(new int[][] {{0, 1, 1, 0}, {1, 0, 0, 1}});
+      Operand<TFloat32> predictions = tf.constant(new float[][] {{1, 0, 1, 0}, {1, 0, 1, 0}});
+      Operand<TFloat32> sampleWeights = tf.constant(new float[][] {{1, 2, 3, 4}, {4, 3, 2, 1}});
+      Op op = instance.updateState(labels, predictions, sampleWeights);
+      session.run(op);
+      session.evaluate(new float[] {7f}, instance.truePositives());
+      session.evaluate(new float[] {3f}, instance.falsePositives());
+      session.evaluate(0.7f, instance.result());
+
+      // the state accumulates over updates
+      session.run(op);
+      session.evaluate(new float[] {14f}, instance.truePositives());
+      session.evaluate(0.7f, instance.result());
+    }
+  }
+
+  @Test
+  public void testThresholds() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Precision<TFloat32> instance =
+          new Precision<>(
+              tf, "Precision_testThresholds", new float[] {0.5f, 0.7f}, 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TInt32> labels = tf.constant(new int[][] {{0, 1, 1, 0}});
+      Operand<TFloat32> predictions = tf.constant(new float[][] {{1, 0, 0.6f, 0}});
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(new float[] {1f, 0f}, instance.truePositives());
+      session.evaluate(new float[] {1f, 1f}, instance.falsePositives());
+      session.evaluate(new float[] {0.5f, 0f}, instance.result());
+    }
+  }
+
+  @Test
+  public void testInvalidThresholds() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new Precision<>(tf, "Precision_empty", new float[0], 1001L, TFloat32.class));
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              new Precision<>(
+                  tf, "Precision_unordered", new float[] {0.7f, 0.5f}, 1001L, TFloat32.class));
+    }
+  }
+}
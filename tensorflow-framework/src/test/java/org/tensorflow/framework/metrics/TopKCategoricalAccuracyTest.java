@@ -0,0 +1,72 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TFloat64;
+
+class TopKCategoricalAccuracyTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  @Test
+  public void testCorrectness() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      TopKCategoricalAccuracy<TFloat64> instance =
+          new TopKCategoricalAccuracy<>(tf, "TopK_testCorrectness", 1001L, TFloat64.class);
+      session.run(instance.resetStates());
+      session.evaluate(0., instance.result());
+
+      Operand<TFloat32> labels = tf.constant(new float[][] {{0, 0, 1}, {0, 1, 0}});
+      Operand<TFloat32> predictions =
+          tf.constant(new float[][] {{0.1f, 0.9f, 0.8f}, {0.05f, 0.95f, 0f}});
+      Op op = instance.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(1., instance.result());
+
+      TopKCategoricalAccuracy<TFloat64> instanceK1 =
+          new TopKCategoricalAccuracy<>(tf, "TopK_testCorrectnessK1", 1, 1001L, TFloat64.class);
+      session.run(instanceK1.resetStates());
+      op = instanceK1.updateState(labels, predictions, null);
+      session.run(op);
+      session.evaluate(0.5, instanceK1.result());
+    }
+  }
+
+  @Test
+  public void testWeighted() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      TopKCategoricalAccuracy<TFloat32> instance =
+          new TopKCategoricalAccuracy<>(tf, "TopK_testWeighted", 2, 1001L, TFloat32.class);
+      session.run(instance.resetStates());
+
+      Operand<TFloat32> labels = tf.constant(new float[][] {{0, 0, 1}, {1, 0, 0}, {0, 0, 1}});
+      Operand<TFloat32> predictions =
+          tf.constant(new float[][] {{0f, 0.9f, 0.1f}, {0f, 0.9f, 0.1f}, {0f, 0.9f, 0.1f}});
+      Operand<TFloat32> sampleWeights = tf.constant(new float[] {1, 0, 1});
+      Op op = instance.updateState(labels, predictions, sampleWeights);
+      session.run(op);
+      session.evaluate(2f, instance.getTotal());
+      session.evaluate(2f, instance.getCount());
+      session.evaluate(1f, instance.result());
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.mixedprecision;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.initializers.Initializer;
+import org.tensorflow.framework.initializers.Ones;
+import org.tensorflow.framework.losses.MeanSquaredError;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TBfloat16;
+import org.tensorflow.types.TFloat16;
+import org.tensorflow.types.TFloat32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PolicyTest {
+  private final TestSession.Mode[] tfModes = {TestSession.Mode.EAGER, TestSession.Mode.GRAPH};
+
+  @Test
+  public void testCast() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession testSession = TestSession.createTestSession(tfMode)) {
+        Ops tf = testSession.getTF();
+        Policy<TBfloat16> policy = Policy.mixedBfloat16();
+        assertEquals(TBfloat16.class, policy.getComputeType());
+        assertEquals(TFloat32.class, policy.getVariableType());
+
+        Operand<TFloat32> values = tf.constant(new float[] {1f, 2f, 3f});
+        Operand<TBfloat16> cast = policy.cast(tf, values);
+        assertEquals(TBfloat16.class, cast.type());
+        testSession.evaluate(new float[] {1f, 2f, 3f}, tf.dtypes.cast(cast, TFloat32.class));
+        assertSame(cast, policy.cast(tf, cast));
+      }
+  }
+
+  @Test
+  public void testInitializer() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession testSession = TestSession.createTestSession(tfMode)) {
+        Ops tf = testSession.getTF();
+        Policy<TFloat16> policy = Policy.mixedFloat16();
+        Initializer<TFloat32> instance = policy.initializer(tf, new Ones<>(tf));
+        Operand<TFloat32> operand = instance.call(tf.constant(Shape.of(2, 2)), TFloat32.class);
+        assertEquals(TFloat32.class, operand.type());
+        testSession.evaluate(new float[] {1f, 1f, 1f, 1f}, operand);
+      }
+  }
+
+  @Test
+  public void testComputeLoss() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession testSession = TestSession.createTestSession(tfMode)) {
+        Ops tf = testSession.getTF();
+        Policy<TFloat16> policy = Policy.mixedFloat16();
+        MeanSquaredError loss = new MeanSquaredError(tf);
+        float[] trueArray = {1f, 9f, 2f, -5f, -2f, 6f};
+        float[] predArray = {4f, 8f, 12f, 8f, 1f, 3f};
+        Operand<TFloat32> yTrue = tf.reshape(tf.constant(trueArray), tf.constant(Shape.of(2, 3)));
+        Operand<TFloat16> yPred =
+            policy.cast(tf, tf.reshape(tf.constant(predArray), tf.constant(Shape.of(2, 3))));
+        Operand<TFloat32> result = policy.computeLoss(loss, yTrue, yPred);
+        assertEquals(TFloat32.class, result.type());
+        testSession.evaluate(49.5f, result);
+      }
+  }
+}
@@ -17,6 +17,7 @@ package org.tensorflow.framework.optimizers;
 import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
 import org.tensorflow.framework.optimizers.Optimizer.GradAndVar;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.framework.utils.TestSession;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
@@ -167,4 +168,41 @@ public class AdaDeltaTest {
       }
     }
   }
+
+  @Test
+  public void testEagerResourceVariables() {
+    int numUpdates = 4;
+    float grad = 0.1F;
+    float lr = 0.5F;
+    float rho = 0.95F;
+    float epsilon = 1e-8F;
+    float[] var0Init = {1.0F, 2.0F};
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      AdaDelta adaDelta = new AdaDelta(session.getEagerSession(), lr, rho, epsilon);
+      Ops tf = adaDelta.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(var0Init));
+      Constant<TFloat32> cgrads = tf.constant(new float[] {grad, grad});
+
+      List<GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new GradAndVar<>(cgrads.asOutput(), var0));
+
+      float accum = 0.0F;
+      float accumUpdate = 0.0F;
+      float totUpdate = 0;
+      for (int step = 0; step < numUpdates; step++) {
+        adaDelta.applyGradients(gradsAndVars, "AdaDeltaTest"); // the step runs immediately
+        accum = accum * rho + (float) Math.pow(grad, 2) * (1.0F - rho);
+        float update =
+            (float) Math.sqrt(accumUpdate + epsilon)
+                * (float) (1 / Math.sqrt(accum + epsilon))
+                * grad;
+        accumUpdate = accumUpdate * rho + (float) Math.pow(update, 2) * (1.0F - rho);
+        totUpdate += update * lr;
+
+        session.evaluate(accum, adaDelta.getSlot(var0, ACCUMULATOR).get());
+        session.evaluate(accumUpdate, adaDelta.getSlot(var0, ACCUMULATOR_UPDATE).get());
+        session.evaluate(new Float[] {var0Init[0] - totUpdate, var0Init[1] - totUpdate}, var0);
+      }
+    }
+  }
 }
@@ -16,6 +16,7 @@ package org.tensorflow.framework.optimizers;
 
 import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.framework.utils.TestSession;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
@@ -98,4 +99,23 @@ public class AdaGradDATest {
       session.evaluate(expected1, var1);
     }
   }
+
+  @Test
+  public void testEagerResourceVariables() {
+    float[] var0Init = {0.0F, 0.0F};
+    float[] grads0Init = {0.1F, 0.2F};
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      AdaGradDA instance = new AdaGradDA(session.getEagerSession(), 3.0F);
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(var0Init));
+      Constant<TFloat32> grads0 = tf.constant(grads0Init);
+
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads0.asOutput(), var0));
+
+      instance.applyGradients(gradsAndVars, "AdGradDATest"); // the step runs immediately
+      float[] expected0 = {-0.904534F, -1.603567F};
+      session.evaluate(expected0, var0);
+    }
+  }
 }
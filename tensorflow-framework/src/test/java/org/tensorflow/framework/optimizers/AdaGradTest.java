@@ -125,6 +125,45 @@ public class AdaGradTest {
     }
   }
 
+  @Test
+  public void testSparseDuplicateIndices() {
+    float[] varInit = {1.0F, 2.0F, 3.0F};
+    float learningRate = 3.0F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Graph graph = session.getGraph();
+      AdaGrad instance = new AdaGrad(graph, learningRate, 0.1f);
+      Ops tf = instance.getTF();
+
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(3), TFloat32.class);
+      Assign<TFloat32> varInitializer = tf.assign(var, tf.constant(varInit));
+
+      /* element 0 is updated twice, which must be summed before updating the accumulator */
+      IndexedSlices<TFloat32> grads =
+          new IndexedSlices<>(
+              tf.constant(new float[] {0.1F, 0.1F, 0.2F}), tf.constant(new int[] {0, 0, 2}));
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads, var.asOutput()));
+
+      Op adaUpdate = instance.applyGradients(gradsAndVars, "SparseAdGradTest");
+      Variable<TFloat32> accumulatorSlot = instance.getSlot(var.asOutput(), ACCUMULATOR).get();
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      session.run(adaUpdate);
+
+      float[] expectedAccum = {0.1F + 0.2F * 0.2F, 0.1F, 0.1F + 0.2F * 0.2F};
+      session.evaluate(expectedAccum, accumulatorSlot);
+      float[] expectedVar = {
+        1.0F - learningRate * 0.2F / (float) Math.sqrt(expectedAccum[0]),
+        2.0F,
+        3.0F - learningRate * 0.2F / (float) Math.sqrt(expectedAccum[2])
+      };
+      session.evaluate(expectedVar, var);
+    }
+  }
+
   private FloatNdArray caclulateAccum(FloatNdArray accum, FloatNdArray grads) {
     // accum + gT * gT
     FloatNdArray squareG = ND.square(grads);
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
 import org.tensorflow.framework.utils.ND;
 import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.FloatNdArray;
 import org.tensorflow.ndarray.NdArrays;
 import org.tensorflow.ndarray.Shape;
@@ -30,9 +31,11 @@ import org.tensorflow.types.TFloat32;
 import org.tensorflow.types.family.TType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.tensorflow.framework.optimizers.Adam.FIRST_MOMENT;
 import static org.tensorflow.framework.optimizers.Adam.SECOND_MOMENT;
 
@@ -187,6 +190,192 @@ public class AdamTest {
     }
   }
 
+  @Test
+  public void testSparse() {
+    float[] varInit = {1.0F, 2.0F, 3.0F};
+    FloatNdArray varNp = NdArrays.vectorOf(varInit);
+    /* the dense equivalent of the sparse gradient, element 1 has no gradient */
+    FloatNdArray gradsNp = NdArrays.vectorOf(0.1F, 0.0F, 0.1F);
+
+    float epsilon1 = 1e-3F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      float learningRate = 0.001F;
+      float beta1 = 0.9F;
+      float beta2 = 0.999F;
+      Graph graph = session.getGraph();
+
+      session.setEpsilon(epsilon1);
+
+      Adam instance = new Adam(graph, learningRate);
+      Ops tf = instance.getTF();
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(3), TFloat32.class);
+      Assign<TFloat32> varInitializer = tf.assign(var, tf.constant(varInit));
+
+      IndexedSlices<TFloat32> grads =
+          new IndexedSlices<>(
+              tf.constant(new float[] {0.1F, 0.1F}), tf.constant(new int[] {2, 0}));
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads, var.asOutput()));
+
+      Op update = instance.applyGradients(gradsAndVars, "SparseAdamTest");
+
+      Variable<TFloat32> firstMomentSlot = instance.getSlot(var.asOutput(), FIRST_MOMENT).get();
+      Variable<TFloat32> secondMomentSlot =
+          instance.getSlot(var.asOutput(), SECOND_MOMENT).get();
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      FloatNdArray mNp = NdArrays.ofFloats(Shape.of(3));
+      FloatNdArray vNp = NdArrays.ofFloats(Shape.of(3));
+
+      for (int step = 0; step < 3; step++) {
+        session.run(update);
+
+        float lrT =
+            learningRate
+                * (float) Math.sqrt(1 - (float) Math.pow(beta2, (step + 1)))
+                / (1 - (float) Math.pow(beta1, (step + 1)));
+
+        mNp = calculateM(mNp, gradsNp, beta1);
+        vNp = calculateV(vNp, gradsNp, beta2);
+        varNp = calculateParam(varNp, lrT, mNp, vNp, 1e-7F);
+
+        session.evaluate(varNp, var);
+        session.evaluate(mNp, firstMomentSlot);
+        session.evaluate(vNp, secondMomentSlot);
+      }
+    }
+  }
+
+  @Test
+  public void testSparseIsLazy() {
+    float[] varInit = {1.0F, 2.0F, 3.0F};
+    FloatNdArray varNp = NdArrays.vectorOf(varInit);
+    FloatNdArray gradsNp = NdArrays.vectorOf(0.1F, 0.1F, 0.1F);
+
+    float epsilon1 = 1e-3F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      float learningRate = 0.001F;
+      float beta1 = 0.9F;
+      float beta2 = 0.999F;
+      Graph graph = session.getGraph();
+
+      session.setEpsilon(epsilon1);
+
+      Adam instance = new Adam(graph, learningRate);
+      Ops tf = instance.getTF();
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(3), TFloat32.class);
+      Assign<TFloat32> varInitializer = tf.assign(var, tf.constant(varInit));
+
+      /* the first step updates all the rows, the next ones only row 0 */
+      IndexedSlices<TFloat32> allRows =
+          new IndexedSlices<>(
+              tf.constant(new float[] {0.1F, 0.1F, 0.1F}), tf.constant(new int[] {0, 1, 2}));
+      IndexedSlices<TFloat32> firstRow =
+          new IndexedSlices<>(tf.constant(new float[] {0.1F}), tf.constant(new int[] {0}));
+      Op allRowsUpdate =
+          instance.applyGradients(
+              Collections.singletonList(new Optimizer.GradAndVar<>(allRows, var.asOutput())),
+              "SparseAdamAllRows");
+      Op firstRowUpdate =
+          instance.applyGradients(
+              Collections.singletonList(new Optimizer.GradAndVar<>(firstRow, var.asOutput())),
+              "SparseAdamFirstRow");
+
+      Variable<TFloat32> firstMomentSlot = instance.getSlot(var.asOutput(), FIRST_MOMENT).get();
+      Variable<TFloat32> secondMomentSlot =
+          instance.getSlot(var.asOutput(), SECOND_MOMENT).get();
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      FloatNdArray mNp = NdArrays.ofFloats(Shape.of(3));
+      FloatNdArray vNp = NdArrays.ofFloats(Shape.of(3));
+      FloatNdArray frozenVar = null;
+      FloatNdArray frozenM = null;
+      FloatNdArray frozenV = null;
+
+      for (int step = 0; step < 3; step++) {
+        session.run(step == 0 ? allRowsUpdate : firstRowUpdate);
+
+        float lrT =
+            learningRate
+                * (float) Math.sqrt(1 - (float) Math.pow(beta2, (step + 1)))
+                / (1 - (float) Math.pow(beta1, (step + 1)));
+
+        /* row 0 has a gradient at each step, like every row of the dense computation */
+        mNp = calculateM(mNp, gradsNp, beta1);
+        vNp = calculateV(vNp, gradsNp, beta2);
+        varNp = calculateParam(varNp, lrT, mNp, vNp, 1e-7F);
+        if (step == 0) {
+          frozenVar = varNp;
+          frozenM = mNp;
+          frozenV = vNp;
+        }
+
+        /* rows 1 and 2 keep the values of the first step */
+        session.evaluate(row0Of(varNp, frozenVar), var);
+        session.evaluate(row0Of(mNp, frozenM), firstMomentSlot);
+        session.evaluate(row0Of(vNp, frozenV), secondMomentSlot);
+      }
+    }
+  }
+
+  private FloatNdArray row0Of(FloatNdArray updated, FloatNdArray frozen) {
+    return NdArrays.vectorOf(updated.getFloat(0), frozen.getFloat(1), frozen.getFloat(2));
+  }
+
+  @Test
+  public void testEagerResourceVariables() {
+    float[] var0Init = {1.0F, 2.0F};
+    float[] grads0Init = {0.1F, 0.1F};
+    FloatNdArray var0Np = NdArrays.vectorOf(var0Init);
+    FloatNdArray grads0Np = NdArrays.vectorOf(grads0Init);
+
+    float epsilon1 = 1e-3F;
+
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      float learningRate = 0.001F;
+      float beta1 = 0.9F;
+      float beta2 = 0.999F;
+
+      session.setEpsilon(epsilon1);
+
+      Adam instance = new Adam(session.getEagerSession(), learningRate);
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(var0Init));
+      Constant<TFloat32> grads0 = tf.constant(grads0Init);
+
+      assertThrows(IllegalStateException.class, () -> instance.minimize(var0));
+
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads0.asOutput(), var0));
+
+      FloatNdArray m0Np = NdArrays.ofFloats(Shape.of(2));
+      FloatNdArray v0Np = NdArrays.ofFloats(Shape.of(2));
+
+      for (int step = 0; step < 3; step++) {
+        instance.applyGradients(gradsAndVars, "AdamTest"); // the step runs immediately
+
+        float lrT =
+            learningRate
+                * (float) Math.sqrt(1 - (float) Math.pow(beta2, (step + 1)))
+                / (1 - (float) Math.pow(beta1, (step + 1)));
+
+        m0Np = calculateM(m0Np, grads0Np, beta1);
+        v0Np = calculateV(v0Np, grads0Np, beta2);
+        var0Np = calculateParam(var0Np, lrT, m0Np, v0Np, 1e-7F);
+
+        session.evaluate(var0Np, var0);
+        session.evaluate(m0Np, instance.getSlot(var0, FIRST_MOMENT).get());
+        session.evaluate(v0Np, instance.getSlot(var0, SECOND_MOMENT).get());
+      }
+    }
+  }
+
   private FloatNdArray calculateM(FloatNdArray m, FloatNdArray gT, float beta) {
     // mT = beta1 * m + (1 - beta1) * gT
     return ND.add(ND.mul(m, beta), ND.mul(gT, (1 - beta)));
@@ -16,6 +16,7 @@ package org.tensorflow.framework.optimizers;
 
 import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.framework.utils.ND;
 import org.tensorflow.framework.utils.TestSession;
 import org.tensorflow.ndarray.FloatNdArray;
@@ -177,6 +178,43 @@ public class AdamaxTest {
     }
   }
 
+  @Test
+  public void testEagerResourceVariables() {
+    int numSteps = 3;
+    float[] var0Init = {1.0F, 2.0F};
+    float[] grads0Init = {0.1F, 0.1F};
+    float[] zeros = {0.0F, 0.0F};
+    FloatNdArray m0 = NdArrays.vectorOf(zeros);
+    FloatNdArray v0 = NdArrays.vectorOf(zeros);
+    FloatNdArray var0Np = NdArrays.vectorOf(var0Init);
+    FloatNdArray grads0Np = NdArrays.vectorOf(grads0Init);
+
+    float epsilon1 = 1e-3F;
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      Adamax instance = new Adamax(session.getEagerSession());
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(var0Init));
+      Constant<TFloat32> grads0 = tf.constant(grads0Init);
+
+      List<GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new GradAndVar<>(grads0.asOutput(), var0));
+
+      session.setEpsilon(epsilon1);
+      for (int step = 0; step < numSteps; step++) {
+        instance.applyGradients(gradsAndVars, "AdamaxTest"); // the step runs immediately
+
+        FloatNdArray[] resultNP = calculate(var0Np, grads0Np, step, m0, v0);
+        var0Np = resultNP[VAR];
+        m0 = resultNP[M];
+        v0 = resultNP[V];
+
+        session.evaluate(var0Np, var0);
+        session.evaluate(m0, instance.getSlot(var0, FIRST_MOMENT).get());
+        session.evaluate(v0, instance.getSlot(var0, SECOND_MOMENT).get());
+      }
+    }
+  }
+
   private FloatNdArray[] calculate(
       FloatNdArray varNp, FloatNdArray gradsNp, int step, FloatNdArray m, FloatNdArray v) {
     float alpha = 0.001F;
@@ -0,0 +1,169 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.optimizers;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Graph;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Assign;
+import org.tensorflow.op.core.Constant;
+import org.tensorflow.op.core.Variable;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test cases for GradientAccumulator Optimizer */
+public class GradientAccumulatorTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  @Test
+  public void testGetOptimizerName() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Graph graph = session.getGraph();
+      GradientAccumulator instance = new GradientAccumulator(new GradientDescent(graph));
+      assertEquals("GradientAccumulator", instance.getOptimizerName());
+    }
+  }
+
+  @Test
+  public void testAccumulate() {
+    float[] var0Init = {1.0F, 2.0F};
+    float[] var1Init = {3.0F, 4.0F};
+    float learningRate = 3.0F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      Variable<TFloat32> var0 = tf.withName("var0").variable(Shape.of(2), TFloat32.class);
+      Assign<TFloat32> var0Initializer = tf.assign(var0, tf.constant(var0Init));
+      ResourceVariable<TFloat32> var1 = ResourceVariable.create(tf, tf.constant(var1Init));
+
+      Constant<TFloat32> grads0A = tf.constant(new float[] {0.1F, 0.1F});
+      Constant<TFloat32> grads1A = tf.constant(new float[] {0.01F, 0.01F});
+      Constant<TFloat32> grads0B = tf.constant(new float[] {0.3F, 0.3F});
+      Constant<TFloat32> grads1B = tf.constant(new float[] {0.03F, 0.03F});
+
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVarsA = new ArrayList<>();
+      gradsAndVarsA.add(new Optimizer.GradAndVar<>(grads0A.asOutput(), var0.asOutput()));
+      gradsAndVarsA.add(new Optimizer.GradAndVar<>(grads1A.asOutput(), var1));
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVarsB = new ArrayList<>();
+      gradsAndVarsB.add(new Optimizer.GradAndVar<>(grads0B.asOutput(), var0.asOutput()));
+      gradsAndVarsB.add(new Optimizer.GradAndVar<>(grads1B.asOutput(), var1));
+
+      GradientAccumulator instance =
+          new GradientAccumulator(new GradientDescent(graph, learningRate));
+      Op accumulateA = instance.applyGradients(gradsAndVarsA, "AccumulateA");
+      Op accumulateB = instance.applyGradients(gradsAndVarsB, "AccumulateB");
+      Op apply = instance.applyAccumulated("Apply");
+      Variable<TFloat32> accumulator0 =
+          instance.getSlot(var0.asOutput(), GradientAccumulator.ACCUMULATOR).get();
+      ResourceVariable<TFloat32> accumulator1 =
+          instance.getSlot(var1, GradientAccumulator.ACCUMULATOR).get();
+
+      session.run(var0Initializer);
+      session.run(tf.init());
+
+      session.run(accumulateA);
+      session.run(accumulateB);
+      session.evaluate(new float[] {0.4F, 0.4F}, accumulator0);
+      session.evaluate(new float[] {0.04F, 0.04F}, accumulator1);
+      session.evaluate(var0Init, var0);
+      session.evaluate(var1Init, var1);
+
+      session.run(apply);
+      session.evaluate(new float[] {1.0F - 3.0F * 0.2F, 2.0F - 3.0F * 0.2F}, var0);
+      session.evaluate(new float[] {3.0F - 3.0F * 0.02F, 4.0F - 3.0F * 0.02F}, var1);
+      session.evaluate(new float[] {0.0F, 0.0F}, accumulator0);
+      session.evaluate(new float[] {0.0F, 0.0F}, accumulator1);
+
+      /* the accumulators are reused by the next batch */
+      session.run(accumulateB);
+      session.run(apply);
+      session.evaluate(new float[] {1.0F - 3.0F * 0.5F, 2.0F - 3.0F * 0.5F}, var0);
+      session.evaluate(new float[] {3.0F - 3.0F * 0.05F, 4.0F - 3.0F * 0.05F}, var1);
+    }
+  }
+
+  @Test
+  public void testAccumulateSparse() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(3, 2), TFloat32.class);
+      Assign<TFloat32> varInitializer =
+          tf.assign(var, tf.zeros(tf.constant(new long[] {3, 2}), TFloat32.class));
+
+      Constant<TInt32> ids = tf.constant(new int[] {0, 2, 0});
+      Constant<TFloat32> values =
+          tf.constant(new float[][] {{1.0F, 1.0F}, {2.0F, 2.0F}, {3.0F, 3.0F}});
+      Optimizer.GradAndVar<TFloat32> gradAndVar =
+          new Optimizer.GradAndVar<>(new IndexedSlices<>(values, ids), var.asOutput());
+
+      GradientAccumulator instance = new GradientAccumulator(new Momentum(graph, 1.0F));
+      Op accumulate =
+          instance.applyGradients(Collections.singletonList(gradAndVar), "AccumulateSparse");
+      Op apply = instance.applyAccumulated("Apply");
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      session.run(accumulate);
+      session.run(accumulate);
+      session.evaluate(
+          new float[] {8.0F, 8.0F, 0.0F, 0.0F, 4.0F, 4.0F},
+          instance.getSlot(var.asOutput(), GradientAccumulator.ACCUMULATOR).get());
+
+      session.run(apply);
+      session.evaluate(new float[] {-4.0F, -4.0F, 0.0F, 0.0F, -2.0F, -2.0F}, var);
+    }
+  }
+
+  @Test
+  public void testEagerResourceVariables() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      GradientAccumulator instance =
+          new GradientAccumulator(new Momentum(session.getEagerSession(), 1.0F, 0.5F));
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+
+      for (float grad : new float[] {0.1F, 0.3F}) {
+        List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+        gradsAndVars.add(
+            new Optimizer.GradAndVar<>(tf.constant(new float[] {grad, grad}).asOutput(), var0));
+        instance.applyGradients(gradsAndVars, "Accumulate"); // the step runs immediately
+      }
+      session.evaluate(new float[] {1.0F, 2.0F}, var0);
+
+      instance.applyAccumulated("Apply");
+      session.evaluate(new float[] {1.0F - 0.2F, 2.0F - 0.2F}, var0);
+      session.evaluate(
+          new float[] {0.0F, 0.0F},
+          instance.getSlot(var0, GradientAccumulator.ACCUMULATOR).get());
+    }
+  }
+}
@@ -2,20 +2,28 @@ package org.tensorflow.framework.optimizers;
 
 import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.optimizers.schedules.PiecewiseConstantDecay;
 import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.ndarray.Shape;
 import org.tensorflow.op.Op;
 import org.tensorflow.op.Ops;
 import org.tensorflow.op.core.Assign;
 import org.tensorflow.op.core.Constant;
+import org.tensorflow.op.core.Gather;
 import org.tensorflow.op.core.Variable;
 import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TInt32;
 import org.tensorflow.types.family.TType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /** Test cases for GradientDescent Optimizer */
 public class GradientDescentTest {
@@ -97,4 +105,103 @@ public class GradientDescentTest {
       session.evaluate(expectedVar1, var1);
     }
   }
+
+  @Test
+  public void testSparseGradient() {
+    float[][] varInit = {{1.0F, 2.0F}, {3.0F, 4.0F}, {5.0F, 6.0F}};
+    float learningRate = 3.0F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(3, 2), TFloat32.class);
+      Assign<TFloat32> varInitializer = tf.assign(var, tf.constant(varInit));
+
+      /* row 0 is looked up twice, row 1 is not looked up */
+      Constant<TInt32> ids = tf.constant(new int[] {0, 2, 0});
+      Gather<TFloat32> lookup = tf.gather(var, ids, tf.constant(0));
+      Operand<TFloat32> loss = tf.reduceSum(lookup, tf.constant(new int[] {0, 1}));
+
+      GradientDescent instance = new GradientDescent(graph, learningRate);
+      Optimizer.GradAndVar<TFloat32> gradAndVar =
+          instance.computeSparseGradient(loss, var.asOutput(), ids, lookup);
+      assertTrue(gradAndVar.isSparse());
+      Op update =
+          instance.applyGradients(Collections.singletonList(gradAndVar), "SparseSGDTest");
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      session.run(update); // 1 step
+
+      float[] expectedVar = {
+        1.0F - 3.0F * 2.0F, 2.0F - 3.0F * 2.0F, 3.0F, 4.0F, 5.0F - 3.0F, 6.0F - 3.0F
+      };
+      session.evaluate(expectedVar, var);
+    }
+  }
+
+  @Test
+  public void testResourceVariables() {
+    float learningRate = 3.0F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      ResourceVariable<TFloat32> var1 =
+          ResourceVariable.create(tf, tf.constant(new float[] {3.0F, 4.0F}));
+      Operand<TFloat32> loss =
+          tf.math.add(
+              tf.reduceSum(tf.math.mul(var0, tf.constant(0.1F)), tf.constant(0)),
+              tf.reduceSum(tf.math.mul(var1, tf.constant(0.01F)), tf.constant(0)));
+
+      GradientDescent instance = new GradientDescent(graph, learningRate);
+      Op update = instance.minimize(loss, Arrays.asList(var0, var1));
+
+      session.run(tf.init());
+      session.evaluate(new float[] {1.0F, 2.0F}, var0);
+      session.evaluate(new float[] {3.0F, 4.0F}, var1);
+
+      session.run(update); // 1 step
+
+      float[] expectedVar0 = {1.0F - 3.0F * 0.1F, 2.0F - 3.0F * 0.1F};
+      float[] expectedVar1 = {3.0F - 3.0F * 0.01F, 4.0F - 3.0F * 0.01F};
+      session.evaluate(expectedVar0, var0);
+      session.evaluate(expectedVar1, var1);
+    }
+  }
+
+  @Test
+  public void testLearningRateSchedule() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      Constant<TFloat32> grads0 = tf.constant(new float[] {0.1F, 0.1F});
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads0.asOutput(), var0));
+
+      GradientDescent instance = new GradientDescent(graph);
+      instance.setLearningRateSchedule(
+          new PiecewiseConstantDecay(new long[] {0}, new float[] {3.0F, 1.0F}));
+      Op update = instance.applyGradients(gradsAndVars, "SGDTest");
+
+      session.run(tf.init());
+      session.evaluate(0L, instance.getGlobalStep());
+
+      session.run(update); // 1 step, with a learning rate of 3
+      session.evaluate(new float[] {1.0F - 3.0F * 0.1F, 2.0F - 3.0F * 0.1F}, var0);
+      session.evaluate(1L, instance.getGlobalStep());
+
+      session.run(update); // 2 steps, with a learning rate of 1
+      session.evaluate(new float[] {1.0F - 4.0F * 0.1F, 2.0F - 4.0F * 0.1F}, var0);
+      session.evaluate(2L, instance.getGlobalStep());
+    }
+  }
 }
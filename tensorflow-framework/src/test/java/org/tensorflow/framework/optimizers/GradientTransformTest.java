@@ -0,0 +1,132 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.optimizers;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Graph;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for the gradient transforms */
+public class GradientTransformTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  @Test
+  public void testGlobalNorm() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(new float[2]));
+      ResourceVariable<TFloat32> var1 = ResourceVariable.create(tf, tf.constant(new float[2]));
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = createGradsAndVars(tf, var0, var1);
+      session.evaluate(5.0F, ClipByGlobalNorm.globalNorm(tf, gradsAndVars));
+      assertThrows(IllegalArgumentException.class, () -> new ClipByGlobalNorm(0.0F));
+    }
+  }
+
+  @Test
+  public void testClipByGlobalNorm() {
+    testTransform(
+        new ClipByGlobalNorm(2.5F),
+        new float[] {1.0F - 1.5F, 2.0F},
+        new float[] {3.0F, 4.0F - 2.0F});
+  }
+
+  @Test
+  public void testClipByNorm() {
+    testTransform(
+        new ClipByNorm(2.0F), new float[] {1.0F - 2.0F, 2.0F}, new float[] {3.0F, 4.0F - 2.0F});
+  }
+
+  @Test
+  public void testClipByValue() {
+    testTransform(
+        new ClipByValue(1.0F), new float[] {1.0F - 1.0F, 2.0F}, new float[] {3.0F, 4.0F - 1.0F});
+  }
+
+  @Test
+  public void testClipByGlobalNormOfDuplicateIndices() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+      ResourceVariable<TFloat32> var =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+
+      // The rows of index 0 sum to 3, so the gradient is {3, 4}, whose norm is 5
+      IndexedSlices<TFloat32> gradient =
+          new IndexedSlices<>(
+              tf.constant(new float[] {1.5F, 1.5F, 4.0F}), tf.constant(new int[] {0, 0, 1}));
+      Optimizer instance =
+          new GradientDescent(graph, 1.0F).setGradientTransforms(new ClipByGlobalNorm(2.5F));
+      Op update =
+          instance.applyGradients(
+              Collections.singletonList(new Optimizer.GradAndVar<>(gradient, var)),
+              "TransformTest");
+
+      session.run(tf.init());
+      session.run(update);
+      session.evaluate(new float[] {1.0F - 1.5F, 2.0F - 2.0F}, var);
+    }
+  }
+
+  @Test
+  public void testComposition() {
+    // values are clipped to [-3, 3], so the global norm is sqrt(9 + 9) before clipping
+    float scale = 2.0F / (float) Math.sqrt(18.0);
+    testTransform(
+        new ClipByValue(3.0F).andThen(new ClipByGlobalNorm(2.0F)),
+        new float[] {1.0F - 3.0F * scale, 2.0F},
+        new float[] {3.0F, 4.0F - 3.0F * scale});
+  }
+
+  private void testTransform(
+      GradientTransform transform, float[] expectedVar0, float[] expectedVar1) {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      ResourceVariable<TFloat32> var1 =
+          ResourceVariable.create(tf, tf.constant(new float[] {3.0F, 4.0F}));
+
+      Optimizer instance = new GradientDescent(graph, 1.0F).setGradientTransforms(transform);
+      Op update = instance.applyGradients(createGradsAndVars(tf, var0, var1), "TransformTest");
+
+      session.run(tf.init());
+      session.run(update);
+      session.evaluate(expectedVar0, var0);
+      session.evaluate(expectedVar1, var1);
+    }
+  }
+
+  private static List<Optimizer.GradAndVar<? extends TType>> createGradsAndVars(
+      Ops tf, ResourceVariable<TFloat32> var0, ResourceVariable<TFloat32> var1) {
+    List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+    gradsAndVars.add(
+        new Optimizer.GradAndVar<>(tf.constant(new float[] {3.0F, 0.0F}).asOutput(), var0));
+    gradsAndVars.add(
+        new Optimizer.GradAndVar<>(tf.constant(new float[] {0.0F, 4.0F}).asOutput(), var1));
+    return gradsAndVars;
+  }
+}
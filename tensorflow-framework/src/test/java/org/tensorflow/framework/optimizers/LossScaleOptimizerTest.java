@@ -0,0 +1,176 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.optimizers;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Graph;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.framework.variables.ResourceVariable;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.op.core.Constant;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.family.TType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for LossScaleOptimizer */
+public class LossScaleOptimizerTest {
+  private final TestSession.Mode tfMode = TestSession.Mode.GRAPH;
+
+  @Test
+  public void testGetOptimizerName() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Graph graph = session.getGraph();
+      LossScaleOptimizer instance = new LossScaleOptimizer(new GradientDescent(graph));
+      assertEquals("LossScaleOptimizer", instance.getOptimizerName());
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new LossScaleOptimizer(new GradientDescent(graph), 1024.0F, 0, 2.0F));
+    }
+  }
+
+  @Test
+  public void testMinimize() {
+    float learningRate = 3.0F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      Operand<TFloat32> loss = tf.reduceSum(tf.math.mul(var0, tf.constant(0.1F)), tf.constant(0));
+
+      LossScaleOptimizer instance =
+          new LossScaleOptimizer(new GradientDescent(graph, learningRate), 1024.0F, 2, 2.0F);
+      Op update = instance.minimize(loss, Collections.singletonList(var0));
+
+      session.run(tf.init());
+      session.evaluate(1024.0F, instance.getLossScale());
+
+      session.run(update); // 1 step
+      session.evaluate(new float[] {1.0F - 3.0F * 0.1F, 2.0F - 3.0F * 0.1F}, var0);
+      session.evaluate(1024.0F, instance.getLossScale());
+
+      session.run(update); // 2 steps, the loss scale grows
+      session.evaluate(new float[] {1.0F - 6.0F * 0.1F, 2.0F - 6.0F * 0.1F}, var0);
+      session.evaluate(2048.0F, instance.getLossScale());
+    }
+  }
+
+  @Test
+  public void testOverflow() {
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      Constant<TFloat32> overflowing = tf.constant(new float[] {Float.POSITIVE_INFINITY, 1.0F});
+      Constant<TFloat32> finite = tf.constant(new float[] {1024.0F, 1024.0F});
+
+      LossScaleOptimizer instance =
+          new LossScaleOptimizer(new GradientDescent(graph, 1.0F), 1024.0F, 2, 2.0F);
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(overflowing.asOutput(), var0));
+      Op skipped = instance.applyGradients(gradsAndVars, "Overflow");
+      gradsAndVars.clear();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(finite.asOutput(), var0));
+      Op applied = instance.applyGradients(gradsAndVars, "Finite");
+
+      session.run(tf.init());
+
+      session.run(skipped);
+      session.evaluate(new float[] {1.0F, 2.0F}, var0);
+      session.evaluate(512.0F, instance.getLossScale());
+
+      session.run(applied); // the gradient is unscaled with the new loss scale
+      session.evaluate(new float[] {1.0F - 2.0F, 2.0F - 2.0F}, var0);
+      session.evaluate(512.0F, instance.getLossScale());
+    }
+  }
+
+  @Test
+  public void testOverflowSkipsWrappedOptimizerState() {
+    float epsilon1 = 1e-6F;
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      Constant<TFloat32> overflowing = tf.constant(new float[] {Float.POSITIVE_INFINITY, 1.0F});
+      Constant<TFloat32> finite = tf.constant(new float[] {1024.0F, 1024.0F});
+
+      LossScaleOptimizer instance = new LossScaleOptimizer(new Adam(graph), 1024.0F);
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(overflowing.asOutput(), var0));
+      Op skipped = instance.applyGradients(gradsAndVars, "Overflow");
+      gradsAndVars.clear();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(finite.asOutput(), var0));
+      Op applied = instance.applyGradients(gradsAndVars, "Finite");
+
+      session.run(tf.init());
+
+      session.run(skipped); // the beta powers of Adam are not updated either
+      session.evaluate(new float[] {1.0F, 2.0F}, var0);
+      assertScalar(session, "beta1_power", Adam.BETA_ONE_DEFAULT, epsilon1);
+      assertScalar(session, "beta2_power", Adam.BETA_TWO_DEFAULT, epsilon1);
+
+      session.run(applied);
+      assertScalar(session, "beta1_power", Adam.BETA_ONE_DEFAULT * Adam.BETA_ONE_DEFAULT, epsilon1);
+      assertScalar(session, "beta2_power", Adam.BETA_TWO_DEFAULT * Adam.BETA_TWO_DEFAULT, epsilon1);
+    }
+  }
+
+  private void assertScalar(TestSession session, String name, float expected, float epsilon) {
+    try (TFloat32 result =
+        (TFloat32) session.getGraphSession().runner().fetch(name).run().get(0)) {
+      assertEquals(expected, result.getFloat(), epsilon);
+    }
+  }
+
+  @Test
+  public void testEagerOverflow() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      LossScaleOptimizer instance =
+          new LossScaleOptimizer(new GradientDescent(session.getEagerSession(), 1.0F), 4.0F);
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(
+          new Optimizer.GradAndVar<>(
+              tf.constant(new float[] {Float.NaN, 4.0F}).asOutput(), var0));
+      instance.applyGradients(gradsAndVars, "Overflow"); // the step runs immediately
+      session.evaluate(new float[] {1.0F, 2.0F}, var0);
+
+      gradsAndVars.clear();
+      gradsAndVars.add(
+          new Optimizer.GradAndVar<>(tf.constant(new float[] {4.0F, 4.0F}).asOutput(), var0));
+      instance.applyGradients(gradsAndVars, "Finite");
+      session.evaluate(new float[] {0.0F, 1.0F}, var0);
+      session.evaluate(4.0F, instance.getLossScale()); // the loss scale is fixed
+    }
+  }
+}
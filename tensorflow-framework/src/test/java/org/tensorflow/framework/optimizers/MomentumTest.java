@@ -193,4 +193,46 @@ public class MomentumTest {
       session.evaluate(expectedVar12, var1);
     }
   }
+
+  @Test
+  public void testSparseMomentum() {
+    float[][] varInit = {{1.0F, 2.0F}, {3.0F, 4.0F}};
+    float learningRate = 2.0F;
+    float momentum = 0.9F;
+
+    try (TestSession session = TestSession.createTestSession(tfMode)) {
+      Ops tf = session.getTF();
+      Graph graph = session.getGraph();
+
+      Variable<TFloat32> var = tf.withName("var").variable(Shape.of(2, 2), TFloat32.class);
+      Assign<TFloat32> varInitializer = tf.assign(var, tf.constant(varInit));
+
+      /* only the second row has a gradient */
+      IndexedSlices<TFloat32> grads =
+          new IndexedSlices<>(
+              tf.constant(new float[][] {{0.1F, 0.1F}}), tf.constant(new long[] {1L}));
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads, var.asOutput()));
+
+      Momentum instance = new Momentum(graph, learningRate, momentum);
+      Op update = instance.applyGradients(gradsAndVars, "SparseMomentumTest");
+      Variable<TFloat32> momentumSlot = instance.getSlot(var.asOutput(), MOMENTUM).get();
+
+      session.run(varInitializer);
+      session.run(tf.init());
+
+      session.run(update); // 1 step
+      session.run(update); // step 2
+
+      float[] expectedMomentum = {0.0F, 0.0F, 0.9F * 0.1F + 0.1F, 0.9F * 0.1F + 0.1F};
+      session.evaluate(expectedMomentum, momentumSlot);
+      float[] expectedVar = {
+        1.0F,
+        2.0F,
+        3.0F - (0.1F * 2.0F) - ((0.9F * 0.1F + 0.1F) * 2.0F),
+        4.0F - (0.1F * 2.0F) - ((0.9F * 0.1F + 0.1F) * 2.0F)
+      };
+      session.evaluate(expectedVar, var);
+    }
+  }
 }
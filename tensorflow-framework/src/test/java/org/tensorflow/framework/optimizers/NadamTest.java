@@ -16,6 +16,7 @@ package org.tensorflow.framework.optimizers;
 
 import org.junit.jupiter.api.*;
 import org.tensorflow.Graph;
+import org.tensorflow.framework.variables.ResourceVariable;
 import org.tensorflow.framework.utils.ND;
 import org.tensorflow.framework.utils.TestSession;
 import org.tensorflow.ndarray.FloatNdArray;
@@ -200,6 +201,50 @@ public class NadamTest {
     }
   }
 
+  @Test
+  public void testEagerResourceVariables() {
+    int numSteps = 3;
+    float[] var0Init = {1.0F, 2.0F};
+    float[] grads0Init = {0.1F, 0.1F};
+    float[] zeros = {0.0F, 0.0F};
+    float[] ones = {1.0F, 1.0F};
+    FloatNdArray m0 = NdArrays.vectorOf(zeros);
+    FloatNdArray v0 = NdArrays.vectorOf(zeros);
+    FloatNdArray mcache = NdArrays.vectorOf(ones);
+    FloatNdArray var0Np = NdArrays.vectorOf(var0Init);
+    FloatNdArray grads0Np = NdArrays.vectorOf(grads0Init);
+
+    float epsilon1 = 1e-3F;
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      Nadam instance = new Nadam(session.getEagerSession());
+      Ops tf = instance.getTF();
+      ResourceVariable<TFloat32> var0 = ResourceVariable.create(tf, tf.constant(var0Init));
+      Constant<TFloat32> grads0 = tf.constant(grads0Init);
+
+      List<Optimizer.GradAndVar<? extends TType>> gradsAndVars = new ArrayList<>();
+      gradsAndVars.add(new Optimizer.GradAndVar<>(grads0.asOutput(), var0));
+
+      session.setEpsilon(epsilon1);
+      float expectedMomentum = 1F;
+      for (int step = 0; step < numSteps; step++) {
+        instance.applyGradients(gradsAndVars, "NadamTest"); // the step runs immediately
+
+        float mut =
+            Nadam.BETA_ONE_DEFAULT * (1F - 0.5F * (float) Math.pow(0.96F, (0.004F * (step + 1))));
+        expectedMomentum = expectedMomentum * mut;
+        mcache = ND.mul(mcache, expectedMomentum);
+        FloatNdArray[] resultsNP = nadamUpdateNdArray(var0Np, grads0Np, step, m0, v0, mcache);
+        var0Np = resultsNP[VAR];
+        m0 = resultsNP[M];
+        v0 = resultsNP[V];
+
+        session.evaluate(m0, instance.getSlot(var0, Nadam.FIRST_MOMENT).get());
+        session.evaluate(v0, instance.getSlot(var0, Nadam.SECOND_MOMENT).get());
+        session.evaluate(var0Np, var0);
+      }
+    }
+  }
+
   private FloatNdArray[] nadamUpdateNdArray(
       FloatNdArray varNp,
       FloatNdArray gradsNp,
@@ -0,0 +1,91 @@
+/* Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+=======================================================================*/
+package org.tensorflow.framework.optimizers.schedules;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.op.Ops;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for the learning rate schedules */
+public class LearningRateScheduleTest {
+  private final TestSession.Mode[] tfModes = {TestSession.Mode.EAGER, TestSession.Mode.GRAPH};
+
+  @Test
+  public void testExponentialDecay() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession session = TestSession.createTestSession(tfMode)) {
+        Ops tf = session.getTF();
+        LearningRateSchedule instance = new ExponentialDecay(0.1F, 10, 0.5F);
+        session.evaluate(0.1F, instance.call(tf, tf.constant(0L)));
+        session.evaluate(0.1F * (float) Math.pow(0.5, 0.5), instance.call(tf, tf.constant(5L)));
+        session.evaluate(0.025F, instance.call(tf, tf.constant(20L)));
+
+        LearningRateSchedule staircase = new ExponentialDecay(0.1F, 10, 0.5F, true);
+        session.evaluate(0.1F, staircase.call(tf, tf.constant(5L)));
+        session.evaluate(0.05F, staircase.call(tf, tf.constant(15L)));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialDecay(0.1F, 0, 0.5F));
+      }
+  }
+
+  @Test
+  public void testCosineDecay() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession session = TestSession.createTestSession(tfMode)) {
+        Ops tf = session.getTF();
+        LearningRateSchedule instance = new CosineDecay(0.1F, 100, 0.1F);
+        session.evaluate(0.1F, instance.call(tf, tf.constant(0L)));
+        session.evaluate(0.1F * (0.9F * 0.5F + 0.1F), instance.call(tf, tf.constant(50L)));
+        session.evaluate(0.01F, instance.call(tf, tf.constant(100L)));
+        session.evaluate(0.01F, instance.call(tf, tf.constant(200L)));
+      }
+  }
+
+  @Test
+  public void testPiecewiseConstantDecay() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession session = TestSession.createTestSession(tfMode)) {
+        Ops tf = session.getTF();
+        LearningRateSchedule instance =
+            new PiecewiseConstantDecay(new long[] {10, 20}, new float[] {1.0F, 0.5F, 0.1F});
+        session.evaluate(1.0F, instance.call(tf, tf.constant(0L)));
+        session.evaluate(1.0F, instance.call(tf, tf.constant(10L)));
+        session.evaluate(0.5F, instance.call(tf, tf.constant(11L)));
+        session.evaluate(0.5F, instance.call(tf, tf.constant(20L)));
+        session.evaluate(0.1F, instance.call(tf, tf.constant(21L)));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new PiecewiseConstantDecay(new long[] {10}, new float[] {1.0F}));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new PiecewiseConstantDecay(new long[] {10, 5}, new float[] {1.0F, 0.5F, 0.1F}));
+      }
+  }
+
+  @Test
+  public void testLinearWarmup() {
+    for (TestSession.Mode tfMode : tfModes)
+      try (TestSession session = TestSession.createTestSession(tfMode)) {
+        Ops tf = session.getTF();
+        LearningRateSchedule instance =
+            new LinearWarmup(new ExponentialDecay(0.1F, 10, 0.5F, true), 4);
+        session.evaluate(0.025F, instance.call(tf, tf.constant(0L)));
+        session.evaluate(0.075F, instance.call(tf, tf.constant(2L)));
+        session.evaluate(0.1F, instance.call(tf, tf.constant(3L)));
+        session.evaluate(0.05F, instance.call(tf, tf.constant(10L)));
+      }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.variables;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.Operand;
+import org.tensorflow.framework.optimizers.GradientDescent;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+import org.tensorflow.types.TFloat64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for ParameterBuckets */
+public class ParameterBucketsTest {
+
+  @Test
+  public void testGraph() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.GRAPH)) {
+      Ops tf = session.getTF();
+      ParameterBuckets params = new ParameterBuckets(tf);
+      ParameterBuckets.Parameter<TFloat32> p0 = params.add(tf.constant(new float[] {1.0F, 2.0F}));
+      ParameterBuckets.Parameter<TFloat64> p1 = params.add(tf.constant(new double[] {5.0}));
+      ParameterBuckets.Parameter<TFloat32> p2 =
+          params.add(tf.constant(new float[][] {{1.0F, 2.0F}, {3.0F, 4.0F}}));
+      assertThrows(IllegalStateException.class, p0::asOutput);
+
+      params.build();
+      assertEquals(2, params.buckets().size());
+      assertSame(p0.bucket(), p2.bucket());
+      assertEquals(Shape.of(6), p0.bucket().shape());
+      assertEquals(Shape.of(2, 2), p2.shape());
+      assertThrows(
+          IllegalStateException.class, () -> params.add(tf.constant(new float[] {1.0F})));
+
+      session.run(tf.init());
+      session.evaluate(new float[] {1.0F, 2.0F}, p0);
+      session.evaluate(new double[] {5.0}, p1);
+      session.evaluate(new float[] {1.0F, 2.0F, 3.0F, 4.0F}, tf.reshape(p2, tf.constant(-1)));
+      session.evaluate(new float[] {1.0F, 2.0F, 1.0F, 2.0F, 3.0F, 4.0F}, p0.bucket());
+    }
+  }
+
+  @Test
+  public void testMinimize() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.GRAPH)) {
+      Ops tf = session.getTF();
+      ParameterBuckets params = new ParameterBuckets(tf);
+      ParameterBuckets.Parameter<TFloat32> p0 = params.add(tf.constant(new float[] {1.0F, 2.0F}));
+      ParameterBuckets.Parameter<TFloat32> p1 = params.add(tf.constant(new float[] {3.0F, 4.0F}));
+      params.build();
+
+      Operand<TFloat32> loss =
+          tf.math.add(
+              tf.reduceSum(p0, tf.constant(0)),
+              tf.reduceSum(tf.math.square(p1), tf.constant(0)));
+      Op update = new GradientDescent(session.getGraph(), 0.1F).minimize(loss, params.buckets());
+
+      session.run(tf.init());
+      session.run(update);
+      session.evaluate(new float[] {0.9F, 1.9F}, p0);
+      session.evaluate(new float[] {3.0F * 0.8F, 4.0F * 0.8F}, p1);
+    }
+  }
+
+  @Test
+  public void testEager() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      Ops tf = session.getTF();
+      ParameterBuckets params = new ParameterBuckets(tf);
+      ParameterBuckets.Parameter<TFloat32> p0 = params.add(tf.constant(new float[] {1.0F, 2.0F}));
+      ParameterBuckets.Parameter<TFloat32> p1 = params.add(tf.constant(new float[] {3.0F}));
+      params.build();
+      session.evaluate(new float[] {1.0F, 2.0F}, p0);
+      session.evaluate(new float[] {3.0F}, p1);
+
+      p1.bucket().assignAdd(tf.constant(new float[] {1.0F, 1.0F, 1.0F}));
+      session.evaluate(new float[] {2.0F, 3.0F}, p0);
+      session.evaluate(new float[] {4.0F}, p1);
+    }
+  }
+
+  @Test
+  public void testUnknownShape() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.GRAPH)) {
+      Ops tf = session.getTF();
+      ParameterBuckets params = new ParameterBuckets(tf);
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> params.add(tf.placeholder(TFloat32.class)));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 The TensorFlow Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tensorflow.framework.variables;
+
+import org.junit.jupiter.api.Test;
+import org.tensorflow.framework.utils.TestSession;
+import org.tensorflow.ndarray.Shape;
+import org.tensorflow.op.Op;
+import org.tensorflow.op.Ops;
+import org.tensorflow.types.TFloat32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test cases for ResourceVariable */
+public class ResourceVariableTest {
+
+  @Test
+  public void testGraph() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.GRAPH)) {
+      Ops tf = session.getTF();
+      ResourceVariable<TFloat32> var =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      assertEquals(Shape.of(2), var.shape());
+      assertEquals(TFloat32.class, var.type());
+
+      Op update = var.assignAdd(tf.constant(new float[] {1.0F, 1.0F}));
+      session.run(tf.init());
+      session.evaluate(new float[] {1.0F, 2.0F}, var);
+
+      session.run(update);
+      session.evaluate(new float[] {2.0F, 3.0F}, var);
+      session.evaluate(new float[] {4.0F, 6.0F}, tf.math.mul(var, tf.constant(2.0F)));
+    }
+  }
+
+  @Test
+  public void testEager() {
+    try (TestSession session = TestSession.createTestSession(TestSession.Mode.EAGER)) {
+      Ops tf = session.getTF();
+      ResourceVariable<TFloat32> var1 =
+          ResourceVariable.create(tf, tf.constant(new float[] {1.0F, 2.0F}));
+      ResourceVariable<TFloat32> var2 =
+          ResourceVariable.create(tf, tf.constant(new float[] {3.0F, 4.0F}));
+      session.evaluate(new float[] {1.0F, 2.0F}, var1);
+      session.evaluate(new float[] {3.0F, 4.0F}, var2);
+
+      var1.assignSub(tf.constant(new float[] {1.0F, 1.0F}));
+      session.evaluate(new float[] {0.0F, 1.0F}, var1);
+      session.evaluate(new float[] {3.0F, 4.0F}, var2);
+
+      var2.assign(var1);
+      session.evaluate(new float[] {0.0F, 1.0F}, var2);
+    }
+  }
+}